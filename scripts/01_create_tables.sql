@@ -19,13 +19,30 @@ CREATE TABLE CLIENT_CONFIGURATION (
     IS_ACTIVE           NUMBER(1) DEFAULT 1,
     CONTENT_TYPE        VARCHAR2(100) DEFAULT 'application/json',
     ADDITIONAL_HEADERS  CLOB,
+    MAPPING_CACHE_ENABLED NUMBER(1) DEFAULT 1,
+    BATCH_CONCURRENCY   NUMBER(3),
+    MAX_CONNECTIONS     NUMBER(4),
+    MAX_CONCURRENT_CALLS NUMBER(4),
+    RATE_LIMIT_PER_SECOND NUMBER(8,2),
+    RATE_LIMIT_BURST    NUMBER(6),
+    RETRY_BACKOFF       VARCHAR2(1000),
+    RETRY_COALESCE      NUMBER(1),
+    AUDIT_WRITE_BEHIND  NUMBER(1),
     CREATED_AT          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     CREATED_BY          VARCHAR2(50) NOT NULL,
     UPDATED_AT          TIMESTAMP,
     UPDATED_BY          VARCHAR2(50),
     CONSTRAINT CHK_HTTP_METHOD CHECK (HTTP_METHOD IN ('GET', 'POST', 'PUT', 'DELETE', 'PATCH')),
     CONSTRAINT CHK_CLIENT_ACTIVE CHECK (IS_ACTIVE IN (0, 1)),
-    CONSTRAINT CHK_CLIENT_RETRY CHECK (RETRY_ENABLED IN (0, 1))
+    CONSTRAINT CHK_CLIENT_RETRY CHECK (RETRY_ENABLED IN (0, 1)),
+    CONSTRAINT CHK_CLIENT_MAPPING_CACHE CHECK (MAPPING_CACHE_ENABLED IN (0, 1)),
+    CONSTRAINT CHK_CLIENT_BATCH_CONCURRENCY CHECK (BATCH_CONCURRENCY > 0),
+    CONSTRAINT CHK_CLIENT_MAX_CONNECTIONS CHECK (MAX_CONNECTIONS > 0),
+    CONSTRAINT CHK_CLIENT_MAX_CONCURRENT_CALLS CHECK (MAX_CONCURRENT_CALLS > 0),
+    CONSTRAINT CHK_CLIENT_RATE_LIMIT CHECK (RATE_LIMIT_PER_SECOND > 0),
+    CONSTRAINT CHK_CLIENT_RATE_LIMIT_BURST CHECK (RATE_LIMIT_BURST > 0),
+    CONSTRAINT CHK_CLIENT_RETRY_COALESCE CHECK (RETRY_COALESCE IN (0, 1)),
+    CONSTRAINT CHK_CLIENT_AUDIT_WRITE_BEHIND CHECK (AUDIT_WRITE_BEHIND IN (0, 1))
 );
 
 CREATE INDEX IDX_CLIENT_ACTIVE ON CLIENT_CONFIGURATION(IS_ACTIVE);
@@ -35,6 +52,15 @@ COMMENT ON TABLE CLIENT_CONFIGURATION IS 'Stores configuration for each client A
 COMMENT ON COLUMN CLIENT_CONFIGURATION.CLIENT_ID IS 'Unique identifier for the client';
 COMMENT ON COLUMN CLIENT_CONFIGURATION.API_KEY IS 'Encrypted API key for authentication';
 COMMENT ON COLUMN CLIENT_CONFIGURATION.TIMEOUT_SECONDS IS 'Request timeout (default 5 minutes)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.MAPPING_CACHE_ENABLED IS '0 = read field mappings fresh on every request';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.BATCH_CONCURRENCY IS 'Parallel calls per batch request (NULL = service default)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.MAX_CONNECTIONS IS 'HTTP connections in the client''s own pool (NULL = service default)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.MAX_CONCURRENT_CALLS IS 'Concurrent API calls allowed across all requests (NULL = service default)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RATE_LIMIT_PER_SECOND IS 'Calls per second allowed by the partner (NULL = service default)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RATE_LIMIT_BURST IS 'Calls that may be sent at once after an idle period (NULL = one second of calls)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RETRY_BACKOFF IS 'JSON retry delay bounds per error class, e.g. {"TIMEOUT":{"minSeconds":5,"maxHours":1}} (NULL = service defaults)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RETRY_COALESCE IS '1 = a new failure of a pending source record replaces its queued payload (NULL = service default)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.AUDIT_WRITE_BEHIND IS '1 = journal audit entries locally and insert them in batches; 0 = write synchronously (NULL = service default)';
 
 -- ===========================================
 -- CLIENT_EMAIL_RECIPIENTS Table
@@ -122,9 +148,13 @@ CREATE TABLE AUDIT_LOG (
     CORRELATION_ID      VARCHAR2(50),
     CREATED_BY          VARCHAR2(50),
     CREATED_AT          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CALL_STATUS         VARCHAR2(20) DEFAULT 'COMPLETED' NOT NULL,
+    REQUEST_PAYLOAD_DATA  BLOB,
+    RESPONSE_PAYLOAD_DATA BLOB,
     CONSTRAINT FK_AUDIT_CLIENT FOREIGN KEY (CLIENT_ID)
         REFERENCES CLIENT_CONFIGURATION(CLIENT_ID),
-    CONSTRAINT CHK_AUDIT_SUCCESS CHECK (SUCCESS_FLAG IN (0, 1))
+    CONSTRAINT CHK_AUDIT_SUCCESS CHECK (SUCCESS_FLAG IN (0, 1)),
+    CONSTRAINT CHK_AUDIT_CALL_STATUS CHECK (CALL_STATUS IN ('IN_FLIGHT', 'COMPLETED', 'ABANDONED'))
 );
 
 CREATE INDEX IDX_AUDIT_CLIENT ON AUDIT_LOG(CLIENT_ID);
@@ -136,9 +166,15 @@ CREATE INDEX IDX_AUDIT_SOURCE_RECORD ON AUDIT_LOG(SOURCE_RECORD_ID);
 -- Composite index for time-range queries by client
 CREATE INDEX IDX_AUDIT_CLIENT_TIME ON AUDIT_LOG(CLIENT_ID, REQUEST_TIMESTAMP);
 
+-- Index for reconciliation of calls without a recorded outcome
+CREATE INDEX IDX_AUDIT_CALL_STATUS ON AUDIT_LOG(CALL_STATUS, REQUEST_TIMESTAMP);
+
 COMMENT ON TABLE AUDIT_LOG IS 'Complete audit trail of all API calls for compliance';
 COMMENT ON COLUMN AUDIT_LOG.AUDIT_ID IS 'UUID for the audit record';
 COMMENT ON COLUMN AUDIT_LOG.CORRELATION_ID IS 'Correlation ID for request tracking across systems';
+COMMENT ON COLUMN AUDIT_LOG.CALL_STATUS IS 'IN_FLIGHT until the outcome is recorded, ABANDONED if never recorded';
+COMMENT ON COLUMN AUDIT_LOG.REQUEST_PAYLOAD_DATA IS 'Large request payload as codec byte (0 = none, 1 = gzip) + body; REQUEST_PAYLOAD is NULL then';
+COMMENT ON COLUMN AUDIT_LOG.RESPONSE_PAYLOAD_DATA IS 'Large response payload as codec byte (0 = none, 1 = gzip) + body; RESPONSE_PAYLOAD is NULL then';
 
 -- ===========================================
 -- FAILED_API_CALLS Table
@@ -159,6 +195,11 @@ CREATE TABLE FAILED_API_CALLS (
     LAST_STATUS_CODE    NUMBER(3),
     FINAL_STATUS        VARCHAR2(20) DEFAULT 'PENDING',
     LAST_RETRY_TIMESTAMP TIMESTAMP,
+    ERROR_CLASS         VARCHAR2(20),
+    BACKOFF_SECONDS     NUMBER(10),
+    LEASE_OWNER         VARCHAR2(100),
+    LEASE_EXPIRES_AT    TIMESTAMP,
+    COALESCED_COUNT     NUMBER(10) DEFAULT 0,
     SOURCE_RECORD_ID    VARCHAR2(100),
     CORRELATION_ID      VARCHAR2(50),
     CREATED_AT          TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
@@ -167,13 +208,15 @@ CREATE TABLE FAILED_API_CALLS (
     UPDATED_BY          VARCHAR2(50),
     CONSTRAINT FK_FAILED_CLIENT FOREIGN KEY (CLIENT_ID)
         REFERENCES CLIENT_CONFIGURATION(CLIENT_ID),
-    CONSTRAINT CHK_FINAL_STATUS CHECK (FINAL_STATUS IN ('PENDING', 'SUCCESS', 'EXHAUSTED'))
+    CONSTRAINT CHK_FINAL_STATUS CHECK (FINAL_STATUS IN ('PENDING', 'SUCCESS', 'EXHAUSTED')),
+    CONSTRAINT CHK_FAILED_ERROR_CLASS CHECK (ERROR_CLASS IN ('TIMEOUT', 'SERVER_ERROR', 'THROTTLED', 'NETWORK'))
 );
 
 CREATE INDEX IDX_FAILED_CLIENT ON FAILED_API_CALLS(CLIENT_ID);
 CREATE INDEX IDX_FAILED_STATUS ON FAILED_API_CALLS(FINAL_STATUS);
 CREATE INDEX IDX_FAILED_NEXT_RETRY ON FAILED_API_CALLS(NEXT_RETRY_TIME);
 CREATE INDEX IDX_FAILED_CORRELATION ON FAILED_API_CALLS(CORRELATION_ID);
+CREATE INDEX IDX_FAILED_SOURCE_RECORD ON FAILED_API_CALLS(CLIENT_ID, SOURCE_RECORD_ID);
 
 -- Composite index for retry processing
 CREATE INDEX IDX_FAILED_STATUS_RETRY ON FAILED_API_CALLS(FINAL_STATUS, NEXT_RETRY_TIME);
@@ -182,6 +225,49 @@ COMMENT ON TABLE FAILED_API_CALLS IS 'Queue for failed API calls pending retry';
 COMMENT ON COLUMN FAILED_API_CALLS.RETRY_COUNT IS 'Current retry attempt (0-360)';
 COMMENT ON COLUMN FAILED_API_CALLS.MAX_RETRY_ATTEMPTS IS 'Maximum retry attempts (default 360 = 15 days)';
 COMMENT ON COLUMN FAILED_API_CALLS.FINAL_STATUS IS 'PENDING=awaiting retry, SUCCESS=retry succeeded, EXHAUSTED=max retries reached';
+COMMENT ON COLUMN FAILED_API_CALLS.ERROR_CLASS IS 'Class of the latest failure, selecting its retry schedule';
+COMMENT ON COLUMN FAILED_API_CALLS.BACKOFF_SECONDS IS 'Delay before the scheduled retry; the next delay is derived from it';
+COMMENT ON COLUMN FAILED_API_CALLS.LEASE_OWNER IS 'Service instance currently retrying the call (NULL = not claimed)';
+COMMENT ON COLUMN FAILED_API_CALLS.LEASE_EXPIRES_AT IS 'Time after which an unfinished claim may be taken over by another instance';
+COMMENT ON COLUMN FAILED_API_CALLS.COALESCED_COUNT IS 'Later failures of the same source record merged into this call';
+
+-- ===========================================
+-- AUDIT_HOURLY_ROLLUP Table
+-- Maintained from AUDIT_LOG by the rollup job
+-- ===========================================
+CREATE TABLE AUDIT_HOURLY_ROLLUP (
+    CLIENT_ID             VARCHAR2(50) NOT NULL,
+    HOUR_START            TIMESTAMP NOT NULL,
+    TOTAL_CALLS           NUMBER(12) DEFAULT 0 NOT NULL,
+    SUCCESSFUL_CALLS      NUMBER(12) DEFAULT 0 NOT NULL,
+    TIMED_CALLS           NUMBER(12) DEFAULT 0 NOT NULL,
+    EXECUTION_TIME_SUM_MS NUMBER(20) DEFAULT 0 NOT NULL,
+    LATENCY_LE_50         NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_100        NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_250        NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_500        NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_1000       NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_2500       NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_5000       NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_10000      NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_OVER_10000    NUMBER(12) DEFAULT 0 NOT NULL,
+    UPDATED_AT            TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_AUDIT_HOURLY_ROLLUP PRIMARY KEY (CLIENT_ID, HOUR_START)
+);
+
+COMMENT ON TABLE AUDIT_HOURLY_ROLLUP IS 'Per-client hourly aggregates of AUDIT_LOG by request hour, for statistics';
+COMMENT ON COLUMN AUDIT_HOURLY_ROLLUP.TIMED_CALLS IS 'Calls with an EXECUTION_TIME_MS; the average is EXECUTION_TIME_SUM_MS / TIMED_CALLS';
+COMMENT ON COLUMN AUDIT_HOURLY_ROLLUP.LATENCY_LE_50 IS 'Latency histogram: calls taking up to 50 ms; each LATENCY_LE_n counts calls above the previous bound up to n ms';
+
+-- Hours before ROLLED_UP_TO are in AUDIT_HOURLY_ROLLUP (NULL = nothing rolled up yet)
+CREATE TABLE AUDIT_ROLLUP_STATE (
+    ROLLUP_NAME   VARCHAR2(50) PRIMARY KEY,
+    ROLLED_UP_TO  TIMESTAMP,
+    UPDATED_AT    TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+INSERT INTO AUDIT_ROLLUP_STATE (ROLLUP_NAME) VALUES ('AUDIT_HOURLY');
+COMMIT;
 
 -- ===========================================
 -- Sample Source Tables (for testing)
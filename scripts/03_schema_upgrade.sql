@@ -0,0 +1,189 @@
+-- ===========================================
+-- Multi-Tenant REST API Integration Service
+-- Schema Upgrade Script for Oracle
+-- Brings an existing installation up to the
+-- layout in 01_create_tables.sql. Run once.
+-- ===========================================
+
+-- ===========================================
+-- CLIENT_CONFIGURATION: field mapping cache opt-out
+-- ===========================================
+ALTER TABLE CLIENT_CONFIGURATION ADD (
+    MAPPING_CACHE_ENABLED NUMBER(1) DEFAULT 1
+);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_MAPPING_CACHE
+    CHECK (MAPPING_CACHE_ENABLED IN (0, 1));
+
+COMMENT ON COLUMN CLIENT_CONFIGURATION.MAPPING_CACHE_ENABLED IS '0 = read field mappings fresh on every request';
+
+-- ===========================================
+-- AUDIT_LOG: call lifecycle status
+-- ===========================================
+ALTER TABLE AUDIT_LOG ADD (
+    CALL_STATUS VARCHAR2(20) DEFAULT 'COMPLETED' NOT NULL
+);
+
+ALTER TABLE AUDIT_LOG ADD CONSTRAINT CHK_AUDIT_CALL_STATUS
+    CHECK (CALL_STATUS IN ('IN_FLIGHT', 'COMPLETED', 'ABANDONED'));
+
+CREATE INDEX IDX_AUDIT_CALL_STATUS ON AUDIT_LOG(CALL_STATUS, REQUEST_TIMESTAMP);
+
+COMMENT ON COLUMN AUDIT_LOG.CALL_STATUS IS 'IN_FLIGHT until the outcome is recorded, ABANDONED if never recorded';
+
+-- ===========================================
+-- CLIENT_CONFIGURATION: batch concurrency limit
+-- ===========================================
+ALTER TABLE CLIENT_CONFIGURATION ADD (
+    BATCH_CONCURRENCY NUMBER(3)
+);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_BATCH_CONCURRENCY
+    CHECK (BATCH_CONCURRENCY > 0);
+
+COMMENT ON COLUMN CLIENT_CONFIGURATION.BATCH_CONCURRENCY IS 'Parallel calls per batch request (NULL = service default)';
+
+-- ===========================================
+-- CLIENT_CONFIGURATION: connection pool and bulkhead limits
+-- ===========================================
+ALTER TABLE CLIENT_CONFIGURATION ADD (
+    MAX_CONNECTIONS NUMBER(4),
+    MAX_CONCURRENT_CALLS NUMBER(4)
+);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_MAX_CONNECTIONS
+    CHECK (MAX_CONNECTIONS > 0);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_MAX_CONCURRENT_CALLS
+    CHECK (MAX_CONCURRENT_CALLS > 0);
+
+COMMENT ON COLUMN CLIENT_CONFIGURATION.MAX_CONNECTIONS IS 'HTTP connections in the client''s own pool (NULL = service default)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.MAX_CONCURRENT_CALLS IS 'Concurrent API calls allowed across all requests (NULL = service default)';
+
+-- ===========================================
+-- CLIENT_CONFIGURATION: outbound rate limit
+-- ===========================================
+ALTER TABLE CLIENT_CONFIGURATION ADD (
+    RATE_LIMIT_PER_SECOND NUMBER(8,2),
+    RATE_LIMIT_BURST NUMBER(6)
+);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_RATE_LIMIT
+    CHECK (RATE_LIMIT_PER_SECOND > 0);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_RATE_LIMIT_BURST
+    CHECK (RATE_LIMIT_BURST > 0);
+
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RATE_LIMIT_PER_SECOND IS 'Calls per second allowed by the partner (NULL = service default)';
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RATE_LIMIT_BURST IS 'Calls that may be sent at once after an idle period (NULL = one second of calls)';
+
+-- ===========================================
+-- Retry backoff per error class
+-- ===========================================
+ALTER TABLE CLIENT_CONFIGURATION ADD (
+    RETRY_BACKOFF VARCHAR2(1000)
+);
+
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RETRY_BACKOFF IS 'JSON retry delay bounds per error class, e.g. {"TIMEOUT":{"minSeconds":5,"maxHours":1}} (NULL = service defaults)';
+
+ALTER TABLE FAILED_API_CALLS ADD (
+    ERROR_CLASS VARCHAR2(20),
+    BACKOFF_SECONDS NUMBER(10)
+);
+
+ALTER TABLE FAILED_API_CALLS ADD CONSTRAINT CHK_FAILED_ERROR_CLASS
+    CHECK (ERROR_CLASS IN ('TIMEOUT', 'SERVER_ERROR', 'THROTTLED', 'NETWORK'));
+
+COMMENT ON COLUMN FAILED_API_CALLS.ERROR_CLASS IS 'Class of the latest failure, selecting its retry schedule';
+COMMENT ON COLUMN FAILED_API_CALLS.BACKOFF_SECONDS IS 'Delay before the scheduled retry; the next delay is derived from it';
+
+-- ===========================================
+-- FAILED_API_CALLS: retry leases
+-- ===========================================
+ALTER TABLE FAILED_API_CALLS ADD (
+    LEASE_OWNER VARCHAR2(100),
+    LEASE_EXPIRES_AT TIMESTAMP
+);
+
+COMMENT ON COLUMN FAILED_API_CALLS.LEASE_OWNER IS 'Service instance currently retrying the call (NULL = not claimed)';
+COMMENT ON COLUMN FAILED_API_CALLS.LEASE_EXPIRES_AT IS 'Time after which an unfinished claim may be taken over by another instance';
+
+-- ===========================================
+-- Retry queue coalescing by source record
+-- ===========================================
+ALTER TABLE CLIENT_CONFIGURATION ADD (
+    RETRY_COALESCE NUMBER(1)
+);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_RETRY_COALESCE
+    CHECK (RETRY_COALESCE IN (0, 1));
+
+COMMENT ON COLUMN CLIENT_CONFIGURATION.RETRY_COALESCE IS '1 = a new failure of a pending source record replaces its queued payload (NULL = service default)';
+
+ALTER TABLE FAILED_API_CALLS ADD (
+    COALESCED_COUNT NUMBER(10) DEFAULT 0
+);
+
+CREATE INDEX IDX_FAILED_SOURCE_RECORD ON FAILED_API_CALLS(CLIENT_ID, SOURCE_RECORD_ID);
+
+COMMENT ON COLUMN FAILED_API_CALLS.COALESCED_COUNT IS 'Later failures of the same source record merged into this call';
+
+-- ===========================================
+-- CLIENT_CONFIGURATION: write-behind audit
+-- ===========================================
+ALTER TABLE CLIENT_CONFIGURATION ADD (
+    AUDIT_WRITE_BEHIND NUMBER(1)
+);
+
+ALTER TABLE CLIENT_CONFIGURATION ADD CONSTRAINT CHK_CLIENT_AUDIT_WRITE_BEHIND
+    CHECK (AUDIT_WRITE_BEHIND IN (0, 1));
+
+COMMENT ON COLUMN CLIENT_CONFIGURATION.AUDIT_WRITE_BEHIND IS '1 = journal audit entries locally and insert them in batches; 0 = write synchronously (NULL = service default)';
+
+-- ===========================================
+-- AUDIT_LOG: compressed payloads
+-- ===========================================
+ALTER TABLE AUDIT_LOG ADD (
+    REQUEST_PAYLOAD_DATA  BLOB,
+    RESPONSE_PAYLOAD_DATA BLOB
+);
+
+COMMENT ON COLUMN AUDIT_LOG.REQUEST_PAYLOAD_DATA IS 'Large request payload as codec byte (0 = none, 1 = gzip) + body; REQUEST_PAYLOAD is NULL then';
+COMMENT ON COLUMN AUDIT_LOG.RESPONSE_PAYLOAD_DATA IS 'Large response payload as codec byte (0 = none, 1 = gzip) + body; RESPONSE_PAYLOAD is NULL then';
+
+-- ===========================================
+-- AUDIT_HOURLY_ROLLUP: hourly audit statistics
+-- ===========================================
+CREATE TABLE AUDIT_HOURLY_ROLLUP (
+    CLIENT_ID             VARCHAR2(50) NOT NULL,
+    HOUR_START            TIMESTAMP NOT NULL,
+    TOTAL_CALLS           NUMBER(12) DEFAULT 0 NOT NULL,
+    SUCCESSFUL_CALLS      NUMBER(12) DEFAULT 0 NOT NULL,
+    TIMED_CALLS           NUMBER(12) DEFAULT 0 NOT NULL,
+    EXECUTION_TIME_SUM_MS NUMBER(20) DEFAULT 0 NOT NULL,
+    LATENCY_LE_50         NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_100        NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_250        NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_500        NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_1000       NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_2500       NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_5000       NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_LE_10000      NUMBER(12) DEFAULT 0 NOT NULL,
+    LATENCY_OVER_10000    NUMBER(12) DEFAULT 0 NOT NULL,
+    UPDATED_AT            TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT PK_AUDIT_HOURLY_ROLLUP PRIMARY KEY (CLIENT_ID, HOUR_START)
+);
+
+COMMENT ON TABLE AUDIT_HOURLY_ROLLUP IS 'Per-client hourly aggregates of AUDIT_LOG by request hour, for statistics';
+COMMENT ON COLUMN AUDIT_HOURLY_ROLLUP.TIMED_CALLS IS 'Calls with an EXECUTION_TIME_MS; the average is EXECUTION_TIME_SUM_MS / TIMED_CALLS';
+COMMENT ON COLUMN AUDIT_HOURLY_ROLLUP.LATENCY_LE_50 IS 'Latency histogram: calls taking up to 50 ms; each LATENCY_LE_n counts calls above the previous bound up to n ms';
+
+-- Hours before ROLLED_UP_TO are in AUDIT_HOURLY_ROLLUP (NULL = nothing rolled up yet)
+CREATE TABLE AUDIT_ROLLUP_STATE (
+    ROLLUP_NAME   VARCHAR2(50) PRIMARY KEY,
+    ROLLED_UP_TO  TIMESTAMP,
+    UPDATED_AT    TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+INSERT INTO AUDIT_ROLLUP_STATE (ROLLUP_NAME) VALUES ('AUDIT_HOURLY');
+COMMIT;
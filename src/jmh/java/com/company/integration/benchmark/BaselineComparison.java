@@ -0,0 +1,137 @@
+package com.company.integration.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the committed baseline and exits with 1 when a benchmark
+ * lost more than the threshold of its throughput, or allocates that much more per
+ * operation (gc profiler). Benchmarks missing from either file are listed but not
+ * compared, so a run of a subset or a new benchmark does not fail. A baseline entry without
+ * a score cannot be compared and fails the run like a regression, until a result is
+ * recorded over it.
+ *
+ * Usage: BaselineComparison &lt;baseline.json&gt; &lt;result.json&gt; [threshold, default 0.10]
+ */
+public class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 && !args[2].isBlank() ? Double.parseDouble(args[2]) : 0.10;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> results = index(objectMapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        int unscored = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                System.out.println("NEW        " + entry.getKey());
+                continue;
+            }
+            if (!expected.path("primaryMetric").has("score")) {
+                unscored++;
+                System.out.println("UNSCORED   " + entry.getKey());
+                continue;
+            }
+
+            JsonNode actual = entry.getValue();
+            double expectedScore = expected.path("primaryMetric").path("score").asDouble();
+            double actualScore = actual.path("primaryMetric").path("score").asDouble();
+            double scoreChange = change(expectedScore, actualScore);
+            boolean slower = scoreChange < -threshold;
+
+            Double expectedAllocation = allocation(expected);
+            Double actualAllocation = allocation(actual);
+            double allocationChange = expectedAllocation != null && actualAllocation != null
+                    ? change(expectedAllocation, actualAllocation) : 0;
+            // Allocation of a few bytes per operation varies with escape analysis
+            boolean allocatesMore = allocationChange > threshold && actualAllocation - expectedAllocation > 16;
+
+            if (slower || allocatesMore) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%s%n",
+                    slower || allocatesMore ? "REGRESSED" : "OK", entry.getKey(),
+                    expectedScore, actualScore, actual.path("primaryMetric").path("scoreUnit").asText(),
+                    scoreChange * 100,
+                    actualAllocation != null && expectedAllocation != null
+                            ? String.format(", %.0f -> %.0f B/op (%+.1f%%)",
+                                    expectedAllocation, actualAllocation, allocationChange * 100)
+                            : "");
+        }
+
+        for (String benchmark : baseline.keySet()) {
+            if (!results.containsKey(benchmark)) {
+                System.out.println("NOT RUN    " + benchmark);
+            }
+        }
+
+        if (unscored > 0) {
+            System.out.printf("%d benchmark(s) have no baseline score; copy %s over %s to record them%n",
+                    unscored, args[1], args[0]);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, threshold * 100, args[0]);
+        }
+        if (unscored > 0 || regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Index results by benchmark method and parameters.
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    sorted.put(param.getKey(), param.getValue().asText());
+                }
+                key.append(sorted);
+            }
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+
+    /**
+     * Normalized allocation per operation, if the gc profiler was on.
+     */
+    private static Double allocation(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            // Older JMH versions prefix profiler metrics with a middle dot
+            if (metric.getKey().replace("\u00b7", "").equals(ALLOCATION_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return null;
+    }
+
+    private static double change(double expected, double actual) {
+        return expected == 0 ? 0 : (actual - expected) / expected;
+    }
+}
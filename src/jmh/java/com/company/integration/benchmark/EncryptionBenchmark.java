@@ -0,0 +1,90 @@
+package com.company.integration.benchmark;
+
+import com.company.integration.config.SecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares API key decryption through the pooled {@link SecurityConfig} with the previous
+ * path, which derived the key and created a new Cipher on every call.
+ *
+ * Run with: mvn -P benchmark verify -DskipTests -Djmh.args="EncryptionBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class EncryptionBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key";
+    private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
+
+    @Param({"100"})
+    private int clientCount;
+
+    private SecurityConfig securityConfig;
+    private List<String> encryptedKeys;
+
+    @Setup
+    public void setUp() throws Exception {
+        securityConfig = new SecurityConfig();
+        ReflectionTestUtils.setField(securityConfig, "secretKey", SECRET);
+        ReflectionTestUtils.setField(securityConfig, "cipherPoolSize", 16);
+
+        encryptedKeys = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            encryptedKeys.add(securityConfig.encrypt("api-key-" + i + "-0123456789abcdef"));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String decryptLegacy() throws Exception {
+        return legacyDecrypt(encryptedKeys.get(0));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String decryptPooled() throws Exception {
+        return securityConfig.decrypt(encryptedKeys.get(0));
+    }
+
+    @Benchmark
+    public List<String> decryptAllLegacy() throws Exception {
+        List<String> decrypted = new ArrayList<>(encryptedKeys.size());
+        for (String encryptedKey : encryptedKeys) {
+            decrypted.add(legacyDecrypt(encryptedKey));
+        }
+        return decrypted;
+    }
+
+    @Benchmark
+    public List<String> decryptAllBulk() throws Exception {
+        return securityConfig.decryptAll(encryptedKeys);
+    }
+
+    /**
+     * The decryption path before key derivation and ciphers were reused.
+     */
+    private static String legacyDecrypt(String encryptedText) throws Exception {
+        byte[] key = MessageDigest.getInstance("SHA-256").digest(SECRET.getBytes(StandardCharsets.UTF_8));
+        SecretKeySpec keySpec = new SecretKeySpec(Arrays.copyOf(key, 32), "AES");
+
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, keySpec);
+        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
+        return new String(decryptedBytes, StandardCharsets.UTF_8);
+    }
+}
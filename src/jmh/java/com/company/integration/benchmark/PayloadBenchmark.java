@@ -0,0 +1,142 @@
+package com.company.integration.benchmark;
+
+import com.company.integration.mapper.FieldMappingMapper;
+import com.company.integration.model.dto.FieldMappingDTO;
+import com.company.integration.model.dto.MappingVersionDTO;
+import com.company.integration.service.CallPhaseMetrics;
+import com.company.integration.service.MappingCache;
+import com.company.integration.service.PayloadBuilderService;
+import com.company.integration.util.DataTransformer;
+import com.company.integration.util.JsonPathBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload building hot path for mapping sizes from 10 to 1000 fields nested 1 to 5 levels
+ * deep: building a nested object from paths, building a client payload from its field
+ * mappings (with the compiled mapping plan reused, as for every record after the first)
+ * and merging additional data into a payload.
+ *
+ * Run with: mvn -P benchmark verify -DskipTests -Djmh.args="PayloadBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class PayloadBenchmark {
+
+    private static final String CLIENT_ID = "BENCHMARK_CLIENT";
+    private static final String[] TRANSFORMATION_RULES = {null, "TRIM", "UPPERCASE", "TRIM||LOWERCASE"};
+
+    @Param({"10", "100", "1000"})
+    private int fieldCount;
+
+    @Param({"1", "2", "3", "4", "5"})
+    private int depth;
+
+    private JsonPathBuilder jsonPathBuilder;
+    private PayloadBuilderService payloadBuilderService;
+    private Map<String, Object> pathValues;
+    private List<FieldMappingDTO> mappings;
+    private Map<String, Object> sourceData;
+    private ObjectNode payload;
+    private ObjectNode overlay;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        DataTransformer dataTransformer = new DataTransformer();
+        jsonPathBuilder = new JsonPathBuilder(objectMapper);
+        MappingCache mappingCache = mappingCache();
+        payloadBuilderService = new PayloadBuilderService(null, mappingCache, dataTransformer, jsonPathBuilder,
+                objectMapper, new CallPhaseMetrics(new SimpleMeterRegistry()));
+
+        pathValues = new LinkedHashMap<>();
+        List<FieldMappingDTO> loadedMappings = new ArrayList<>(fieldCount);
+        sourceData = new HashMap<>();
+        Map<String, Object> overlayValues = new LinkedHashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            String path = targetPath(i);
+            String column = "COLUMN_" + i;
+            String value = "  Value " + i + "  ";
+
+            pathValues.put(path, value);
+            sourceData.put(column, value);
+            loadedMappings.add(FieldMappingDTO.builder()
+                    .mappingId((long) i)
+                    .clientId(CLIENT_ID)
+                    .sourceTable("SOURCE_TABLE")
+                    .sourceColumn(column)
+                    .targetFieldPath(path)
+                    .dataType(FieldMappingDTO.DataType.STRING)
+                    .transformationRule(TRANSFORMATION_RULES[i % TRANSFORMATION_RULES.length])
+                    .isMandatory(i % 10 == 0)
+                    .fieldOrder(i)
+                    .build());
+            if (i % 2 == 0) {
+                overlayValues.put(path, "Override " + i);
+            }
+        }
+
+        mappings = mappingCache.get(CLIENT_ID, clientId -> loadedMappings);
+        payload = payloadBuilderService.buildJsonPayload(mappings, sourceData);
+        overlay = jsonPathBuilder.buildNestedJson(overlayValues);
+    }
+
+    @Benchmark
+    public ObjectNode buildNestedJson() {
+        return jsonPathBuilder.buildNestedJson(pathValues);
+    }
+
+    @Benchmark
+    public ObjectNode buildJsonPayload() {
+        return payloadBuilderService.buildJsonPayload(mappings, sourceData);
+    }
+
+    @Benchmark
+    public ObjectNode mergeObjects() {
+        return jsonPathBuilder.mergeObjects(payload, overlay);
+    }
+
+    /**
+     * Mapping cache holding the benchmark client's mappings, which the compiled plan is
+     * kept with.
+     */
+    private MappingCache mappingCache() {
+        FieldMappingMapper fieldMappingMapper = Mockito.mock(FieldMappingMapper.class);
+        Mockito.when(fieldMappingMapper.findMappingVersion(CLIENT_ID))
+                .thenReturn(MappingVersionDTO.builder().clientId(CLIENT_ID).mappingCount(fieldCount).build());
+
+        MappingCache mappingCache = new MappingCache(fieldMappingMapper);
+        ReflectionTestUtils.setField(mappingCache, "enabled", true);
+        ReflectionTestUtils.setField(mappingCache, "maxClients", 1);
+        return mappingCache;
+    }
+
+    /**
+     * Target path of a field: {@code depth - 1} object levels, each shared by a third of
+     * the fields of its parent, above a unique leaf.
+     */
+    private String targetPath(int field) {
+        StringBuilder path = new StringBuilder();
+        int group = field;
+        for (int level = 1; level < depth; level++) {
+            path.append("level").append(level).append('_').append(group % 3).append('.');
+            group /= 3;
+        }
+        return path.append("field").append(field).toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.integration.benchmark;
+
+import com.company.integration.model.dto.FieldMappingDTO;
+import com.company.integration.util.DataTransformer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each transformation rule type, applied through {@link DataTransformer#transform},
+ * which compiles the rule on every call, and as the compiled transformation that mapping
+ * plans reuse for every record.
+ *
+ * Run with: mvn -P benchmark verify -DskipTests -Djmh.args="TransformBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class TransformBenchmark {
+
+    private static final Map<String, Object> SOURCE_DATA = Map.of(
+            "FIRST_NAME", "John",
+            "LAST_NAME", "Smith");
+
+    @Param({"DATE:yyyy-MM-dd", "CONCAT:FIRST_NAME|LAST_NAME", "TRIM", "UPPERCASE", "LOWERCASE", "REPLACE:->",
+            "SUBSTRING:0,5", "PAD_LEFT:16,0", "PAD_RIGHT:16, ", "ROUND:2", "FORMAT_NUMBER:#,##0.00", "MASK:2,2"})
+    private String rule;
+
+    private DataTransformer dataTransformer;
+    private DataTransformer.CompiledTransformation compiled;
+    private FieldMappingDTO.DataType dataType;
+    private Object value;
+
+    @Setup
+    public void setUp() {
+        dataTransformer = new DataTransformer();
+        dataType = FieldMappingDTO.DataType.STRING;
+
+        if (rule.startsWith("DATE:")) {
+            value = LocalDate.of(2024, 6, 15);
+        } else if (rule.startsWith("ROUND:")) {
+            value = 1234567.891;
+            dataType = FieldMappingDTO.DataType.DOUBLE;
+        } else if (rule.startsWith("FORMAT_NUMBER:")) {
+            value = 1234567.891;
+        } else {
+            value = "  555-123-4567  ";
+        }
+
+        compiled = dataTransformer.compile(rule, dataType, null);
+    }
+
+    @Benchmark
+    public Object transform() {
+        return dataTransformer.transform(value, rule, dataType, SOURCE_DATA);
+    }
+
+    @Benchmark
+    public Object applyCompiled() {
+        return compiled.apply(value, SOURCE_DATA);
+    }
+}
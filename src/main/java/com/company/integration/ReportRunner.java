@@ -3,27 +3,32 @@ package com.company.integration;
 import com.company.integration.service.ReportGenerationService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Profile;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Standalone application for generating daily compliance reports.
  * Intended to be triggered by Windows Task Scheduler at 9:00 AM IST.
  *
- * Usage: java -jar integration-service.jar --spring.profiles.active=report [date]
+ * Usage: java -jar integration-service.jar --spring.profiles.active=report [--parallelism=N] [date]
  * Date format: yyyy-MM-dd (defaults to yesterday if not provided)
+ * Parallelism defaults to {@code report.parallelism}. A rerun for the same date resumes after
+ * the clients already finished unless {@code --report.resume=false} is given.
  */
 @SpringBootApplication
 @Profile("report")
-public class ReportRunner implements CommandLineRunner {
+public class ReportRunner implements ApplicationRunner {
 
     private static final Logger logger = LogManager.getLogger(ReportRunner.class);
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String PARALLELISM_OPTION = "parallelism";
 
     private final ReportGenerationService reportGenerationService;
 
@@ -38,17 +43,19 @@ public class ReportRunner implements CommandLineRunner {
     }
 
     @Override
-    public void run(String... args) throws Exception {
+    public void run(ApplicationArguments args) throws Exception {
         logger.info("Starting Daily Report Generation");
 
         LocalDate reportDate;
+        // Options such as --spring.profiles.active=report are not the date
+        List<String> dateArgs = args.getNonOptionArgs();
 
-        if (args.length > 0) {
+        if (!dateArgs.isEmpty()) {
             try {
-                reportDate = LocalDate.parse(args[0], DATE_FORMAT);
+                reportDate = LocalDate.parse(dateArgs.get(0), DATE_FORMAT);
                 logger.info("Using provided date: {}", reportDate);
             } catch (Exception e) {
-                logger.warn("Invalid date format '{}', using yesterday", args[0]);
+                logger.warn("Invalid date format '{}', using yesterday", dateArgs.get(0));
                 reportDate = LocalDate.now().minusDays(1);
             }
         } else {
@@ -57,7 +64,15 @@ public class ReportRunner implements CommandLineRunner {
         }
 
         try {
-            reportGenerationService.generateAndSendDailyReports(reportDate);
+            ReportGenerationService.ReportRunSummary summary = args.containsOption(PARALLELISM_OPTION)
+                    ? reportGenerationService.generateAndSendDailyReports(reportDate, parallelism(args))
+                    : reportGenerationService.generateAndSendDailyReports(reportDate);
+            long failed = summary.count(ReportGenerationService.ClientReportStatus.FAILED);
+            if (failed > 0) {
+                // Rerunning resumes with the failed clients
+                logger.error("Report generation failed for {} clients", failed);
+                System.exit(1);
+            }
             logger.info("Report generation completed successfully");
         } catch (Exception e) {
             logger.error("Report generation failed: {}", e.getMessage(), e);
@@ -66,4 +81,18 @@ public class ReportRunner implements CommandLineRunner {
 
         logger.info("Report Runner completed");
     }
+
+    private static int parallelism(ApplicationArguments args) {
+        List<String> values = args.getOptionValues(PARALLELISM_OPTION);
+        String value = values.isEmpty() ? "" : values.get(values.size() - 1);
+        try {
+            int parallelism = Integer.parseInt(value);
+            if (parallelism > 0) {
+                return parallelism;
+            }
+        } catch (NumberFormatException e) {
+            // Rejected below
+        }
+        throw new IllegalArgumentException("--" + PARALLELISM_OPTION + " must be a positive number, got '" + value + "'");
+    }
 }
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -12,6 +13,12 @@ import java.util.concurrent.Executor;
 /**
  * Async and scheduling configuration class.
  * Configures thread pools for async operations and scheduled tasks.
+ *
+ * With {@code spring.threads.virtual.enabled=true} (which also moves Tomcat request
+ * handling onto virtual threads) every task runs on its own virtual thread instead.
+ * The retry and email executors then keep their maximum pool size as a concurrency
+ * limit, making further submitters wait rather than queue; API call tasks are bounded
+ * by the per-client batch concurrency only.
  */
 @Configuration
 @EnableAsync
@@ -27,6 +34,12 @@ public class AsyncConfig {
     @Value("${async.queue.capacity:100}")
     private int queueCapacity;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${retry.dispatcher.workers:20}")
+    private int retryWorkers;
+
     /**
      * Configure thread pool for async API calls.
      *
@@ -34,6 +47,10 @@ public class AsyncConfig {
      */
     @Bean(name = "apiCallExecutor")
     public Executor apiCallExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("ApiCall-", SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY, 60);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(corePoolSize);
         executor.setMaxPoolSize(maxPoolSize);
@@ -46,16 +63,22 @@ public class AsyncConfig {
     }
 
     /**
-     * Configure thread pool for retry operations.
+     * Configure thread pool for retry operations. The {@code RetryDispatcher} never
+     * submits more retries than there are workers, so all of them run at once.
      *
      * @return Executor instance
      */
     @Bean(name = "retryExecutor")
     public Executor retryExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("Retry-", retryWorkers, 120);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(50);
+        executor.setCorePoolSize(retryWorkers);
+        executor.setMaxPoolSize(retryWorkers);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(retryWorkers);
         executor.setThreadNamePrefix("Retry-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(120);
@@ -70,6 +93,10 @@ public class AsyncConfig {
      */
     @Bean(name = "emailExecutor")
     public Executor emailExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("Email-", 5, 30);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -80,4 +107,21 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Create an executor starting one virtual thread per task.
+     *
+     * @param threadNamePrefix        prefix of the thread names
+     * @param concurrencyLimit        maximum number of concurrently running tasks
+     * @param awaitTerminationSeconds how long shutdown waits for running tasks
+     * @return Executor instance
+     */
+    private Executor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit,
+                                           int awaitTerminationSeconds) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(awaitTerminationSeconds * 1000L);
+        return executor;
+    }
 }
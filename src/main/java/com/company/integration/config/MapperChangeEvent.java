@@ -0,0 +1,45 @@
+package com.company.integration.config;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Application event published after a MyBatis statement modified configuration data.
+ * Listeners use it to invalidate in-memory copies of that data.
+ */
+@Getter
+@ToString
+public class MapperChangeEvent {
+
+    /**
+     * Configuration tables whose modifications are published.
+     */
+    public enum Table {
+        FIELD_MAPPING,
+        CLIENT_CONFIGURATION
+    }
+
+    /**
+     * Table that was modified
+     */
+    private final Table table;
+
+    /**
+     * Affected client, or null when the statement could affect any client
+     */
+    private final String clientId;
+
+    public MapperChangeEvent(Table table, String clientId) {
+        this.table = table;
+        this.clientId = clientId;
+    }
+
+    /**
+     * Check if the change is limited to a single client.
+     *
+     * @return true if a client identifier is known
+     */
+    public boolean isClientScoped() {
+        return clientId != null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.integration.config;
+
+import com.company.integration.model.entity.ClientConfiguration;
+import com.company.integration.model.entity.FieldMapping;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Map;
+
+/**
+ * MyBatis plugin that publishes a {@link MapperChangeEvent} whenever a watched
+ * insert/update/delete statement runs, regardless of which component invoked it.
+ * Events published inside a transaction are delivered to transactional listeners
+ * after commit.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class MapperChangeInterceptor implements Interceptor {
+
+    private static final Logger logger = LogManager.getLogger(MapperChangeInterceptor.class);
+
+    private static final String FIELD_MAPPING_MAPPER = "com.company.integration.mapper.FieldMappingMapper.";
+    private static final String CLIENT_MAPPER = "com.company.integration.mapper.ClientMapper.";
+
+    private static final Map<String, MapperChangeEvent.Table> WATCHED_STATEMENTS = Map.of(
+            FIELD_MAPPING_MAPPER + "insert", MapperChangeEvent.Table.FIELD_MAPPING,
+            FIELD_MAPPING_MAPPER + "update", MapperChangeEvent.Table.FIELD_MAPPING,
+            FIELD_MAPPING_MAPPER + "delete", MapperChangeEvent.Table.FIELD_MAPPING,
+            FIELD_MAPPING_MAPPER + "deactivateByClientId", MapperChangeEvent.Table.FIELD_MAPPING,
+            CLIENT_MAPPER + "insert", MapperChangeEvent.Table.CLIENT_CONFIGURATION,
+            CLIENT_MAPPER + "update", MapperChangeEvent.Table.CLIENT_CONFIGURATION,
+            CLIENT_MAPPER + "deactivate", MapperChangeEvent.Table.CLIENT_CONFIGURATION
+    );
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MapperChangeInterceptor(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        MapperChangeEvent.Table table = WATCHED_STATEMENTS.get(statement.getId());
+
+        if (table != null) {
+            String clientId = extractClientId(invocation.getArgs()[1]);
+            logger.debug("Statement {} modified {} for client: {}", statement.getId(), table,
+                    clientId != null ? clientId : "<all>");
+            eventPublisher.publishEvent(new MapperChangeEvent(table, clientId));
+        }
+
+        return result;
+    }
+
+    /**
+     * Extract the client identifier from a statement parameter.
+     * Returns null when the statement is not scoped to a single known client.
+     */
+    private String extractClientId(Object parameter) {
+        if (parameter instanceof FieldMapping mapping) {
+            return mapping.getClientId();
+        }
+        if (parameter instanceof ClientConfiguration client) {
+            return client.getClientId();
+        }
+        // MyBatis ParamMap throws on unknown keys, so check before reading
+        if (parameter instanceof Map<?, ?> params && params.containsKey("clientId")) {
+            Object clientId = params.get("clientId");
+            return clientId != null ? clientId.toString() : null;
+        }
+        return null;
+    }
+}
@@ -1,13 +1,16 @@
 package com.company.integration.config;
 
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.apache.ibatis.session.ExecutorType;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
 import javax.sql.DataSource;
+import java.util.Properties;
 
 /**
  * MyBatis configuration class.
@@ -20,12 +23,14 @@ public class MyBatisConfig {
     /**
      * Configure MyBatis SQL session factory.
      *
-     * @param dataSource the configured data source
+     * @param dataSource     the configured data source
+     * @param eventPublisher publisher used to announce configuration data changes
      * @return SqlSessionFactoryBean instance
      * @throws Exception if configuration fails
      */
     @Bean
-    public SqlSessionFactoryBean sqlSessionFactory(DataSource dataSource) throws Exception {
+    public SqlSessionFactoryBean sqlSessionFactory(DataSource dataSource,
+                                                   ApplicationEventPublisher eventPublisher) throws Exception {
         SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
         sessionFactory.setDataSource(dataSource);
 
@@ -47,6 +52,17 @@ public class MyBatisConfig {
 
         sessionFactory.setConfiguration(configuration);
 
+        // Expose the vendor as _databaseId so mappers can use Oracle-only clauses
+        Properties vendors = new Properties();
+        vendors.setProperty("Oracle", "oracle");
+        vendors.setProperty("H2", "h2");
+        VendorDatabaseIdProvider databaseIdProvider = new VendorDatabaseIdProvider();
+        databaseIdProvider.setProperties(vendors);
+        sessionFactory.setDatabaseIdProvider(databaseIdProvider);
+
+        // Publish change events so in-memory caches can be invalidated
+        sessionFactory.setPlugins(new MapperChangeInterceptor(eventPublisher));
+
         return sessionFactory;
     }
 }
@@ -17,7 +17,8 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * REST client configuration class.
- * Configures WebClient for external API calls with proper timeout settings.
+ * Configures WebClient for external API calls with proper timeout settings. The shared
+ * pool serves clients without a pool of their own (see ClientConnectionPools).
  */
 @Configuration
 public class RestClientConfig {
@@ -31,25 +32,52 @@ public class RestClientConfig {
     @Value("${rest.client.max.connections:100}")
     private int maxConnections;
 
-    @Value("${rest.client.max.connections.per.route:20}")
-    private int maxConnectionsPerRoute;
-
     /**
      * Configure WebClient for external API calls.
+     * Clients with their own connection pool derive their WebClient from this one.
      *
      * @return WebClient.Builder instance
      */
     @Bean
     public WebClient.Builder webClientBuilder() {
-        // Configure connection provider with pool settings
-        ConnectionProvider connectionProvider = ConnectionProvider.builder("integration-pool")
+        // Configure exchange strategies for large payloads
+        ExchangeStrategies exchangeStrategies = ExchangeStrategies.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10MB
+                .build();
+
+        return WebClient.builder()
+                .clientConnector(createConnector(createConnectionProvider("integration-pool", maxConnections)))
+                .exchangeStrategies(exchangeStrategies);
+    }
+
+    /**
+     * Create a connection pool. Reactor Netty keeps one pool per remote host under it, each
+     * limited to maxConnections. Pool metrics (active, idle and pending connections) are
+     * published under reactor.netty.connection.provider, tagged with the pool name.
+     *
+     * @param name           the pool name
+     * @param maxConnections maximum connections per remote host
+     * @return ConnectionProvider instance
+     */
+    public ConnectionProvider createConnectionProvider(String name, int maxConnections) {
+        return ConnectionProvider.builder(name)
                 .maxConnections(maxConnections)
                 .maxIdleTime(Duration.ofMinutes(5))
                 .maxLifeTime(Duration.ofMinutes(30))
                 .pendingAcquireTimeout(Duration.ofSeconds(connectionTimeoutSeconds))
                 .evictInBackground(Duration.ofMinutes(2))
+                .disposeTimeout(Duration.ofSeconds(timeoutSeconds))
+                .metrics(true)
                 .build();
+    }
 
+    /**
+     * Create an HTTP connector with the configured timeouts on a connection pool.
+     *
+     * @param connectionProvider the connection pool
+     * @return ReactorClientHttpConnector instance
+     */
+    public ReactorClientHttpConnector createConnector(ConnectionProvider connectionProvider) {
         // Configure HTTP client with timeouts
         HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeoutSeconds * 1000)
@@ -58,14 +86,7 @@ public class RestClientConfig {
                         .addHandlerLast(new ReadTimeoutHandler(timeoutSeconds, TimeUnit.SECONDS))
                         .addHandlerLast(new WriteTimeoutHandler(timeoutSeconds, TimeUnit.SECONDS)));
 
-        // Configure exchange strategies for large payloads
-        ExchangeStrategies exchangeStrategies = ExchangeStrategies.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10MB
-                .build();
-
-        return WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .exchangeStrategies(exchangeStrategies);
+        return new ReactorClientHttpConnector(httpClient);
     }
 
     /**
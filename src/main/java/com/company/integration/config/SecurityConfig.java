@@ -1,21 +1,25 @@
 package com.company.integration.config;
 
+import com.company.integration.util.CipherPool;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 
 /**
  * Security configuration class.
- * Provides AES-256 encryption utilities for sensitive data.
+ * Provides AES-256 encryption utilities for sensitive data. The key is derived from the
+ * configured secret once, and encryption uses a bounded pool of initialized ciphers.
  */
 @Configuration
 public class SecurityConfig {
@@ -26,6 +30,11 @@ public class SecurityConfig {
     @Value("${encryption.aes.secret.key}")
     private String secretKey;
 
+    @Value("${encryption.cipher.pool.size:16}")
+    private int cipherPoolSize;
+
+    private volatile CipherPool cipherPool;
+
     /**
      * Whitelist of allowed source tables to prevent SQL injection.
      * Add all valid source table names here.
@@ -57,7 +66,18 @@ public class SecurityConfig {
      */
     @Bean
     public SecretKeySpec secretKeySpec() throws Exception {
-        byte[] key = secretKey.getBytes(StandardCharsets.UTF_8);
+        return deriveKey(secretKey);
+    }
+
+    /**
+     * Derive the AES-256 key from a secret (SHA-256 of its UTF-8 bytes).
+     *
+     * @param secret the configured secret
+     * @return SecretKeySpec instance
+     * @throws GeneralSecurityException if SHA-256 is not available
+     */
+    public static SecretKeySpec deriveKey(String secret) throws GeneralSecurityException {
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
         MessageDigest sha = MessageDigest.getInstance("SHA-256");
         key = sha.digest(key);
         key = Arrays.copyOf(key, 32); // Use first 256 bits for AES-256
@@ -75,9 +95,7 @@ public class SecurityConfig {
         if (plainText == null || plainText.isEmpty()) {
             return plainText;
         }
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec());
-        byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+        byte[] encryptedBytes = cipherPool().encrypt(plainText.getBytes(StandardCharsets.UTF_8));
         return Base64.getEncoder().encodeToString(encryptedBytes);
     }
 
@@ -92,12 +110,57 @@ public class SecurityConfig {
         if (encryptedText == null || encryptedText.isEmpty()) {
             return encryptedText;
         }
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.DECRYPT_MODE, secretKeySpec());
-        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
+        byte[] decryptedBytes = cipherPool().decrypt(Base64.getDecoder().decode(encryptedText));
         return new String(decryptedBytes, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Decrypt several Base64 encoded AES-256 encrypted strings with one cipher.
+     * Values that are empty, not Base64 or fail to decrypt yield null in their position.
+     *
+     * @param encryptedTexts the Base64 encoded encrypted texts
+     * @return decrypted plain texts, in input order
+     * @throws Exception if no cipher could be created
+     */
+    public List<String> decryptAll(List<String> encryptedTexts) throws Exception {
+        byte[][] inputs = new byte[encryptedTexts.size()][];
+        for (int i = 0; i < inputs.length; i++) {
+            String encryptedText = encryptedTexts.get(i);
+            if (encryptedText != null && !encryptedText.isEmpty()) {
+                try {
+                    inputs[i] = Base64.getDecoder().decode(encryptedText);
+                } catch (IllegalArgumentException e) {
+                    inputs[i] = null;
+                }
+            }
+        }
+
+        byte[][] outputs = cipherPool().decryptAll(inputs);
+
+        List<String> decrypted = new ArrayList<>(outputs.length);
+        for (byte[] output : outputs) {
+            decrypted.add(output != null ? new String(output, StandardCharsets.UTF_8) : null);
+        }
+        return decrypted;
+    }
+
+    /**
+     * Get the cipher pool, deriving the key on first use.
+     */
+    private CipherPool cipherPool() throws GeneralSecurityException {
+        CipherPool pool = cipherPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = cipherPool;
+                if (pool == null) {
+                    pool = new CipherPool(TRANSFORMATION, deriveKey(secretKey), Math.max(1, cipherPoolSize));
+                    cipherPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
     /**
      * Validate that a table name is in the allowed whitelist.
      *
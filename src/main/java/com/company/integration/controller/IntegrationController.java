@@ -4,15 +4,27 @@ import com.company.integration.model.dto.ApiRequestDTO;
 import com.company.integration.model.dto.ApiResponseDTO;
 import com.company.integration.model.dto.ErrorResponseDTO;
 import com.company.integration.service.AuditService;
+import com.company.integration.service.CallPhaseMetrics;
+import com.company.integration.service.ClientProfileCache;
 import com.company.integration.service.IntegrationService;
+import com.company.integration.service.MappingCache;
+import com.company.integration.service.MappingService;
+import com.company.integration.service.RestApiInvocationService;
 import com.company.integration.service.RetryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,17 +38,30 @@ import java.util.Map;
 public class IntegrationController {
 
     private static final Logger logger = LogManager.getLogger(IntegrationController.class);
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     private final IntegrationService integrationService;
     private final AuditService auditService;
     private final RetryService retryService;
+    private final MappingService mappingService;
+    private final RestApiInvocationService restApiInvocationService;
+    private final CallPhaseMetrics phaseMetrics;
+    private final ObjectMapper objectMapper;
 
     public IntegrationController(IntegrationService integrationService,
                                  AuditService auditService,
-                                 RetryService retryService) {
+                                 RetryService retryService,
+                                 MappingService mappingService,
+                                 RestApiInvocationService restApiInvocationService,
+                                 CallPhaseMetrics phaseMetrics,
+                                 ObjectMapper objectMapper) {
         this.integrationService = integrationService;
         this.auditService = auditService;
         this.retryService = retryService;
+        this.mappingService = mappingService;
+        this.restApiInvocationService = restApiInvocationService;
+        this.phaseMetrics = phaseMetrics;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -80,6 +105,73 @@ public class IntegrationController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Process a batch of API requests for a client, streaming each response as one line
+     * of NDJSON as soon as it completes. Lines arrive in completion order; use the
+     * sourceRecordId of each line to match it to its input.
+     *
+     * @param clientId        the client identifier
+     * @param sourceRecordIds list of source record IDs
+     * @param requestedBy     optional user making the request
+     * @return streamed API responses, one JSON object per line
+     */
+    @PostMapping(value = "/batch/{clientId}/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> invokeBatchStream(
+            @PathVariable String clientId,
+            @RequestBody List<String> sourceRecordIds,
+            @RequestParam(required = false, defaultValue = "BATCH_API") String requestedBy) {
+
+        logger.info("Received streaming batch request for client: {} with {} records",
+                clientId, sourceRecordIds.size());
+
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter writer = new NdjsonWriter(outputStream);
+            integrationService.processBatch(clientId, sourceRecordIds, requestedBy, writer::write);
+        };
+
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Process an API integration request without holding a servlet thread while the
+     * client API is called.
+     *
+     * @param request the API request DTO
+     * @return ApiResponseDTO with the result
+     */
+    @PostMapping("/reactive/invoke")
+    public Mono<ResponseEntity<ApiResponseDTO>> invokeApiReactive(@Valid @RequestBody ApiRequestDTO request) {
+        logger.info("Received reactive integration request for client: {}, record: {}",
+                request.getClientId(), request.getSourceRecordId());
+
+        return integrationService.processRequestReactive(request)
+                .map(response -> ResponseEntity.status(Boolean.TRUE.equals(response.getSuccess()) ?
+                        HttpStatus.OK : HttpStatus.BAD_GATEWAY).body(response));
+    }
+
+    /**
+     * Process a batch of API requests for a client without holding a thread per in-flight
+     * API call. Responses are returned in input order.
+     *
+     * @param clientId        the client identifier
+     * @param sourceRecordIds list of source record IDs
+     * @param requestedBy     optional user making the request
+     * @return List of API responses
+     */
+    @PostMapping("/reactive/batch/{clientId}")
+    public Mono<ResponseEntity<List<ApiResponseDTO>>> invokeBatchReactive(
+            @PathVariable String clientId,
+            @RequestBody List<String> sourceRecordIds,
+            @RequestParam(required = false, defaultValue = "BATCH_API") String requestedBy) {
+
+        logger.info("Received reactive batch request for client: {} with {} records",
+                clientId, sourceRecordIds.size());
+
+        return integrationService.processBatchReactive(clientId, sourceRecordIds, requestedBy)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
     /**
      * Validate a request without executing.
      *
@@ -119,6 +211,22 @@ public class IntegrationController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get the latency percentiles of a client's call phases from the in-process
+     * histograms; the database is not queried.
+     *
+     * @param clientId the client identifier
+     * @return statistics per phase, or 404 when nothing was recorded under the client's own tag
+     */
+    @GetMapping("/metrics/{clientId}")
+    public ResponseEntity<Map<String, CallPhaseMetrics.PhaseStats>> getPhaseMetrics(@PathVariable String clientId) {
+        Map<String, CallPhaseMetrics.PhaseStats> stats = phaseMetrics.getStats(clientId);
+        if (stats.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(stats);
+    }
+
     /**
      * Get audit details by correlation ID.
      *
@@ -192,6 +300,73 @@ public class IntegrationController {
         ));
     }
 
+    /**
+     * Reload the field mappings of a client, bypassing the cache.
+     *
+     * @param clientId the client identifier
+     * @return number of active mappings loaded
+     */
+    @PostMapping("/admin/mappings/{clientId}/reload")
+    public ResponseEntity<Map<String, Object>> reloadMappings(@PathVariable String clientId) {
+        logger.info("Reloading field mappings for client: {}", clientId);
+
+        int mappingCount = mappingService.reloadMappings(clientId);
+
+        return ResponseEntity.ok(Map.of(
+                "clientId", clientId,
+                "mappingCount", mappingCount,
+                "reloadedAt", LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * Clear the field mapping cache for all clients.
+     *
+     * @return cache statistics after clearing
+     */
+    @DeleteMapping("/admin/mappings/cache")
+    public ResponseEntity<MappingCache.CacheStats> clearMappingCache() {
+        logger.info("Clearing field mapping cache for all clients");
+
+        mappingService.invalidateAllMappings();
+
+        return ResponseEntity.ok(mappingService.getMappingCacheStats());
+    }
+
+    /**
+     * Get field mapping cache statistics.
+     *
+     * @return CacheStats
+     */
+    @GetMapping("/admin/mappings/cache")
+    public ResponseEntity<MappingCache.CacheStats> getMappingCacheStats() {
+        return ResponseEntity.ok(mappingService.getMappingCacheStats());
+    }
+
+    /**
+     * Clear the client profile cache for all clients.
+     *
+     * @return cache statistics after clearing
+     */
+    @DeleteMapping("/admin/clients/cache")
+    public ResponseEntity<ClientProfileCache.CacheStats> clearClientProfileCache() {
+        logger.info("Clearing client profile cache for all clients");
+
+        restApiInvocationService.invalidateClientProfiles();
+
+        return ResponseEntity.ok(restApiInvocationService.getClientProfileCacheStats());
+    }
+
+    /**
+     * Get client profile cache statistics.
+     *
+     * @return CacheStats
+     */
+    @GetMapping("/admin/clients/cache")
+    public ResponseEntity<ClientProfileCache.CacheStats> getClientProfileCacheStats() {
+        return ResponseEntity.ok(restApiInvocationService.getClientProfileCacheStats());
+    }
+
     /**
      * Health check endpoint.
      *
@@ -204,7 +379,40 @@ public class IntegrationController {
         return ResponseEntity.ok(Map.of(
                 "status", "UP",
                 "timestamp", LocalDateTime.now(),
-                "retryQueueSize", retryStats.getPendingCount()
+                "retryQueueSize", retryStats.getPendingCount(),
+                "openCircuits", restApiInvocationService.getOpenCircuits()
         ));
     }
+
+    /**
+     * Writes responses from concurrent batch workers as NDJSON lines. Once the client
+     * disconnects, further lines are dropped; the batch itself still runs to completion
+     * and its outcome remains in the audit log.
+     */
+    private class NdjsonWriter {
+        private final OutputStream outputStream;
+        private boolean disconnected;
+
+        private NdjsonWriter(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        private synchronized void write(ApiResponseDTO response) {
+            if (disconnected) {
+                return;
+            }
+            try {
+                byte[] line = objectMapper.writeValueAsBytes(response);
+                outputStream.write(line);
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (JsonProcessingException e) {
+                logger.error("Failed to serialize batch response for record {}: {}",
+                        response.getSourceRecordId(), e.getMessage());
+            } catch (IOException e) {
+                disconnected = true;
+                logger.warn("Batch stream for client {} closed by caller: {}", response.getClientId(), e.getMessage());
+            }
+        }
+    }
 }
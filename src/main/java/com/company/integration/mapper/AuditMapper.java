@@ -4,6 +4,7 @@ import com.company.integration.model.dto.AuditReportDTO;
 import com.company.integration.model.entity.AuditLog;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +23,14 @@ public interface AuditMapper {
      */
     int insert(AuditLog auditLog);
 
+    /**
+     * Insert audit log record unless present, and complete the existing record when a completed one is merged
+     *
+     * @param auditLog the audit log to merge
+     * @return number of rows affected
+     */
+    int merge(AuditLog auditLog);
+
     /**
      * Find audit log by ID
      *
@@ -47,6 +56,15 @@ public interface AuditMapper {
      */
     List<AuditLog> findByCorrelationId(@Param("correlationId") String correlationId);
 
+    /**
+     * Find calls still in flight that were requested before a cutoff time
+     *
+     * @param cutoffTime only calls requested before this time
+     * @param limit maximum number of records
+     * @return List of audit logs, oldest first
+     */
+    List<AuditLog> findInFlightBefore(@Param("cutoffTime") LocalDateTime cutoffTime, @Param("limit") int limit);
+
     /**
      * Find audit logs within a time range for a client
      *
@@ -73,6 +91,20 @@ public interface AuditMapper {
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime);
 
+    /**
+     * Stream audit report data for daily reports, one row at a time
+     *
+     * @param clientId the client identifier
+     * @param startTime start of the time range
+     * @param endTime end of the time range
+     * @param handler receives each row as it is fetched
+     */
+    void streamReportData(
+            @Param("clientId") String clientId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            ResultHandler<AuditReportDTO> handler);
+
     /**
      * Find all clients with audit records in a time range
      *
@@ -129,6 +161,7 @@ public interface AuditMapper {
      * @param auditId the audit identifier
      * @param responseTimestamp response timestamp
      * @param responsePayload response payload
+     * @param responsePayloadData compressed response payload, set instead of responsePayload
      * @param responseStatusCode HTTP status code
      * @param responseHeaders response headers
      * @param executionTimeMs execution time
@@ -140,9 +173,23 @@ public interface AuditMapper {
             @Param("auditId") String auditId,
             @Param("responseTimestamp") LocalDateTime responseTimestamp,
             @Param("responsePayload") String responsePayload,
+            @Param("responsePayloadData") byte[] responsePayloadData,
             @Param("responseStatusCode") Integer responseStatusCode,
             @Param("responseHeaders") String responseHeaders,
             @Param("executionTimeMs") Long executionTimeMs,
             @Param("successFlag") Boolean successFlag,
             @Param("errorMessage") String errorMessage);
+
+    /**
+     * Mark an in-flight call as abandoned. Has no effect if the outcome was recorded meanwhile.
+     *
+     * @param auditId the audit identifier
+     * @param abandonedAt time the call was given up on
+     * @param errorMessage reason recorded on the audit entry
+     * @return number of rows affected (0 if no longer in flight)
+     */
+    int markAbandoned(
+            @Param("auditId") String auditId,
+            @Param("abandonedAt") LocalDateTime abandonedAt,
+            @Param("errorMessage") String errorMessage);
 }
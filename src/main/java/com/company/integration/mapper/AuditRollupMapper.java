@@ -0,0 +1,80 @@
+package com.company.integration.mapper;
+
+import com.company.integration.model.entity.AuditRollup;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * MyBatis mapper for the hourly audit rollup.
+ */
+@Mapper
+public interface AuditRollupMapper {
+
+    /**
+     * Aggregate audit log entries of a client in one scan
+     *
+     * @param clientId the client identifier
+     * @param startTime start of the time range
+     * @param endTime end of the time range
+     * @return AuditRollup with the totals of the range
+     */
+    AuditRollup aggregateAuditLog(
+            @Param("clientId") String clientId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Sum the rolled up hours of a client
+     *
+     * @param clientId the client identifier
+     * @param startHour first hour of the range
+     * @param endHour end of the range (exclusive, on an hour)
+     * @return AuditRollup with the totals of the range
+     */
+    AuditRollup sumHours(
+            @Param("clientId") String clientId,
+            @Param("startHour") LocalDateTime startHour,
+            @Param("endHour") LocalDateTime endHour);
+
+    /**
+     * Recompute the rollup rows of all clients for whole hours
+     *
+     * @param startHour first hour to recompute
+     * @param endHour end of the hours to recompute (exclusive)
+     * @return number of rollup rows written
+     */
+    int rollUpHours(
+            @Param("startHour") LocalDateTime startHour,
+            @Param("endHour") LocalDateTime endHour);
+
+    /**
+     * Find the time up to which hours are rolled up
+     *
+     * @return the watermark, or null if nothing is rolled up yet
+     */
+    LocalDateTime findWatermark();
+
+    /**
+     * Find the watermark and lock it until the transaction ends
+     *
+     * @return the watermark, or null if nothing is rolled up yet
+     */
+    LocalDateTime lockWatermark();
+
+    /**
+     * Update the time up to which hours are rolled up
+     *
+     * @param rolledUpTo the new watermark
+     * @return number of rows updated
+     */
+    int updateWatermark(@Param("rolledUpTo") LocalDateTime rolledUpTo);
+
+    /**
+     * Find the earliest request time in the audit log
+     *
+     * @return the earliest request timestamp, or null if the audit log is empty
+     */
+    LocalDateTime findFirstRequestTime();
+}
@@ -3,6 +3,7 @@ package com.company.integration.mapper;
 import com.company.integration.model.entity.FailedApiCall;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.RowBounds;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +22,14 @@ public interface FailedCallMapper {
      */
     int insert(FailedApiCall failedCall);
 
+    /**
+     * Insert a new failed API call record unless one with the same call ID exists
+     *
+     * @param failedCall the failed call to merge
+     * @return number of rows affected
+     */
+    int merge(FailedApiCall failedCall);
+
     /**
      * Find failed call by ID
      *
@@ -30,15 +39,45 @@ public interface FailedCallMapper {
     FailedApiCall findByCallId(@Param("callId") String callId);
 
     /**
-     * Find all pending calls due for retry
+     * Find pending calls due for retry and not claimed by a live lease, at most the earliest
+     * due calls per client. On Oracle the rows read are locked, skipping rows locked by another
+     * instance, until the transaction ends
      *
      * @param currentTime current timestamp
-     * @param limit maximum number of records to retrieve
-     * @return List of failed calls due for retry
+     * @param perClientLimit maximum number of records per client
+     * @param rowBounds maximum number of records to retrieve
+     * @return List of failed calls due for retry, earliest due first
      */
-    List<FailedApiCall> findPendingForRetry(
+    List<FailedApiCall> findClaimableForRetry(
             @Param("currentTime") LocalDateTime currentTime,
-            @Param("limit") int limit);
+            @Param("perClientLimit") int perClientLimit,
+            RowBounds rowBounds);
+
+    /**
+     * Lease a pending call to an instance unless another instance holds a live lease
+     *
+     * @param callId the call identifier
+     * @param leaseOwner the claiming instance
+     * @param leaseExpiresAt time after which the claim may be taken over
+     * @param currentTime current timestamp
+     * @return number of rows affected (0 if the call is claimed elsewhere or no longer pending)
+     */
+    int claimForRetry(
+            @Param("callId") String callId,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+            @Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Release a call's lease without recording an attempt
+     *
+     * @param callId the call identifier
+     * @param leaseOwner the instance holding the lease
+     * @return number of rows affected
+     */
+    int releaseClaim(
+            @Param("callId") String callId,
+            @Param("leaseOwner") String leaseOwner);
 
     /**
      * Find pending calls for a specific client
@@ -66,45 +105,100 @@ public interface FailedCallMapper {
     List<FailedApiCall> findByCorrelationId(@Param("correlationId") String correlationId);
 
     /**
-     * Update failed call after a retry attempt
+     * Update failed call after a retry attempt, if the instance still holds its lease
      *
      * @param callId the call identifier
+     * @param leaseOwner the instance holding the lease
      * @param retryCount new retry count
      * @param nextRetryTime next retry timestamp
      * @param lastStatusCode last HTTP status code
      * @param errorMessage error message from retry
      * @param finalStatus updated status
      * @param lastRetryTimestamp timestamp of last retry
+     * @param errorClass class of the latest failure
+     * @param backoffSeconds delay before the next retry
      * @param updatedBy user making the update
      * @return number of rows affected
      */
     int updateRetryAttempt(
             @Param("callId") String callId,
+            @Param("leaseOwner") String leaseOwner,
             @Param("retryCount") Integer retryCount,
             @Param("nextRetryTime") LocalDateTime nextRetryTime,
             @Param("lastStatusCode") Integer lastStatusCode,
             @Param("errorMessage") String errorMessage,
             @Param("finalStatus") String finalStatus,
             @Param("lastRetryTimestamp") LocalDateTime lastRetryTimestamp,
+            @Param("errorClass") String errorClass,
+            @Param("backoffSeconds") Long backoffSeconds,
             @Param("updatedBy") String updatedBy);
 
     /**
-     * Mark a failed call as successful
+     * Move the next retry of a pending call without counting an attempt
+     * if the instance still holds its lease
      *
      * @param callId the call identifier
+     * @param leaseOwner the instance holding the lease
+     * @param nextRetryTime next retry timestamp
      * @param updatedBy user making the update
      * @return number of rows affected
      */
-    int markAsSuccess(@Param("callId") String callId, @Param("updatedBy") String updatedBy);
+    int postponeRetry(
+            @Param("callId") String callId,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("nextRetryTime") LocalDateTime nextRetryTime,
+            @Param("updatedBy") String updatedBy);
 
     /**
-     * Mark a failed call as exhausted (max retries reached)
+     * Mark a failed call as successful, if the instance still holds its lease
      *
      * @param callId the call identifier
+     * @param leaseOwner the instance holding the lease
      * @param updatedBy user making the update
      * @return number of rows affected
      */
-    int markAsExhausted(@Param("callId") String callId, @Param("updatedBy") String updatedBy);
+    int markAsSuccess(
+            @Param("callId") String callId,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("updatedBy") String updatedBy);
+
+    /**
+     * Mark a failed call as exhausted (max retries reached or cancelled), if the instance
+     * still holds its lease
+     *
+     * @param callId the call identifier
+     * @param leaseOwner the instance holding the lease
+     * @param updatedBy user making the update
+     * @return number of rows affected
+     */
+    int markAsExhausted(
+            @Param("callId") String callId,
+            @Param("leaseOwner") String leaseOwner,
+            @Param("updatedBy") String updatedBy);
+
+    /**
+     * Find the earliest pending call of a source record that is not being retried
+     *
+     * @param clientId the client identifier
+     * @param sourceRecordId the source record identifier
+     * @param currentTime current timestamp
+     * @return the call ID, or null if there is none
+     */
+    String findCoalescableCallId(
+            @Param("clientId") String clientId,
+            @Param("sourceRecordId") String sourceRecordId,
+            @Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Replace the payload of a pending call that is not being retried with a later failure's
+     *
+     * @param failedCall the later failure, with the call ID of the pending call
+     * @param currentTime current timestamp
+     * @return number of rows affected (0 if the call was claimed or finished meanwhile)
+     */
+    int coalesce(
+            @Param("failedCall") FailedApiCall failedCall,
+            @Param("currentTime") LocalDateTime currentTime);
 
     /**
      * Count pending retries for a client
@@ -121,6 +215,13 @@ public interface FailedCallMapper {
      */
     int countAllPending();
 
+    /**
+     * Sum the failures merged into pending calls
+     *
+     * @return number of coalesced failures
+     */
+    int sumCoalescedPending();
+
     /**
      * Delete old exhausted records
      *
@@ -1,5 +1,6 @@
 package com.company.integration.mapper;
 
+import com.company.integration.model.dto.MappingVersionDTO;
 import com.company.integration.model.entity.FieldMapping;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -56,6 +57,14 @@ public interface FieldMappingMapper {
      */
     List<FieldMapping> findMandatoryFields(@Param("clientId") String clientId);
 
+    /**
+     * Get the mapping version watermark and cache opt-out flag for a client
+     *
+     * @param clientId the client identifier
+     * @return MappingVersionDTO or null if the client is not configured
+     */
+    MappingVersionDTO findMappingVersion(@Param("clientId") String clientId);
+
     /**
      * Get source data for building payload
      * This executes a dynamic query based on field mappings
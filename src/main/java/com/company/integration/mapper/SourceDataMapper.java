@@ -44,6 +44,20 @@ public interface SourceDataMapper {
             @Param("idColumn") String idColumn,
             @Param("recordIds") List<String> recordIds);
 
+    /**
+     * Get records from several tables sharing the record key with one joined query
+     * The select list and joins are planned in the service layer from whitelisted names
+     *
+     * @param selectList planned select list over the joined table aliases
+     * @param joinClause planned LEFT JOINs onto the requested IDs (alias k, column RID)
+     * @param recordIds list of record identifiers
+     * @return List of maps containing the requested ID (RID) and alias-value pairs
+     */
+    List<Map<String, Object>> getJoinedSourceRecords(
+            @Param("selectList") String selectList,
+            @Param("joinClause") String joinClause,
+            @Param("recordIds") List<String> recordIds);
+
     /**
      * Check if a source table exists in the database
      *
@@ -59,17 +73,4 @@ public interface SourceDataMapper {
      * @return List of column names
      */
     List<String> getTableColumns(@Param("tableName") String tableName);
-
-    /**
-     * Check if a specific record exists
-     *
-     * @param sourceTable the source table name
-     * @param idColumn the ID column name
-     * @param recordId the record identifier
-     * @return 1 if exists, 0 if not
-     */
-    int recordExists(
-            @Param("sourceTable") String sourceTable,
-            @Param("idColumn") String idColumn,
-            @Param("recordId") String recordId);
 }
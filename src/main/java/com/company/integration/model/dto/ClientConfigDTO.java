@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.Map;
@@ -39,8 +40,9 @@ public class ClientConfigDTO {
     private String httpMethod;
 
     /**
-     * Decrypted API key for authentication
+     * Decrypted API key for authentication (excluded from toString)
      */
+    @ToString.Exclude
     private String apiKey;
 
     /**
@@ -77,4 +79,44 @@ public class ClientConfigDTO {
      * Flag indicating if client is active
      */
     private Boolean isActive;
+
+    /**
+     * Maximum parallel calls per batch request (null = service default)
+     */
+    private Integer batchConcurrency;
+
+    /**
+     * Maximum HTTP connections in the client's own pool (null = service default)
+     */
+    private Integer maxConnections;
+
+    /**
+     * Maximum concurrent API calls across all requests (null = service default)
+     */
+    private Integer maxConcurrentCalls;
+
+    /**
+     * Calls per second allowed by the partner (null = service default)
+     */
+    private Double rateLimitPerSecond;
+
+    /**
+     * Calls that may be sent at once after an idle period (null = one second of calls)
+     */
+    private Integer rateLimitBurst;
+
+    /**
+     * Retry delay bounds by error class name (null = service defaults)
+     */
+    private Map<String, RetryBackoffScheduleDTO> retryBackoff;
+
+    /**
+     * Whether a new failure of a pending source record replaces its queued payload (null = service default)
+     */
+    private Boolean retryCoalesce;
+
+    /**
+     * Whether audit entries are journaled locally and inserted in batches (null = service default)
+     */
+    private Boolean auditWriteBehind;
 }
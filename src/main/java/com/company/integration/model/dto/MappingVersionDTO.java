@@ -0,0 +1,67 @@
+package com.company.integration.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object describing the current version of a client's field mappings.
+ * Used as a cheap watermark to decide whether cached mappings are still current.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MappingVersionDTO {
+
+    /**
+     * Client identifier
+     */
+    private String clientId;
+
+    /**
+     * Number of mapping rows (active and inactive) for the client
+     */
+    private Integer mappingCount;
+
+    /**
+     * Highest mapping identifier for the client
+     */
+    private Long maxMappingId;
+
+    /**
+     * Latest UPDATED_AT (or CREATED_AT when never updated) across the client's mappings
+     */
+    private LocalDateTime lastModified;
+
+    /**
+     * Flag from CLIENT_CONFIGURATION indicating if mappings may be cached
+     */
+    private Boolean mappingCacheEnabled;
+
+    /**
+     * Check if caching is allowed for this client (enabled unless explicitly switched off).
+     *
+     * @return true if mappings may be cached
+     */
+    public boolean isCacheable() {
+        return !Boolean.FALSE.equals(mappingCacheEnabled);
+    }
+
+    /**
+     * Check if this watermark describes the same mapping data as another one.
+     *
+     * @param other the watermark to compare with
+     * @return true if count, highest ID and last modification time all match
+     */
+    public boolean isSameVersion(MappingVersionDTO other) {
+        return other != null
+                && Objects.equals(mappingCount, other.mappingCount)
+                && Objects.equals(maxMappingId, other.maxMappingId)
+                && Objects.equals(lastModified, other.lastModified);
+    }
+}
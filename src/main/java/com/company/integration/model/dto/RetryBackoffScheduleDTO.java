@@ -0,0 +1,28 @@
+package com.company.integration.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the retry delay bounds of one error class.
+ * Read from the JSON in {@code CLIENT_CONFIGURATION.RETRY_BACKOFF}; a missing bound
+ * falls back to the service default.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetryBackoffScheduleDTO {
+
+    /**
+     * Shortest delay before a retry, in seconds
+     */
+    private Long minSeconds;
+
+    /**
+     * Longest delay before a retry, in hours
+     */
+    private Integer maxHours;
+}
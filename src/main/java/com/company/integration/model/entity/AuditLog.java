@@ -1,5 +1,6 @@
 package com.company.integration.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -106,4 +107,29 @@ public class AuditLog {
      * Correlation ID for request tracking
      */
     private String correlationId;
+
+    /**
+     * Call lifecycle status (IN_FLIGHT, COMPLETED, ABANDONED)
+     */
+    private String callStatus;
+
+    /**
+     * Request payload stored compressed (BLOB, codec byte + body); set instead of requestPayload
+     * only between packing and writing, or reading and unpacking
+     */
+    @JsonIgnore
+    private byte[] requestPayloadData;
+
+    /**
+     * Response payload stored compressed (BLOB, codec byte + body)
+     */
+    @JsonIgnore
+    private byte[] responsePayloadData;
+
+    /**
+     * Call status constants
+     */
+    public static final String CALL_STATUS_IN_FLIGHT = "IN_FLIGHT";
+    public static final String CALL_STATUS_COMPLETED = "COMPLETED";
+    public static final String CALL_STATUS_ABANDONED = "ABANDONED";
 }
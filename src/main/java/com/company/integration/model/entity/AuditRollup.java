@@ -0,0 +1,173 @@
+package com.company.integration.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing aggregated audit data of a client, one hour of it as stored in the
+ * AUDIT_HOURLY_ROLLUP table or any time range summed from it or from AUDIT_LOG.
+ * Execution times are counted in the buckets of {@link #LATENCY_BOUNDS_MS}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditRollup {
+
+    /**
+     * Upper bounds (inclusive) of the latency buckets; slower calls fall in the overflow bucket
+     */
+    public static final long[] LATENCY_BOUNDS_MS = {50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    /**
+     * Percentile value for the overflow bucket: slower than the last bound, by an unknown amount
+     */
+    public static final long LATENCY_OVERFLOW_MS = Long.MAX_VALUE;
+
+    /**
+     * Client identifier
+     */
+    private String clientId;
+
+    /**
+     * Start of the hour (null for a summed range)
+     */
+    private LocalDateTime hourStart;
+
+    /**
+     * Number of audited calls
+     */
+    private long totalCalls;
+
+    /**
+     * Number of successful calls
+     */
+    private long successfulCalls;
+
+    /**
+     * Number of calls with a recorded execution time
+     */
+    private long timedCalls;
+
+    /**
+     * Sum of the recorded execution times in milliseconds
+     */
+    private long executionTimeSumMs;
+
+    /**
+     * Calls per latency bucket: up to 50, 100, 250, 500, 1000, 2500, 5000, 10000 ms and slower
+     */
+    private long latencyLe50;
+    private long latencyLe100;
+    private long latencyLe250;
+    private long latencyLe500;
+    private long latencyLe1000;
+    private long latencyLe2500;
+    private long latencyLe5000;
+    private long latencyLe10000;
+    private long latencyOver10000;
+
+    /**
+     * Timestamp of the last recomputation
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * Add the counts of another rollup to this one.
+     *
+     * @param other the rollup to add
+     * @return this rollup
+     */
+    public AuditRollup add(AuditRollup other) {
+        totalCalls += other.totalCalls;
+        successfulCalls += other.successfulCalls;
+        timedCalls += other.timedCalls;
+        executionTimeSumMs += other.executionTimeSumMs;
+        latencyLe50 += other.latencyLe50;
+        latencyLe100 += other.latencyLe100;
+        latencyLe250 += other.latencyLe250;
+        latencyLe500 += other.latencyLe500;
+        latencyLe1000 += other.latencyLe1000;
+        latencyLe2500 += other.latencyLe2500;
+        latencyLe5000 += other.latencyLe5000;
+        latencyLe10000 += other.latencyLe10000;
+        latencyOver10000 += other.latencyOver10000;
+        return this;
+    }
+
+    /**
+     * Count one call.
+     *
+     * @param successful      whether the call succeeded
+     * @param executionTimeMs execution time, null if not recorded
+     */
+    public void record(boolean successful, Long executionTimeMs) {
+        totalCalls++;
+        if (successful) {
+            successfulCalls++;
+        }
+        if (executionTimeMs == null) {
+            return;
+        }
+        timedCalls++;
+        executionTimeSumMs += executionTimeMs;
+
+        int bucket = 0;
+        while (bucket < LATENCY_BOUNDS_MS.length && executionTimeMs > LATENCY_BOUNDS_MS[bucket]) {
+            bucket++;
+        }
+        switch (bucket) {
+            case 0 -> latencyLe50++;
+            case 1 -> latencyLe100++;
+            case 2 -> latencyLe250++;
+            case 3 -> latencyLe500++;
+            case 4 -> latencyLe1000++;
+            case 5 -> latencyLe2500++;
+            case 6 -> latencyLe5000++;
+            case 7 -> latencyLe10000++;
+            default -> latencyOver10000++;
+        }
+    }
+
+    /**
+     * Average execution time of the timed calls.
+     *
+     * @return average in milliseconds, 0 without timed calls
+     */
+    public long averageExecutionTimeMs() {
+        return timedCalls > 0 ? executionTimeSumMs / timedCalls : 0;
+    }
+
+    /**
+     * Estimate an execution time percentile from the latency buckets.
+     *
+     * @param percentile the percentile, e.g. 95
+     * @return upper bound of the bucket holding the percentile, {@link #LATENCY_OVERFLOW_MS}
+     *         for the overflow bucket, 0 without timed calls
+     */
+    public long latencyPercentileMs(double percentile) {
+        long[] buckets = {latencyLe50, latencyLe100, latencyLe250, latencyLe500, latencyLe1000,
+                latencyLe2500, latencyLe5000, latencyLe10000, latencyOver10000};
+        long counted = 0;
+        for (long bucket : buckets) {
+            counted += bucket;
+        }
+        if (counted == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(counted * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BOUNDS_MS.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return LATENCY_BOUNDS_MS[i];
+            }
+        }
+        return LATENCY_OVERFLOW_MS;
+    }
+}
@@ -72,6 +72,51 @@ public class ClientConfiguration {
      */
     private String additionalHeaders;
 
+    /**
+     * Flag indicating if field mappings may be served from the in-memory cache
+     */
+    private Boolean mappingCacheEnabled;
+
+    /**
+     * Maximum parallel calls per batch request (null = service default)
+     */
+    private Integer batchConcurrency;
+
+    /**
+     * Maximum HTTP connections in the client's own pool (null = service default)
+     */
+    private Integer maxConnections;
+
+    /**
+     * Maximum concurrent API calls across all requests (null = service default)
+     */
+    private Integer maxConcurrentCalls;
+
+    /**
+     * Calls per second allowed by the partner (null = service default)
+     */
+    private Double rateLimitPerSecond;
+
+    /**
+     * Calls that may be sent at once after an idle period (null = one second of calls)
+     */
+    private Integer rateLimitBurst;
+
+    /**
+     * Retry delay bounds per error class in JSON format (null = service defaults)
+     */
+    private String retryBackoff;
+
+    /**
+     * Whether a new failure of a pending source record replaces its queued payload (null = service default)
+     */
+    private Boolean retryCoalesce;
+
+    /**
+     * Whether audit entries are journaled locally and inserted in batches (null = service default)
+     */
+    private Boolean auditWriteBehind;
+
     /**
      * Timestamp when record was created
      */
@@ -87,6 +87,31 @@ public class FailedApiCall {
      */
     private LocalDateTime lastRetryTimestamp;
 
+    /**
+     * Class of the latest failure: TIMEOUT, SERVER_ERROR, THROTTLED, NETWORK
+     */
+    private String errorClass;
+
+    /**
+     * Delay in seconds before the scheduled retry
+     */
+    private Long backoffSeconds;
+
+    /**
+     * Service instance currently retrying the call
+     */
+    private String leaseOwner;
+
+    /**
+     * Time after which the claim may be taken over by another instance
+     */
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Later failures of the same source record merged into this call
+     */
+    private Integer coalescedCount;
+
     /**
      * Source record identifier
      */
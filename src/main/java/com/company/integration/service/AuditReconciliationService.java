@@ -0,0 +1,118 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.ClientMapper;
+import com.company.integration.model.entity.AuditLog;
+import com.company.integration.model.entity.ClientConfiguration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resolves audit entries left in flight when the process stopped between recording
+ * a call and recording its outcome.
+ *
+ * Entries older than the grace period (which must exceed the longest API timeout) are
+ * marked ABANDONED. Because it is unknown whether the client received the call, it is
+ * queued for retry when the client has retries enabled, giving at-least-once delivery.
+ */
+@Service
+public class AuditReconciliationService {
+
+    private static final Logger logger = LogManager.getLogger(AuditReconciliationService.class);
+
+    static final String ABANDONED_MESSAGE = "No outcome recorded for the call; abandoned by reconciliation";
+
+    private final AuditService auditService;
+    private final RetryService retryService;
+    private final ClientMapper clientMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.reconciliation.grace.seconds:900}")
+    private long graceSeconds;
+
+    @Value("${audit.reconciliation.batch.size:100}")
+    private int batchSize;
+
+    @Value("${audit.reconciliation.retry.enabled:true}")
+    private boolean retryEnabled;
+
+    public AuditReconciliationService(AuditService auditService,
+                                      RetryService retryService,
+                                      ClientMapper clientMapper,
+                                      PlatformTransactionManager transactionManager) {
+        this.auditService = auditService;
+        this.retryService = retryService;
+        this.clientMapper = clientMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reconcile stale in-flight audit entries (scheduled job).
+     *
+     * @return number of entries abandoned
+     */
+    @Scheduled(fixedDelayString = "${audit.reconciliation.interval.ms:300000}")
+    public int reconcileInFlightCalls() {
+        LocalDateTime cutoffTime = LocalDateTime.now().minusSeconds(graceSeconds);
+        List<AuditLog> staleEntries = auditService.findInFlightBefore(cutoffTime, batchSize);
+
+        if (staleEntries.isEmpty()) {
+            logger.debug("No in-flight audit entries older than {}", cutoffTime);
+            return 0;
+        }
+
+        logger.warn("Reconciling {} audit entries in flight since before {}", staleEntries.size(), cutoffTime);
+
+        int abandoned = 0;
+        for (AuditLog entry : staleEntries) {
+            try {
+                if (reconcile(entry)) {
+                    abandoned++;
+                }
+            } catch (Exception e) {
+                logger.error("Failed to reconcile audit entry {}: {}", entry.getAuditId(), e.getMessage(), e);
+            }
+        }
+
+        return abandoned;
+    }
+
+    /**
+     * Abandon one entry and queue its retry in a single transaction. Entries completed or
+     * reconciled by another node in the meantime are left untouched.
+     */
+    private boolean reconcile(AuditLog entry) {
+        Boolean abandoned = transactionTemplate.execute(status -> {
+            if (!auditService.markAbandoned(entry.getAuditId(), ABANDONED_MESSAGE)) {
+                return false;
+            }
+
+            if (shouldRetry(entry)) {
+                String callId = retryService.queueForRetry(
+                        entry.getClientId(), entry.getRequestPayload(), entry.getRequestHeaders(),
+                        entry.getApiEndpointUrl(), entry.getHttpMethod(), ABANDONED_MESSAGE, null,
+                        entry.getSourceRecordId(), entry.getCorrelationId(), entry.getCreatedBy());
+                logger.info("Queued abandoned call {} for retry: callId={}", entry.getAuditId(), callId);
+            }
+            return true;
+        });
+
+        return Boolean.TRUE.equals(abandoned);
+    }
+
+    private boolean shouldRetry(AuditLog entry) {
+        if (!retryEnabled || entry.getRequestPayload() == null || entry.getApiEndpointUrl() == null) {
+            return false;
+        }
+
+        ClientConfiguration config = clientMapper.findByClientId(entry.getClientId());
+        return config != null && Boolean.TRUE.equals(config.getRetryEnabled());
+    }
+}
@@ -0,0 +1,145 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.AuditRollupMapper;
+import com.company.integration.model.entity.AuditRollup;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Maintains the hourly audit rollup and answers statistics queries from it.
+ *
+ * The rollup job recomputes whole hours of AUDIT_LOG (by request time) into
+ * AUDIT_HOURLY_ROLLUP and advances a watermark past them. An hour is rolled up once it
+ * ended {@code audit.rollup.settle.minutes} ago, so in-flight calls have an outcome; the
+ * {@code audit.rollup.lookback.hours} before the watermark are recomputed on every run to
+ * pick up outcomes recorded later (write-behind replay, reconciliation). A backlog, e.g.
+ * on first start, is worked off {@code audit.rollup.max.hours.per.run} hours at a time.
+ *
+ * Statistics for a range read the rolled up hours and scan AUDIT_LOG only for the part
+ * after the watermark, in a single pass.
+ */
+@Service
+public class AuditRollupService {
+
+    private static final Logger logger = LogManager.getLogger(AuditRollupService.class);
+
+    private final AuditRollupMapper rollupMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Last watermark seen by this instance; lagging behind another instance's job only
+     * moves more of a range to the AUDIT_LOG scan
+     */
+    private volatile LocalDateTime watermark;
+
+    @Value("${audit.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.rollup.settle.minutes:30}")
+    private long settleMinutes;
+
+    @Value("${audit.rollup.lookback.hours:1}")
+    private long lookbackHours;
+
+    @Value("${audit.rollup.max.hours.per.run:24}")
+    private long maxHoursPerRun;
+
+    public AuditRollupService(AuditRollupMapper rollupMapper, PlatformTransactionManager transactionManager) {
+        this.rollupMapper = rollupMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Roll up the hours that have settled since the last run (scheduled job).
+     *
+     * @return number of rollup rows written
+     */
+    @Scheduled(fixedDelayString = "${audit.rollup.interval.ms:300000}")
+    public int rollUp() {
+        if (!enabled) {
+            return 0;
+        }
+
+        try {
+            Integer written = transactionTemplate.execute(status -> rollUpSettledHours());
+            return written != null ? written : 0;
+        } catch (Exception e) {
+            logger.error("Failed to roll up audit statistics: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Aggregate the audit data of a client for a time range.
+     *
+     * @param clientId  the client identifier
+     * @param startTime start of the time range
+     * @param endTime   end of the time range
+     * @return AuditRollup with the totals of the range
+     */
+    public AuditRollup aggregate(String clientId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime rolledUpTo = enabled ? currentWatermark() : null;
+        AuditRollup totals = AuditRollup.builder().clientId(clientId).build();
+
+        LocalDateTime rollupEnd = rolledUpTo != null && rolledUpTo.isBefore(endTime)
+                ? rolledUpTo : startOfHour(endTime);
+        if (rolledUpTo == null || !startTime.equals(startOfHour(startTime)) || !rollupEnd.isAfter(startTime)) {
+            // Nothing of the range is rolled up
+            return totals.add(rollupMapper.aggregateAuditLog(clientId, startTime, endTime));
+        }
+
+        totals.add(rollupMapper.sumHours(clientId, startTime, rollupEnd));
+        if (rollupEnd.isBefore(endTime)) {
+            totals.add(rollupMapper.aggregateAuditLog(clientId, rollupEnd, endTime));
+        }
+        return totals;
+    }
+
+    private int rollUpSettledHours() {
+        LocalDateTime rolledUpTo = rollupMapper.lockWatermark();
+        if (rolledUpTo == null) {
+            LocalDateTime firstRequest = rollupMapper.findFirstRequestTime();
+            if (firstRequest == null) {
+                return 0;
+            }
+            rolledUpTo = startOfHour(firstRequest);
+        }
+
+        LocalDateTime settled = startOfHour(LocalDateTime.now().minusMinutes(settleMinutes));
+        LocalDateTime target = settled.isAfter(rolledUpTo.plusHours(maxHoursPerRun))
+                ? rolledUpTo.plusHours(maxHoursPerRun) : settled;
+        if (target.isBefore(rolledUpTo)) {
+            // Clock moved back; keep the watermark
+            target = rolledUpTo;
+        }
+
+        LocalDateTime from = rolledUpTo.minusHours(lookbackHours);
+        int written = target.isAfter(from) ? rollupMapper.rollUpHours(from, target) : 0;
+        rollupMapper.updateWatermark(target);
+        watermark = target;
+
+        logger.debug("Rolled up audit hours {} to {}: {} rows", from, target, written);
+        return written;
+    }
+
+    private LocalDateTime currentWatermark() {
+        LocalDateTime current = watermark;
+        if (current == null) {
+            current = rollupMapper.findWatermark();
+            watermark = current;
+        }
+        return current;
+    }
+
+    private static LocalDateTime startOfHour(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+}
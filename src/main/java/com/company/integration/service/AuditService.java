@@ -4,6 +4,8 @@ import com.company.integration.exception.AuditFailureException;
 import com.company.integration.mapper.AuditMapper;
 import com.company.integration.model.dto.AuditReportDTO;
 import com.company.integration.model.entity.AuditLog;
+import com.company.integration.model.entity.AuditRollup;
+import com.company.integration.util.AuditPayloadCodec;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
@@ -16,10 +18,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for audit logging with synchronous writes.
- * All audit operations are transactional - if audit fails, the transaction rolls back.
+ * Clients in write-behind mode are audited through {@link AuditWriteBehind} instead. The
+ * entry methods open no transaction of their own, so a write-behind call never waits for a
+ * connection; in synchronous mode each writes one statement and joins the caller's transaction.
  */
 @Service
 public class AuditService {
@@ -29,14 +34,21 @@ public class AuditService {
 
     private final AuditMapper auditMapper;
     private final ObjectMapper objectMapper;
+    private final AuditWriteBehind auditWriteBehind;
+    private final AuditPayloadCodec payloadCodec;
+    private final AuditRollupService rollupService;
 
-    public AuditService(AuditMapper auditMapper, ObjectMapper objectMapper) {
+    public AuditService(AuditMapper auditMapper, ObjectMapper objectMapper, AuditWriteBehind auditWriteBehind,
+                        AuditPayloadCodec payloadCodec, AuditRollupService rollupService) {
         this.auditMapper = auditMapper;
         this.objectMapper = objectMapper;
+        this.auditWriteBehind = auditWriteBehind;
+        this.payloadCodec = payloadCodec;
+        this.rollupService = rollupService;
     }
 
     /**
-     * Create an audit log entry for an API request.
+     * Create an audit log entry for an API request, marked as in flight.
      * This should be called BEFORE making the API call.
      *
      * @param clientId       the client identifier
@@ -50,10 +62,33 @@ public class AuditService {
      * @return the audit ID
      * @throws AuditFailureException if audit creation fails
      */
-    @Transactional(propagation = Propagation.REQUIRED)
     public String createAuditEntry(String clientId, String apiEndpointUrl, String httpMethod,
                                    String requestPayload, Map<String, String> requestHeaders,
                                    String sourceRecordId, String correlationId, String createdBy) {
+        return createAuditEntry(clientId, apiEndpointUrl, httpMethod, requestPayload, requestHeaders,
+                sourceRecordId, correlationId, createdBy, null);
+    }
+
+    /**
+     * Create an audit log entry for an API request, marked as in flight, written
+     * synchronously or behind as configured for the client.
+     *
+     * @param clientId       the client identifier
+     * @param apiEndpointUrl the API endpoint being called
+     * @param httpMethod     the HTTP method
+     * @param requestPayload the request payload
+     * @param requestHeaders the request headers
+     * @param sourceRecordId the source record identifier
+     * @param correlationId  the correlation ID for tracking
+     * @param createdBy      the user/system making the request
+     * @param writeBehind    the client's write-behind setting, or null for the service default
+     * @return the audit ID
+     * @throws AuditFailureException if audit creation fails
+     */
+    public String createAuditEntry(String clientId, String apiEndpointUrl, String httpMethod,
+                                   String requestPayload, Map<String, String> requestHeaders,
+                                   String sourceRecordId, String correlationId, String createdBy,
+                                   Boolean writeBehind) {
         String auditId = UUID.randomUUID().toString();
         LocalDateTime requestTimestamp = LocalDateTime.now();
 
@@ -71,9 +106,17 @@ public class AuditService {
                     .sourceRecordId(sourceRecordId)
                     .correlationId(correlationId)
                     .createdBy(createdBy)
+                    .callStatus(AuditLog.CALL_STATUS_IN_FLIGHT)
                     .build();
 
-            int result = auditMapper.insert(auditLog);
+            if (auditWriteBehind.isEnabled(writeBehind)) {
+                auditWriteBehind.begin(auditLog);
+                auditLogger.info("Journaled audit entry: {} for client: {}, correlation: {}",
+                        auditId, clientId, correlationId);
+                return auditId;
+            }
+
+            int result = auditMapper.insert(payloadCodec.pack(auditLog));
 
             if (result != 1) {
                 throw new AuditFailureException("Failed to insert audit record", clientId, auditId);
@@ -94,7 +137,7 @@ public class AuditService {
     }
 
     /**
-     * Update an audit log entry with response data.
+     * Update an audit log entry with response data and mark the call completed.
      * This should be called AFTER receiving the API response.
      *
      * @param auditId            the audit ID to update
@@ -106,7 +149,6 @@ public class AuditService {
      * @param errorMessage       error message if failed
      * @throws AuditFailureException if audit update fails
      */
-    @Transactional(propagation = Propagation.REQUIRED)
     public void updateAuditWithResponse(String auditId, String responsePayload, Integer responseStatusCode,
                                         Map<String, String> responseHeaders, Long executionTimeMs,
                                         Boolean success, String errorMessage) {
@@ -115,10 +157,27 @@ public class AuditService {
         try {
             String headersJson = responseHeaders != null ? objectMapper.writeValueAsString(responseHeaders) : null;
 
+            AuditLog response = AuditLog.builder()
+                    .responseTimestamp(responseTimestamp)
+                    .responsePayload(responsePayload)
+                    .responseStatusCode(responseStatusCode)
+                    .responseHeaders(headersJson)
+                    .executionTimeMs(executionTimeMs)
+                    .successFlag(success)
+                    .errorMessage(errorMessage)
+                    .build();
+            if (auditWriteBehind.complete(auditId, response)) {
+                auditLogger.info("Completed audit entry: {}, status: {}, success: {}, time: {}ms",
+                        auditId, responseStatusCode, success, executionTimeMs);
+                return;
+            }
+
+            payloadCodec.pack(response);
             int result = auditMapper.updateResponse(
                     auditId,
                     responseTimestamp,
-                    responsePayload,
+                    response.getResponsePayload(),
+                    response.getResponsePayloadData(),
                     responseStatusCode,
                     headersJson,
                     executionTimeMs,
@@ -142,6 +201,36 @@ public class AuditService {
         }
     }
 
+    /**
+     * Mark an in-flight audit entry as abandoned because its outcome was never recorded.
+     *
+     * @param auditId      the audit ID
+     * @param errorMessage reason recorded on the entry
+     * @return true if the entry was still in flight and is now abandoned
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean markAbandoned(String auditId, String errorMessage) {
+        boolean abandoned = auditMapper.markAbandoned(auditId, LocalDateTime.now(), errorMessage) == 1;
+
+        if (abandoned) {
+            auditLogger.info("Abandoned audit entry: {}, reason: {}", auditId, errorMessage);
+        }
+        return abandoned;
+    }
+
+    /**
+     * Find audit entries still in flight that were requested before a cutoff time.
+     *
+     * @param cutoffTime only entries requested before this time
+     * @param limit      maximum number of entries
+     * @return List of audit logs, oldest first
+     */
+    public List<AuditLog> findInFlightBefore(LocalDateTime cutoffTime, int limit) {
+        List<AuditLog> entries = auditMapper.findInFlightBefore(cutoffTime, limit);
+        entries.forEach(payloadCodec::unpack);
+        return entries;
+    }
+
     /**
      * Create a complete audit log entry in a single operation.
      * Use this when you have all the data upfront.
@@ -160,7 +249,7 @@ public class AuditService {
         }
 
         try {
-            int result = auditMapper.insert(auditLog);
+            int result = auditMapper.insert(payloadCodec.pack(auditLog));
 
             if (result != 1) {
                 throw new AuditFailureException("Failed to insert audit record", auditLog.getClientId(), auditId);
@@ -184,7 +273,9 @@ public class AuditService {
      * @return List of audit logs
      */
     public List<AuditLog> findByClientIdAndTimeRange(String clientId, LocalDateTime startTime, LocalDateTime endTime) {
-        return auditMapper.findByClientIdAndTimeRange(clientId, startTime, endTime);
+        List<AuditLog> entries = auditMapper.findByClientIdAndTimeRange(clientId, startTime, endTime);
+        entries.forEach(payloadCodec::unpack);
+        return entries;
     }
 
     /**
@@ -199,6 +290,27 @@ public class AuditService {
         return auditMapper.findReportData(clientId, startTime, endTime);
     }
 
+    /**
+     * Stream report data for a client to a consumer, computing the report statistics in the
+     * same pass instead of with separate aggregate queries.
+     *
+     * @param clientId  the client identifier
+     * @param startTime start of the time range
+     * @param endTime   end of the time range
+     * @param consumer  receives each row as it is fetched
+     * @return AuditStats of the rows streamed
+     */
+    public AuditStats streamReportData(String clientId, LocalDateTime startTime, LocalDateTime endTime,
+                                       Consumer<AuditReportDTO> consumer) {
+        AuditRollup totals = AuditRollup.builder().clientId(clientId).build();
+        auditMapper.streamReportData(clientId, startTime, endTime, context -> {
+            AuditReportDTO row = context.getResultObject();
+            totals.record("SUCCESS".equals(row.getStatus()), row.getExecutionTimeMs());
+            consumer.accept(row);
+        });
+        return toStats(totals);
+    }
+
     /**
      * Find all clients with audit records in a time range.
      *
@@ -211,7 +323,7 @@ public class AuditService {
     }
 
     /**
-     * Get audit statistics for a client.
+     * Get audit statistics for a client, read from the hourly rollup where available.
      *
      * @param clientId  the client identifier
      * @param startTime start of the time range
@@ -219,20 +331,33 @@ public class AuditService {
      * @return AuditStats object
      */
     public AuditStats getAuditStats(String clientId, LocalDateTime startTime, LocalDateTime endTime) {
-        int totalCalls = auditMapper.countByClientIdAndTimeRange(clientId, startTime, endTime);
-        int successfulCalls = auditMapper.countSuccessfulCalls(clientId, startTime, endTime);
-        Long avgExecutionTime = auditMapper.getAverageExecutionTime(clientId, startTime, endTime);
+        return toStats(rollupService.aggregate(clientId, startTime, endTime));
+    }
 
+    private static AuditStats toStats(AuditRollup totals) {
+        int totalCalls = (int) totals.getTotalCalls();
+        int successfulCalls = (int) totals.getSuccessfulCalls();
         return AuditStats.builder()
-                .clientId(clientId)
+                .clientId(totals.getClientId())
                 .totalCalls(totalCalls)
                 .successfulCalls(successfulCalls)
                 .failedCalls(totalCalls - successfulCalls)
-                .averageExecutionTimeMs(avgExecutionTime != null ? avgExecutionTime : 0)
+                .averageExecutionTimeMs(totals.averageExecutionTimeMs())
+                .p50ExecutionTimeMs(percentile(totals, 50))
+                .p95ExecutionTimeMs(percentile(totals, 95))
+                .p99ExecutionTimeMs(percentile(totals, 99))
                 .successRate(totalCalls > 0 ? (successfulCalls * 100.0 / totalCalls) : 0)
                 .build();
     }
 
+    /**
+     * Percentile of the rollup latency buckets, or null when it is in the overflow bucket.
+     */
+    private static Long percentile(AuditRollup totals, double percentile) {
+        long percentileMs = totals.latencyPercentileMs(percentile);
+        return percentileMs == AuditRollup.LATENCY_OVERFLOW_MS ? null : percentileMs;
+    }
+
     /**
      * Find audit log by ID.
      *
@@ -240,7 +365,7 @@ public class AuditService {
      * @return AuditLog or null
      */
     public AuditLog findByAuditId(String auditId) {
-        return auditMapper.findByAuditId(auditId);
+        return payloadCodec.unpack(auditMapper.findByAuditId(auditId));
     }
 
     /**
@@ -250,7 +375,9 @@ public class AuditService {
      * @return List of audit logs
      */
     public List<AuditLog> findByCorrelationId(String correlationId) {
-        return auditMapper.findByCorrelationId(correlationId);
+        List<AuditLog> entries = auditMapper.findByCorrelationId(correlationId);
+        entries.forEach(payloadCodec::unpack);
+        return entries;
     }
 
     /**
@@ -266,6 +393,13 @@ public class AuditService {
         private int successfulCalls;
         private int failedCalls;
         private long averageExecutionTimeMs;
+        /**
+         * Execution time percentiles, as upper bounds of the rollup latency buckets;
+         * null when slower than the last bound
+         */
+        private Long p50ExecutionTimeMs;
+        private Long p95ExecutionTimeMs;
+        private Long p99ExecutionTimeMs;
         private double successRate;
     }
 }
@@ -0,0 +1,512 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.AuditMapper;
+import com.company.integration.mapper.FailedCallMapper;
+import com.company.integration.model.entity.AuditLog;
+import com.company.integration.model.entity.FailedApiCall;
+import com.company.integration.util.AuditPayloadCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind mode of the audit log. The in-flight entry of a call is kept in memory and
+ * journaled locally ({@link WriteAheadJournal}) instead of being inserted; once the response
+ * is recorded, the complete entry is queued and a writer thread merges it into
+ * {@code AUDIT_LOG} with JDBC batches, one statement per call. Retries queued for
+ * write-behind clients are journaled and merged into {@code FAILED_API_CALLS} the same way,
+ * so neither step of a call waits for the database.
+ *
+ * Records are merged by audit ID and call ID, so replaying the journal after a crash
+ * never duplicates rows.
+ *
+ * <ul>
+ *   <li>Back-pressure: when the queue ({@code audit.write.behind.queue.capacity}) stays full
+ *       for {@code audit.write.behind.offer.timeout.ms}, the caller writes its record itself.</li>
+ *   <li>Entries still in flight after {@code audit.write.behind.in.flight.seconds} are
+ *       inserted as in flight, so audit reconciliation sees calls that never completed.</li>
+ *   <li>On shutdown the queue is flushed; records the database did not take are replayed
+ *       from the journal on the next start.</li>
+ *   <li>When a batch fails while the database is reachable, its records are written one at a
+ *       time; a record rejected {@value #MAX_RECORD_ATTEMPTS} times (e.g. a value too large for
+ *       its column) is quarantined in the journal directory for manual replay, so it cannot
+ *       hold back later records.</li>
+ * </ul>
+ *
+ * Entries are only visible in {@code AUDIT_LOG} once written. Enabled per client with
+ * {@code CLIENT_CONFIGURATION.AUDIT_WRITE_BEHIND} (default {@code audit.write.behind.enabled}).
+ */
+@Component
+public class AuditWriteBehind {
+
+    private static final Logger logger = LogManager.getLogger(AuditWriteBehind.class);
+
+    private static final long RETRY_DELAY_MS = 1000;
+    static final int MAX_RECORD_ATTEMPTS = 3;
+
+    private final WriteAheadJournal journal;
+    private final AuditMapper auditMapper;
+    private final FailedCallMapper failedCallMapper;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final AuditPayloadCodec payloadCodec;
+    private final Map<String, Entry> inFlight = new ConcurrentHashMap<>();
+    private final Counter written;
+    private final Counter direct;
+    private final Counter quarantined;
+
+    private BlockingQueue<Entry> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Value("${audit.write.behind.enabled:false}")
+    private boolean enabledByDefault;
+
+    @Value("${audit.write.behind.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.write.behind.batch.size:200}")
+    private int batchSize;
+
+    @Value("${audit.write.behind.flush.interval.ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${audit.write.behind.offer.timeout.ms:1000}")
+    private long offerTimeoutMs;
+
+    @Value("${audit.write.behind.in.flight.seconds:600}")
+    private long inFlightSeconds;
+
+    public AuditWriteBehind(WriteAheadJournal journal, AuditMapper auditMapper, FailedCallMapper failedCallMapper,
+                            SqlSessionFactory sqlSessionFactory, AuditPayloadCodec payloadCodec,
+                            MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.auditMapper = auditMapper;
+        this.failedCallMapper = failedCallMapper;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.payloadCodec = payloadCodec;
+        this.written = Counter.builder("integration.audit.write.behind.written")
+                .description("Audit entries and retries written by the write-behind writer")
+                .register(meterRegistry);
+        this.direct = Counter.builder("integration.audit.write.behind.direct")
+                .description("Audit entries and retries written by the caller because the queue was full")
+                .register(meterRegistry);
+        this.quarantined = Counter.builder("integration.audit.write.behind.quarantined")
+                .description("Audit entries and retries the database rejected, set aside for manual replay")
+                .register(meterRegistry);
+        Gauge.builder("integration.audit.write.behind.queued", this, AuditWriteBehind::queuedCount)
+                .description("Completed audit entries and retries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("integration.audit.write.behind.in.flight", inFlight, Map::size)
+                .description("Audit entries of calls in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replay the records journaled by a previous run and start the writer.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        recover();
+
+        running = true;
+        writer = new Thread(this::runWriter, "AuditWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop the writer and flush the queued records.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            int flushed = flush();
+            logger.info("Flushed {} write-behind records on shutdown", flushed);
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush write-behind records on shutdown; they are replayed from the journal on restart: {}",
+                    e.getMessage(), e);
+        }
+        journal.close();
+    }
+
+    /**
+     * Whether audit entries and retries of a client are written behind.
+     *
+     * @param clientSetting the client's setting, or null for the service default
+     * @return true for write-behind
+     */
+    public boolean isEnabled(Boolean clientSetting) {
+        return running && (clientSetting != null ? clientSetting : enabledByDefault);
+    }
+
+    /**
+     * Journal the in-flight entry of a call and keep it until its response is recorded.
+     *
+     * @param entry the in-flight audit entry
+     */
+    public void begin(AuditLog entry) {
+        Entry pending = new Entry(entry);
+        pending.begin = journal.append(WriteAheadJournal.RecordType.AUDIT, entry);
+        inFlight.put(entry.getAuditId(), pending);
+    }
+
+    /**
+     * Journal a call queued for retry and queue it for the writer. Inside a transaction
+     * this happens after commit; on rollback nothing is queued.
+     *
+     * @param failedCall the pending retry
+     */
+    public void enqueueRetry(FailedApiCall failedCall) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueueRetryNow(failedCall);
+                }
+            });
+        } else {
+            enqueueRetryNow(failedCall);
+        }
+    }
+
+    /**
+     * Record the response on a pending entry and queue the complete entry. Inside a
+     * transaction this happens after commit; on rollback the entry stays in flight.
+     *
+     * @param auditId  the audit ID
+     * @param response the response fields of the entry
+     * @return false if the entry is not pending here and must be updated in the database
+     */
+    public boolean complete(String auditId, AuditLog response) {
+        if (!inFlight.containsKey(auditId)) {
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    completeNow(auditId, response);
+                }
+            });
+        } else {
+            completeNow(auditId, response);
+        }
+        return true;
+    }
+
+    /**
+     * Write queued records until the queue is empty.
+     *
+     * @return number of records written
+     */
+    public int flush() {
+        int total = 0;
+        List<Entry> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            total += batch.size();
+            batch.clear();
+        }
+        return total;
+    }
+
+    private void completeNow(String auditId, AuditLog response) {
+        Entry pending = inFlight.remove(auditId);
+        if (pending == null) {
+            // Inserted as in flight meanwhile
+            updateInDatabase(auditId, response);
+            return;
+        }
+
+        AuditLog entry = pending.entry;
+        entry.setResponseTimestamp(response.getResponseTimestamp());
+        entry.setResponsePayload(response.getResponsePayload());
+        entry.setResponseStatusCode(response.getResponseStatusCode());
+        entry.setResponseHeaders(response.getResponseHeaders());
+        entry.setExecutionTimeMs(response.getExecutionTimeMs());
+        entry.setSuccessFlag(response.getSuccessFlag());
+        entry.setErrorMessage(response.getErrorMessage());
+        entry.setCallStatus(AuditLog.CALL_STATUS_COMPLETED);
+        pending.complete = journal.append(WriteAheadJournal.RecordType.AUDIT, entry);
+        offer(pending);
+    }
+
+    private void enqueueRetryNow(FailedApiCall failedCall) {
+        Entry pending = new Entry(failedCall);
+        pending.complete = journal.append(WriteAheadJournal.RecordType.RETRY, failedCall);
+        offer(pending);
+    }
+
+    private void offer(Entry pending) {
+        boolean queued;
+        try {
+            queued = queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (!queued) {
+            // Back-pressure: the database is not keeping up, so this caller pays for its own write
+            writeOne(pending);
+            direct.increment();
+            release(pending);
+        }
+    }
+
+    private void updateInDatabase(String auditId, AuditLog response) {
+        payloadCodec.pack(response);
+        int result = auditMapper.updateResponse(auditId, response.getResponseTimestamp(),
+                response.getResponsePayload(), response.getResponsePayloadData(),
+                response.getResponseStatusCode(), response.getResponseHeaders(),
+                response.getExecutionTimeMs(), response.getSuccessFlag(), response.getErrorMessage());
+        if (result != 1) {
+            logger.warn("Audit record not found for update: {}", auditId);
+        }
+    }
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>();
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, batchSize - 1);
+                    }
+                    collectStale(batch);
+                }
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.warn("Failed to write {} write-behind records as a batch, writing them one at a time: {}",
+                        batch.size(), e.getMessage());
+                try {
+                    writeEach(batch);
+                } catch (RuntimeException unavailable) {
+                    // Keep the batch and try again; the journal still holds it
+                    logger.error("Failed to write {} write-behind records, retrying: {}",
+                            batch.size(), unavailable.getMessage(), unavailable);
+                }
+                if (!batch.isEmpty()) {
+                    try {
+                        Thread.sleep(RETRY_DELAY_MS);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        // Put back an unwritten batch so the shutdown flush gets it
+        batch.forEach(queue::offer);
+    }
+
+    /**
+     * Move entries in flight for too long into the batch; they are written as in flight.
+     */
+    private void collectStale(List<Entry> batch) {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(inFlightSeconds);
+        Iterator<Entry> pending = inFlight.values().iterator();
+        while (pending.hasNext() && batch.size() < batchSize) {
+            Entry entry = pending.next();
+            if (entry.entry.getRequestTimestamp().isBefore(cutoff)
+                    && inFlight.remove(entry.entry.getAuditId(), entry)) {
+                batch.add(entry);
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            AuditMapper batchAuditMapper = session.getMapper(AuditMapper.class);
+            FailedCallMapper batchFailedCallMapper = session.getMapper(FailedCallMapper.class);
+            for (Entry entry : batch) {
+                if (entry.entry != null) {
+                    batchAuditMapper.merge(payloadCodec.pack(entry.entry));
+                } else {
+                    batchFailedCallMapper.merge(entry.retry);
+                }
+            }
+            session.flushStatements();
+            session.commit();
+        }
+
+        batch.forEach(this::release);
+        written.increment(batch.size());
+        logger.debug("Wrote {} write-behind records", batch.size());
+    }
+
+    /**
+     * Write the records of a failed batch one at a time, removing those written or
+     * quarantined from the batch. The records left are written again on the next attempt.
+     *
+     * @throws RuntimeException if the database is unavailable; no record is counted as failed
+     */
+    private void writeEach(List<Entry> batch) {
+        Iterator<Entry> records = batch.iterator();
+        while (records.hasNext()) {
+            Entry entry = records.next();
+            try {
+                writeOne(entry);
+                release(entry);
+                written.increment();
+                records.remove();
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    throw e;
+                }
+                if (++entry.failures >= MAX_RECORD_ATTEMPTS) {
+                    quarantine(entry.entry != null ? entry.entry : entry.retry, e);
+                    release(entry);
+                    records.remove();
+                }
+            }
+        }
+    }
+
+    private void writeOne(Entry entry) {
+        if (entry.entry != null) {
+            auditMapper.merge(payloadCodec.pack(entry.entry));
+        } else {
+            failedCallMapper.merge(entry.retry);
+        }
+    }
+
+    /**
+     * Set a record the database rejected aside in the journal's quarantine file.
+     */
+    private void quarantine(Object record, RuntimeException cause) {
+        boolean audit = record instanceof AuditLog;
+        journal.quarantine(audit ? WriteAheadJournal.RecordType.AUDIT : WriteAheadJournal.RecordType.RETRY, record);
+        quarantined.increment();
+        logger.error("Quarantined write-behind {} {} rejected by the database; replay it from the journal's "
+                        + "quarantine file once corrected: {}", audit ? "audit entry" : "retry",
+                audit ? ((AuditLog) record).getAuditId() : ((FailedApiCall) record).getCallId(),
+                cause.getMessage(), cause);
+    }
+
+    /**
+     * Whether a write failed because the database could not be reached, rather than because
+     * it rejected the record.
+     */
+    static boolean isDatabaseUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof SQLTransientException || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merge the records of a previous run; in-flight and completed records of an audit
+     * entry are merged in order, and records already written are left as they are.
+     */
+    private void recover() {
+        List<Object> records = journal.recover();
+        if (records.isEmpty()) {
+            return;
+        }
+
+        for (Object record : records) {
+            try {
+                if (record instanceof AuditLog) {
+                    auditMapper.merge(payloadCodec.pack((AuditLog) record));
+                } else if (record instanceof FailedApiCall) {
+                    failedCallMapper.merge((FailedApiCall) record);
+                }
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    throw e;
+                }
+                quarantine(record, e);
+            }
+        }
+        journal.deleteRecovered();
+        logger.info("Replayed {} records from the journal", records.size());
+    }
+
+    private void release(Entry entry) {
+        journal.release(entry.begin);
+        journal.release(entry.complete);
+    }
+
+    private int queuedCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Audit entry or retry with the journal segments holding its records.
+     */
+    private static final class Entry {
+        private final AuditLog entry;
+        private final FailedApiCall retry;
+        private WriteAheadJournal.Segment begin;
+        private WriteAheadJournal.Segment complete;
+        private int failures;
+
+        private Entry(AuditLog entry) {
+            this.entry = entry;
+            this.retry = null;
+        }
+
+        private Entry(FailedApiCall retry) {
+            this.entry = null;
+            this.retry = retry;
+        }
+    }
+}
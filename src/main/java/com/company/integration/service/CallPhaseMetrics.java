@@ -0,0 +1,218 @@
+package com.company.integration.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of the phases of an integration call per client, published as the timer
+ * {@code integration.call.phase} (tags {@code phase} and {@code client}) with a percentile
+ * histogram for Prometheus and p50/p95/p99 computed in process over a sliding window of
+ * {@code metrics.phase.window.seconds}.
+ *
+ * Only the first {@code metrics.phase.max.clients} clients {@linkplain #resolve resolved}
+ * (configuration or mappings found) get their own tag; later ones are tagged
+ * {@value #OTHER_CLIENT}. Phases of a client not resolved yet are tagged
+ * {@value #UNKNOWN_CLIENT}, so unknown or mistyped client IDs can neither grow the number of
+ * series without bound nor take the tags of real clients.
+ */
+@Component
+public class CallPhaseMetrics {
+
+    static final String METRIC_NAME = "integration.call.phase";
+    static final String OTHER_CLIENT = "_other";
+    static final String UNKNOWN_CLIENT = "_unknown";
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> taggedClients = ConcurrentHashMap.newKeySet();
+    private final Map<Phase, Map<String, Timer>> timers = new EnumMap<>(Phase.class);
+
+    @Value("${metrics.phase.max.clients:100}")
+    private int maxClients;
+
+    @Value("${metrics.phase.window.seconds:120}")
+    private long windowSeconds;
+
+    @Value("${metrics.phase.histogram.enabled:true}")
+    private boolean histogramEnabled;
+
+    public CallPhaseMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Phase phase : Phase.values()) {
+            timers.put(phase, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Give a client that was found its own tag, while tags are free. Phases recorded
+     * before that are tagged {@value #UNKNOWN_CLIENT}.
+     *
+     * @param clientId the client identifier
+     */
+    public void resolve(String clientId) {
+        clientTag(clientId, true);
+    }
+
+    /**
+     * Run a phase and record its duration, also when it fails.
+     *
+     * @param phase    the phase
+     * @param clientId the client identifier
+     * @param action   the work of the phase
+     * @return the result of the action
+     */
+    public <T> T time(Phase phase, String clientId, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timer(phase, clientId).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Record a phase measured elsewhere.
+     *
+     * @param phase    the phase
+     * @param clientId the client identifier
+     * @param duration the duration
+     * @param unit     the unit of the duration
+     */
+    public void record(Phase phase, String clientId, long duration, TimeUnit unit) {
+        timer(phase, clientId).record(duration, unit);
+    }
+
+    /**
+     * Get the phase latencies of a client over the current window, from memory.
+     *
+     * @param clientId the client identifier
+     * @return statistics per phase name, for the phases recorded so far; empty when the
+     *         client has no tag of its own and is only counted in {@value #OTHER_CLIENT} or
+     *         {@value #UNKNOWN_CLIENT}
+     */
+    public Map<String, PhaseStats> getStats(String clientId) {
+        String tag = clientTag(clientId, false);
+        Map<String, PhaseStats> stats = new LinkedHashMap<>();
+        if (OTHER_CLIENT.equals(tag) || UNKNOWN_CLIENT.equals(tag)) {
+            return stats;
+        }
+        for (Phase phase : Phase.values()) {
+            Timer timer = timers.get(phase).get(tag);
+            if (timer != null) {
+                stats.put(phase.tagValue, toStats(tag, timer.takeSnapshot()));
+            }
+        }
+        return stats;
+    }
+
+    private Timer timer(Phase phase, String clientId) {
+        return timers.get(phase).computeIfAbsent(clientTag(clientId, false), tag -> {
+            Timer.Builder builder = Timer.builder(METRIC_NAME)
+                    .description("Duration of a phase of an integration call")
+                    .tag("phase", phase.tagValue)
+                    .tag("client", tag)
+                    .publishPercentiles(PERCENTILES)
+                    .percentilePrecision(2)
+                    .distributionStatisticExpiry(Duration.ofSeconds(Math.max(1, windowSeconds)))
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMinutes(2));
+            if (histogramEnabled) {
+                builder.publishPercentileHistogram();
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+
+    /**
+     * Tag value for a client, claiming one of the free client tags if asked to. While tags
+     * are free, a client without one has not been resolved; once they are taken, it may be
+     * a real client beyond the limit.
+     */
+    private String clientTag(String clientId, boolean claim) {
+        if (clientId == null || clientId.isBlank()) {
+            return UNKNOWN_CLIENT;
+        }
+        if (taggedClients.contains(clientId)) {
+            return clientId;
+        }
+        synchronized (taggedClients) {
+            if (taggedClients.size() < maxClients) {
+                if (!claim) {
+                    return UNKNOWN_CLIENT;
+                }
+                taggedClients.add(clientId);
+                return clientId;
+            }
+        }
+        return OTHER_CLIENT;
+    }
+
+    private static PhaseStats toStats(String tag, HistogramSnapshot snapshot) {
+        PhaseStats.PhaseStatsBuilder stats = PhaseStats.builder()
+                .client(tag)
+                .count(snapshot.count())
+                .meanMs(snapshot.mean(TimeUnit.MILLISECONDS))
+                .maxMs(snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            double ms = value.value(TimeUnit.MILLISECONDS);
+            if (value.percentile() == 0.5) {
+                stats.p50Ms(ms);
+            } else if (value.percentile() == 0.95) {
+                stats.p95Ms(ms);
+            } else if (value.percentile() == 0.99) {
+                stats.p99Ms(ms);
+            }
+        }
+        return stats.build();
+    }
+
+    /**
+     * Timed phases of an integration call.
+     */
+    public enum Phase {
+        MAPPING_LOAD("mapping_load"),
+        SOURCE_FETCH("source_fetch"),
+        PAYLOAD_BUILD("payload_build"),
+        HTTP_CALL("http_call"),
+        AUDIT_WRITE("audit_write"),
+        RETRY_ENQUEUE("retry_enqueue");
+
+        private final String tagValue;
+
+        Phase(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    /**
+     * Latency statistics of one phase. Count and mean are since startup; max and the
+     * percentiles cover the sliding window.
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class PhaseStats {
+        private String client;
+        private long count;
+        private double meanMs;
+        private double maxMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+    }
+}
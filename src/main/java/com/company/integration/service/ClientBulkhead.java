@@ -0,0 +1,185 @@
+package com.company.integration.service;
+
+import com.company.integration.model.dto.ClientConfigDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of concurrent API calls per client across all requests, batches and
+ * retries, so one client cannot occupy every worker. The limit is
+ * {@code CLIENT_CONFIGURATION.MAX_CONCURRENT_CALLS} (default
+ * {@code rest.client.bulkhead.max.concurrent.calls}; zero or less disables the limit).
+ *
+ * Per client it publishes the gauges {@code integration.client.calls.active} and
+ * {@code integration.client.calls.limit} and the counter
+ * {@code integration.client.calls.rejected}, tagged with {@code client}.
+ */
+@Component
+public class ClientBulkhead {
+
+    private static final Logger logger = LogManager.getLogger(ClientBulkhead.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+    @Value("${rest.client.bulkhead.max.concurrent.calls:50}")
+    private int defaultMaxConcurrentCalls;
+
+    @Value("${rest.client.bulkhead.max.wait.ms:0}")
+    private long maxWaitMs;
+
+    public ClientBulkhead(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Take a call permit for a client without waiting.
+     *
+     * @param config the client configuration
+     * @return the permit, or null if the client is at its limit
+     */
+    public Permit tryAcquire(ClientConfigDTO config) {
+        Compartment compartment = compartmentFor(config);
+        if (compartment == null) {
+            return Permit.UNLIMITED;
+        }
+        return compartment.semaphore.tryAcquire() ? new Permit(compartment.semaphore) : reject(config, compartment);
+    }
+
+    /**
+     * Take a call permit for a client, waiting up to {@code rest.client.bulkhead.max.wait.ms}.
+     * Only for threads that may block.
+     *
+     * @param config the client configuration
+     * @return the permit, or null if the client stayed at its limit
+     */
+    public Permit acquire(ClientConfigDTO config) {
+        Compartment compartment = compartmentFor(config);
+        if (compartment == null) {
+            return Permit.UNLIMITED;
+        }
+
+        try {
+            if (compartment.semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                return new Permit(compartment.semaphore);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return reject(config, compartment);
+    }
+
+    /**
+     * Get the limit applied to a client, or zero when calls are not limited.
+     *
+     * @param config the client configuration
+     * @return the concurrent call limit
+     */
+    public int limitFor(ClientConfigDTO config) {
+        Integer configured = config.getMaxConcurrentCalls();
+        int limit = configured != null && configured > 0 ? configured : defaultMaxConcurrentCalls;
+        return Math.max(0, limit);
+    }
+
+    private Permit reject(ClientConfigDTO config, Compartment compartment) {
+        compartment.rejected.increment();
+        logger.warn("Rejected API call for client {}: {} concurrent calls in progress",
+                config.getClientId(), compartment.limit);
+        return null;
+    }
+
+    /**
+     * Get the compartment for the client's current limit, replacing it when the limit
+     * changed. Permits taken from a replaced compartment are released to it, so calls in
+     * flight at the change do not count against the new limit.
+     */
+    private Compartment compartmentFor(ClientConfigDTO config) {
+        int limit = limitFor(config);
+        if (limit <= 0) {
+            return null;
+        }
+
+        String clientId = config.getClientId();
+        Compartment compartment = compartments.get(clientId);
+        if (compartment != null && compartment.limit == limit) {
+            return compartment;
+        }
+
+        return compartments.compute(clientId, (id, existing) -> {
+            if (existing != null && existing.limit == limit) {
+                return existing;
+            }
+            if (existing == null) {
+                registerGauges(id);
+            }
+            return new Compartment(limit, meterRegistry.counter("integration.client.calls.rejected", "client", id));
+        });
+    }
+
+    private void registerGauges(String clientId) {
+        Gauge.builder("integration.client.calls.active", compartments, map -> {
+                    Compartment compartment = map.get(clientId);
+                    return compartment != null ? compartment.limit - compartment.semaphore.availablePermits() : 0;
+                })
+                .tag("client", clientId)
+                .description("API calls in progress for the client")
+                .register(meterRegistry);
+        Gauge.builder("integration.client.calls.limit", compartments, map -> {
+                    Compartment compartment = map.get(clientId);
+                    return compartment != null ? compartment.limit : 0;
+                })
+                .tag("client", clientId)
+                .description("Concurrent API calls allowed for the client")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Permits of one client at one limit.
+     */
+    private static final class Compartment {
+        private final int limit;
+        private final Semaphore semaphore;
+        private final Counter rejected;
+
+        private Compartment(int limit, Counter rejected) {
+            this.limit = limit;
+            this.semaphore = new Semaphore(limit);
+            this.rejected = rejected;
+        }
+    }
+
+    /**
+     * Permit for one API call. Releasing more than once has no effect.
+     */
+    public static final class Permit {
+
+        static final Permit UNLIMITED = new Permit(null);
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        /**
+         * Return the permit.
+         */
+        public void release() {
+            if (semaphore != null && released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
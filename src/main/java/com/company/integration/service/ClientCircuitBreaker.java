@@ -0,0 +1,289 @@
+package com.company.integration.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client circuit breaker around API calls.
+ *
+ * A client's circuit opens after {@code circuit.breaker.failure.threshold} consecutive
+ * transient failures (unsuccessful results classified as retryable: 5xx, 408, 429,
+ * timeouts and connection errors). While open, calls are not sent and fail at once as
+ * retryable. After {@code circuit.breaker.open.seconds} the circuit is half-open and lets
+ * {@code circuit.breaker.half.open.calls} trial calls through; a success closes it, a
+ * failure opens it again. Non-retryable responses (such as 4xx) show the endpoint is
+ * reachable and count as successes.
+ *
+ * The state of each client is published as the gauge {@code integration.client.circuit.state}
+ * (tags {@code client} and {@code state}, 1 for the current state) and in the health
+ * endpoint; calls not sent are counted in {@code integration.client.circuit.short.circuited}.
+ */
+@Component
+public class ClientCircuitBreaker implements HealthIndicator {
+
+    private static final Logger logger = LogManager.getLogger(ClientCircuitBreaker.class);
+
+    /**
+     * Circuit states.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    @Value("${circuit.breaker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${circuit.breaker.failure.threshold:5}")
+    private int failureThreshold;
+
+    @Value("${circuit.breaker.open.seconds:60}")
+    private long openSeconds;
+
+    @Value("${circuit.breaker.half.open.calls:1}")
+    private int halfOpenCalls;
+
+    public ClientCircuitBreaker(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Ask permission to call a client's API. Every permitted call must be followed by
+     * {@link #record}, {@link #recordFailure} or {@link #release}.
+     *
+     * @param clientId the client identifier
+     * @return true if the call may be sent
+     */
+    public boolean tryAcquire(String clientId) {
+        if (!enabled) {
+            return true;
+        }
+
+        Circuit circuit = circuitFor(clientId);
+        if (circuit.tryAcquire()) {
+            return true;
+        }
+
+        circuit.shortCircuited.increment();
+        logger.debug("Circuit open for client {}; call not sent", clientId);
+        return false;
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     *
+     * @param clientId the client identifier
+     * @param result   the call result
+     */
+    public void record(String clientId, RestApiInvocationService.ApiCallResult result) {
+        if (result.isSuccess() || !result.isRetryable()) {
+            recordSuccess(clientId);
+        } else {
+            recordFailure(clientId);
+        }
+    }
+
+    /**
+     * Record a permitted call that reached the client's endpoint.
+     *
+     * @param clientId the client identifier
+     */
+    public void recordSuccess(String clientId) {
+        if (enabled) {
+            circuitFor(clientId).onSuccess(clientId);
+        }
+    }
+
+    /**
+     * Record a permitted call that failed transiently.
+     *
+     * @param clientId the client identifier
+     */
+    public void recordFailure(String clientId) {
+        if (enabled) {
+            circuitFor(clientId).onFailure(clientId);
+        }
+    }
+
+    /**
+     * Hand back the permission of a call that was not sent after all.
+     *
+     * @param clientId the client identifier
+     */
+    public void release(String clientId) {
+        if (enabled) {
+            circuitFor(clientId).release();
+        }
+    }
+
+    /**
+     * Get until when calls to a client are not sent.
+     *
+     * @param clientId the client identifier
+     * @return the earliest time a call may be sent, or null if it may be sent now
+     */
+    public Instant blockedUntil(String clientId) {
+        Circuit circuit = enabled ? circuits.get(clientId) : null;
+        return circuit != null ? circuit.blockedUntil() : null;
+    }
+
+    /**
+     * Get the state of a client's circuit.
+     *
+     * @param clientId the client identifier
+     * @return the circuit state
+     */
+    public State getState(String clientId) {
+        Circuit circuit = circuits.get(clientId);
+        return circuit != null ? circuit.state() : State.CLOSED;
+    }
+
+    /**
+     * Get the clients whose circuit is open or half-open.
+     *
+     * @return circuit state by client ID
+     */
+    public Map<String, State> getOpenCircuits() {
+        Map<String, State> notClosed = new TreeMap<>();
+        circuits.forEach((clientId, circuit) -> {
+            State state = circuit.state();
+            if (state != State.CLOSED) {
+                notClosed.put(clientId, state);
+            }
+        });
+        return notClosed;
+    }
+
+    /**
+     * Report the clients whose circuit is not closed. Open circuits concern partner
+     * endpoints, not this service, so the status stays UP.
+     */
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("enabled", enabled)
+                .withDetail("openCircuits", getOpenCircuits())
+                .build();
+    }
+
+    private Circuit circuitFor(String clientId) {
+        Circuit circuit = circuits.get(clientId);
+        if (circuit != null) {
+            return circuit;
+        }
+
+        return circuits.computeIfAbsent(clientId, id -> {
+            Circuit created = new Circuit(meterRegistry.counter("integration.client.circuit.short.circuited",
+                    "client", id));
+            for (State state : State.values()) {
+                Gauge.builder("integration.client.circuit.state", created, c -> c.state() == state ? 1 : 0)
+                        .tag("client", id)
+                        .tag("state", state.name())
+                        .description("1 if the client's circuit is in this state")
+                        .register(meterRegistry);
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Circuit of one client. All transitions happen under the circuit's lock.
+     */
+    private final class Circuit {
+        private final Counter shortCircuited;
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private int trialsInFlight;
+
+        private Circuit(Counter shortCircuited) {
+            this.shortCircuited = shortCircuited;
+        }
+
+        private synchronized State state() {
+            return state;
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (state == State.OPEN && openElapsed()) {
+                state = State.HALF_OPEN;
+                trialsInFlight = 0;
+            }
+
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    if (trialsInFlight < halfOpenCalls) {
+                        trialsInFlight++;
+                        return true;
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+
+        private synchronized void onSuccess(String clientId) {
+            if (state == State.HALF_OPEN) {
+                logger.info("Circuit closed for client {}", clientId);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialsInFlight = 0;
+        }
+
+        private synchronized void onFailure(String clientId) {
+            if (state == State.HALF_OPEN) {
+                open(clientId);
+            } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+                open(clientId);
+            }
+        }
+
+        private synchronized void release() {
+            if (state == State.HALF_OPEN && trialsInFlight > 0) {
+                trialsInFlight--;
+            }
+        }
+
+        private synchronized Instant blockedUntil() {
+            if (state == State.OPEN && !openElapsed()) {
+                long remainingNanos = openedAt + TimeUnit.SECONDS.toNanos(openSeconds) - System.nanoTime();
+                return Instant.now().plusNanos(remainingNanos);
+            }
+            if (state == State.HALF_OPEN && trialsInFlight >= halfOpenCalls) {
+                // Wait for the trial outcome; at worst the circuit opens again
+                return Instant.now().plusSeconds(openSeconds);
+            }
+            return null;
+        }
+
+        private void open(String clientId) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialsInFlight = 0;
+            logger.warn("Circuit opened for client {}; calls paused for {}s", clientId, openSeconds);
+            consecutiveFailures = 0;
+        }
+
+        private boolean openElapsed() {
+            return System.nanoTime() - openedAt >= TimeUnit.SECONDS.toNanos(openSeconds);
+        }
+    }
+}
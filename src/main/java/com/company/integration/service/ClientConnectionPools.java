@@ -0,0 +1,120 @@
+package com.company.integration.service;
+
+import com.company.integration.config.RestClientConfig;
+import com.company.integration.model.dto.ClientConfigDTO;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Gives every client its own HTTP connection pool, so a slow client endpoint can only
+ * exhaust its own connections. A pool holds up to {@code CLIENT_CONFIGURATION.MAX_CONNECTIONS}
+ * connections per remote host (default {@code rest.client.max.connections.per.route}).
+ *
+ * Pools are created on first use and replaced when the client's limit changes; the
+ * replaced pool lets in-flight calls finish before closing. Pool metrics are tagged with
+ * the pool name {@code client-<clientId>}.
+ */
+@Component
+public class ClientConnectionPools {
+
+    private static final Logger logger = LogManager.getLogger(ClientConnectionPools.class);
+
+    private final RestClientConfig restClientConfig;
+    private final WebClient sharedWebClient;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    @Value("${rest.client.pool.per.client.enabled:true}")
+    private boolean perClientEnabled;
+
+    @Value("${rest.client.max.connections.per.route:20}")
+    private int defaultMaxConnections;
+
+    public ClientConnectionPools(RestClientConfig restClientConfig, WebClient webClient) {
+        this.restClientConfig = restClientConfig;
+        this.sharedWebClient = webClient;
+    }
+
+    /**
+     * Get the WebClient for a client, using the client's own pool when enabled.
+     *
+     * @param config the client configuration
+     * @return WebClient instance
+     */
+    public WebClient get(ClientConfigDTO config) {
+        if (!perClientEnabled) {
+            return sharedWebClient;
+        }
+
+        String clientId = config.getClientId();
+        int maxConnections = config.getMaxConnections() != null && config.getMaxConnections() > 0
+                ? config.getMaxConnections() : defaultMaxConnections;
+
+        Pool pool = pools.get(clientId);
+        if (pool != null && pool.maxConnections == maxConnections) {
+            return pool.webClient;
+        }
+
+        synchronized (pools) {
+            pool = pools.get(clientId);
+            if (pool != null && pool.maxConnections == maxConnections) {
+                return pool.webClient;
+            }
+
+            ConnectionProvider connectionProvider =
+                    restClientConfig.createConnectionProvider("client-" + clientId, maxConnections);
+            Pool created = new Pool(maxConnections, connectionProvider, sharedWebClient.mutate()
+                    .clientConnector(restClientConfig.createConnector(connectionProvider))
+                    .build());
+            pools.put(clientId, created);
+
+            if (pool != null) {
+                pool.connectionProvider.disposeLater().subscribe();
+                logger.info("Replaced connection pool for client {}: max connections {} -> {}",
+                        clientId, pool.maxConnections, maxConnections);
+            } else {
+                logger.info("Created connection pool for client {} with max connections {}",
+                        clientId, maxConnections);
+            }
+            return created.webClient;
+        }
+    }
+
+    /**
+     * Close all client pools on shutdown, letting in-flight calls finish.
+     */
+    @PreDestroy
+    public void close() {
+        synchronized (pools) {
+            Mono.when(pools.values().stream()
+                    .map(pool -> pool.connectionProvider.disposeLater())
+                    .collect(Collectors.toList()))
+                    .block();
+            pools.clear();
+        }
+    }
+
+    /**
+     * Connection pool of one client with the WebClient using it.
+     */
+    private static final class Pool {
+        private final int maxConnections;
+        private final ConnectionProvider connectionProvider;
+        private final WebClient webClient;
+
+        private Pool(int maxConnections, ConnectionProvider connectionProvider, WebClient webClient) {
+            this.maxConnections = maxConnections;
+            this.connectionProvider = connectionProvider;
+            this.webClient = webClient;
+        }
+    }
+}
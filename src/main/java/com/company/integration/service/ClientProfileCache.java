@@ -0,0 +1,209 @@
+package com.company.integration.service;
+
+import com.company.integration.config.MapperChangeEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of ready-to-use client profiles: configuration with the decrypted API key,
+ * prebuilt request headers and parsed method and content type.
+ *
+ * Profiles expire after a TTL so changes made directly in the database are picked up.
+ * Local writes through {@code ClientMapper} (insert, update, deactivate) invalidate the
+ * client immediately after commit. Decrypted keys live only in cached profiles and are
+ * dropped with them; they are never logged.
+ */
+@Component
+public class ClientProfileCache {
+
+    private static final Logger logger = LogManager.getLogger(ClientProfileCache.class);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${client.profile.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${client.profile.cache.ttl.seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Get the profile of a client, loading it if absent or expired.
+     * The returned profile is shared between callers and must be treated as read-only.
+     *
+     * @param clientId the client identifier
+     * @param loader   function building the profile from the database
+     * @return the client profile
+     */
+    public RestApiInvocationService.ClientProfile get(String clientId,
+                                                      Function<String, RestApiInvocationService.ClientProfile> loader) {
+        if (!enabled) {
+            return loader.apply(clientId);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(clientId);
+
+        if (entry != null && now - entry.loadedAt < TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            hits.incrementAndGet();
+            return entry.profile;
+        }
+
+        misses.incrementAndGet();
+        long generationAtStart = generation.get();
+        RestApiInvocationService.ClientProfile profile = loader.apply(clientId);
+
+        // Do not store a profile that may predate an invalidation during the load
+        synchronized (entries) {
+            if (generation.get() == generationAtStart) {
+                entries.put(clientId, new Entry(profile, now));
+            }
+        }
+
+        logger.debug("Cached client profile for client: {}", clientId);
+        return profile;
+    }
+
+    /**
+     * Store a profile loaded outside {@link #get}, such as during the startup warm-up.
+     * The profile is dropped if an invalidation happened since the given generation.
+     *
+     * @param clientId          the client identifier
+     * @param profile           the client profile
+     * @param generationAtStart the value of {@link #generation()} before loading began
+     */
+    public void put(String clientId, RestApiInvocationService.ClientProfile profile, long generationAtStart) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (entries) {
+            if (generation.get() == generationAtStart) {
+                entries.put(clientId, new Entry(profile, System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * Get the invalidation generation, to be taken before loading profiles for {@link #put}.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Get the cached profile of a client without loading it.
+     *
+     * @param clientId the client identifier
+     * @return the cached profile, or null if not cached
+     */
+    public RestApiInvocationService.ClientProfile peek(String clientId) {
+        Entry entry = clientId != null ? entries.get(clientId) : null;
+        return entry != null ? entry.profile : null;
+    }
+
+    /**
+     * Drop the cached profile of a single client.
+     *
+     * @param clientId the client identifier
+     */
+    public void invalidate(String clientId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(clientId);
+        }
+        invalidations.incrementAndGet();
+        logger.info("Invalidated cached profile for client: {}", clientId);
+    }
+
+    /**
+     * Drop the cached profiles of all clients.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.incrementAndGet();
+        logger.info("Invalidated cached profiles for all clients");
+    }
+
+    /**
+     * Invalidate after a client configuration was modified through the mapper.
+     * Runs after commit when the change happened inside a transaction.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMapperChange(MapperChangeEvent event) {
+        if (event.getTable() != MapperChangeEvent.Table.CLIENT_CONFIGURATION) {
+            return;
+        }
+
+        if (event.isClientScoped()) {
+            invalidate(event.getClientId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Get cache statistics.
+     *
+     * @return CacheStats
+     */
+    public CacheStats getStats() {
+        return CacheStats.builder()
+                .enabled(enabled)
+                .cachedClients(entries.size())
+                .ttlSeconds(ttlSeconds)
+                .hits(hits.get())
+                .misses(misses.get())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    /**
+     * Cached profile of one client together with its load time.
+     */
+    private static final class Entry {
+        private final RestApiInvocationService.ClientProfile profile;
+        private final long loadedAt;
+
+        private Entry(RestApiInvocationService.ClientProfile profile, long loadedAt) {
+            this.profile = profile;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Cache statistics.
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class CacheStats {
+        private boolean enabled;
+        private int cachedClients;
+        private long ttlSeconds;
+        private long hits;
+        private long misses;
+        private long invalidations;
+    }
+}
@@ -0,0 +1,239 @@
+package com.company.integration.service;
+
+import com.company.integration.model.dto.ClientConfigDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token bucket in front of outbound API calls. The configured rate
+ * ({@code CLIENT_CONFIGURATION.RATE_LIMIT_PER_SECOND}, default
+ * {@code rate.limit.default.per.second}; zero or less means no limit) is the ceiling;
+ * the rate actually used adapts to the partner (AIMD):
+ * <ul>
+ *   <li>a 429 response, or a response slower than {@code rate.limit.aimd.latency.threshold.ms},
+ *       multiplies the rate by {@code rate.limit.aimd.decrease.factor}, at most once per second;</li>
+ *   <li>every further second of unthrottled calls adds {@code rate.limit.aimd.increase.per.second}
+ *       until the ceiling is reached again.</li>
+ * </ul>
+ * A {@code Retry-After} on a 429 or 503 response pauses the client (limited or not) until
+ * the given time.
+ *
+ * Calls wait for a token up to {@code rate.limit.max.wait.ms}; beyond that they are not
+ * sent. Per client it publishes the gauge {@code integration.client.rate.limit} (current
+ * calls per second) and the counter {@code integration.client.rate.throttled} (429
+ * responses), tagged with {@code client}.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private static final Logger logger = LogManager.getLogger(ClientRateLimiter.class);
+
+    private static final long ADJUST_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Value("${rate.limit.default.per.second:0}")
+    private double defaultRatePerSecond;
+
+    @Value("${rate.limit.max.wait.ms:5000}")
+    private long maxWaitMs;
+
+    @Value("${rate.limit.aimd.decrease.factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${rate.limit.aimd.increase.per.second:1.0}")
+    private double increasePerSecond;
+
+    @Value("${rate.limit.aimd.min.per.second:0.1}")
+    private double minRatePerSecond;
+
+    @Value("${rate.limit.aimd.latency.threshold.ms:0}")
+    private long latencyThresholdMs;
+
+    public ClientRateLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Reserve a token for one call. The caller must wait the returned time before sending.
+     * If the wait would exceed {@code rate.limit.max.wait.ms}, nothing is reserved and the
+     * wait is returned negated.
+     *
+     * @param config the client configuration
+     * @return nanoseconds to wait before sending, or minus the wait if the call must not be sent
+     */
+    public long reserve(ClientConfigDTO config) {
+        return bucketFor(config).reserve(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(maxWaitMs));
+    }
+
+    /**
+     * Adapt the client's rate to the outcome of a sent call.
+     *
+     * @param clientId the client identifier
+     * @param result   the call result
+     */
+    public void record(String clientId, RestApiInvocationService.ApiCallResult result) {
+        Bucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (result.getRetryAfterSeconds() != null) {
+            bucket.pause(now, TimeUnit.SECONDS.toNanos(result.getRetryAfterSeconds()));
+            logger.info("Client {} asked to retry after {}s; calls paused", clientId, result.getRetryAfterSeconds());
+        }
+
+        boolean throttled = result.getStatusCode() != null && result.getStatusCode() == 429;
+        boolean slow = latencyThresholdMs > 0 && result.getExecutionTimeMs() != null
+                && result.getExecutionTimeMs() > latencyThresholdMs;
+        if (throttled) {
+            bucket.throttled.increment();
+        }
+
+        if (throttled || slow) {
+            double rate = bucket.decrease(now);
+            if (rate > 0) {
+                logger.warn("Reduced rate for client {} to {} calls/s ({})", clientId,
+                        String.format("%.2f", rate), throttled ? "throttled" : "slow response");
+            }
+        } else if (result.isSuccess()) {
+            bucket.increase(now);
+        }
+    }
+
+    /**
+     * Get the rate currently used for a client, or zero when its calls are not limited.
+     *
+     * @param clientId the client identifier
+     * @return calls per second
+     */
+    public double currentRate(String clientId) {
+        Bucket bucket = buckets.get(clientId);
+        return bucket != null ? bucket.rate() : 0;
+    }
+
+    private Bucket bucketFor(ClientConfigDTO config) {
+        double ceiling = config.getRateLimitPerSecond() != null && config.getRateLimitPerSecond() > 0
+                ? config.getRateLimitPerSecond() : defaultRatePerSecond;
+        int burst = config.getRateLimitBurst() != null && config.getRateLimitBurst() > 0
+                ? config.getRateLimitBurst() : (int) Math.max(1, Math.ceil(ceiling));
+
+        Bucket bucket = buckets.computeIfAbsent(config.getClientId(), id -> {
+            Bucket created = new Bucket(meterRegistry.counter("integration.client.rate.throttled", "client", id));
+            Gauge.builder("integration.client.rate.limit", created, Bucket::rate)
+                    .tag("client", id)
+                    .description("Calls per second currently allowed for the client (0 = unlimited)")
+                    .register(meterRegistry);
+            return created;
+        });
+        bucket.configure(Math.max(0, ceiling), burst);
+        return bucket;
+    }
+
+    /**
+     * Token bucket of one client. Tokens may go negative: each reservation beyond the
+     * available tokens queues behind the earlier ones.
+     */
+    private final class Bucket {
+        private final Counter throttled;
+        private double ceiling;
+        private int burst;
+        private double rate;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private long pausedUntil = refilledAt;
+        private long adjustedAt = refilledAt - ADJUST_INTERVAL_NANOS;
+
+        private Bucket(Counter throttled) {
+            this.throttled = throttled;
+        }
+
+        private synchronized void configure(double ceiling, int burst) {
+            if (ceiling == this.ceiling && burst == this.burst) {
+                return;
+            }
+            if (ceiling <= 0) {
+                rate = 0;
+            } else if (this.ceiling <= 0) {
+                // Newly limited: start at the ceiling with a full bucket
+                rate = ceiling;
+                tokens = burst;
+            } else if (rate > ceiling) {
+                rate = ceiling;
+            }
+            tokens = Math.min(tokens, burst);
+            this.ceiling = ceiling;
+            this.burst = burst;
+        }
+
+        private synchronized double rate() {
+            return rate;
+        }
+
+        private synchronized long reserve(long now, long maxWaitNanos) {
+            long wait = Math.max(0, pausedUntil - now);
+            if (rate > 0) {
+                refill(now);
+                if (tokens < 1) {
+                    // Tokens only build up again once a pause is over
+                    wait += (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1));
+                }
+            }
+
+            if (wait > maxWaitNanos) {
+                return -wait;
+            }
+            if (rate > 0) {
+                tokens -= 1;
+            }
+            return wait;
+        }
+
+        private synchronized void pause(long now, long pauseNanos) {
+            if (now + pauseNanos - pausedUntil > 0) {
+                refill(now);
+                pausedUntil = now + pauseNanos;
+                // No tokens build up while paused, so calls resume at the rate instead of in a burst
+                tokens = Math.min(tokens, 0);
+            }
+        }
+
+        private synchronized double decrease(long now) {
+            if (rate <= 0 || now - adjustedAt < ADJUST_INTERVAL_NANOS) {
+                return 0;
+            }
+            refill(now);
+            rate = Math.max(Math.min(minRatePerSecond, ceiling), rate * decreaseFactor);
+            adjustedAt = now;
+            return rate;
+        }
+
+        private synchronized void increase(long now) {
+            if (rate <= 0 || rate >= ceiling || now - adjustedAt < ADJUST_INTERVAL_NANOS) {
+                return;
+            }
+            refill(now);
+            rate = Math.min(ceiling, rate + increasePerSecond);
+            adjustedAt = now;
+        }
+
+        private void refill(long now) {
+            long from = Math.max(refilledAt, pausedUntil);
+            if (now - from > 0) {
+                tokens = Math.min(burst, tokens + (now - from) * rate / TimeUnit.SECONDS.toNanos(1));
+            }
+            refilledAt = Math.max(now, refilledAt);
+        }
+    }
+}
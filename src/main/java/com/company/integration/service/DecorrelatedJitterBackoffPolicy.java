@@ -0,0 +1,26 @@
+package com.company.integration.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with decorrelated jitter: each delay is drawn at random between
+ * the minimum and three times the previous delay, capped at the maximum. Delays grow
+ * about threefold per attempt while calls failed together drift apart instead of
+ * retrying in lockstep.
+ */
+@Component
+public class DecorrelatedJitterBackoffPolicy implements RetryBackoffPolicy {
+
+    @Override
+    public long nextDelaySeconds(long previousDelaySeconds, long minSeconds, long maxSeconds) {
+        long max = Math.max(1, maxSeconds);
+        long min = Math.max(0, Math.min(minSeconds, max));
+        long previous = Math.max(previousDelaySeconds, Math.max(1, min));
+
+        long upper = previous > max / 3 ? max : previous * 3;
+        long delay = upper > min ? ThreadLocalRandom.current().nextLong(min, upper + 1) : min;
+        return Math.min(max, delay);
+    }
+}
@@ -5,53 +5,101 @@ import com.company.integration.exception.IntegrationException;
 import com.company.integration.model.dto.ApiRequestDTO;
 import com.company.integration.model.dto.ApiResponseDTO;
 import com.company.integration.model.dto.ClientConfigDTO;
+import com.company.integration.model.dto.FieldMappingDTO;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Main integration orchestration service.
- * Coordinates payload building, API invocation, and audit logging within a single transaction.
+ * Coordinates payload building, API invocation, and audit logging. Database work is
+ * done in short transactions before and after the API call, never across it.
  */
 @Service
 public class IntegrationService {
 
     private static final Logger logger = LogManager.getLogger(IntegrationService.class);
+    private static final Map<String, Object> NO_SOURCE_DATA = Collections.emptyMap();
 
     private final PayloadBuilderService payloadBuilderService;
     private final RestApiInvocationService restApiInvocationService;
+    private final MappingService mappingService;
     private final AuditService auditService;
     private final RetryService retryService;
+    private final AuditWriteBehind auditWriteBehind;
+    private final CallPhaseMetrics phaseMetrics;
     private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor batchExecutor;
+
+    @Value("${batch.default.concurrency:4}")
+    private int defaultBatchConcurrency;
+
+    @Value("${batch.max.concurrency:20}")
+    private int maxBatchConcurrency;
 
     public IntegrationService(PayloadBuilderService payloadBuilderService,
                               RestApiInvocationService restApiInvocationService,
+                              MappingService mappingService,
                               AuditService auditService,
                               RetryService retryService,
-                              ObjectMapper objectMapper) {
+                              AuditWriteBehind auditWriteBehind,
+                              CallPhaseMetrics phaseMetrics,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("apiCallExecutor") Executor batchExecutor) {
         this.payloadBuilderService = payloadBuilderService;
         this.restApiInvocationService = restApiInvocationService;
+        this.mappingService = mappingService;
         this.auditService = auditService;
         this.retryService = retryService;
+        this.auditWriteBehind = auditWriteBehind;
+        this.phaseMetrics = phaseMetrics;
         this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchExecutor = batchExecutor;
     }
 
     /**
      * Process an API integration request.
      * This is the main entry point for API calls.
      *
+     * The call runs in three phases so that no database connection is held while the
+     * client API is called: a short transaction records the audit entry as in flight,
+     * the HTTP call runs outside any transaction, and a second short transaction records
+     * the outcome together with any retry. Entries left in flight by a crash between the
+     * phases are resolved by {@link AuditReconciliationService}.
+     *
      * @param request the API request DTO
      * @return ApiResponseDTO with the result
      */
-    @Transactional(rollbackFor = {AuditFailureException.class})
     public ApiResponseDTO processRequest(ApiRequestDTO request) {
         String clientId = request.getClientId();
         String sourceRecordId = request.getSourceRecordId();
@@ -60,150 +108,288 @@ public class IntegrationService {
         String requestedBy = request.getRequestedBy() != null ?
                 request.getRequestedBy() : "SYSTEM";
 
-        logger.info("Processing integration request: clientId={}, sourceRecordId={}, correlationId={}",
-                clientId, sourceRecordId, correlationId);
+        return processRecord(clientId, sourceRecordId, correlationId, requestedBy,
+                () -> restApiInvocationService.getClientConfig(clientId),
+                () -> payloadBuilderService.buildPayloadBytes(clientId, sourceRecordId, request.getAdditionalData()));
+    }
 
-        LocalDateTime requestTimestamp = LocalDateTime.now();
-        String auditId = null;
-        String payload = null;
-        ClientConfigDTO clientConfig = null;
+    /**
+     * Process an API integration request without holding a thread during the API call.
+     * Database work (configuration, payload, audit) runs on the bounded elastic scheduler
+     * in the same short transactions as {@link #processRequest}; the HTTP call itself is
+     * non-blocking.
+     *
+     * @param request the API request DTO
+     * @return Mono emitting the ApiResponseDTO; fails only on audit failures
+     */
+    public Mono<ApiResponseDTO> processRequestReactive(ApiRequestDTO request) {
+        String clientId = request.getClientId();
+        String sourceRecordId = request.getSourceRecordId();
+        String correlationId = request.getCorrelationId() != null ?
+                request.getCorrelationId() : UUID.randomUUID().toString();
+        String requestedBy = request.getRequestedBy() != null ?
+                request.getRequestedBy() : "SYSTEM";
+
+        return processRecordReactive(clientId, sourceRecordId, correlationId, requestedBy,
+                () -> restApiInvocationService.getClientConfig(clientId),
+                () -> payloadBuilderService.buildPayloadBytes(clientId, sourceRecordId, request.getAdditionalData()));
+    }
+
+    /**
+     * Run one record through the audit / call / outcome phases. The client configuration
+     * and payload are supplied by the caller so batches can reuse what they loaded once.
+     */
+    private ApiResponseDTO processRecord(String clientId, String sourceRecordId, String correlationId,
+                                         String requestedBy, Supplier<ClientConfigDTO> configSupplier,
+                                         Supplier<byte[]> payloadSupplier) {
+        RecordCall call = new RecordCall(clientId, sourceRecordId, correlationId, requestedBy);
 
         try {
-            // Get client configuration
-            clientConfig = restApiInvocationService.getClientConfig(clientId);
+            prepareCall(call, configSupplier, payloadSupplier);
 
-            // Build payload
-            payload = payloadBuilderService.buildPayload(clientId, sourceRecordId, request.getAdditionalData());
-
-            // Build request headers for audit
-            Map<String, String> requestHeaders = buildRequestHeaders(clientConfig);
-
-            // Create audit entry BEFORE making the API call
-            auditId = auditService.createAuditEntry(
-                    clientId,
-                    clientConfig.getApiEndpointUrl(),
-                    clientConfig.getHttpMethod(),
-                    payload,
-                    requestHeaders,
-                    sourceRecordId,
-                    correlationId,
-                    requestedBy
-            );
+            // Phase 2: make the API call without holding a database connection
+            RestApiInvocationService.ApiCallResult result =
+                    restApiInvocationService.invokeApi(call.clientConfig, call.payloadBytes);
 
-            // Make the API call
-            RestApiInvocationService.ApiCallResult result = restApiInvocationService.invokeApi(clientConfig, payload);
+            return completeCall(call, result);
+        } catch (Exception e) {
+            return handleCallError(call, e);
+        }
+    }
 
-            // Update audit with response - this is within the same transaction
-            auditService.updateAuditWithResponse(
-                    auditId,
-                    result.getResponseBody(),
-                    result.getStatusCode(),
-                    result.getResponseHeaders(),
-                    result.getExecutionTimeMs(),
-                    result.isSuccess(),
-                    result.getErrorMessage()
-            );
+    /**
+     * Reactive counterpart of {@link #processRecord}. The blocking phases run on the
+     * bounded elastic scheduler, the API call on the HTTP client's event loop.
+     */
+    private Mono<ApiResponseDTO> processRecordReactive(String clientId, String sourceRecordId,
+                                                       String correlationId, String requestedBy,
+                                                       Supplier<ClientConfigDTO> configSupplier,
+                                                       Supplier<byte[]> payloadSupplier) {
+        RecordCall call = new RecordCall(clientId, sourceRecordId, correlationId, requestedBy);
+
+        return Mono.fromRunnable(() -> prepareCall(call, configSupplier, payloadSupplier))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.defer(() -> restApiInvocationService.invokeApiReactive(call.clientConfig, call.payloadBytes)))
+                .publishOn(Schedulers.boundedElastic())
+                .map(result -> completeCall(call, result))
+                .onErrorResume(Exception.class, e -> Mono.fromCallable(() -> handleCallError(call, e))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
 
-            // Handle success or failure
-            if (result.isSuccess()) {
-                return buildSuccessResponse(auditId, correlationId, clientId, sourceRecordId, result);
-            } else {
-                return handleFailure(clientId, sourceRecordId, correlationId, payload,
-                        clientConfig, result, requestHeaders, requestedBy, auditId);
-            }
+    /**
+     * Load the configuration and payload and create the in-flight audit entry (phase 1).
+     */
+    private void prepareCall(RecordCall call, Supplier<ClientConfigDTO> configSupplier,
+                             Supplier<byte[]> payloadSupplier) {
+        logger.info("Processing integration request: clientId={}, sourceRecordId={}, correlationId={}",
+                call.clientId, call.sourceRecordId, call.correlationId);
+
+        // Get client configuration
+        call.clientConfig = configSupplier.get();
+        phaseMetrics.resolve(call.clientId);
+
+        // Build payload; the bytes go to the API, the text to audit and retry
+        call.payloadBytes = payloadSupplier.get();
+        call.payload = new String(call.payloadBytes, StandardCharsets.UTF_8);
+
+        // Build request headers for audit
+        call.requestHeaders = buildRequestHeaders(call.clientConfig);
+
+        // Phase 1: create the in-flight audit entry BEFORE making the API call
+        call.auditId = phaseMetrics.time(CallPhaseMetrics.Phase.AUDIT_WRITE, call.clientId,
+                () -> auditService.createAuditEntry(
+                        call.clientId,
+                        call.clientConfig.getApiEndpointUrl(),
+                        call.clientConfig.getHttpMethod(),
+                        call.payload,
+                        call.requestHeaders,
+                        call.sourceRecordId,
+                        call.correlationId,
+                        call.requestedBy,
+                        call.clientConfig.getAuditWriteBehind()
+                ));
+    }
+
+    /**
+     * Record the outcome of the API call (phase 3).
+     */
+    private ApiResponseDTO completeCall(RecordCall call, RestApiInvocationService.ApiCallResult result) {
+        if (!result.isNotSent() && result.getExecutionTimeMs() != null) {
+            phaseMetrics.record(CallPhaseMetrics.Phase.HTTP_CALL, call.clientId,
+                    result.getExecutionTimeMs(), TimeUnit.MILLISECONDS);
+        }
+
+        if (result.isSuccess()) {
+            recordResponse(call.clientId, call.auditId, result);
+            return buildSuccessResponse(call.auditId, call.correlationId, call.clientId, call.sourceRecordId, result);
+        } else {
+            return handleFailure(call.clientId, call.sourceRecordId, call.correlationId, call.payload,
+                    call.clientConfig, result, call.requestHeaders, call.requestedBy, call.auditId);
+        }
+    }
+
+    /**
+     * Turn an error in any phase into a failure response, recording it where possible.
+     */
+    private ApiResponseDTO handleCallError(RecordCall call, Exception e) {
+        String clientId = call.clientId;
+        ClientConfigDTO clientConfig = call.clientConfig;
 
-        } catch (AuditFailureException e) {
-            // Audit failure - transaction will rollback
+        if (e instanceof AuditFailureException) {
+            // Audit failure - no call is made without an audit entry; an entry left
+            // in flight after the call is resolved by reconciliation
             logger.error("Audit failure for client {}: {}", clientId, e.getMessage());
-            throw e;
-        } catch (IntegrationException e) {
+            throw (AuditFailureException) e;
+        }
+
+        if (e instanceof IntegrationException) {
             // Handle integration errors
             logger.error("Integration error for client {}: {}", clientId, e.getMessage());
 
-            // Try to update audit if we have an auditId
-            if (auditId != null) {
-                try {
-                    auditService.updateAuditWithResponse(
-                            auditId, null, null, null,
-                            System.currentTimeMillis() - requestTimestamp.atZone(java.time.ZoneId.systemDefault())
-                                    .toInstant().toEpochMilli(),
-                            false, e.getMessage()
-                    );
-                } catch (Exception auditEx) {
-                    logger.warn("Failed to update audit with error: {}", auditEx.getMessage());
-                }
-            }
+            recordError(clientId, call.payload, clientConfig, call.sourceRecordId, call.correlationId,
+                    call.requestedBy, call.auditId, System.currentTimeMillis() - call.startTime, e.getMessage());
 
-            // Queue for retry if applicable
-            if (clientConfig != null && Boolean.TRUE.equals(clientConfig.getRetryEnabled())) {
-                queueForRetryOnError(clientId, payload, clientConfig, sourceRecordId, correlationId,
-                        e.getMessage(), null, requestedBy);
-            }
-
-            return ApiResponseDTO.failure(auditId, correlationId, clientId, sourceRecordId,
+            return ApiResponseDTO.failure(call.auditId, call.correlationId, clientId, call.sourceRecordId,
                     null, e.getMessage(), null, clientConfig != null && clientConfig.getRetryEnabled(), null);
+        }
 
-        } catch (Exception e) {
-            logger.error("Unexpected error processing request for client {}: {}", clientId, e.getMessage(), e);
+        logger.error("Unexpected error processing request for client {}: {}", clientId, e.getMessage(), e);
+
+        return ApiResponseDTO.failure(call.auditId, call.correlationId, clientId, call.sourceRecordId,
+                null, "Unexpected error: " + e.getMessage(), null, false, null);
+    }
 
-            return ApiResponseDTO.failure(auditId, correlationId, clientId, sourceRecordId,
-                    null, "Unexpected error: " + e.getMessage(), null, false, null);
+    /**
+     * State of one record as it moves through the phases; fields are filled in as far as
+     * the record got, so errors can be recorded against what exists.
+     */
+    private static final class RecordCall {
+        private final String clientId;
+        private final String sourceRecordId;
+        private final String correlationId;
+        private final String requestedBy;
+        private final long startTime = System.currentTimeMillis();
+        private ClientConfigDTO clientConfig;
+        private byte[] payloadBytes;
+        private String payload;
+        private Map<String, String> requestHeaders;
+        private String auditId;
+
+        private RecordCall(String clientId, String sourceRecordId, String correlationId, String requestedBy) {
+            this.clientId = clientId;
+            this.sourceRecordId = sourceRecordId;
+            this.correlationId = correlationId;
+            this.requestedBy = requestedBy;
         }
     }
 
     /**
-     * Handle API call failure.
+     * Record the API response on the audit entry (own short transaction).
+     */
+    private void recordResponse(String clientId, String auditId, RestApiInvocationService.ApiCallResult result) {
+        phaseMetrics.time(CallPhaseMetrics.Phase.AUDIT_WRITE, clientId, () -> {
+            auditService.updateAuditWithResponse(
+                    auditId,
+                    result.getResponseBody(),
+                    result.getStatusCode(),
+                    result.getResponseHeaders(),
+                    result.getExecutionTimeMs(),
+                    result.isSuccess(),
+                    result.getErrorMessage()
+            );
+            return null;
+        });
+    }
+
+    /**
+     * Handle API call failure. The response and the retry entry are written in one
+     * short transaction, so either both are recorded or the entry stays in flight.
      */
     private ApiResponseDTO handleFailure(String clientId, String sourceRecordId, String correlationId,
                                          String payload, ClientConfigDTO clientConfig,
                                          RestApiInvocationService.ApiCallResult result,
                                          Map<String, String> requestHeaders, String requestedBy,
                                          String auditId) {
-        boolean willRetry = false;
-        LocalDateTime nextRetryTime = null;
+        String headersJson = null;
 
         // Queue for retry if enabled and error is retryable
         if (Boolean.TRUE.equals(clientConfig.getRetryEnabled()) && result.isRetryable()) {
             try {
-                String headersJson = objectMapper.writeValueAsString(requestHeaders);
-                retryService.queueForRetry(
-                        clientId, payload, headersJson,
-                        clientConfig.getApiEndpointUrl(), clientConfig.getHttpMethod(),
-                        result.getErrorMessage(), result.getStatusCode(),
-                        sourceRecordId, correlationId, requestedBy
-                );
-                willRetry = true;
-                nextRetryTime = LocalDateTime.now().plusHours(1);
+                headersJson = objectMapper.writeValueAsString(requestHeaders);
             } catch (JsonProcessingException e) {
                 logger.warn("Failed to serialize headers for retry queue: {}", e.getMessage());
             }
         }
 
+        String retryHeaders = headersJson;
+        RetryBackoff.Decision backoff = retryService.firstBackoff(clientConfig, result);
+        boolean willRetry = Boolean.TRUE.equals(recordOutcome(clientConfig, () -> {
+            recordResponse(clientId, auditId, result);
+
+            if (retryHeaders == null) {
+                return false;
+            }
+            phaseMetrics.time(CallPhaseMetrics.Phase.RETRY_ENQUEUE, clientId, () -> retryService.queueForRetry(
+                    clientId, payload, retryHeaders,
+                    clientConfig.getApiEndpointUrl(), clientConfig.getHttpMethod(),
+                    result.getErrorMessage(), result.getStatusCode(),
+                    sourceRecordId, correlationId, requestedBy, backoff
+            ));
+            return true;
+        }));
+
         return ApiResponseDTO.failure(
                 auditId, correlationId, clientId, sourceRecordId,
                 result.getStatusCode(), result.getErrorMessage(),
-                result.getExecutionTimeMs(), willRetry, nextRetryTime
+                result.getExecutionTimeMs(), willRetry, willRetry ? backoff.getNextRetryTime() : null
         );
     }
 
     /**
-     * Queue for retry when an error occurs.
+     * Record an integration error on the audit entry (if one was created) and queue for
+     * retry when enabled, in one short transaction. Failures are logged only; an audit
+     * entry left in flight is picked up by reconciliation.
      */
-    private void queueForRetryOnError(String clientId, String payload, ClientConfigDTO clientConfig,
-                                      String sourceRecordId, String correlationId, String errorMessage,
-                                      Integer statusCode, String requestedBy) {
-        try {
-            Map<String, String> headers = buildRequestHeaders(clientConfig);
-            String headersJson = objectMapper.writeValueAsString(headers);
+    private void recordError(String clientId, String payload, ClientConfigDTO clientConfig,
+                             String sourceRecordId, String correlationId, String requestedBy,
+                             String auditId, long executionTimeMs, String errorMessage) {
+        boolean queueRetry = clientConfig != null && Boolean.TRUE.equals(clientConfig.getRetryEnabled());
 
-            retryService.queueForRetry(
-                    clientId, payload, headersJson,
-                    clientConfig.getApiEndpointUrl(), clientConfig.getHttpMethod(),
-                    errorMessage, statusCode, sourceRecordId, correlationId, requestedBy
-            );
+        try {
+            String headersJson = queueRetry ? objectMapper.writeValueAsString(buildRequestHeaders(clientConfig)) : null;
+
+            recordOutcome(clientConfig, () -> {
+                if (auditId != null) {
+                    phaseMetrics.time(CallPhaseMetrics.Phase.AUDIT_WRITE, clientId, () -> {
+                        auditService.updateAuditWithResponse(
+                                auditId, null, null, null, executionTimeMs, false, errorMessage);
+                        return null;
+                    });
+                }
+                if (queueRetry) {
+                    phaseMetrics.time(CallPhaseMetrics.Phase.RETRY_ENQUEUE, clientId, () -> retryService.queueForRetry(
+                            clientId, payload, headersJson,
+                            clientConfig.getApiEndpointUrl(), clientConfig.getHttpMethod(),
+                            errorMessage, null, sourceRecordId, correlationId, requestedBy
+                    ));
+                }
+                return null;
+            });
         } catch (Exception e) {
-            logger.warn("Failed to queue for retry: {}", e.getMessage());
+            logger.warn("Failed to record error outcome for client {}{}: {}", clientId,
+                    auditId != null ? " (audit " + auditId + " left for reconciliation)" : "", e.getMessage());
+        }
+    }
+
+    /**
+     * Run the outcome writes of a call in one short transaction. Write-behind clients only
+     * append to the journal, so their writes run without a transaction or connection.
+     */
+    private <T> T recordOutcome(ClientConfigDTO clientConfig, Supplier<T> writes) {
+        if (clientConfig != null && auditWriteBehind.isEnabled(clientConfig.getAuditWriteBehind())) {
+            return writes.get();
         }
+        return transactionTemplate.execute(status -> writes.get());
     }
 
     /**
@@ -251,25 +437,181 @@ public class IntegrationService {
     /**
      * Process a batch of requests for a client.
      *
+     * Client configuration and field mappings are loaded once and source rows are fetched
+     * in bulk. Records are then processed by up to the client's batch concurrency in
+     * parallel; responses are returned in input order.
+     *
      * @param clientId        the client identifier
      * @param sourceRecordIds list of source record IDs
      * @param requestedBy     the user/system making the request
      * @return List of API responses
      */
-    public java.util.List<ApiResponseDTO> processBatch(String clientId, java.util.List<String> sourceRecordIds,
-                                                       String requestedBy) {
-        logger.info("Processing batch of {} requests for client: {}", sourceRecordIds.size(), clientId);
-
-        return sourceRecordIds.stream()
-                .map(recordId -> {
-                    ApiRequestDTO request = ApiRequestDTO.builder()
-                            .clientId(clientId)
-                            .sourceRecordId(recordId)
-                            .requestedBy(requestedBy)
-                            .build();
-                    return processRequest(request);
-                })
-                .toList();
+    public List<ApiResponseDTO> processBatch(String clientId, List<String> sourceRecordIds, String requestedBy) {
+        ApiResponseDTO[] responses = new ApiResponseDTO[sourceRecordIds.size()];
+        runBatch(clientId, sourceRecordIds, requestedBy, (index, response) -> responses[index] = response);
+        return Arrays.asList(responses);
+    }
+
+    /**
+     * Process a batch of requests for a client, handing each response to a listener as
+     * soon as it completes. The listener is called from several threads at once and in
+     * completion order, not input order.
+     *
+     * @param clientId        the client identifier
+     * @param sourceRecordIds list of source record IDs
+     * @param requestedBy     the user/system making the request
+     * @param listener        receives each response
+     */
+    public void processBatch(String clientId, List<String> sourceRecordIds, String requestedBy,
+                             Consumer<ApiResponseDTO> listener) {
+        runBatch(clientId, sourceRecordIds, requestedBy, (index, response) -> listener.accept(response));
+    }
+
+    /**
+     * Run a batch on the calling thread plus helper workers from the executor. Workers
+     * take the next record index until the batch is done; if the executor rejects a
+     * helper the batch simply runs with fewer workers. An audit failure stops the batch
+     * from starting new records and is rethrown once all workers finished.
+     */
+    private void runBatch(String clientId, List<String> sourceRecordIds, String requestedBy,
+                          BiConsumer<Integer, ApiResponseDTO> sink) {
+        BatchContext context = loadBatchContext(clientId, sourceRecordIds);
+        int concurrency = resolveBatchConcurrency(context.clientConfig, sourceRecordIds.size());
+
+        logger.info("Processing batch of {} requests for client: {} with concurrency {}",
+                sourceRecordIds.size(), clientId, concurrency);
+
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Runnable worker = () -> {
+            int index;
+            while (failure.get() == null && (index = nextIndex.getAndIncrement()) < sourceRecordIds.size()) {
+                try {
+                    sink.accept(index, processBatchRecord(context, sourceRecordIds.get(index), requestedBy));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        List<CompletableFuture<Void>> helpers = new ArrayList<>();
+        for (int i = 1; i < concurrency; i++) {
+            try {
+                helpers.add(CompletableFuture.runAsync(worker, batchExecutor));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Batch executor saturated; client {} batch runs with {} workers", clientId, i);
+                break;
+            }
+        }
+
+        worker.run();
+        helpers.forEach(CompletableFuture::join);
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Process a batch of requests for a client without holding a thread per in-flight
+     * API call. Shared data is loaded once as for {@link #processBatch}, and up to the
+     * client's batch concurrency records are in flight at a time. Responses are emitted
+     * in input order; an audit failure ends the batch with an error.
+     *
+     * @param clientId        the client identifier
+     * @param sourceRecordIds list of source record IDs
+     * @param requestedBy     the user/system making the request
+     * @return Flux of API responses
+     */
+    public Flux<ApiResponseDTO> processBatchReactive(String clientId, List<String> sourceRecordIds,
+                                                     String requestedBy) {
+        return Mono.fromCallable(() -> loadBatchContext(clientId, sourceRecordIds))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(context -> {
+                    int concurrency = resolveBatchConcurrency(context.clientConfig, sourceRecordIds.size());
+
+                    logger.info("Processing reactive batch of {} requests for client: {} with concurrency {}",
+                            sourceRecordIds.size(), clientId, concurrency);
+
+                    return Flux.fromIterable(sourceRecordIds)
+                            .flatMapSequential(sourceRecordId -> processRecordReactive(clientId, sourceRecordId,
+                                    UUID.randomUUID().toString(), requestedBy,
+                                    batchConfigSupplier(context),
+                                    batchPayloadSupplier(context, sourceRecordId)), concurrency);
+                });
+    }
+
+    private ApiResponseDTO processBatchRecord(BatchContext context, String sourceRecordId, String requestedBy) {
+        return processRecord(context.clientId, sourceRecordId, UUID.randomUUID().toString(), requestedBy,
+                batchConfigSupplier(context), batchPayloadSupplier(context, sourceRecordId));
+    }
+
+    private Supplier<ClientConfigDTO> batchConfigSupplier(BatchContext context) {
+        ClientConfigDTO preloadedConfig = context.clientConfig;
+        return () -> preloadedConfig != null ? preloadedConfig
+                : restApiInvocationService.getClientConfig(context.clientId);
+    }
+
+    private Supplier<byte[]> batchPayloadSupplier(BatchContext context, String sourceRecordId) {
+        // A record missing from a completed bulk load has no source rows
+        Map<String, Object> sourceData = null;
+        if (context.sourceData != null) {
+            sourceData = context.sourceData.get(sourceRecordId);
+            if (sourceData == null) {
+                sourceData = NO_SOURCE_DATA;
+            }
+        }
+
+        Map<String, Object> recordData = sourceData;
+        return () -> payloadBuilderService.buildPayloadBytes(context.clientId, sourceRecordId, context.mappings,
+                recordData, null);
+    }
+
+    /**
+     * Load what the records of a batch share. Anything that fails to load is left null
+     * and loaded per record instead, so each record reports the failure as it would on
+     * its own.
+     */
+    private BatchContext loadBatchContext(String clientId, List<String> sourceRecordIds) {
+        ClientConfigDTO clientConfig = null;
+        List<FieldMappingDTO> mappings = null;
+        Map<String, SourceDataLoader.SourceRecord> sourceData = null;
+
+        try {
+            clientConfig = restApiInvocationService.getClientConfig(clientId);
+            phaseMetrics.resolve(clientId);
+            mappings = mappingService.getMappingsForClient(clientId);
+            sourceData = mappingService.getSourceDataForRecords(clientId, sourceRecordIds);
+        } catch (Exception e) {
+            logger.warn("Batch preload for client {} incomplete, loading per record: {}", clientId, e.getMessage());
+        }
+
+        return new BatchContext(clientId, clientConfig, mappings, sourceData);
+    }
+
+    private int resolveBatchConcurrency(ClientConfigDTO clientConfig, int recordCount) {
+        Integer configured = clientConfig != null ? clientConfig.getBatchConcurrency() : null;
+        int concurrency = configured != null && configured > 0 ? configured : defaultBatchConcurrency;
+        return Math.max(1, Math.min(Math.min(concurrency, maxBatchConcurrency), recordCount));
+    }
+
+    /**
+     * Data loaded once per batch and shared by its workers (read-only).
+     */
+    private static final class BatchContext {
+        private final String clientId;
+        private final ClientConfigDTO clientConfig;
+        private final List<FieldMappingDTO> mappings;
+        private final Map<String, SourceDataLoader.SourceRecord> sourceData;
+
+        private BatchContext(String clientId, ClientConfigDTO clientConfig, List<FieldMappingDTO> mappings,
+                             Map<String, SourceDataLoader.SourceRecord> sourceData) {
+            this.clientId = clientId;
+            this.clientConfig = clientConfig;
+            this.mappings = mappings;
+            this.sourceData = sourceData;
+        }
     }
 
     /**
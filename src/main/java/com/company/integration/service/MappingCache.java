@@ -0,0 +1,274 @@
+package com.company.integration.service;
+
+import com.company.integration.config.MapperChangeEvent;
+import com.company.integration.mapper.FieldMappingMapper;
+import com.company.integration.model.dto.FieldMappingDTO;
+import com.company.integration.model.dto.MappingVersionDTO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, per-tenant LRU cache of field mappings.
+ *
+ * Each entry remembers the mapping version watermark it was loaded with. Once the
+ * revalidation interval has passed the watermark is re-read (a single aggregate query)
+ * and the mappings are reloaded only if it moved. Local writes through
+ * {@link FieldMappingMapper} invalidate entries immediately after commit; the watermark
+ * check covers changes made by other nodes or directly in the database.
+ *
+ * Clients with CLIENT_CONFIGURATION.MAPPING_CACHE_ENABLED = 0 are never cached and
+ * read their mappings fresh on every request.
+ *
+ * Values derived from the mappings, such as compiled plans, are kept in the same entry
+ * through {@link #derived}, so they are bounded and dropped together with the mappings.
+ */
+@Component
+public class MappingCache {
+
+    private static final Logger logger = LogManager.getLogger(MappingCache.class);
+
+    private final FieldMappingMapper fieldMappingMapper;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${mapping.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mapping.cache.max.clients:500}")
+    private int maxClients;
+
+    @Value("${mapping.cache.revalidate.seconds:30}")
+    private long revalidateSeconds;
+
+    public MappingCache(FieldMappingMapper fieldMappingMapper) {
+        this.fieldMappingMapper = fieldMappingMapper;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > maxClients;
+                if (evict) {
+                    evictions.incrementAndGet();
+                    logger.debug("Evicting field mappings of client: {}", eldest.getKey());
+                }
+                return evict;
+            }
+        });
+    }
+
+    /**
+     * Get the field mappings for a client, loading them if absent or outdated.
+     * The returned list is shared between callers and must be treated as read-only.
+     *
+     * @param clientId the client identifier
+     * @param loader   function reading the active mappings from the database
+     * @return List of field mapping DTOs (may be empty)
+     */
+    public List<FieldMappingDTO> get(String clientId, Function<String, List<FieldMappingDTO>> loader) {
+        if (!enabled) {
+            bypassed.incrementAndGet();
+            return loader.apply(clientId);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(clientId);
+
+        if (entry != null && !entry.needsRevalidation(now, revalidateNanos())) {
+            return entry.bypass ? bypass(clientId, loader) : hit(entry);
+        }
+
+        long generationAtStart = generation.get();
+        MappingVersionDTO version = fieldMappingMapper.findMappingVersion(clientId);
+
+        if (version == null || !version.isCacheable()) {
+            store(clientId, Entry.bypass(version, now), generationAtStart);
+            return bypass(clientId, loader);
+        }
+
+        if (entry != null && !entry.bypass && version.isSameVersion(entry.version)) {
+            entry.validatedAt = now;
+            return hit(entry);
+        }
+
+        misses.incrementAndGet();
+        List<FieldMappingDTO> mappings = List.copyOf(loader.apply(clientId));
+        store(clientId, new Entry(version, mappings, false, now), generationAtStart);
+
+        logger.info("Cached {} field mappings for client: {} (version: count={}, maxId={}, modified={})",
+                mappings.size(), clientId, version.getMappingCount(), version.getMaxMappingId(),
+                version.getLastModified());
+
+        return mappings;
+    }
+
+    /**
+     * Get a value derived from a client's mappings, deriving it on first use. It is kept
+     * with the cached mappings it was derived from, so a reload, invalidation or eviction
+     * drops it too. Mappings that are not the client's cached list, e.g. of a client with
+     * caching switched off, are derived on every call and nothing is kept.
+     *
+     * @param clientId the client identifier (may be null)
+     * @param mappings mappings returned by {@link #get}
+     * @param type     the type of the derived value, at most one value per type and client
+     * @param deriver  function deriving the value from the mappings
+     * @return the derived value
+     */
+    public <T> T derived(String clientId, List<FieldMappingDTO> mappings, Class<T> type,
+                         Function<List<FieldMappingDTO>, T> deriver) {
+        Entry entry = clientId != null ? entries.get(clientId) : null;
+        if (entry == null || entry.bypass || entry.mappings != mappings) {
+            return deriver.apply(mappings);
+        }
+
+        return type.cast(entry.derived.computeIfAbsent(type, key -> deriver.apply(mappings)));
+    }
+
+    /**
+     * Drop the cached mappings of a single client.
+     *
+     * @param clientId the client identifier
+     */
+    public void invalidate(String clientId) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        entries.remove(clientId);
+        logger.info("Invalidated cached field mappings for client: {}", clientId);
+    }
+
+    /**
+     * Drop the cached mappings of all clients.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        entries.clear();
+        logger.info("Invalidated cached field mappings for all clients");
+    }
+
+    /**
+     * Invalidate after field mappings were modified through the mapper.
+     * Runs after commit when the change happened inside a transaction.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMapperChange(MapperChangeEvent event) {
+        if (event.getTable() != MapperChangeEvent.Table.FIELD_MAPPING) {
+            return;
+        }
+
+        if (event.isClientScoped()) {
+            invalidate(event.getClientId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Get cache statistics.
+     *
+     * @return CacheStats
+     */
+    public CacheStats getStats() {
+        return CacheStats.builder()
+                .enabled(enabled)
+                .cachedClients(entries.size())
+                .maxClients(maxClients)
+                .revalidateSeconds(revalidateSeconds)
+                .hits(hits.get())
+                .misses(misses.get())
+                .bypassed(bypassed.get())
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    private List<FieldMappingDTO> hit(Entry entry) {
+        hits.incrementAndGet();
+        return entry.mappings;
+    }
+
+    private List<FieldMappingDTO> bypass(String clientId, Function<String, List<FieldMappingDTO>> loader) {
+        bypassed.incrementAndGet();
+        return loader.apply(clientId);
+    }
+
+    /**
+     * Store an entry unless an invalidation happened while it was being loaded,
+     * in which case the loaded data may predate the change and is discarded.
+     */
+    private void store(String clientId, Entry entry, long generationAtStart) {
+        synchronized (entries) {
+            if (generation.get() == generationAtStart) {
+                entries.put(clientId, entry);
+            }
+        }
+    }
+
+    private long revalidateNanos() {
+        return TimeUnit.SECONDS.toNanos(revalidateSeconds);
+    }
+
+    /**
+     * Cached mappings of one client together with the watermark they were loaded at and
+     * the values derived from them.
+     */
+    private static final class Entry {
+        private final MappingVersionDTO version;
+        private final List<FieldMappingDTO> mappings;
+        private final boolean bypass;
+        private final Map<Class<?>, Object> derived = new ConcurrentHashMap<>();
+        private volatile long validatedAt;
+
+        private Entry(MappingVersionDTO version, List<FieldMappingDTO> mappings, boolean bypass, long validatedAt) {
+            this.version = version;
+            this.mappings = mappings;
+            this.bypass = bypass;
+            this.validatedAt = validatedAt;
+        }
+
+        private static Entry bypass(MappingVersionDTO version, long validatedAt) {
+            return new Entry(version, List.of(), true, validatedAt);
+        }
+
+        private boolean needsRevalidation(long now, long revalidateNanos) {
+            return now - validatedAt >= revalidateNanos;
+        }
+    }
+
+    /**
+     * Cache statistics.
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class CacheStats {
+        private boolean enabled;
+        private int cachedClients;
+        private int maxClients;
+        private long revalidateSeconds;
+        private long hits;
+        private long misses;
+        private long bypassed;
+        private long evictions;
+        private long invalidations;
+    }
+}
@@ -3,7 +3,6 @@ package com.company.integration.service;
 import com.company.integration.config.SecurityConfig;
 import com.company.integration.exception.MappingException;
 import com.company.integration.mapper.FieldMappingMapper;
-import com.company.integration.mapper.SourceDataMapper;
 import com.company.integration.model.dto.FieldMappingDTO;
 import com.company.integration.model.entity.FieldMapping;
 import org.apache.logging.log4j.LogManager;
@@ -15,24 +14,30 @@ import java.util.stream.Collectors;
 
 /**
  * Service for managing field mappings and retrieving source data.
- * Fetches fresh mappings on every request (no caching) as per requirements.
+ * Mappings are served from the per-tenant {@link MappingCache}; clients that opted out
+ * of caching read them fresh on every request.
  */
 @Service
 public class MappingService {
 
     private static final Logger logger = LogManager.getLogger(MappingService.class);
-    private static final String DEFAULT_ID_COLUMN = "ID";
 
     private final FieldMappingMapper fieldMappingMapper;
-    private final SourceDataMapper sourceDataMapper;
+    private final SourceDataLoader sourceDataLoader;
     private final SecurityConfig securityConfig;
+    private final MappingCache mappingCache;
+    private final CallPhaseMetrics phaseMetrics;
 
     public MappingService(FieldMappingMapper fieldMappingMapper,
-                          SourceDataMapper sourceDataMapper,
-                          SecurityConfig securityConfig) {
+                          SourceDataLoader sourceDataLoader,
+                          SecurityConfig securityConfig,
+                          MappingCache mappingCache,
+                          CallPhaseMetrics phaseMetrics) {
         this.fieldMappingMapper = fieldMappingMapper;
-        this.sourceDataMapper = sourceDataMapper;
+        this.sourceDataLoader = sourceDataLoader;
         this.securityConfig = securityConfig;
+        this.mappingCache = mappingCache;
+        this.phaseMetrics = phaseMetrics;
     }
 
     /**
@@ -45,17 +50,42 @@ public class MappingService {
     public List<FieldMappingDTO> getMappingsForClient(String clientId) {
         logger.debug("Fetching field mappings for client: {}", clientId);
 
-        List<FieldMapping> mappings = fieldMappingMapper.findByClientId(clientId);
+        List<FieldMappingDTO> mappings = phaseMetrics.time(CallPhaseMetrics.Phase.MAPPING_LOAD, clientId,
+                () -> mappingCache.get(clientId, this::loadMappings));
 
-        if (mappings == null || mappings.isEmpty()) {
+        if (mappings.isEmpty()) {
             throw new MappingException("No active field mappings found", clientId);
         }
+        phaseMetrics.resolve(clientId);
 
-        logger.info("Found {} field mappings for client: {}", mappings.size(), clientId);
+        return mappings;
+    }
 
-        return mappings.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    /**
+     * Discard any cached mappings for a client and load them again from the database.
+     *
+     * @param clientId the client identifier
+     * @return number of active mappings after the reload
+     */
+    public int reloadMappings(String clientId) {
+        mappingCache.invalidate(clientId);
+        return mappingCache.get(clientId, this::loadMappings).size();
+    }
+
+    /**
+     * Discard the cached mappings of all clients.
+     */
+    public void invalidateAllMappings() {
+        mappingCache.invalidateAll();
+    }
+
+    /**
+     * Get field mapping cache statistics.
+     *
+     * @return CacheStats
+     */
+    public MappingCache.CacheStats getMappingCacheStats() {
+        return mappingCache.getStats();
     }
 
     /**
@@ -99,87 +129,34 @@ public class MappingService {
         logger.debug("Fetching source data for client: {}, record: {}", clientId, sourceRecordId);
 
         List<FieldMappingDTO> mappings = getMappingsForClient(clientId);
+        Map<String, Object> sourceData = phaseMetrics.time(CallPhaseMetrics.Phase.SOURCE_FETCH, clientId,
+                () -> sourceDataLoader.load(mappings, Collections.singletonList(sourceRecordId))).get(sourceRecordId);
 
-        // Group mappings by source table
-        Map<String, List<FieldMappingDTO>> mappingsByTable = mappings.stream()
-                .collect(Collectors.groupingBy(FieldMappingDTO::getSourceTable));
-
-        Map<String, Object> combinedData = new HashMap<>();
-
-        for (Map.Entry<String, List<FieldMappingDTO>> entry : mappingsByTable.entrySet()) {
-            String sourceTable = entry.getKey();
-            List<FieldMappingDTO> tableMappings = entry.getValue();
-
-            // Validate table name
-            if (!securityConfig.isTableAllowed(sourceTable)) {
-                logger.warn("Skipping unauthorized table: {}", sourceTable);
-                continue;
-            }
-
-            // Get column names for this table
-            List<String> columns = tableMappings.stream()
-                    .map(FieldMappingDTO::getSourceColumn)
-                    .filter(col -> securityConfig.isColumnNameValid(col))
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            if (columns.isEmpty()) {
-                continue;
-            }
-
-            // Fetch data from source table
-            Map<String, Object> tableData = fetchTableData(sourceTable, columns, sourceRecordId);
-
-            if (tableData != null) {
-                // Prefix column names with table name to avoid collisions
-                for (Map.Entry<String, Object> dataEntry : tableData.entrySet()) {
-                    String key = sourceTable + "." + dataEntry.getKey();
-                    combinedData.put(key, dataEntry.getValue());
-                    // Also store with just column name for backward compatibility
-                    combinedData.put(dataEntry.getKey(), dataEntry.getValue());
-                }
-            }
-        }
-
-        if (combinedData.isEmpty()) {
+        if (sourceData == null || sourceData.isEmpty()) {
             logger.warn("No source data found for client: {}, record: {}", clientId, sourceRecordId);
-        } else {
-            logger.debug("Retrieved {} source data fields for client: {}", combinedData.size(), clientId);
+            return Collections.emptyMap();
         }
 
-        return combinedData;
+        if (logger.isDebugEnabled()) {
+            // size() materializes the lazy record's entries, so only count them when logged
+            logger.debug("Retrieved {} source data fields for client: {}", sourceData.size(), clientId);
+        }
+        return sourceData;
     }
 
     /**
-     * Get source data for a specific table.
+     * Get source data for many records at once, with one joined query per chunk of IDs.
      *
-     * @param sourceTable    the source table name
-     * @param columns        list of column names
-     * @param sourceRecordId the source record identifier
-     * @return Map of column names to values
+     * @param clientId        the client identifier
+     * @param sourceRecordIds the source record identifiers
+     * @return Map of record ID to source data
+     * @see SourceDataLoader#load(List, Collection)
      */
-    public Map<String, Object> fetchTableData(String sourceTable, List<String> columns, String sourceRecordId) {
-        // Validate table and columns
-        if (!securityConfig.isTableAllowed(sourceTable)) {
-            throw new MappingException(String.format("Table '%s' is not allowed", sourceTable), null);
-        }
-
-        List<String> validColumns = columns.stream()
-                .filter(securityConfig::isColumnNameValid)
-                .collect(Collectors.toList());
-
-        if (validColumns.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        // Check if record exists
-        int exists = sourceDataMapper.recordExists(sourceTable, DEFAULT_ID_COLUMN, sourceRecordId);
-        if (exists == 0) {
-            logger.warn("Record not found in table {} with ID {}", sourceTable, sourceRecordId);
-            return Collections.emptyMap();
-        }
-
-        return sourceDataMapper.getSourceRecord(sourceTable, validColumns, DEFAULT_ID_COLUMN, sourceRecordId);
+    public Map<String, SourceDataLoader.SourceRecord> getSourceDataForRecords(String clientId,
+                                                                             Collection<String> sourceRecordIds) {
+        List<FieldMappingDTO> mappings = getMappingsForClient(clientId);
+        return phaseMetrics.time(CallPhaseMetrics.Phase.SOURCE_FETCH, clientId,
+                () -> sourceDataLoader.load(mappings, sourceRecordIds));
     }
 
     /**
@@ -189,9 +166,8 @@ public class MappingService {
      * @return List of mandatory field mapping DTOs
      */
     public List<FieldMappingDTO> getMandatoryFields(String clientId) {
-        List<FieldMapping> mappings = fieldMappingMapper.findMandatoryFields(clientId);
-        return mappings.stream()
-                .map(this::toDTO)
+        return mappingCache.get(clientId, this::loadMappings).stream()
+                .filter(mapping -> Boolean.TRUE.equals(mapping.getIsMandatory()))
                 .collect(Collectors.toList());
     }
 
@@ -234,6 +210,23 @@ public class MappingService {
         return missingFields;
     }
 
+    /**
+     * Read the active mappings of a client from the database.
+     */
+    private List<FieldMappingDTO> loadMappings(String clientId) {
+        List<FieldMapping> mappings = fieldMappingMapper.findByClientId(clientId);
+
+        if (mappings == null || mappings.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        logger.info("Loaded {} field mappings for client: {}", mappings.size(), clientId);
+
+        return mappings.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Convert entity to DTO.
      */
@@ -4,39 +4,63 @@ import com.company.integration.exception.PayloadBuildException;
 import com.company.integration.model.dto.FieldMappingDTO;
 import com.company.integration.util.DataTransformer;
 import com.company.integration.util.JsonPathBuilder;
+import com.company.integration.util.MappingPlan;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for dynamically constructing JSON payloads from database mappings.
  * Supports nested JSON structures up to 5 levels deep.
+ *
+ * Field mappings are compiled once per mapping version into a {@link MappingPlan}
+ * that is reused for every record of the client. In streaming mode payloads are written
+ * straight to UTF-8 bytes through a {@link JsonGenerator}; plans with array paths are
+ * always built as a JSON tree.
  */
 @Service
 public class PayloadBuilderService {
 
     private static final Logger logger = LogManager.getLogger(PayloadBuilderService.class);
+    private static final int MAX_RETAINED_BUFFER_BYTES = 1024 * 1024;
+    private static final ThreadLocal<ByteArrayOutputStream> PAYLOAD_BUFFER =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(8192));
 
     private final MappingService mappingService;
+    private final MappingCache mappingCache;
     private final DataTransformer dataTransformer;
     private final JsonPathBuilder jsonPathBuilder;
     private final ObjectMapper objectMapper;
+    private final CallPhaseMetrics phaseMetrics;
+
+    @Value("${payload.streaming.enabled:true}")
+    private boolean streamingEnabled;
 
     public PayloadBuilderService(MappingService mappingService,
+                                 MappingCache mappingCache,
                                  DataTransformer dataTransformer,
                                  JsonPathBuilder jsonPathBuilder,
-                                 ObjectMapper objectMapper) {
+                                 ObjectMapper objectMapper,
+                                 CallPhaseMetrics phaseMetrics) {
         this.mappingService = mappingService;
+        this.mappingCache = mappingCache;
         this.dataTransformer = dataTransformer;
         this.jsonPathBuilder = jsonPathBuilder;
         this.objectMapper = objectMapper;
+        this.phaseMetrics = phaseMetrics;
     }
 
     /**
@@ -49,18 +73,55 @@ public class PayloadBuilderService {
      * @throws PayloadBuildException if payload construction fails
      */
     public String buildPayload(String clientId, String sourceRecordId, Map<String, Object> additionalData) {
+        return new String(buildPayloadBytes(clientId, sourceRecordId, additionalData), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Build JSON payload for a client's API call as UTF-8 bytes.
+     * In streaming mode the payload is written directly from the source data without
+     * building an intermediate JSON tree.
+     *
+     * @param clientId       the client identifier
+     * @param sourceRecordId the source record identifier
+     * @param additionalData optional additional data to merge
+     * @return UTF-8 encoded JSON payload
+     * @throws PayloadBuildException if payload construction fails
+     */
+    public byte[] buildPayloadBytes(String clientId, String sourceRecordId, Map<String, Object> additionalData) {
+        return buildPayloadBytes(clientId, sourceRecordId, null, null, additionalData);
+    }
+
+    /**
+     * Build JSON payload as UTF-8 bytes from mappings and source data the caller already
+     * loaded, e.g. once for a whole batch. Either may be null to load it here.
+     *
+     * @param clientId       the client identifier
+     * @param sourceRecordId the source record identifier
+     * @param mappings       the client's field mappings, or null to load them
+     * @param sourceData     the record's source data, or null to load it
+     * @param additionalData optional additional data to merge
+     * @return UTF-8 encoded JSON payload
+     * @throws PayloadBuildException if payload construction fails
+     */
+    public byte[] buildPayloadBytes(String clientId, String sourceRecordId, List<FieldMappingDTO> mappings,
+                                    Map<String, Object> sourceData, Map<String, Object> additionalData) {
         logger.info("Building payload for client: {}, record: {}", clientId, sourceRecordId);
 
         try {
             // Get field mappings
-            List<FieldMappingDTO> mappings = mappingService.getMappingsForClient(clientId);
+            if (mappings == null) {
+                mappings = mappingService.getMappingsForClient(clientId);
+            }
 
             // Get source data
-            Map<String, Object> sourceData = mappingService.getSourceData(clientId, sourceRecordId);
+            if (sourceData == null) {
+                sourceData = mappingService.getSourceData(clientId, sourceRecordId);
+            }
 
             if (sourceData.isEmpty()) {
                 throw PayloadBuildException.sourceDataNotFound(clientId, sourceRecordId, "UNKNOWN");
             }
+            long buildStart = System.nanoTime();
 
             // Validate mandatory fields
             List<String> missingFields = mappingService.validateMandatoryFields(mappings, sourceData);
@@ -68,23 +129,25 @@ public class PayloadBuilderService {
                 throw PayloadBuildException.missingMandatoryFields(clientId, sourceRecordId, missingFields);
             }
 
-            // Build payload
-            ObjectNode payload = buildJsonPayload(mappings, sourceData);
+            MappingPlan plan = getMappingPlan(clientId, mappings);
+            ObjectNode additionalNode = additionalData != null && !additionalData.isEmpty()
+                    ? objectMapper.valueToTree(additionalData)
+                    : null;
 
-            // Merge additional data if provided
-            if (additionalData != null && !additionalData.isEmpty()) {
-                ObjectNode additionalNode = objectMapper.valueToTree(additionalData);
-                payload = jsonPathBuilder.mergeObjects(payload, additionalNode);
-            }
+            byte[] jsonPayload = streamingEnabled && plan.isStreamable()
+                    ? writePayload(plan, sourceData, additionalNode)
+                    : buildTreePayload(plan, sourceData, additionalNode);
+            logger.debug("Built payload for client {}: {} bytes", clientId, jsonPayload.length);
 
-            String jsonPayload = objectMapper.writeValueAsString(payload);
-            logger.debug("Built payload for client {}: {} bytes", clientId, jsonPayload.length());
+            // Mapping load and source fetch are timed as phases of their own
+            phaseMetrics.record(CallPhaseMetrics.Phase.PAYLOAD_BUILD, clientId,
+                    System.nanoTime() - buildStart, TimeUnit.NANOSECONDS);
 
             return jsonPayload;
 
         } catch (PayloadBuildException e) {
             throw e;
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             logger.error("Failed to serialize payload for client {}: {}", clientId, e.getMessage());
             throw new PayloadBuildException("Failed to serialize payload to JSON", clientId, e);
         } catch (Exception e) {
@@ -94,73 +157,71 @@ public class PayloadBuilderService {
     }
 
     /**
-     * Build JSON object from field mappings and source data.
-     *
-     * @param mappings   field mappings
-     * @param sourceData source data map
-     * @return ObjectNode representing the JSON payload
+     * Stream a payload into the thread's reusable buffer and copy out the result.
      */
-    public ObjectNode buildJsonPayload(List<FieldMappingDTO> mappings, Map<String, Object> sourceData) {
-        Map<String, Object> pathValueMap = new HashMap<>();
-
-        for (FieldMappingDTO mapping : mappings) {
-            String targetPath = mapping.getTargetFieldPath();
-            Object value = getFieldValue(mapping, sourceData);
+    private byte[] writePayload(MappingPlan plan, Map<String, Object> sourceData, ObjectNode additionalNode)
+            throws IOException {
+        ByteArrayOutputStream buffer = PAYLOAD_BUFFER.get();
+        buffer.reset();
 
-            if (value != null || mapping.getDefaultValue() != null) {
-                // Apply transformation if specified
-                Object transformedValue = applyTransformation(mapping, value, sourceData);
-                pathValueMap.put(targetPath, transformedValue);
+        try {
+            try (JsonGenerator generator = objectMapper.createGenerator(buffer, JsonEncoding.UTF8)) {
+                plan.write(sourceData, additionalNode, generator, jsonPathBuilder);
+            }
+            return buffer.toByteArray();
+        } finally {
+            // Do not pin an exceptionally large buffer to the thread
+            if (buffer.size() > MAX_RETAINED_BUFFER_BYTES) {
+                PAYLOAD_BUFFER.remove();
             }
         }
-
-        return jsonPathBuilder.buildNestedJson(pathValueMap);
     }
 
     /**
-     * Get field value from source data with fallback to default value.
-     *
-     * @param mapping    the field mapping
-     * @param sourceData the source data
-     * @return the field value or default
+     * Build the payload as a JSON tree and serialize it. Used for plans with array paths
+     * and when streaming is disabled.
      */
-    private Object getFieldValue(FieldMappingDTO mapping, Map<String, Object> sourceData) {
-        String sourceColumn = mapping.getSourceColumn();
-
-        // Try direct column name
-        Object value = sourceData.get(sourceColumn);
+    private byte[] buildTreePayload(MappingPlan plan, Map<String, Object> sourceData, ObjectNode additionalNode)
+            throws JsonProcessingException {
+        ObjectNode payload = plan.execute(sourceData, objectMapper.createObjectNode(), jsonPathBuilder);
 
-        // Try with table prefix
-        if (value == null && mapping.getSourceTable() != null) {
-            value = sourceData.get(mapping.getSourceTable() + "." + sourceColumn);
+        // Merge additional data if provided
+        if (additionalNode != null) {
+            payload = jsonPathBuilder.mergeObjects(payload, additionalNode);
         }
 
-        // Use default value if no value found
-        if (value == null && mapping.getDefaultValue() != null && !mapping.getDefaultValue().isEmpty()) {
-            value = mapping.getDefaultValue();
-        }
-
-        return value;
+        return objectMapper.writeValueAsBytes(payload);
     }
 
     /**
-     * Apply transformation to a field value.
+     * Build JSON object from field mappings and source data.
      *
-     * @param mapping    the field mapping with transformation rule
-     * @param value      the raw value
-     * @param sourceData full source data (for CONCAT operations)
-     * @return transformed value
+     * @param mappings   field mappings
+     * @param sourceData source data map
+     * @return ObjectNode representing the JSON payload
      */
-    private Object applyTransformation(FieldMappingDTO mapping, Object value, Map<String, Object> sourceData) {
-        String transformationRule = mapping.getTransformationRule();
-        FieldMappingDTO.DataType dataType = mapping.getDataType();
+    public ObjectNode buildJsonPayload(List<FieldMappingDTO> mappings, Map<String, Object> sourceData) {
+        String clientId = mappings.isEmpty() ? null : mappings.get(0).getClientId();
+        MappingPlan plan = getMappingPlan(clientId, mappings);
 
-        if (transformationRule == null || transformationRule.isEmpty()) {
-            // Just convert to target type
-            return dataTransformer.convertToType(value, dataType);
-        }
+        return plan.execute(sourceData, objectMapper.createObjectNode(), jsonPathBuilder);
+    }
 
-        return dataTransformer.transform(value, transformationRule, dataType, sourceData);
+    /**
+     * Get the compiled mapping plan for a client, compiling it when the mappings changed.
+     * The plan is kept with the client's entry in the {@link MappingCache} and dropped with
+     * it; mappings that are not cached are compiled on every call.
+     *
+     * @param clientId the client identifier (null compiles without caching)
+     * @param mappings the client's field mappings
+     * @return the compiled plan
+     */
+    MappingPlan getMappingPlan(String clientId, List<FieldMappingDTO> mappings) {
+        return mappingCache.derived(clientId, mappings, MappingPlan.class, cachedMappings -> {
+            MappingPlan plan = MappingPlan.compile(clientId, cachedMappings, dataTransformer, jsonPathBuilder);
+            logger.debug("Compiled mapping plan for client {}: {} steps", clientId, plan.getStepCount());
+            return plan;
+        });
     }
 
     /**
@@ -210,7 +271,8 @@ public class PayloadBuilderService {
             throw PayloadBuildException.sourceDataNotFound(clientId, sourceRecordId, "UNKNOWN");
         }
 
-        return buildJsonPayload(mappings, sourceData);
+        return getMappingPlan(clientId, mappings)
+                .execute(sourceData, objectMapper.createObjectNode(), jsonPathBuilder);
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.company.integration.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Clients whose daily report is finished, kept in a file with one client ID per line so a
+ * report run that crashed can be resumed without generating and emailing them again.
+ * A line is appended as soon as a client is finished; a run that ends without failures
+ * deletes the file.
+ */
+class ReportCheckpoint {
+
+    private static final Logger logger = LogManager.getLogger(ReportCheckpoint.class);
+
+    private final Path file;
+
+    ReportCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Read the clients finished by previous runs.
+     *
+     * @return finished client IDs, empty if there is no checkpoint
+     */
+    Set<String> completedClients() {
+        if (!Files.exists(file)) {
+            return Set.of();
+        }
+        try {
+            Set<String> completed = new HashSet<>();
+            // A last line torn by a crash matches no client, which is then simply regenerated
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    completed.add(line.trim());
+                }
+            }
+            return completed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read report checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * Record a finished client.
+     *
+     * @param clientId the client identifier
+     */
+    synchronized void markCompleted(String clientId) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, clientId + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            // The report itself is done; at worst a resumed run sends it again
+            logger.warn("Failed to record client {} in report checkpoint {}: {}", clientId, file, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the checkpoint once every client of the run is finished.
+     */
+    synchronized void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete report checkpoint {}: {}", file, e.getMessage());
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+}
@@ -1,7 +1,7 @@
 package com.company.integration.service;
 
 import com.company.integration.mapper.ClientMapper;
-import com.company.integration.model.dto.AuditReportDTO;
+import com.company.integration.model.entity.AuditRollup;
 import com.company.integration.model.entity.ClientEmailRecipient;
 import com.company.integration.util.CsvGenerator;
 import jakarta.mail.MessagingException;
@@ -9,19 +9,29 @@ import jakarta.mail.internet.MimeMessage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +57,18 @@ public class ReportGenerationService {
     @Value("${report.date.format:yyyyMMdd}")
     private String dateFormat;
 
+    @Value("${report.output.directory:./reports}")
+    private String outputDirectory;
+
+    @Value("${report.parallelism:4}")
+    private int parallelism;
+
+    @Value("${report.resume:true}")
+    private boolean resume;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
     public ReportGenerationService(AuditService auditService,
                                    ClientMapper clientMapper,
                                    CsvGenerator csvGenerator,
@@ -57,14 +79,32 @@ public class ReportGenerationService {
         this.mailSender = mailSender;
     }
 
+    /**
+     * Generate and send daily reports for all clients with the configured parallelism.
+     *
+     * @param reportDate the date for the report (typically yesterday)
+     * @return summary of the run
+     */
+    public ReportRunSummary generateAndSendDailyReports(LocalDate reportDate) {
+        return generateAndSendDailyReports(reportDate, parallelism);
+    }
+
     /**
      * Generate and send daily reports for all clients.
      * This is the main entry point called by Windows Task Scheduler.
      *
-     * @param reportDate the date for the report (typically yesterday)
+     * Clients are processed by a pool of {@code parallelism} workers, never more than the
+     * connections in the Hikari pool since each worker holds one while streaming its report.
+     * Finished clients are recorded in a checkpoint file next to the reports; with
+     * {@code report.resume} a rerun for the same date skips them.
+     *
+     * @param reportDate  the date for the report (typically yesterday)
+     * @param parallelism number of clients processed at once
+     * @return summary of the run
      */
-    public void generateAndSendDailyReports(LocalDate reportDate) {
+    public ReportRunSummary generateAndSendDailyReports(LocalDate reportDate, int parallelism) {
         logger.info("Starting daily report generation for date: {}", reportDate);
+        long runStart = System.nanoTime();
 
         LocalDateTime startTime = reportDate.atStartOfDay();
         LocalDateTime endTime = reportDate.plusDays(1).atStartOfDay();
@@ -72,23 +112,83 @@ public class ReportGenerationService {
         // Find all clients with audit records
         List<String> clientsWithRecords = auditService.findClientsWithRecords(startTime, endTime);
 
+        int workers = Math.max(1, Math.min(Math.min(parallelism, connectionPoolSize), clientsWithRecords.size()));
+        ReportRunSummary summary = ReportRunSummary.builder()
+                .reportDate(reportDate)
+                .parallelism(workers)
+                .build();
+
         if (clientsWithRecords.isEmpty()) {
             logger.info("No audit records found for date: {}", reportDate);
-            return;
+            return summary;
         }
 
         logger.info("Found {} clients with audit records for {}", clientsWithRecords.size(), reportDate);
 
+        ReportCheckpoint checkpoint = new ReportCheckpoint(Paths.get(outputDirectory, String.format(
+                "Client_Audit_Report_%s.checkpoint", reportDate.format(DateTimeFormatter.ofPattern(dateFormat)))));
+        Set<String> completed = resume ? checkpoint.completedClients() : Set.of();
+        if (!completed.isEmpty()) {
+            logger.info("Resuming from {}: {} clients already finished", checkpoint.getFile(), completed.size());
+        }
+
         // Generate and send report for each client
-        for (String clientId : clientsWithRecords) {
-            try {
-                generateAndSendClientReport(clientId, reportDate, startTime, endTime);
-            } catch (Exception e) {
-                logger.error("Failed to generate/send report for client {}: {}", clientId, e.getMessage(), e);
+        List<Future<ClientReportResult>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("Report-", 1).factory())) {
+            for (String clientId : clientsWithRecords) {
+                if (completed.contains(clientId)) {
+                    futures.add(CompletableFuture.completedFuture(ClientReportResult.builder()
+                            .clientId(clientId)
+                            .status(ClientReportStatus.RESUMED)
+                            .build()));
+                    continue;
+                }
+                futures.add(pool.submit(() -> runClientReport(clientId, reportDate, startTime, endTime, checkpoint)));
             }
         }
+        // Closing the pool waited for every client
+        for (Future<ClientReportResult> future : futures) {
+            summary.getClients().add(future.resultNow());
+        }
+        summary.setDurationMs(Duration.ofNanos(System.nanoTime() - runStart).toMillis());
+
+        if (summary.count(ClientReportStatus.FAILED) == 0) {
+            checkpoint.delete();
+        }
 
-        logger.info("Completed daily report generation for date: {}", reportDate);
+        logger.info("Completed daily report generation for date: {} in {} ms with {} workers: "
+                        + "{} sent, {} without data, {} without recipients, {} resumed, {} failed, {} rows",
+                reportDate, summary.getDurationMs(), workers,
+                summary.count(ClientReportStatus.SENT), summary.count(ClientReportStatus.NO_DATA),
+                summary.count(ClientReportStatus.NO_RECIPIENTS), summary.count(ClientReportStatus.RESUMED),
+                summary.count(ClientReportStatus.FAILED), summary.getTotalRows());
+        return summary;
+    }
+
+    /**
+     * Generate and send the report of one client, timing it and recording it in the checkpoint
+     * once finished.
+     */
+    private ClientReportResult runClientReport(String clientId, LocalDate reportDate, LocalDateTime startTime,
+                                               LocalDateTime endTime, ReportCheckpoint checkpoint) {
+        long start = System.nanoTime();
+        ClientReportResult result;
+        try {
+            result = generateAndSendClientReport(clientId, reportDate, startTime, endTime);
+            checkpoint.markCompleted(clientId);
+        } catch (Exception e) {
+            logger.error("Failed to generate/send report for client {}: {}", clientId, e.getMessage(), e);
+            result = ClientReportResult.builder()
+                    .clientId(clientId)
+                    .status(ClientReportStatus.FAILED)
+                    .error(e.getMessage())
+                    .build();
+        }
+        result.setDurationMs(Duration.ofNanos(System.nanoTime() - start).toMillis());
+        logger.info("Report for client {}: {} with {} rows in {} ms",
+                clientId, result.getStatus(), result.getRows(), result.getDurationMs());
+        return result;
     }
 
     /**
@@ -98,9 +198,13 @@ public class ReportGenerationService {
      * @param reportDate the report date
      * @param startTime  start of the time range
      * @param endTime    end of the time range
+     * @return outcome of the report
+     * @throws IOException        if the report file cannot be written
+     * @throws MessagingException if the report email cannot be sent
      */
-    public void generateAndSendClientReport(String clientId, LocalDate reportDate,
-                                            LocalDateTime startTime, LocalDateTime endTime) throws IOException {
+    public ClientReportResult generateAndSendClientReport(String clientId, LocalDate reportDate,
+                                            LocalDateTime startTime, LocalDateTime endTime)
+            throws IOException, MessagingException {
         logger.info("Generating report for client: {} for date: {}", clientId, reportDate);
 
         // Get client name
@@ -109,104 +213,111 @@ public class ReportGenerationService {
             clientName = clientId;
         }
 
-        // Get audit data
-        List<AuditReportDTO> auditData = auditService.getReportData(clientId, startTime, endTime);
-
-        if (auditData.isEmpty()) {
-            logger.info("No audit data for client: {} on date: {}", clientId, reportDate);
-            return;
+        // Stream audit data to the CSV file, collecting the statistics in the same pass
+        File csvFile;
+        AuditService.AuditStats stats;
+        try (CsvGenerator.AuditReportWriter writer = csvGenerator.openAuditReport(clientId, reportDate)) {
+            stats = writeReport(writer, clientId, clientName, startTime, endTime);
+            csvFile = writer.getFile();
         }
 
-        // Set client name in each record
-        for (AuditReportDTO dto : auditData) {
-            dto.setClientName(clientName);
-        }
+        ClientReportResult.ClientReportResultBuilder result = ClientReportResult.builder()
+                .clientId(clientId)
+                .rows(stats.getTotalCalls());
 
-        // Generate CSV file
-        File csvFile = csvGenerator.generateAuditReport(clientId, clientName, auditData, reportDate);
-        byte[] csvBytes = csvGenerator.generateCsvBytes(auditData);
-
-        // Get audit statistics
-        AuditService.AuditStats stats = auditService.getAuditStats(clientId, startTime, endTime);
+        if (stats.getTotalCalls() == 0) {
+            logger.info("No audit data for client: {} on date: {}", clientId, reportDate);
+            Files.deleteIfExists(csvFile.toPath());
+            return result.status(ClientReportStatus.NO_DATA).build();
+        }
 
         // Get email recipients
         List<ClientEmailRecipient> recipients = clientMapper.findEmailRecipients(clientId);
 
-        if (recipients.isEmpty()) {
-            logger.warn("No email recipients configured for client: {}", clientId);
-            return;
+        if (recipients.stream().noneMatch(r -> ClientEmailRecipient.TYPE_TO.equals(r.getRecipientType()))) {
+            logger.warn("No TO email recipients configured for client: {}", clientId);
+            return result.status(ClientReportStatus.NO_RECIPIENTS).build();
         }
 
-        // Send email
-        sendReportEmail(clientId, clientName, reportDate, csvFile.getName(), csvBytes, recipients, stats);
+        // Send email; a failure fails the client, so it is not checkpointed and is sent on resume
+        sendReportEmail(clientId, clientName, reportDate, csvFile, recipients, stats);
 
         logger.info("Report generated and sent for client: {}", clientId);
+        return result.status(ClientReportStatus.SENT).build();
     }
 
     /**
-     * Send report email with CSV attachment.
+     * Send report email with CSV attachment, read from the report file as it is sent.
+     *
+     * @throws MessagingException           if the message cannot be built or sent
+     * @throws UnsupportedEncodingException if the sender name cannot be encoded
+     * @throws IllegalArgumentException     if there are no TO recipients
      */
-    @Async("emailExecutor")
-    public void sendReportEmail(String clientId, String clientName, LocalDate reportDate,
-                                String fileName, byte[] csvContent,
-                                List<ClientEmailRecipient> recipients, AuditService.AuditStats stats) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            // Set from
-            helper.setFrom(fromAddress, fromName);
-
-            // Set recipients
-            List<String> toRecipients = recipients.stream()
-                    .filter(r -> ClientEmailRecipient.TYPE_TO.equals(r.getRecipientType()))
-                    .map(ClientEmailRecipient::getEmailAddress)
-                    .collect(Collectors.toList());
-
-            List<String> ccRecipients = recipients.stream()
-                    .filter(r -> ClientEmailRecipient.TYPE_CC.equals(r.getRecipientType()))
-                    .map(ClientEmailRecipient::getEmailAddress)
-                    .collect(Collectors.toList());
-
-            List<String> bccRecipients = recipients.stream()
-                    .filter(r -> ClientEmailRecipient.TYPE_BCC.equals(r.getRecipientType()))
-                    .map(ClientEmailRecipient::getEmailAddress)
-                    .collect(Collectors.toList());
-
-            if (toRecipients.isEmpty()) {
-                logger.warn("No TO recipients for client: {}", clientId);
-                return;
-            }
+    public void sendReportEmail(String clientId, String clientName, LocalDate reportDate, File csvFile,
+                                List<ClientEmailRecipient> recipients, AuditService.AuditStats stats)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        // Set from
+        helper.setFrom(fromAddress, fromName);
+
+        // Set recipients
+        List<String> toRecipients = recipients.stream()
+                .filter(r -> ClientEmailRecipient.TYPE_TO.equals(r.getRecipientType()))
+                .map(ClientEmailRecipient::getEmailAddress)
+                .collect(Collectors.toList());
+
+        List<String> ccRecipients = recipients.stream()
+                .filter(r -> ClientEmailRecipient.TYPE_CC.equals(r.getRecipientType()))
+                .map(ClientEmailRecipient::getEmailAddress)
+                .collect(Collectors.toList());
+
+        List<String> bccRecipients = recipients.stream()
+                .filter(r -> ClientEmailRecipient.TYPE_BCC.equals(r.getRecipientType()))
+                .map(ClientEmailRecipient::getEmailAddress)
+                .collect(Collectors.toList());
+
+        if (toRecipients.isEmpty()) {
+            throw new IllegalArgumentException("No TO recipients for client: " + clientId);
+        }
 
-            helper.setTo(toRecipients.toArray(new String[0]));
+        helper.setTo(toRecipients.toArray(new String[0]));
 
-            if (!ccRecipients.isEmpty()) {
-                helper.setCc(ccRecipients.toArray(new String[0]));
-            }
+        if (!ccRecipients.isEmpty()) {
+            helper.setCc(ccRecipients.toArray(new String[0]));
+        }
 
-            if (!bccRecipients.isEmpty()) {
-                helper.setBcc(bccRecipients.toArray(new String[0]));
-            }
+        if (!bccRecipients.isEmpty()) {
+            helper.setBcc(bccRecipients.toArray(new String[0]));
+        }
 
-            // Set subject
-            String dateStr = reportDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            helper.setSubject(String.format("[Daily Audit Report] Client: %s - %s", clientName, dateStr));
+        // Set subject
+        String dateStr = reportDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        helper.setSubject(String.format("[Daily Audit Report] Client: %s - %s", clientName, dateStr));
 
-            // Set body
-            String body = buildEmailBody(clientName, reportDate, stats);
-            helper.setText(body, true);
+        // Set body
+        String body = buildEmailBody(clientName, reportDate, stats);
+        helper.setText(body, true);
 
-            // Attach CSV
-            helper.addAttachment(fileName, new ByteArrayResource(csvContent), "text/csv");
+        // Attach CSV
+        helper.addAttachment(csvFile.getName(), new FileSystemResource(csvFile), "text/csv");
 
-            // Send
-            mailSender.send(message);
+        // Send
+        mailSender.send(message);
 
-            logger.info("Sent report email to {} recipients for client: {}", toRecipients.size(), clientId);
+        logger.info("Sent report email to {} recipients for client: {}", toRecipients.size(), clientId);
+    }
 
-        } catch (MessagingException | java.io.UnsupportedEncodingException e) {
-            logger.error("Failed to send report email for client {}: {}", clientId, e.getMessage(), e);
+    /**
+     * Format a percentile taken from the rollup latency buckets, which is an upper bound or,
+     * when null (overflow bucket), only known to exceed the last bound.
+     */
+    static String formatPercentile(Long percentileMs) {
+        if (percentileMs == null) {
+            return "&gt; " + AuditRollup.LATENCY_BOUNDS_MS[AuditRollup.LATENCY_BOUNDS_MS.length - 1] + " ms";
         }
+        return "&le; " + percentileMs + " ms";
     }
 
     /**
@@ -229,6 +340,10 @@ public class ReportGenerationService {
                 .append(String.format("%.2f%%", stats.getSuccessRate())).append("</td></tr>");
         sb.append("<tr><td><strong>Average Execution Time</strong></td><td>")
                 .append(stats.getAverageExecutionTimeMs()).append(" ms</td></tr>");
+        sb.append("<tr><td><strong>95th Percentile Execution Time</strong></td><td>")
+                .append(formatPercentile(stats.getP95ExecutionTimeMs())).append("</td></tr>");
+        sb.append("<tr><td><strong>99th Percentile Execution Time</strong></td><td>")
+                .append(formatPercentile(stats.getP99ExecutionTimeMs())).append("</td></tr>");
         sb.append("</table>");
 
         sb.append("<p>Please find the detailed audit report attached.</p>");
@@ -263,12 +378,76 @@ public class ReportGenerationService {
             clientName = clientId;
         }
 
-        List<AuditReportDTO> auditData = auditService.getReportData(clientId, startTime, endTime);
+        try (CsvGenerator.AuditReportWriter writer = csvGenerator.openAuditReport(clientId, endDate)) {
+            writeReport(writer, clientId, clientName, startTime, endTime);
+            return writer.getFile();
+        }
+    }
 
-        for (AuditReportDTO dto : auditData) {
-            dto.setClientName(clientName);
+    /**
+     * Stream the audit data of a client to a report writer in a single pass over the audit log.
+     *
+     * @return statistics of the rows written
+     */
+    private AuditService.AuditStats writeReport(CsvGenerator.AuditReportWriter writer, String clientId,
+                                                String clientName, LocalDateTime startTime,
+                                                LocalDateTime endTime) {
+        return auditService.streamReportData(clientId, startTime, endTime, row -> {
+            row.setClientName(clientName);
+            try {
+                writer.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write report row for client " + clientId, e);
+            }
+        });
+    }
+
+    /**
+     * Outcome of the report of one client.
+     */
+    public enum ClientReportStatus {
+        SENT,
+        NO_DATA,
+        NO_RECIPIENTS,
+        RESUMED,
+        FAILED
+    }
+
+    /**
+     * Result of the report of one client.
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class ClientReportResult {
+        private String clientId;
+        private ClientReportStatus status;
+        private int rows;
+        private long durationMs;
+        private String error;
+    }
+
+    /**
+     * Summary of a daily report run.
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class ReportRunSummary {
+        private LocalDate reportDate;
+        private int parallelism;
+        private long durationMs;
+        @lombok.Builder.Default
+        private List<ClientReportResult> clients = new ArrayList<>();
+
+        public long count(ClientReportStatus status) {
+            return clients.stream().filter(client -> client.getStatus() == status).count();
         }
 
-        return csvGenerator.generateAuditReport(clientId, clientName, auditData, endDate);
+        public long getTotalRows() {
+            return clients.stream().mapToLong(ClientReportResult::getRows).sum();
+        }
     }
 }
@@ -4,6 +4,7 @@ import com.company.integration.exception.ApiInvocationException;
 import com.company.integration.exception.ClientNotFoundException;
 import com.company.integration.mapper.ClientMapper;
 import com.company.integration.model.dto.ClientConfigDTO;
+import com.company.integration.model.dto.RetryBackoffScheduleDTO;
 import com.company.integration.model.entity.ClientConfiguration;
 import com.company.integration.util.EncryptionUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -11,44 +12,74 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
  * Service for invoking external REST APIs with proper timeout and error handling.
+ * Client configurations are served from the {@link ClientProfileCache} together with
+ * their prebuilt request headers, so neither the database nor the key decryption is
+ * involved per call.
  */
 @Service
 public class RestApiInvocationService {
 
     private static final Logger logger = LogManager.getLogger(RestApiInvocationService.class);
 
-    private final WebClient webClient;
+    private final ClientConnectionPools clientConnectionPools;
     private final ClientMapper clientMapper;
     private final EncryptionUtil encryptionUtil;
     private final ObjectMapper objectMapper;
+    private final ClientProfileCache clientProfileCache;
+    private final ClientBulkhead clientBulkhead;
+    private final ClientCircuitBreaker clientCircuitBreaker;
+    private final ClientRateLimiter clientRateLimiter;
 
     @Value("${rest.client.timeout.seconds:300}")
     private int defaultTimeoutSeconds;
 
-    public RestApiInvocationService(WebClient webClient,
+    @Value("${client.profile.cache.warm.on.startup:true}")
+    private boolean warmOnStartup;
+
+    public RestApiInvocationService(ClientConnectionPools clientConnectionPools,
                                     ClientMapper clientMapper,
                                     EncryptionUtil encryptionUtil,
-                                    ObjectMapper objectMapper) {
-        this.webClient = webClient;
+                                    ObjectMapper objectMapper,
+                                    ClientProfileCache clientProfileCache,
+                                    ClientBulkhead clientBulkhead,
+                                    ClientCircuitBreaker clientCircuitBreaker,
+                                    ClientRateLimiter clientRateLimiter) {
+        this.clientConnectionPools = clientConnectionPools;
         this.clientMapper = clientMapper;
         this.encryptionUtil = encryptionUtil;
         this.objectMapper = objectMapper;
+        this.clientProfileCache = clientProfileCache;
+        this.clientBulkhead = clientBulkhead;
+        this.clientCircuitBreaker = clientCircuitBreaker;
+        this.clientRateLimiter = clientRateLimiter;
     }
 
     /**
@@ -75,95 +106,145 @@ public class RestApiInvocationService {
      * @return ApiCallResult containing response details
      */
     public ApiCallResult invokeApi(ClientConfigDTO config, String payload) {
+        return invoke(config, payload);
+    }
+
+    /**
+     * Invoke external API with an already encoded UTF-8 JSON payload.
+     * The bytes are sent as-is unless the client's content type declares another charset.
+     *
+     * @param config  the client configuration
+     * @param payload the UTF-8 encoded JSON payload
+     * @return ApiCallResult containing response details
+     */
+    public ApiCallResult invokeApi(ClientConfigDTO config, byte[] payload) {
+        ClientProfile profile = profileFor(config);
+        return invoke(profile, encodedBody(profile, payload));
+    }
+
+    /**
+     * Invoke external API without blocking the calling thread. The returned Mono completes
+     * with the result on a Netty event loop thread, so callers must not do blocking work
+     * (such as database access) on it without switching schedulers. A call waiting for
+     * the client's rate limit is delayed without holding a thread; a client at its
+     * concurrent call limit is rejected at once instead of waiting for a permit.
+     *
+     * @param config  the client configuration
+     * @param payload the UTF-8 encoded JSON payload
+     * @return Mono emitting the ApiCallResult
+     */
+    public Mono<ApiCallResult> invokeApiReactive(ClientConfigDTO config, byte[] payload) {
+        return Mono.defer(() -> {
+            ClientProfile profile = profileFor(config);
+            Object body = encodedBody(profile, payload);
+            String clientId = config.getClientId();
+
+            if (!clientCircuitBreaker.tryAcquire(clientId)) {
+                return Mono.just(shortCircuited(config));
+            }
+
+            long waitNanos = clientRateLimiter.reserve(config);
+            if (waitNanos < 0) {
+                clientCircuitBreaker.release(clientId);
+                return Mono.just(rateLimited(config, -waitNanos));
+            }
+
+            Mono<ApiCallResult> call = Mono.defer(() -> sendReactive(profile, body));
+            if (waitNanos == 0) {
+                return call;
+            }
+            return Mono.delay(Duration.ofNanos(waitNanos))
+                    .doOnCancel(() -> clientCircuitBreaker.release(clientId))
+                    .then(call);
+        });
+    }
+
+    /**
+     * Send a call permitted by the circuit breaker and rate limiter without blocking.
+     */
+    private Mono<ApiCallResult> sendReactive(ClientProfile profile, Object body) {
+        ClientConfigDTO config = profile.getConfig();
         String clientId = config.getClientId();
+
+        ClientBulkhead.Permit permit = clientBulkhead.tryAcquire(config);
+        if (permit == null) {
+            clientCircuitBreaker.release(clientId);
+            return Mono.just(rejectedByBulkhead(config));
+        }
+
         long startTime = System.currentTimeMillis();
+        return Mono.defer(() -> exchange(profile, body, startTime))
+                .doOnNext(result -> {
+                    clientCircuitBreaker.record(clientId, result);
+                    clientRateLimiter.record(clientId, result);
+                })
+                .doOnError(e -> clientCircuitBreaker.recordFailure(clientId))
+                .onErrorMap(e -> !(e instanceof ApiInvocationException), e -> {
+                    logger.error("Unexpected error invoking API for client {}: {}",
+                            clientId, e.getMessage(), e);
+                    return new ApiInvocationException("Failed to invoke API: " + e.getMessage(),
+                            clientId, null, null, true);
+                })
+                .doFinally(signal -> {
+                    permit.release();
+                    if (signal == SignalType.CANCEL) {
+                        clientCircuitBreaker.release(clientId);
+                    }
+                });
+    }
+
+    /**
+     * Send the bytes as-is unless the client's content type declares another charset.
+     */
+    private Object encodedBody(ClientProfile profile, byte[] payload) {
+        Charset charset = profile.getContentType().getCharset();
+        if (charset != null && !StandardCharsets.UTF_8.equals(charset)) {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+        return payload;
+    }
+
+    private ApiCallResult invoke(ClientConfigDTO config, Object payload) {
+        return invoke(profileFor(config), payload);
+    }
 
+    private ApiCallResult invoke(ClientProfile profile, Object payload) {
+        String clientId = profile.getConfig().getClientId();
+
+        if (!clientCircuitBreaker.tryAcquire(clientId)) {
+            return shortCircuited(profile.getConfig());
+        }
+
+        long waitNanos = clientRateLimiter.reserve(profile.getConfig());
+        if (waitNanos < 0) {
+            clientCircuitBreaker.release(clientId);
+            return rateLimited(profile.getConfig(), -waitNanos);
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                clientCircuitBreaker.release(clientId);
+                return rateLimited(profile.getConfig(), waitNanos);
+            }
+        }
+
+        ClientBulkhead.Permit permit = clientBulkhead.acquire(profile.getConfig());
+        if (permit == null) {
+            clientCircuitBreaker.release(clientId);
+            return rejectedByBulkhead(profile.getConfig());
+        }
+
+        long startTime = System.currentTimeMillis();
         try {
-            // Build headers
-            HttpHeaders headers = buildHeaders(config);
-
-            // Determine HTTP method
-            HttpMethod method = HttpMethod.valueOf(config.getHttpMethod().toUpperCase());
-
-            // Get timeout
-            int timeout = config.getTimeoutSeconds() != null ? config.getTimeoutSeconds() : defaultTimeoutSeconds;
-
-            logger.debug("Calling {} {} for client {} with timeout {}s",
-                    method, config.getApiEndpointUrl(), clientId, timeout);
-
-            // Make the API call
-            WebClient.ResponseSpec responseSpec = webClient.method(method)
-                    .uri(config.getApiEndpointUrl())
-                    .headers(h -> h.addAll(headers))
-                    .bodyValue(payload)
-                    .retrieve();
-
-            // Handle response
-            ApiCallResult result = responseSpec
-                    .toEntity(String.class)
-                    .map(response -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        HttpStatusCode statusCode = response.getStatusCode();
-
-                        logger.info("API call successful for client {}: status={}, time={}ms",
-                                clientId, statusCode.value(), executionTime);
-
-                        return ApiCallResult.builder()
-                                .success(statusCode.is2xxSuccessful())
-                                .statusCode(statusCode.value())
-                                .responseBody(response.getBody())
-                                .responseHeaders(extractHeaders(response.getHeaders()))
-                                .executionTimeMs(executionTime)
-                                .build();
-                    })
-                    .timeout(Duration.ofSeconds(timeout))
-                    .onErrorResume(WebClientResponseException.class, e -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        logger.error("API call failed for client {}: status={}, body={}",
-                                clientId, e.getStatusCode().value(), e.getResponseBodyAsString());
-
-                        return Mono.just(ApiCallResult.builder()
-                                .success(false)
-                                .statusCode(e.getStatusCode().value())
-                                .responseBody(e.getResponseBodyAsString())
-                                .errorMessage(e.getMessage())
-                                .executionTimeMs(executionTime)
-                                .retryable(isRetryableStatusCode(e.getStatusCode().value()))
-                                .build());
-                    })
-                    .onErrorResume(TimeoutException.class, e -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        logger.error("API call timed out for client {}: {}ms", clientId, executionTime);
-
-                        return Mono.just(ApiCallResult.builder()
-                                .success(false)
-                                .statusCode(408)
-                                .errorMessage("Request timed out after " + timeout + " seconds")
-                                .executionTimeMs(executionTime)
-                                .retryable(true)
-                                .build());
-                    })
-                    .onErrorResume(Exception.class, e -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        logger.error("API call error for client {}: {}", clientId, e.getMessage(), e);
-
-                        return Mono.just(ApiCallResult.builder()
-                                .success(false)
-                                .errorMessage(e.getMessage())
-                                .executionTimeMs(executionTime)
-                                .retryable(true)
-                                .build());
-                    })
-                    .block();
-
-            return result != null ? result : ApiCallResult.builder()
-                    .success(false)
-                    .errorMessage("No response received")
-                    .executionTimeMs(System.currentTimeMillis() - startTime)
-                    .retryable(true)
-                    .build();
+            ApiCallResult result = exchange(profile, payload, startTime).block();
+            clientCircuitBreaker.record(clientId, result);
+            clientRateLimiter.record(clientId, result);
+            return result;
 
         } catch (Exception e) {
+            clientCircuitBreaker.recordFailure(clientId);
             long executionTime = System.currentTimeMillis() - startTime;
             logger.error("Unexpected error invoking API for client {}: {}", clientId, e.getMessage(), e);
 
@@ -173,16 +254,217 @@ public class RestApiInvocationService {
                     null,
                     null,
                     true);
+        } finally {
+            permit.release();
         }
     }
 
+    /**
+     * Result for a call not made because the client is at its concurrent call limit.
+     * It is retryable, so the record is queued for retry like any other overload.
+     */
+    private ApiCallResult rejectedByBulkhead(ClientConfigDTO config) {
+        return ApiCallResult.builder()
+                .success(false)
+                .errorMessage("Concurrent call limit of " + clientBulkhead.limitFor(config)
+                        + " reached for client " + config.getClientId())
+                .executionTimeMs(0L)
+                .retryable(true)
+                .notSent(true)
+                .build();
+    }
+
+    /**
+     * Result for a call not made because it would have waited too long for the client's
+     * rate limit. The wait is passed on as retry-after, so a retry is not sent earlier.
+     */
+    private ApiCallResult rateLimited(ClientConfigDTO config, long waitNanos) {
+        return ApiCallResult.builder()
+                .success(false)
+                .errorMessage("Rate limit reached for client " + config.getClientId() + "; call not sent")
+                .executionTimeMs(0L)
+                .retryable(true)
+                .notSent(true)
+                .retryAfterSeconds(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                        / TimeUnit.SECONDS.toNanos(1)))
+                .build();
+    }
+
+    /**
+     * Result for a call not made because the client's circuit is open.
+     */
+    private ApiCallResult shortCircuited(ClientConfigDTO config) {
+        return ApiCallResult.builder()
+                .success(false)
+                .errorMessage("Circuit open for client " + config.getClientId() + "; call not sent")
+                .executionTimeMs(0L)
+                .retryable(true)
+                .notSent(true)
+                .build();
+    }
+
+    /**
+     * Build the API call for a client. HTTP errors, timeouts and connection failures are
+     * turned into unsuccessful results; the Mono always emits exactly one result.
+     */
+    private Mono<ApiCallResult> exchange(ClientProfile profile, Object payload, long startTime) {
+        ClientConfigDTO config = profile.getConfig();
+        String clientId = config.getClientId();
+        HttpHeaders headers = profile.getHeaders();
+        HttpMethod method = profile.getMethod();
+        int timeout = profile.getTimeoutSeconds();
+
+        logger.debug("Calling {} {} for client {} with timeout {}s",
+                method, config.getApiEndpointUrl(), clientId, timeout);
+
+        // Make the API call
+        WebClient.ResponseSpec responseSpec = clientConnectionPools.get(config).method(method)
+                .uri(config.getApiEndpointUrl())
+                .headers(h -> h.addAll(headers))
+                .bodyValue(payload)
+                .retrieve();
+
+        // Handle response
+        return responseSpec
+                .toEntity(String.class)
+                .map(response -> {
+                    long executionTime = System.currentTimeMillis() - startTime;
+                    HttpStatusCode statusCode = response.getStatusCode();
+
+                    logger.info("API call successful for client {}: status={}, time={}ms",
+                            clientId, statusCode.value(), executionTime);
+
+                    return ApiCallResult.builder()
+                            .success(statusCode.is2xxSuccessful())
+                            .statusCode(statusCode.value())
+                            .responseBody(response.getBody())
+                            .responseHeaders(extractHeaders(response.getHeaders()))
+                            .executionTimeMs(executionTime)
+                            .build();
+                })
+                .timeout(Duration.ofSeconds(timeout))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    long executionTime = System.currentTimeMillis() - startTime;
+                    logger.error("API call failed for client {}: status={}, body={}",
+                            clientId, e.getStatusCode().value(), e.getResponseBodyAsString());
+
+                    return Mono.just(ApiCallResult.builder()
+                            .success(false)
+                            .statusCode(e.getStatusCode().value())
+                            .responseBody(e.getResponseBodyAsString())
+                            .errorMessage(e.getMessage())
+                            .executionTimeMs(executionTime)
+                            .retryable(isRetryableStatusCode(e.getStatusCode().value()))
+                            .retryAfterSeconds(retryAfterSeconds(e))
+                            .build());
+                })
+                .onErrorResume(TimeoutException.class, e -> {
+                    long executionTime = System.currentTimeMillis() - startTime;
+                    logger.error("API call timed out for client {}: {}ms", clientId, executionTime);
+
+                    return Mono.just(ApiCallResult.builder()
+                            .success(false)
+                            .statusCode(408)
+                            .errorMessage("Request timed out after " + timeout + " seconds")
+                            .executionTimeMs(executionTime)
+                            .retryable(true)
+                            .build());
+                })
+                .onErrorResume(Exception.class, e -> {
+                    long executionTime = System.currentTimeMillis() - startTime;
+                    logger.error("API call error for client {}: {}", clientId, e.getMessage(), e);
+
+                    return Mono.just(ApiCallResult.builder()
+                            .success(false)
+                            .errorMessage(e.getMessage())
+                            .executionTimeMs(executionTime)
+                            .retryable(true)
+                            .build());
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> ApiCallResult.builder()
+                        .success(false)
+                        .errorMessage("No response received")
+                        .executionTimeMs(System.currentTimeMillis() - startTime)
+                        .retryable(true)
+                        .build()));
+    }
+
     /**
      * Get client configuration.
+     * The returned configuration is shared between callers and must be treated as read-only.
      *
      * @param clientId the client identifier
      * @return ClientConfigDTO
      */
     public ClientConfigDTO getClientConfig(String clientId) {
+        return clientProfileCache.get(clientId, this::loadProfile).getConfig();
+    }
+
+    /**
+     * Discard all cached client profiles so they are read again from the database.
+     */
+    public void invalidateClientProfiles() {
+        clientProfileCache.invalidateAll();
+    }
+
+    /**
+     * Get client profile cache statistics.
+     *
+     * @return CacheStats
+     */
+    public ClientProfileCache.CacheStats getClientProfileCacheStats() {
+        return clientProfileCache.getStats();
+    }
+
+    /**
+     * Get the clients whose circuit is open or half-open.
+     *
+     * @return circuit state by client ID
+     */
+    public Map<String, ClientCircuitBreaker.State> getOpenCircuits() {
+        return clientCircuitBreaker.getOpenCircuits();
+    }
+
+    /**
+     * Load the profiles of all active clients into the cache once the application is
+     * ready, decrypting their API keys in one pass. A client that fails to load is
+     * skipped and loaded on its first request instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpClientProfiles() {
+        if (!warmOnStartup) {
+            return;
+        }
+
+        try {
+            long generationAtStart = clientProfileCache.generation();
+            List<ClientConfiguration> clients = clientMapper.findAllActive();
+            List<String> apiKeys = encryptionUtil.safeDecryptAll(clients.stream()
+                    .map(ClientConfiguration::getApiKey)
+                    .collect(Collectors.toList()));
+
+            int warmed = 0;
+            for (int i = 0; i < clients.size(); i++) {
+                ClientConfiguration client = clients.get(i);
+                try {
+                    clientProfileCache.put(client.getClientId(),
+                            buildProfile(toDTO(client, apiKeys.get(i))), generationAtStart);
+                    warmed++;
+                } catch (RuntimeException e) {
+                    logger.warn("Skipping warm-up of client {}: {}", client.getClientId(), e.getMessage());
+                }
+            }
+
+            logger.info("Warmed client profile cache with {} of {} active clients", warmed, clients.size());
+        } catch (RuntimeException e) {
+            logger.warn("Client profile cache warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Read an active client from the database and prepare its profile.
+     */
+    private ClientProfile loadProfile(String clientId) {
         ClientConfiguration config = clientMapper.findByClientId(clientId);
 
         if (config == null) {
@@ -193,18 +475,48 @@ public class RestApiInvocationService {
             throw new ClientNotFoundException(clientId, true);
         }
 
-        return toDTO(config);
+        return buildProfile(toDTO(config, encryptionUtil.safeDecrypt(config.getApiKey())));
+    }
+
+    /**
+     * Get the profile for a configuration, reusing the cached one when the configuration
+     * came from the cache.
+     */
+    private ClientProfile profileFor(ClientConfigDTO config) {
+        ClientProfile cached = clientProfileCache.peek(config.getClientId());
+        return cached != null && cached.getConfig() == config ? cached : buildProfile(config);
+    }
+
+    /**
+     * Parse the method and content type and build the request headers once.
+     */
+    private ClientProfile buildProfile(ClientConfigDTO config) {
+        MediaType contentType;
+        try {
+            contentType = config.getContentType() != null
+                    ? MediaType.parseMediaType(config.getContentType())
+                    : MediaType.APPLICATION_JSON;
+        } catch (InvalidMediaTypeException e) {
+            throw new ApiInvocationException("Invalid content type configured: " + e.getMessage(),
+                    config.getClientId(), null, null, true);
+        }
+
+        return new ClientProfile(
+                config,
+                HttpMethod.valueOf(config.getHttpMethod().toUpperCase()),
+                contentType,
+                HttpHeaders.readOnlyHttpHeaders(buildHeaders(config, contentType)),
+                config.getTimeoutSeconds() != null ? config.getTimeoutSeconds() : defaultTimeoutSeconds);
     }
 
     /**
      * Build HTTP headers for the request.
      */
-    private HttpHeaders buildHeaders(ClientConfigDTO config) {
+    private HttpHeaders buildHeaders(ClientConfigDTO config, MediaType contentType) {
         HttpHeaders headers = new HttpHeaders();
 
         // Set content type
-        String contentType = config.getContentType() != null ? config.getContentType() : MediaType.APPLICATION_JSON_VALUE;
-        headers.setContentType(MediaType.parseMediaType(contentType));
+        headers.setContentType(contentType);
 
         // Set Accept header
         headers.set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
@@ -252,12 +564,34 @@ public class RestApiInvocationService {
     }
 
     /**
-     * Convert entity to DTO with decrypted API key.
+     * Read the {@code Retry-After} of a 429 or 503 response, given either as seconds or as
+     * an HTTP date. Returns null when absent or unreadable.
      */
-    private ClientConfigDTO toDTO(ClientConfiguration entity) {
-        // Decrypt API key
-        String apiKey = encryptionUtil.safeDecrypt(entity.getApiKey());
+    private Long retryAfterSeconds(WebClientResponseException e) {
+        int statusCode = e.getStatusCode().value();
+        String retryAfter = e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if ((statusCode != 429 && statusCode != 503) || retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+
+        String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(), at).getSeconds());
+            } catch (DateTimeParseException notDate) {
+                logger.warn("Ignoring unreadable Retry-After '{}'", value);
+                return null;
+            }
+        }
+    }
 
+    /**
+     * Convert entity to DTO with the already decrypted API key.
+     */
+    private ClientConfigDTO toDTO(ClientConfiguration entity, String apiKey) {
         // Parse additional headers
         Map<String, String> additionalHeaders = null;
         if (entity.getAdditionalHeaders() != null && !entity.getAdditionalHeaders().isEmpty()) {
@@ -270,6 +604,23 @@ public class RestApiInvocationService {
             }
         }
 
+        // Parse retry backoff bounds, keyed by upper-case error class name
+        Map<String, RetryBackoffScheduleDTO> retryBackoff = null;
+        if (entity.getRetryBackoff() != null && !entity.getRetryBackoff().isEmpty()) {
+            try {
+                Map<String, RetryBackoffScheduleDTO> parsed = objectMapper.readValue(entity.getRetryBackoff(),
+                        objectMapper.getTypeFactory().constructMapType(Map.class, String.class,
+                                RetryBackoffScheduleDTO.class));
+                retryBackoff = new HashMap<>();
+                for (Map.Entry<String, RetryBackoffScheduleDTO> entry : parsed.entrySet()) {
+                    retryBackoff.put(entry.getKey().toUpperCase(), entry.getValue());
+                }
+            } catch (JsonProcessingException e) {
+                logger.warn("Failed to parse retry backoff for client {}: {}",
+                        entity.getClientId(), e.getMessage());
+            }
+        }
+
         return ClientConfigDTO.builder()
                 .clientId(entity.getClientId())
                 .clientName(entity.getClientName())
@@ -282,9 +633,63 @@ public class RestApiInvocationService {
                 .contentType(entity.getContentType())
                 .additionalHeaders(additionalHeaders)
                 .isActive(entity.getIsActive())
+                .batchConcurrency(entity.getBatchConcurrency())
+                .maxConnections(entity.getMaxConnections())
+                .maxConcurrentCalls(entity.getMaxConcurrentCalls())
+                .rateLimitPerSecond(entity.getRateLimitPerSecond())
+                .rateLimitBurst(entity.getRateLimitBurst())
+                .retryBackoff(retryBackoff)
+                .retryCoalesce(entity.getRetryCoalesce())
+                .auditWriteBehind(entity.getAuditWriteBehind())
                 .build();
     }
 
+    /**
+     * Client configuration prepared for invocation. Immutable; the headers include the
+     * decrypted API key and are never logged.
+     */
+    public static final class ClientProfile {
+        private final ClientConfigDTO config;
+        private final HttpMethod method;
+        private final MediaType contentType;
+        private final HttpHeaders headers;
+        private final int timeoutSeconds;
+
+        private ClientProfile(ClientConfigDTO config, HttpMethod method, MediaType contentType,
+                              HttpHeaders headers, int timeoutSeconds) {
+            this.config = config;
+            this.method = method;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        public ClientConfigDTO getConfig() {
+            return config;
+        }
+
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        public MediaType getContentType() {
+            return contentType;
+        }
+
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        public int getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+
+        @Override
+        public String toString() {
+            return "ClientProfile(clientId=" + config.getClientId() + ", method=" + method + ")";
+        }
+    }
+
     /**
      * Result object for API calls.
      */
@@ -300,5 +705,7 @@ public class RestApiInvocationService {
         private String errorMessage;
         private Long executionTimeMs;
         private boolean retryable;
+        private boolean notSent;
+        private Long retryAfterSeconds;
     }
 }
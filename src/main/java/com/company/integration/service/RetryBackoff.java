@@ -0,0 +1,178 @@
+package com.company.integration.service;
+
+import com.company.integration.model.dto.ClientConfigDTO;
+import com.company.integration.model.dto.RetryBackoffScheduleDTO;
+import com.company.integration.model.entity.FailedApiCall;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules retries of failed calls. Failures are classified as timeouts, server errors,
+ * throttling or network errors, each with its own delay bounds
+ * ({@code retry.backoff.<class>.min.seconds} / {@code .max.hours}, overridable per client
+ * in {@code CLIENT_CONFIGURATION.RETRY_BACKOFF}). Within those bounds the
+ * {@link RetryBackoffPolicy} picks the delay from the previous one, which is kept on the
+ * {@code FAILED_API_CALLS} row; when the class changes the schedule starts over. A
+ * {@code Retry-After} from the partner is used as the delay as-is.
+ */
+@Component
+public class RetryBackoff {
+
+    /**
+     * Error classes with separate retry schedules.
+     */
+    public enum ErrorClass {
+        TIMEOUT, SERVER_ERROR, THROTTLED, NETWORK;
+
+        /**
+         * Classify a failed call by its HTTP status; calls without a status failed to connect.
+         *
+         * @param statusCode the HTTP status code, or null
+         * @return the error class
+         */
+        public static ErrorClass of(Integer statusCode) {
+            if (statusCode == null) {
+                return NETWORK;
+            }
+            if (statusCode == 408 || statusCode == 504) {
+                return TIMEOUT;
+            }
+            if (statusCode == 429) {
+                return THROTTLED;
+            }
+            return statusCode >= 500 ? SERVER_ERROR : NETWORK;
+        }
+    }
+
+    private final RetryBackoffPolicy policy;
+
+    @Value("${retry.backoff.timeout.min.seconds:30}")
+    private long timeoutMinSeconds;
+
+    @Value("${retry.backoff.timeout.max.hours:1}")
+    private int timeoutMaxHours;
+
+    @Value("${retry.backoff.server.error.min.seconds:10}")
+    private long serverErrorMinSeconds;
+
+    @Value("${retry.backoff.server.error.max.hours:2}")
+    private int serverErrorMaxHours;
+
+    @Value("${retry.backoff.throttled.min.seconds:60}")
+    private long throttledMinSeconds;
+
+    @Value("${retry.backoff.throttled.max.hours:1}")
+    private int throttledMaxHours;
+
+    @Value("${retry.backoff.network.min.seconds:30}")
+    private long networkMinSeconds;
+
+    @Value("${retry.backoff.network.max.hours:2}")
+    private int networkMaxHours;
+
+    public RetryBackoff(RetryBackoffPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Schedule the first retry of a failed call.
+     *
+     * @param config            the client configuration, or null for the service defaults
+     * @param statusCode        the HTTP status code of the failure, or null
+     * @param retryAfterSeconds the partner's Retry-After, or null
+     * @return the retry decision
+     */
+    public Decision first(ClientConfigDTO config, Integer statusCode, Long retryAfterSeconds) {
+        return decide(config, statusCode, retryAfterSeconds, null, null);
+    }
+
+    /**
+     * Schedule the next retry of a call whose retry failed again.
+     *
+     * @param config            the client configuration, or null for the service defaults
+     * @param statusCode        the HTTP status code of the failure, or null
+     * @param retryAfterSeconds the partner's Retry-After, or null
+     * @param failedCall        the queued call with the state of its previous retry
+     * @return the retry decision
+     */
+    public Decision next(ClientConfigDTO config, Integer statusCode, Long retryAfterSeconds, FailedApiCall failedCall) {
+        return decide(config, statusCode, retryAfterSeconds, failedCall.getErrorClass(), failedCall.getBackoffSeconds());
+    }
+
+    private Decision decide(ClientConfigDTO config, Integer statusCode, Long retryAfterSeconds,
+                            String previousErrorClass, Long previousDelaySeconds) {
+        ErrorClass errorClass = ErrorClass.of(statusCode);
+
+        long delaySeconds;
+        if (retryAfterSeconds != null) {
+            delaySeconds = Math.max(0, retryAfterSeconds);
+        } else {
+            long previous = errorClass.name().equals(previousErrorClass) && previousDelaySeconds != null
+                    ? previousDelaySeconds : 0;
+            delaySeconds = policy.nextDelaySeconds(previous, minSeconds(config, errorClass),
+                    TimeUnit.HOURS.toSeconds(maxHours(config, errorClass)));
+        }
+
+        return Decision.builder()
+                .errorClass(errorClass)
+                .delaySeconds(delaySeconds)
+                .nextRetryTime(LocalDateTime.now().plusSeconds(delaySeconds))
+                .build();
+    }
+
+    private long minSeconds(ClientConfigDTO config, ErrorClass errorClass) {
+        RetryBackoffScheduleDTO schedule = clientSchedule(config, errorClass);
+        if (schedule != null && schedule.getMinSeconds() != null && schedule.getMinSeconds() >= 0) {
+            return schedule.getMinSeconds();
+        }
+        switch (errorClass) {
+            case TIMEOUT:
+                return timeoutMinSeconds;
+            case SERVER_ERROR:
+                return serverErrorMinSeconds;
+            case THROTTLED:
+                return throttledMinSeconds;
+            default:
+                return networkMinSeconds;
+        }
+    }
+
+    private int maxHours(ClientConfigDTO config, ErrorClass errorClass) {
+        RetryBackoffScheduleDTO schedule = clientSchedule(config, errorClass);
+        if (schedule != null && schedule.getMaxHours() != null && schedule.getMaxHours() > 0) {
+            return schedule.getMaxHours();
+        }
+        switch (errorClass) {
+            case TIMEOUT:
+                return timeoutMaxHours;
+            case SERVER_ERROR:
+                return serverErrorMaxHours;
+            case THROTTLED:
+                return throttledMaxHours;
+            default:
+                return networkMaxHours;
+        }
+    }
+
+    private RetryBackoffScheduleDTO clientSchedule(ClientConfigDTO config, ErrorClass errorClass) {
+        Map<String, RetryBackoffScheduleDTO> schedules = config != null ? config.getRetryBackoff() : null;
+        return schedules != null ? schedules.get(errorClass.name()) : null;
+    }
+
+    /**
+     * When to retry a failed call, with the state to keep for the next decision.
+     */
+    @lombok.Data
+    @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    public static class Decision {
+        private ErrorClass errorClass;
+        private long delaySeconds;
+        private LocalDateTime nextRetryTime;
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.integration.service;
+
+/**
+ * Strategy computing the delay before the next retry of a failed call. The default is
+ * {@link DecorrelatedJitterBackoffPolicy}; declare another implementation as a
+ * {@code @Primary} bean to replace it.
+ */
+public interface RetryBackoffPolicy {
+
+    /**
+     * Get the delay before the next retry.
+     *
+     * @param previousDelaySeconds delay before the previous retry for the same error class, or 0 for the first
+     * @param minSeconds           shortest allowed delay
+     * @param maxSeconds           longest allowed delay
+     * @return delay in seconds, between minSeconds and maxSeconds
+     */
+    long nextDelaySeconds(long previousDelaySeconds, long minSeconds, long maxSeconds);
+}
@@ -0,0 +1,194 @@
+package com.company.integration.service;
+
+import com.company.integration.model.entity.FailedApiCall;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands due retries to the {@code retryExecutor} workers. Each poll claims only as many
+ * calls as there are free workers, at most {@code retry.dispatcher.max.per.client} in
+ * flight per client, and returns without waiting for them. Claims are leased in the
+ * database (see {@link RetryService#claimDueRetries}), so several instances can poll the
+ * same queue. While due calls are left
+ * over, every finished retry triggers the next poll instead of waiting for the schedule.
+ *
+ * Publishes {@code integration.retry.in.flight} (gauge), {@code integration.retry.lag}
+ * (time from due to dispatch), {@code integration.retry.dispatch.size} (calls dispatched
+ * per poll) and {@code integration.retry.completed} (tag {@code outcome}).
+ */
+@Component
+public class RetryDispatcher {
+
+    private static final Logger logger = LogManager.getLogger(RetryDispatcher.class);
+
+    private final RetryService retryService;
+    private final Executor retryExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicInteger> inFlightByClient = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private final Timer lag;
+    private final DistributionSummary dispatchSize;
+
+    private volatile boolean backlog;
+
+    @Value("${retry.dispatcher.workers:20}")
+    private int workers;
+
+    @Value("${retry.dispatcher.max.per.client:4}")
+    private int maxPerClient;
+
+    @Value("${retry.batch.size:100}")
+    private int batchSize;
+
+    public RetryDispatcher(RetryService retryService,
+                           @Qualifier("retryExecutor") Executor retryExecutor,
+                           MeterRegistry meterRegistry) {
+        this.retryService = retryService;
+        this.retryExecutor = retryExecutor;
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("integration.retry.lag")
+                .description("Time from a retry falling due to its dispatch")
+                .register(meterRegistry);
+        this.dispatchSize = DistributionSummary.builder("integration.retry.dispatch.size")
+                .description("Retries dispatched per poll")
+                .register(meterRegistry);
+        Gauge.builder("integration.retry.in.flight", inFlight, AtomicInteger::get)
+                .description("Retries being processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Dispatch due retries (scheduled job).
+     */
+    @Scheduled(fixedDelayString = "${retry.check.interval.ms:10000}")
+    public void processPendingRetries() {
+        poll();
+    }
+
+    /**
+     * Fill the free workers with due retries. Does nothing if another poll is running.
+     *
+     * @return number of retries dispatched
+     */
+    public int poll() {
+        if (!pollLock.tryLock()) {
+            return 0;
+        }
+
+        try {
+            int free = workers - inFlight.get();
+            if (free <= 0) {
+                backlog = true;
+                return 0;
+            }
+
+            int limit = Math.min(batchSize, free);
+            List<FailedApiCall> dueCalls = retryService.claimDueRetries(maxPerClient, limit);
+            LocalDateTime now = LocalDateTime.now();
+
+            int dispatched = 0;
+            int clientLimited = 0;
+            long maxLagMs = 0;
+            for (FailedApiCall failedCall : dueCalls) {
+                // Claims count per instance, so this instance may already be busy with the client
+                if (inFlightFor(failedCall.getClientId()).get() >= maxPerClient) {
+                    retryService.releaseClaim(failedCall);
+                    clientLimited++;
+                    continue;
+                }
+
+                long lagMs = failedCall.getNextRetryTime() != null
+                        ? Math.max(0, Duration.between(failedCall.getNextRetryTime(), now).toMillis()) : 0;
+                if (dispatch(failedCall)) {
+                    lag.record(Duration.ofMillis(lagMs));
+                    maxLagMs = Math.max(maxLagMs, lagMs);
+                    dispatched++;
+                }
+            }
+
+            backlog = dueCalls.size() >= limit;
+            dispatchSize.record(dispatched);
+            if (dispatched > 0 || clientLimited > 0) {
+                logger.info("Dispatched {} of {} due retries ({} held back by client limit), {} in flight, max lag {}ms",
+                        dispatched, dueCalls.size(), clientLimited, inFlight.get(), maxLagMs);
+            }
+            return dispatched;
+
+        } catch (RuntimeException e) {
+            logger.error("Retry dispatch failed: {}", e.getMessage(), e);
+            return 0;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of retries being processed.
+     *
+     * @return retries in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    private boolean dispatch(FailedApiCall failedCall) {
+        inFlightFor(failedCall.getClientId()).incrementAndGet();
+        inFlight.incrementAndGet();
+
+        try {
+            retryExecutor.execute(() -> run(failedCall));
+            return true;
+        } catch (RejectedExecutionException e) {
+            release(failedCall);
+            retryService.releaseClaim(failedCall);
+            logger.warn("Retry executor rejected call {}; left for the next poll", failedCall.getCallId());
+            return false;
+        }
+    }
+
+    private void run(FailedApiCall failedCall) {
+        RetryService.RetryOutcome outcome = null;
+        try {
+            outcome = retryService.processRetry(failedCall);
+        } catch (RuntimeException e) {
+            logger.error("Retry of call {} failed: {}", failedCall.getCallId(), e.getMessage(), e);
+        } finally {
+            release(failedCall);
+            meterRegistry.counter("integration.retry.completed",
+                    "outcome", outcome != null ? outcome.name() : "ERROR").increment();
+        }
+
+        if (backlog) {
+            poll();
+        }
+    }
+
+    private void release(FailedApiCall failedCall) {
+        inFlightFor(failedCall.getClientId()).decrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
+    private AtomicInteger inFlightFor(String clientId) {
+        return inFlightByClient.computeIfAbsent(clientId, id -> new AtomicInteger());
+    }
+}
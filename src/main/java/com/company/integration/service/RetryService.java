@@ -3,22 +3,42 @@ package com.company.integration.service;
 import com.company.integration.mapper.FailedCallMapper;
 import com.company.integration.model.dto.ClientConfigDTO;
 import com.company.integration.model.entity.FailedApiCall;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Service for handling failed API call retries.
- * Implements retry logic with 1-hour intervals for up to 15 days (360 attempts).
+ * Retries are scheduled by {@link RetryBackoff} with growing, jittered delays per error
+ * class, for up to {@code retry.max.attempts} attempts within {@code retry.max.days}.
+ * Due calls are handed to {@link #processRetry} by the {@link RetryDispatcher}.
+ *
+ * Several instances may share the queue: a call is leased to one instance
+ * ({@code LEASE_OWNER}) for {@code retry.lease.seconds} before it is retried, and the lease
+ * ends with the outcome of the attempt. Leases left behind by a stopped instance expire and
+ * the calls are claimed again. Only the lease owner records an outcome, so an attempt that
+ * outlived its lease does not overwrite the call once another instance claimed it.
+ *
+ * With coalescing ({@code CLIENT_CONFIGURATION.RETRY_COALESCE}, default
+ * {@code retry.coalesce.enabled}) a failure of a source record that is already queued
+ * replaces the queued payload instead of queueing the record again.
  */
 @Service
 public class RetryService {
@@ -28,22 +48,61 @@ public class RetryService {
     private final FailedCallMapper failedCallMapper;
     private final RestApiInvocationService restApiInvocationService;
     private final AuditService auditService;
+    private final ClientCircuitBreaker clientCircuitBreaker;
+    private final RetryBackoff retryBackoff;
+    private final AuditWriteBehind auditWriteBehind;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String leaseOwner = defaultLeaseOwner();
 
     @Value("${retry.max.attempts:360}")
     private int maxRetryAttempts;
 
-    @Value("${retry.interval.hours:1}")
-    private int retryIntervalHours;
+    @Value("${retry.max.days:15}")
+    private int maxRetryDays;
 
-    @Value("${retry.batch.size:100}")
-    private int batchSize;
+    @Value("${retry.lease.seconds:600}")
+    private long leaseSeconds;
+
+    @Value("${rest.client.timeout.seconds:300}")
+    private long apiTimeoutSeconds;
+
+    @Value("${rate.limit.max.wait.ms:5000}")
+    private long rateLimitMaxWaitMs;
+
+    @Value("${retry.coalesce.enabled:false}")
+    private boolean coalesceByDefault;
 
     public RetryService(FailedCallMapper failedCallMapper,
                         RestApiInvocationService restApiInvocationService,
-                        AuditService auditService) {
+                        AuditService auditService,
+                        ClientCircuitBreaker clientCircuitBreaker,
+                        RetryBackoff retryBackoff,
+                        AuditWriteBehind auditWriteBehind,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
         this.failedCallMapper = failedCallMapper;
         this.restApiInvocationService = restApiInvocationService;
         this.auditService = auditService;
+        this.clientCircuitBreaker = clientCircuitBreaker;
+        this.retryBackoff = retryBackoff;
+        this.auditWriteBehind = auditWriteBehind;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Reject a lease that an attempt running into the API timeout, after the longest
+     * rate-limit wait, could outlive: the call would be claimed and sent again elsewhere.
+     */
+    @PostConstruct
+    public void validateLease() {
+        long longestAttemptMs = apiTimeoutSeconds * 1000 + rateLimitMaxWaitMs;
+        if (leaseSeconds * 1000 <= longestAttemptMs) {
+            throw new IllegalStateException(String.format(
+                    "retry.lease.seconds=%d must exceed rest.client.timeout.seconds plus "
+                            + "rate.limit.max.wait.ms (%d ms)", leaseSeconds, longestAttemptMs));
+        }
     }
 
     /**
@@ -61,17 +120,85 @@ public class RetryService {
      * @param createdBy      the user/system that created the request
      * @return the call ID
      */
-    @Transactional
     public String queueForRetry(String clientId, String requestPayload, String requestHeaders,
                                 String apiEndpointUrl, String httpMethod, String errorMessage,
                                 Integer statusCode, String sourceRecordId, String correlationId,
                                 String createdBy) {
-        String callId = UUID.randomUUID().toString();
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime nextRetryTime = now.plusHours(retryIntervalHours);
+        return queueForRetry(clientId, requestPayload, requestHeaders, apiEndpointUrl, httpMethod,
+                errorMessage, statusCode, sourceRecordId, correlationId, createdBy, null);
+    }
+
+    /**
+     * Queue a failed API call for retry as scheduled.
+     *
+     * @param clientId       the client identifier
+     * @param requestPayload the request payload
+     * @param requestHeaders the request headers as JSON
+     * @param apiEndpointUrl the API endpoint URL
+     * @param httpMethod     the HTTP method
+     * @param errorMessage   the error message from the failed call
+     * @param statusCode     the HTTP status code (if available)
+     * @param sourceRecordId the source record identifier
+     * @param correlationId  the correlation ID
+     * @param createdBy      the user/system that created the request
+     * @param backoff        the first retry, or null to schedule it from the status code
+     * @return the call ID, or that of the pending call the failure was coalesced into
+     */
+    public String queueForRetry(String clientId, String requestPayload, String requestHeaders,
+                                String apiEndpointUrl, String httpMethod, String errorMessage,
+                                Integer statusCode, String sourceRecordId, String correlationId,
+                                String createdBy, RetryBackoff.Decision backoff) {
+        ClientConfigDTO config = findClientConfig(clientId);
+
+        if (auditWriteBehind.isEnabled(config != null ? config.getAuditWriteBehind() : null)) {
+            // Journaled and written behind; such retries are not coalesced
+            FailedApiCall failedCall = newFailedCall(config, clientId, requestPayload, requestHeaders,
+                    apiEndpointUrl, httpMethod, errorMessage, statusCode, sourceRecordId, correlationId,
+                    createdBy, backoff, LocalDateTime.now());
+            auditWriteBehind.enqueueRetry(failedCall);
+            logger.info("Journaled failed call for retry: callId={}, clientId={}, nextRetry={}",
+                    failedCall.getCallId(), clientId, failedCall.getNextRetryTime());
+            return failedCall.getCallId();
+        }
 
-        FailedApiCall failedCall = FailedApiCall.builder()
-                .callId(callId)
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (sourceRecordId != null && isCoalescing(config)) {
+                String pendingCallId = coalesce(clientId, sourceRecordId, requestPayload, requestHeaders,
+                        apiEndpointUrl, httpMethod, errorMessage, statusCode, createdBy, now);
+                if (pendingCallId != null) {
+                    return pendingCallId;
+                }
+            }
+
+            FailedApiCall failedCall = newFailedCall(config, clientId, requestPayload, requestHeaders,
+                    apiEndpointUrl, httpMethod, errorMessage, statusCode, sourceRecordId, correlationId,
+                    createdBy, backoff, now);
+            int result = failedCallMapper.insert(failedCall);
+
+            if (result == 1) {
+                logger.info("Queued failed call for retry: callId={}, clientId={}, nextRetry={}",
+                        failedCall.getCallId(), clientId, failedCall.getNextRetryTime());
+            } else {
+                logger.error("Failed to queue retry for client {}", clientId);
+            }
+            return failedCall.getCallId();
+        });
+    }
+
+    /**
+     * Build a pending call with its first retry scheduled.
+     */
+    private FailedApiCall newFailedCall(ClientConfigDTO config, String clientId, String requestPayload,
+                                        String requestHeaders, String apiEndpointUrl, String httpMethod,
+                                        String errorMessage, Integer statusCode, String sourceRecordId,
+                                        String correlationId, String createdBy, RetryBackoff.Decision backoff,
+                                        LocalDateTime now) {
+        if (backoff == null) {
+            backoff = retryBackoff.first(config, statusCode, null);
+        }
+        return FailedApiCall.builder()
+                .callId(UUID.randomUUID().toString())
                 .clientId(clientId)
                 .requestPayload(requestPayload)
                 .requestHeaders(requestHeaders)
@@ -80,68 +207,129 @@ public class RetryService {
                 .failureTimestamp(now)
                 .retryCount(0)
                 .maxRetryAttempts(maxRetryAttempts)
-                .nextRetryTime(nextRetryTime)
+                .nextRetryTime(backoff.getNextRetryTime())
                 .errorMessage(errorMessage)
                 .lastStatusCode(statusCode)
                 .finalStatus(FailedApiCall.STATUS_PENDING)
+                .errorClass(backoff.getErrorClass().name())
+                .backoffSeconds(backoff.getDelaySeconds())
                 .sourceRecordId(sourceRecordId)
                 .correlationId(correlationId)
                 .createdBy(createdBy)
                 .build();
+    }
 
-        int result = failedCallMapper.insert(failedCall);
+    /**
+     * Merge a new failure into the pending call of the same source record, unless that call
+     * is being retried right now. The pending call keeps its retry schedule.
+     *
+     * @return the pending call's ID, or null if a new call must be queued
+     */
+    private String coalesce(String clientId, String sourceRecordId, String requestPayload, String requestHeaders,
+                            String apiEndpointUrl, String httpMethod, String errorMessage,
+                            Integer statusCode, String updatedBy, LocalDateTime now) {
+        String pendingCallId = failedCallMapper.findCoalescableCallId(clientId, sourceRecordId, now);
+        if (pendingCallId == null) {
+            return null;
+        }
 
-        if (result == 1) {
-            logger.info("Queued failed call for retry: callId={}, clientId={}, nextRetry={}",
-                    callId, clientId, nextRetryTime);
-        } else {
-            logger.error("Failed to queue retry for client {}", clientId);
+        FailedApiCall latest = FailedApiCall.builder()
+                .callId(pendingCallId)
+                .requestPayload(requestPayload)
+                .requestHeaders(requestHeaders)
+                .apiEndpointUrl(apiEndpointUrl)
+                .httpMethod(httpMethod)
+                .errorMessage(errorMessage)
+                .lastStatusCode(statusCode)
+                .updatedBy(updatedBy)
+                .build();
+        if (failedCallMapper.coalesce(latest, now) == 0) {
+            return null;
         }
 
-        return callId;
+        meterRegistry.counter("integration.retry.coalesced", "client", clientId).increment();
+        logger.info("Coalesced failure of source record {} into pending call: callId={}, clientId={}",
+                sourceRecordId, pendingCallId, clientId);
+        return pendingCallId;
+    }
+
+    private boolean isCoalescing(ClientConfigDTO config) {
+        return config != null && config.getRetryCoalesce() != null ? config.getRetryCoalesce() : coalesceByDefault;
     }
 
     /**
-     * Process pending retries (scheduled job).
-     * This can be triggered by external Windows Task Scheduler.
+     * Claim due calls for this instance. Claimed calls must be passed to
+     * {@link #processRetry} or {@link #releaseClaim}.
+     *
+     * @param perClientLimit maximum number of calls per client
+     * @param limit          maximum number of calls
+     * @return the claimed calls, earliest due first
      */
-    @Scheduled(fixedDelayString = "${retry.check.interval.ms:60000}")
-    public void processPendingRetries() {
-        logger.debug("Checking for pending retries...");
-
-        LocalDateTime now = LocalDateTime.now();
-        List<FailedApiCall> pendingCalls = failedCallMapper.findPendingForRetry(now, batchSize);
-
-        if (pendingCalls.isEmpty()) {
-            logger.debug("No pending retries found");
-            return;
-        }
+    public List<FailedApiCall> claimDueRetries(int perClientLimit, int limit) {
+        List<FailedApiCall> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime leaseExpiresAt = now.plusSeconds(leaseSeconds);
+            List<FailedApiCall> calls = new ArrayList<>();
+            int reclaimed = 0;
+
+            for (FailedApiCall failedCall : failedCallMapper.findClaimableForRetry(
+                    now, perClientLimit, new RowBounds(0, limit))) {
+                // Rows outside the lock (non-Oracle) may have been claimed since they were read
+                if (failedCallMapper.claimForRetry(failedCall.getCallId(), leaseOwner, leaseExpiresAt, now) == 0) {
+                    continue;
+                }
+                if (failedCall.getLeaseOwner() != null) {
+                    logger.warn("Reclaimed retry of call {} from expired lease of {}",
+                            failedCall.getCallId(), failedCall.getLeaseOwner());
+                    reclaimed++;
+                }
+                failedCall.setLeaseOwner(leaseOwner);
+                failedCall.setLeaseExpiresAt(leaseExpiresAt);
+                calls.add(failedCall);
+            }
 
-        logger.info("Processing {} pending retries", pendingCalls.size());
+            if (reclaimed > 0) {
+                logger.info("Claimed {} due retries, {} of them from expired leases", calls.size(), reclaimed);
+            }
+            return calls;
+        });
+        return claimed != null ? claimed : List.of();
+    }
 
-        for (FailedApiCall failedCall : pendingCalls) {
-            processRetry(failedCall);
-        }
+    /**
+     * Give up a claimed call without retrying it, so any instance can claim it again.
+     *
+     * @param failedCall the claimed call
+     */
+    public void releaseClaim(FailedApiCall failedCall) {
+        failedCallMapper.releaseClaim(failedCall.getCallId(), leaseOwner);
     }
 
     /**
-     * Process a single retry attempt.
+     * Process a single retry attempt on the calling thread. The API call runs outside any
+     * transaction; each outcome is written in its own short transaction.
      *
      * @param failedCall the failed call to retry
+     * @return the outcome of the attempt
      */
-    @Async("retryExecutor")
-    @Transactional
-    public void processRetry(FailedApiCall failedCall) {
+    public RetryOutcome processRetry(FailedApiCall failedCall) {
         String callId = failedCall.getCallId();
         String clientId = failedCall.getClientId();
         int currentRetryCount = failedCall.getRetryCount() + 1;
 
+        // Calls to a client whose circuit is open wait without using up an attempt
+        Instant blockedUntil = clientCircuitBreaker.blockedUntil(clientId);
+        if (blockedUntil != null) {
+            return postponeRetry(failedCall, blockedUntil);
+        }
+
         logger.info("Processing retry {}/{} for call: {}, client: {}",
                 currentRetryCount, maxRetryAttempts, callId, clientId);
 
+        ClientConfigDTO config = null;
         try {
             // Get client configuration
-            ClientConfigDTO config = restApiInvocationService.getClientConfig(clientId);
+            config = restApiInvocationService.getClientConfig(clientId);
 
             // Invoke API
             RestApiInvocationService.ApiCallResult result = restApiInvocationService.invokeApi(
@@ -149,15 +337,21 @@ public class RetryService {
 
             if (result.isSuccess()) {
                 // Mark as successful
-                handleRetrySuccess(failedCall, result);
+                return handleRetrySuccess(failedCall, config, result);
+            } else if (result.isNotSent()) {
+                // Circuit open, rate or call limit reached - nothing was sent, so no attempt is counted
+                Instant retryAt = result.getRetryAfterSeconds() != null
+                        ? Instant.now().plusSeconds(result.getRetryAfterSeconds())
+                        : clientCircuitBreaker.blockedUntil(clientId);
+                return postponeRetry(failedCall, retryAt != null ? retryAt : Instant.now().plusSeconds(60));
             } else {
                 // Handle failure
-                handleRetryFailure(failedCall, result, currentRetryCount);
+                return handleRetryFailure(failedCall, config, result, currentRetryCount);
             }
 
         } catch (Exception e) {
             logger.error("Error processing retry for call {}: {}", callId, e.getMessage(), e);
-            handleRetryFailure(failedCall,
+            return handleRetryFailure(failedCall, config,
                     RestApiInvocationService.ApiCallResult.builder()
                             .success(false)
                             .errorMessage(e.getMessage())
@@ -168,46 +362,84 @@ public class RetryService {
     }
 
     /**
-     * Handle successful retry.
+     * Move the next retry of a call to a later time without counting an attempt.
      */
-    private void handleRetrySuccess(FailedApiCall failedCall, RestApiInvocationService.ApiCallResult result) {
-        String callId = failedCall.getCallId();
+    private RetryOutcome postponeRetry(FailedApiCall failedCall, Instant retryAt) {
+        LocalDateTime nextRetryTime = LocalDateTime.ofInstant(retryAt, ZoneId.systemDefault());
+        if (failedCallMapper.postponeRetry(failedCall.getCallId(), leaseOwner, nextRetryTime, "RETRY_SERVICE") == 0) {
+            return leaseLost(failedCall);
+        }
 
-        // Create audit entry for successful retry
-        String auditId = auditService.createAuditEntry(
-                failedCall.getClientId(),
-                failedCall.getApiEndpointUrl(),
-                failedCall.getHttpMethod(),
-                failedCall.getRequestPayload(),
-                null,
-                failedCall.getSourceRecordId(),
-                failedCall.getCorrelationId(),
-                "RETRY_SERVICE"
-        );
+        logger.info("Postponed retry for call: {}, client: {} to {} (call not sent)",
+                failedCall.getCallId(), failedCall.getClientId(), nextRetryTime);
+        return RetryOutcome.POSTPONED;
+    }
 
-        auditService.updateAuditWithResponse(
-                auditId,
-                result.getResponseBody(),
-                result.getStatusCode(),
-                result.getResponseHeaders(),
-                result.getExecutionTimeMs(),
-                true,
-                null
-        );
+    /**
+     * The lease expired before the outcome was recorded and the call may have been claimed
+     * again; the outcome is dropped so the current owner's state is kept.
+     */
+    private RetryOutcome leaseLost(FailedApiCall failedCall) {
+        meterRegistry.counter("integration.retry.lease.lost", "client", failedCall.getClientId()).increment();
+        logger.warn("Lease of call {}, client: {} expired before its outcome was recorded; outcome dropped",
+                failedCall.getCallId(), failedCall.getClientId());
+        return RetryOutcome.LEASE_LOST;
+    }
+
+    /**
+     * Handle successful retry.
+     */
+    private RetryOutcome handleRetrySuccess(FailedApiCall failedCall, ClientConfigDTO config,
+                                            RestApiInvocationService.ApiCallResult result) {
+        String callId = failedCall.getCallId();
 
-        // Mark as success
-        failedCallMapper.markAsSuccess(callId, "RETRY_SERVICE");
+        // The call was sent, so its audit entry is kept even if the lease was lost meanwhile
+        Integer updated = transactionTemplate.execute(status -> {
+            // Create audit entry for successful retry
+            String auditId = auditService.createAuditEntry(
+                    failedCall.getClientId(),
+                    failedCall.getApiEndpointUrl(),
+                    failedCall.getHttpMethod(),
+                    failedCall.getRequestPayload(),
+                    null,
+                    failedCall.getSourceRecordId(),
+                    failedCall.getCorrelationId(),
+                    "RETRY_SERVICE",
+                    config.getAuditWriteBehind()
+            );
+
+            auditService.updateAuditWithResponse(
+                    auditId,
+                    result.getResponseBody(),
+                    result.getStatusCode(),
+                    result.getResponseHeaders(),
+                    result.getExecutionTimeMs(),
+                    true,
+                    null
+            );
+
+            // Mark as success
+            return failedCallMapper.markAsSuccess(callId, leaseOwner, "RETRY_SERVICE");
+        });
+        if (updated == null || updated == 0) {
+            return leaseLost(failedCall);
+        }
 
         logger.info("Retry successful for call: {}, client: {}", callId, failedCall.getClientId());
+        return RetryOutcome.SUCCEEDED;
     }
 
     /**
      * Handle failed retry.
      */
-    private void handleRetryFailure(FailedApiCall failedCall, RestApiInvocationService.ApiCallResult result,
-                                    int currentRetryCount) {
+    private RetryOutcome handleRetryFailure(FailedApiCall failedCall, ClientConfigDTO config,
+                                            RestApiInvocationService.ApiCallResult result, int currentRetryCount) {
         String callId = failedCall.getCallId();
         LocalDateTime now = LocalDateTime.now();
+        RetryBackoff.Decision backoff = retryBackoff.next(config, result.getStatusCode(),
+                result.getRetryAfterSeconds(), failedCall);
+        LocalDateTime deadline = failedCall.getFailureTimestamp() != null
+                ? failedCall.getFailureTimestamp().plusDays(maxRetryDays) : null;
 
         String finalStatus;
         LocalDateTime nextRetryTime;
@@ -223,23 +455,62 @@ public class RetryService {
             nextRetryTime = null;
             logger.warn("Non-retryable error for call: {}, client: {}, status: {}",
                     callId, failedCall.getClientId(), result.getStatusCode());
+        } else if (deadline != null && backoff.getNextRetryTime().isAfter(deadline)) {
+            // Retry window exhausted
+            finalStatus = FailedApiCall.STATUS_EXHAUSTED;
+            nextRetryTime = null;
+            logger.warn("Retry window of {} days exhausted for call: {}, client: {}",
+                    maxRetryDays, callId, failedCall.getClientId());
         } else {
             // Schedule next retry
             finalStatus = FailedApiCall.STATUS_PENDING;
-            nextRetryTime = now.plusHours(retryIntervalHours);
-            logger.info("Scheduling next retry for call: {} at {}", callId, nextRetryTime);
+            nextRetryTime = backoff.getNextRetryTime();
+            logger.info("Scheduling next retry for call: {} at {} ({} after {}s)",
+                    callId, nextRetryTime, backoff.getErrorClass(), backoff.getDelaySeconds());
         }
 
-        failedCallMapper.updateRetryAttempt(
+        int updated = failedCallMapper.updateRetryAttempt(
                 callId,
+                leaseOwner,
                 currentRetryCount,
                 nextRetryTime,
                 result.getStatusCode(),
                 result.getErrorMessage(),
                 finalStatus,
                 now,
+                backoff.getErrorClass().name(),
+                backoff.getDelaySeconds(),
                 "RETRY_SERVICE"
         );
+        if (updated == 0) {
+            return leaseLost(failedCall);
+        }
+
+        return FailedApiCall.STATUS_PENDING.equals(finalStatus) ? RetryOutcome.RESCHEDULED : RetryOutcome.EXHAUSTED;
+    }
+
+    /**
+     * Schedule the first retry of a failed call: after the partner's {@code Retry-After}
+     * when it sent one, otherwise after the backoff for its error class.
+     *
+     * @param config the client configuration
+     * @param result the failed call result
+     * @return the retry decision
+     */
+    public RetryBackoff.Decision firstBackoff(ClientConfigDTO config, RestApiInvocationService.ApiCallResult result) {
+        return retryBackoff.first(config, result.getStatusCode(), result.getRetryAfterSeconds());
+    }
+
+    /**
+     * Get a client's configuration for scheduling, or null to use the service defaults.
+     */
+    private ClientConfigDTO findClientConfig(String clientId) {
+        try {
+            return restApiInvocationService.getClientConfig(clientId);
+        } catch (RuntimeException e) {
+            logger.debug("Scheduling retry for client {} with default backoff: {}", clientId, e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -253,6 +524,7 @@ public class RetryService {
 
         return RetryStats.builder()
                 .pendingCount(pendingCount)
+                .coalescedCount(failedCallMapper.sumCoalescedPending())
                 .build();
     }
 
@@ -267,14 +539,19 @@ public class RetryService {
     }
 
     /**
-     * Cancel a pending retry.
+     * Cancel a pending retry that is not being retried right now.
      *
      * @param callId the call identifier
      * @return true if cancelled
      */
     @Transactional
     public boolean cancelRetry(String callId) {
-        int result = failedCallMapper.markAsExhausted(callId, "MANUAL_CANCEL");
+        LocalDateTime now = LocalDateTime.now();
+        if (failedCallMapper.claimForRetry(callId, leaseOwner, now.plusSeconds(leaseSeconds), now) == 0) {
+            logger.warn("Cannot cancel call {}: not pending or being retried", callId);
+            return false;
+        }
+        int result = failedCallMapper.markAsExhausted(callId, leaseOwner, "MANUAL_CANCEL");
         return result == 1;
     }
 
@@ -284,7 +561,6 @@ public class RetryService {
      * @param callId the call identifier
      * @return true if retry was initiated
      */
-    @Transactional
     public boolean triggerManualRetry(String callId) {
         FailedApiCall failedCall = failedCallMapper.findByCallId(callId);
 
@@ -298,6 +574,12 @@ public class RetryService {
             return false;
         }
 
+        LocalDateTime now = LocalDateTime.now();
+        if (failedCallMapper.claimForRetry(callId, leaseOwner, now.plusSeconds(leaseSeconds), now) == 0) {
+            logger.warn("Retry of call {} is already in progress", callId);
+            return false;
+        }
+
         processRetry(failedCall);
         return true;
     }
@@ -325,6 +607,23 @@ public class RetryService {
         return totalDeleted;
     }
 
+    private static String defaultLeaseOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Outcome of one retry attempt.
+     */
+    public enum RetryOutcome {
+        SUCCEEDED, RESCHEDULED, POSTPONED, EXHAUSTED, LEASE_LOST
+    }
+
     /**
      * Statistics object for retry queue.
      */
@@ -336,5 +635,6 @@ public class RetryService {
         private int pendingCount;
         private int exhaustedCount;
         private int successCount;
+        private int coalescedCount;
     }
 }
@@ -0,0 +1,314 @@
+package com.company.integration.service;
+
+import com.company.integration.config.SecurityConfig;
+import com.company.integration.mapper.SourceDataMapper;
+import com.company.integration.model.dto.FieldMappingDTO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the source rows of one or many records with a single statement per chunk of at
+ * most 1000 IDs. All mapped tables share the record key, so they are LEFT JOINed onto the
+ * requested IDs; a table without a row for a record is detected from its key column
+ * being null, without a separate existence query.
+ *
+ * The select list and joins are planned once per mapping version from whitelisted table
+ * and column names only; record IDs are always bound. Records of a plan share its column
+ * layout and each holds only an array of values. They are exposed as read-only maps with
+ * the same keys the per-table queries produced: both "TABLE.COLUMN" and the bare column.
+ */
+@Service
+public class SourceDataLoader {
+
+    private static final Logger logger = LogManager.getLogger(SourceDataLoader.class);
+
+    static final String ID_COLUMN = "ID";
+    static final int MAX_IDS_PER_QUERY = 1000;
+
+    private static final String RECORD_ID_ALIAS = "RID";
+
+    private final SourceDataMapper sourceDataMapper;
+    private final SecurityConfig securityConfig;
+    private final MappingCache mappingCache;
+
+    public SourceDataLoader(SourceDataMapper sourceDataMapper, SecurityConfig securityConfig,
+                            MappingCache mappingCache) {
+        this.sourceDataMapper = sourceDataMapper;
+        this.securityConfig = securityConfig;
+        this.mappingCache = mappingCache;
+    }
+
+    /**
+     * Load the source data of records for a set of field mappings.
+     *
+     * @param mappings        the client's field mappings
+     * @param sourceRecordIds the source record identifiers
+     * @return Map of requested record ID to its source data; records without rows are absent
+     */
+    public Map<String, SourceRecord> load(List<FieldMappingDTO> mappings, Collection<String> sourceRecordIds) {
+        List<String> recordIds = sourceRecordIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        ReadPlan plan = getReadPlan(mappings);
+        if (recordIds.isEmpty() || plan.tables.length == 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, SourceRecord> records = new HashMap<>();
+
+        for (int from = 0; from < recordIds.size(); from += MAX_IDS_PER_QUERY) {
+            List<String> chunk = recordIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, recordIds.size()));
+            List<Map<String, Object>> rows = sourceDataMapper.getJoinedSourceRecords(
+                    plan.selectList, plan.joinClause, chunk);
+
+            for (Map<String, Object> row : rows) {
+                Object recordId = row.get(RECORD_ID_ALIAS);
+                if (recordId == null) {
+                    continue;
+                }
+
+                SourceRecord existing = records.get(recordId.toString());
+                Object[] values = plan.read(row, existing != null ? existing.values : null);
+                if (values != null && existing == null) {
+                    records.put(recordId.toString(), new SourceRecord(plan, values));
+                }
+            }
+        }
+
+        logger.debug("Loaded source data for {} of {} records from {} tables",
+                records.size(), recordIds.size(), plan.tables.length);
+
+        return records;
+    }
+
+    /**
+     * Get the read plan for a set of mappings, planning it when the mappings changed.
+     * The plan is kept with the client's entry in the {@link MappingCache} and dropped with
+     * it; mappings that are not cached are planned on every call.
+     */
+    private ReadPlan getReadPlan(List<FieldMappingDTO> mappings) {
+        String clientId = mappings.isEmpty() ? null : mappings.get(0).getClientId();
+        return mappingCache.derived(clientId, mappings, ReadPlan.class, cachedMappings -> {
+            ReadPlan plan = plan(cachedMappings);
+            logger.debug("Planned source read for client {}: {} tables, {} columns",
+                    clientId, plan.tables.length, plan.slotCount);
+            return plan;
+        });
+    }
+
+    /**
+     * Plan the joined select for the allowed tables and valid columns of the mappings.
+     */
+    private ReadPlan plan(List<FieldMappingDTO> mappings) {
+        // Group mappings by source table, in mapping order
+        Map<String, List<FieldMappingDTO>> mappingsByTable = mappings.stream()
+                .collect(Collectors.groupingBy(FieldMappingDTO::getSourceTable, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        List<TableRead> tables = new ArrayList<>();
+        StringBuilder selectList = new StringBuilder();
+        StringBuilder joinClause = new StringBuilder();
+        int slot = 0;
+
+        for (Map.Entry<String, List<FieldMappingDTO>> entry : mappingsByTable.entrySet()) {
+            String sourceTable = entry.getKey();
+
+            if (!securityConfig.isTableAllowed(sourceTable)) {
+                logger.warn("Skipping unauthorized table: {}", sourceTable);
+                continue;
+            }
+
+            // Unquoted identifiers come back upper case, as the per-table queries returned them
+            List<String> columns = entry.getValue().stream()
+                    .map(FieldMappingDTO::getSourceColumn)
+                    .filter(securityConfig::isColumnNameValid)
+                    .map(column -> column.toUpperCase(Locale.ROOT))
+                    .distinct()
+                    .collect(Collectors.toList());
+
+            if (columns.isEmpty()) {
+                continue;
+            }
+
+            int tableIndex = tables.size() + 1;
+            String tableAlias = "T" + tableIndex;
+            String presenceAlias = "P" + tableIndex;
+
+            // The key column tells whether the table has a row for the record
+            selectList.append(selectList.length() > 0 ? ", " : "")
+                    .append(tableAlias).append('.').append(ID_COLUMN).append(" AS ").append(presenceAlias);
+            joinClause.append(" LEFT JOIN ").append(sourceTable).append(' ').append(tableAlias)
+                    .append(" ON ").append(tableAlias).append('.').append(ID_COLUMN)
+                    .append(" = k.").append(RECORD_ID_ALIAS);
+
+            String[] columnAliases = new String[columns.size()];
+            int[] slots = new int[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                columnAliases[i] = "C" + (slot + 1);
+                slots[i] = slot++;
+                selectList.append(", ").append(tableAlias).append('.').append(columns.get(i))
+                        .append(" AS ").append(columnAliases[i]);
+            }
+
+            tables.add(new TableRead(sourceTable, columns, presenceAlias, columnAliases, slots));
+        }
+
+        return new ReadPlan(tables.toArray(new TableRead[0]), slot,
+                selectList.toString(), joinClause.toString());
+    }
+
+    /**
+     * Columns read from one table of a plan.
+     */
+    private static final class TableRead {
+        private final String sourceTable;
+        private final List<String> columns;
+        private final String presenceAlias;
+        private final String[] columnAliases;
+        private final int[] slots;
+
+        private TableRead(String sourceTable, List<String> columns, String presenceAlias,
+                          String[] columnAliases, int[] slots) {
+            this.sourceTable = sourceTable;
+            this.columns = columns;
+            this.presenceAlias = presenceAlias;
+            this.columnAliases = columnAliases;
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * Planned joined select and the column layout shared by its records. A qualified key
+     * has one slot; a bare column name has one slot per table mapping it, and resolves to
+     * the last of those holding a value, as when tables were merged into one map in order.
+     */
+    private static final class ReadPlan {
+        private final TableRead[] tables;
+        private final int slotCount;
+        private final String selectList;
+        private final String joinClause;
+        private final Map<String, int[]> slotsByKey = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+
+        private ReadPlan(TableRead[] tables, int slotCount, String selectList, String joinClause) {
+            this.tables = tables;
+            this.slotCount = slotCount;
+            this.selectList = selectList;
+            this.joinClause = joinClause;
+
+            for (TableRead table : tables) {
+                for (int i = 0; i < table.columns.size(); i++) {
+                    String column = table.columns.get(i);
+                    int slot = table.slots[i];
+                    addKey(table.sourceTable + "." + column, slot);
+                    addKey(column, slot);
+                }
+            }
+        }
+
+        private void addKey(String key, int slot) {
+            int[] slots = slotsByKey.get(key);
+            if (slots == null) {
+                slotsByKey.put(key, new int[]{slot});
+                keys.add(key);
+            } else {
+                int[] extended = Arrays.copyOf(slots, slots.length + 1);
+                extended[slots.length] = slot;
+                slotsByKey.put(key, extended);
+            }
+        }
+
+        /**
+         * Copy the columns of the tables that have a row into the record's values.
+         *
+         * @return the values, or null if no table has a row and there were none before
+         */
+        private Object[] read(Map<String, Object> row, Object[] values) {
+            for (TableRead table : tables) {
+                if (row.get(table.presenceAlias) == null) {
+                    continue;
+                }
+                if (values == null) {
+                    values = new Object[slotCount];
+                    Arrays.fill(values, SourceRecord.ABSENT);
+                }
+                for (int i = 0; i < table.columnAliases.length; i++) {
+                    // Null columns are only present if MyBatis is set to return them
+                    if (row.containsKey(table.columnAliases[i])) {
+                        values[table.slots[i]] = row.get(table.columnAliases[i]);
+                    }
+                }
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Read-only source data of one record. Columns the record has no row or value for are
+     * absent, matching the maps returned by the single-record queries.
+     */
+    public static final class SourceRecord extends AbstractMap<String, Object> {
+
+        private static final Object ABSENT = new Object();
+
+        private final ReadPlan plan;
+        private final Object[] values;
+
+        private SourceRecord(ReadPlan plan, Object[] values) {
+            this.plan = plan;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int slot = slotOf(key);
+            return slot < 0 ? null : values[slot];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return slotOf(key) >= 0;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Map<String, Object> present = new LinkedHashMap<>();
+            for (String key : plan.keys) {
+                int slot = slotOf(key);
+                if (slot >= 0) {
+                    present.put(key, values[slot]);
+                }
+            }
+            return Collections.unmodifiableMap(present).entrySet();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (Object value : values) {
+                if (value != ABSENT) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int slotOf(Object key) {
+            int[] slots = plan.slotsByKey.get(key);
+            if (slots == null) {
+                return -1;
+            }
+            for (int i = slots.length - 1; i >= 0; i--) {
+                if (values[slots[i]] != ABSENT) {
+                    return slots[i];
+                }
+            }
+            return -1;
+        }
+    }
+}
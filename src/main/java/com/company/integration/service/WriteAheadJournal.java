@@ -0,0 +1,410 @@
+package com.company.integration.service;
+
+import com.company.integration.model.entity.AuditLog;
+import com.company.integration.model.entity.FailedApiCall;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local write-ahead journal of audit entries and retry enqueues that are not yet in the
+ * database, so they survive a crash. Records are appended to memory-mapped segment files in
+ * {@code journal.directory}; each record is framed as
+ *
+ * <pre>
+ *   int length | int CRC32 of type and payload | byte type | JSON payload
+ * </pre>
+ *
+ * The length is written last, so a record is only visible once complete, and recovery stops
+ * at the first zero length or CRC mismatch. Records reach the page cache on append and so
+ * survive a process crash; when they are forced to disk is set by {@code journal.fsync.policy}:
+ *
+ * <ul>
+ *   <li>{@code ALWAYS} - every record before the caller continues</li>
+ *   <li>{@code INTERVAL} - every {@code journal.fsync.interval.ms}; a power loss can cost that window</li>
+ *   <li>{@code NONE} - left to the operating system</li>
+ * </ul>
+ *
+ * A segment is deleted once it is full and every record appended to it has been released,
+ * i.e. written to the database. Records the database keeps rejecting are set aside in
+ * {@code quarantine.jsonl} instead, which recovery does not replay.
+ */
+@Component
+public class WriteAheadJournal {
+
+    private static final Logger logger = LogManager.getLogger(WriteAheadJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String QUARANTINE_FILE = "quarantine.jsonl";
+
+    /**
+     * Length, CRC and type of a record
+     */
+    private static final int HEADER_BYTES = 9;
+
+    private final ObjectMapper objectMapper;
+    private final List<Path> undeleted = new ArrayList<>();
+
+    private Segment active;
+    private boolean dirty;
+    private long nextSegmentId;
+    private List<Path> recovered = List.of();
+
+    @Value("${journal.directory:./journal}")
+    private String directory;
+
+    @Value("${journal.segment.bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${journal.fsync.policy:INTERVAL}")
+    private FsyncPolicy fsyncPolicy;
+
+    public WriteAheadJournal(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the records left by a previous run, in append order. A segment is read up to its
+     * first incomplete or corrupt record. The segments read are kept until
+     * {@link #deleteRecovered} is called.
+     *
+     * @return recovered {@link AuditLog} and {@link FailedApiCall} records
+     */
+    public synchronized List<Object> recover() {
+        List<Object> records = new ArrayList<>();
+        recovered = segmentFiles();
+        for (Path path : recovered) {
+            ByteBuffer buffer;
+            try {
+                buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read journal segment " + path, e);
+            }
+            readRecords(path, buffer, records);
+        }
+        return records;
+    }
+
+    /**
+     * Delete the segments of a previous run once their records are in the database.
+     */
+    public synchronized void deleteRecovered() {
+        recovered.forEach(this::deleteOrRemember);
+        recovered = List.of();
+    }
+
+    /**
+     * Append a record, forcing it to disk if the fsync policy is {@code ALWAYS}.
+     *
+     * @param type   the record type
+     * @param record the entity to journal
+     * @return the segment holding the record, to be released once the record is written
+     * @throws UncheckedIOException if the record cannot be written
+     */
+    public synchronized Segment append(RecordType type, Object record) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(record);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize journal record", e);
+        }
+
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (active == null || active.buffer.remaining() < recordBytes) {
+            roll(recordBytes);
+        }
+
+        MappedByteBuffer buffer = active.buffer;
+        int start = buffer.position();
+        buffer.position(start + Integer.BYTES);
+        buffer.putInt(checksum(type.code, payload));
+        buffer.put(type.code);
+        buffer.put(payload);
+        // Publish the record by writing its length last
+        buffer.putInt(start, payload.length);
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            buffer.force(start, recordBytes);
+        } else {
+            dirty = true;
+        }
+        active.unreleased++;
+        return active;
+    }
+
+    /**
+     * Release a record appended to a segment.
+     *
+     * @param segment the segment returned by {@link #append}
+     */
+    public synchronized void release(Segment segment) {
+        if (segment == null) {
+            return;
+        }
+        segment.unreleased--;
+        if (segment.unreleased <= 0 && segment != active) {
+            delete(segment);
+        }
+    }
+
+    /**
+     * Set aside a record the database keeps rejecting, so it no longer holds back its segment.
+     * It is appended as one JSON line ({@code {"type": ..., "record": ...}}) to
+     * {@code quarantine.jsonl} in the journal directory, to be corrected and replayed by hand.
+     *
+     * @param type   the record type
+     * @param record the entity to set aside
+     * @throws UncheckedIOException if the record cannot be written
+     */
+    public synchronized void quarantine(RecordType type, Object record) {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("type", type.name());
+        line.set("record", objectMapper.valueToTree(record));
+
+        try {
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            try (FileChannel channel = FileChannel.open(dir.resolve(QUARANTINE_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(new ByteBuffer[]{
+                        ByteBuffer.wrap(objectMapper.writeValueAsBytes(line)), ByteBuffer.wrap(new byte[]{'\n'})});
+                if (fsyncPolicy != FsyncPolicy.NONE) {
+                    channel.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to quarantine journal record", e);
+        }
+    }
+
+    /**
+     * Force appended records to disk under the {@code INTERVAL} fsync policy.
+     */
+    @Scheduled(fixedDelayString = "${journal.fsync.interval.ms:100}")
+    public void forceInterval() {
+        if (fsyncPolicy != FsyncPolicy.INTERVAL) {
+            return;
+        }
+        MappedByteBuffer buffer;
+        synchronized (this) {
+            if (!dirty || active == null) {
+                return;
+            }
+            buffer = active.buffer;
+            dirty = false;
+        }
+        // Appenders are not held up by the flush
+        buffer.force();
+    }
+
+    /**
+     * Close the active segment; it is deleted if all its records were released.
+     */
+    public synchronized void close() {
+        if (active != null) {
+            Segment closing = active;
+            active = null;
+            retire(closing);
+        }
+        undeleted.removeIf(WriteAheadJournal::deleteQuietly);
+    }
+
+    private void readRecords(Path path, ByteBuffer buffer, List<Object> records) {
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            if (length == 0) {
+                // End of the records written to this segment
+                return;
+            }
+            try {
+                int crc = buffer.getInt();
+                byte code = buffer.get();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                if (checksum(code, payload) != crc) {
+                    logger.warn("Journal segment {} has a corrupt record at {}; ignoring the rest",
+                            path, buffer.position() - length - HEADER_BYTES);
+                    return;
+                }
+
+                RecordType type = RecordType.of(code);
+                if (type == null) {
+                    logger.warn("Skipping journal record of unknown type {} in {}", code, path);
+                    continue;
+                }
+                records.add(objectMapper.readValue(payload, type.recordClass));
+            } catch (BufferUnderflowException e) {
+                logger.warn("Journal segment {} ends in a torn record; ignoring it", path);
+                return;
+            } catch (IOException e) {
+                logger.warn("Skipping unreadable journal record in {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private void roll(int minBytes) {
+        Segment previous = active;
+        active = null;
+        if (previous != null) {
+            retire(previous);
+        }
+        undeleted.removeIf(WriteAheadJournal::deleteQuietly);
+
+        try {
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+
+            nextSegmentId = Math.max(nextSegmentId, System.currentTimeMillis());
+            Path path;
+            do {
+                // Names sort in append order across runs
+                path = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+            } while (Files.exists(path));
+
+            // The mapping stays valid after the channel is closed
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = Math.max(segmentBytes, minBytes);
+                active = new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment", e);
+        }
+    }
+
+    /**
+     * Flush a segment that takes no more records and delete it if all its records were released.
+     */
+    private void retire(Segment segment) {
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            segment.buffer.force();
+        }
+        if (segment.unreleased <= 0) {
+            delete(segment);
+        }
+    }
+
+    private void delete(Segment segment) {
+        // Dropping the buffer lets the mapping be unmapped once garbage collected
+        segment.buffer = null;
+        deleteOrRemember(segment.path);
+    }
+
+    /**
+     * Delete a segment file. Windows refuses to delete a file that is still mapped; such
+     * files are retried on the next roll, and replaying one after a restart is harmless.
+     */
+    private void deleteOrRemember(Path path) {
+        if (!deleteQuietly(path)) {
+            undeleted.add(path);
+        }
+    }
+
+    private List<Path> segmentFiles() {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list journal " + dir, e);
+        }
+    }
+
+    private static int checksum(byte code, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(code);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to delete journal segment {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * When appended records are forced to disk.
+     */
+    public enum FsyncPolicy {
+        ALWAYS,
+        INTERVAL,
+        NONE
+    }
+
+    /**
+     * Kinds of journaled records, identified by the type byte of a record.
+     */
+    public enum RecordType {
+        AUDIT((byte) 1, AuditLog.class),
+        RETRY((byte) 2, FailedApiCall.class);
+
+        private final byte code;
+        private final Class<?> recordClass;
+
+        RecordType(byte code, Class<?> recordClass) {
+            this.code = code;
+            this.recordClass = recordClass;
+        }
+
+        private static RecordType of(byte code) {
+            for (RecordType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One mapped segment file with the number of its records not yet written to the database.
+     * Guarded by the journal's lock.
+     */
+    public static final class Segment {
+        private final Path path;
+        private MappedByteBuffer buffer;
+        private int unreleased;
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.company.integration.util;
+
+import com.company.integration.model.entity.AuditLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Storage format of audit request and response payloads.
+ *
+ * Payloads below {@code audit.payload.compression.min.bytes} stay inline in the CLOB columns.
+ * With {@code audit.payload.compression.enabled}, larger payloads are stored in the
+ * {@code *_PAYLOAD_DATA} BLOB columns instead, as one codec byte followed by the encoded
+ * UTF-8 body:
+ *
+ * <ul>
+ *   <li>{@code 0} - stored as is, used when compression does not make the body smaller</li>
+ *   <li>{@code 1} - gzip</li>
+ * </ul>
+ *
+ * Response payloads longer than {@code audit.payload.response.max.chars} are truncated or
+ * replaced by their SHA-256 hash ({@code audit.payload.response.oversize.policy}). Request
+ * payloads are always kept whole, since retries are queued from them.
+ */
+@Component
+public class AuditPayloadCodec {
+
+    public static final byte CODEC_NONE = 0;
+    public static final byte CODEC_GZIP = 1;
+
+    private static final String TRUNCATED_MARKER = "...[truncated, %d chars]";
+
+    @Value("${audit.payload.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${audit.payload.compression.min.bytes:4096}")
+    private int compressionMinBytes;
+
+    @Value("${audit.payload.response.max.chars:0}")
+    private int responseMaxChars;
+
+    @Value("${audit.payload.response.oversize.policy:TRUNCATE}")
+    private OversizePolicy oversizePolicy;
+
+    /**
+     * Move the payloads of an entry into their storage form before it is written.
+     * Packing an entry twice has no further effect.
+     *
+     * @param entry the audit entry
+     * @return the same entry
+     */
+    public AuditLog pack(AuditLog entry) {
+        if (entry.getRequestPayloadData() == null) {
+            byte[] data = encode(entry.getRequestPayload());
+            if (data != null) {
+                entry.setRequestPayloadData(data);
+                entry.setRequestPayload(null);
+            }
+        }
+        if (entry.getResponsePayloadData() == null) {
+            String response = limit(entry.getResponsePayload());
+            byte[] data = encode(response);
+            entry.setResponsePayloadData(data);
+            entry.setResponsePayload(data != null ? null : response);
+        }
+        return entry;
+    }
+
+    /**
+     * Restore the payloads of an entry read from the database.
+     *
+     * @param entry the audit entry, may be null
+     * @return the same entry
+     */
+    public AuditLog unpack(AuditLog entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.getRequestPayloadData() != null) {
+            entry.setRequestPayload(decode(entry.getRequestPayloadData()));
+            entry.setRequestPayloadData(null);
+        }
+        if (entry.getResponsePayloadData() != null) {
+            entry.setResponsePayload(decode(entry.getResponsePayloadData()));
+            entry.setResponsePayloadData(null);
+        }
+        return entry;
+    }
+
+    /**
+     * Encode a payload for the BLOB column.
+     *
+     * @param payload the payload
+     * @return codec byte and body, or null if the payload stays inline
+     */
+    public byte[] encode(String payload) {
+        if (!compressionEnabled || payload == null) {
+            return null;
+        }
+        byte[] raw = payload.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < compressionMinBytes) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+        out.write(CODEC_GZIP);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress audit payload", e);
+        }
+        if (out.size() < raw.length + 1) {
+            return out.toByteArray();
+        }
+
+        byte[] stored = new byte[raw.length + 1];
+        stored[0] = CODEC_NONE;
+        System.arraycopy(raw, 0, stored, 1, raw.length);
+        return stored;
+    }
+
+    /**
+     * Decode a payload read from the BLOB column.
+     *
+     * @param data codec byte and body
+     * @return the payload
+     * @throws IllegalStateException if the codec is unknown
+     */
+    public String decode(byte[] data) {
+        if (data.length == 0) {
+            return null;
+        }
+        switch (data[0]) {
+            case CODEC_NONE:
+                return new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+            case CODEC_GZIP:
+                try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+                    return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to decompress audit payload", e);
+                }
+            default:
+                throw new IllegalStateException("Unsupported audit payload codec: " + data[0]);
+        }
+    }
+
+    /**
+     * Apply the response size limit; a limited payload is within the limit, so this is idempotent.
+     */
+    private String limit(String payload) {
+        if (responseMaxChars <= 0 || payload == null || payload.length() <= responseMaxChars) {
+            return payload;
+        }
+
+        if (oversizePolicy == OversizePolicy.HASH) {
+            return "sha256:" + sha256(payload) + " (" + payload.length() + " chars)";
+        }
+        String marker = String.format(TRUNCATED_MARKER, payload.length());
+        return payload.substring(0, Math.max(0, responseMaxChars - marker.length())) + marker;
+    }
+
+    private static String sha256(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * What is stored for a response payload over the size limit.
+     */
+    public enum OversizePolicy {
+        TRUNCATE,
+        HASH
+    }
+}
@@ -0,0 +1,103 @@
+package com.company.integration.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of initialized {@link Cipher} instances for one key and transformation.
+ *
+ * Cipher.getInstance and init are far more expensive than encrypting a short value, and
+ * a Cipher is not thread-safe. Borrowed ciphers are returned after use; a Cipher returns
+ * to its initialized state after doFinal, so it can be reused without re-initializing.
+ * When the pool is empty a new Cipher is created, and ciphers beyond the pool size are
+ * dropped on return, so the pool never blocks (also not on virtual threads).
+ *
+ * Only for transformations without an IV (such as AES/ECB), where re-using an
+ * initialized encrypt cipher is safe.
+ */
+public final class CipherPool {
+
+    private final String transformation;
+    private final SecretKeySpec key;
+    private final BlockingQueue<Cipher> encryptors;
+    private final BlockingQueue<Cipher> decryptors;
+
+    public CipherPool(String transformation, SecretKeySpec key, int size) {
+        this.transformation = transformation;
+        this.key = key;
+        this.encryptors = new ArrayBlockingQueue<>(size);
+        this.decryptors = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Encrypt bytes with a pooled cipher.
+     *
+     * @param input the plain bytes
+     * @return the encrypted bytes
+     * @throws GeneralSecurityException if encryption fails
+     */
+    public byte[] encrypt(byte[] input) throws GeneralSecurityException {
+        return doFinal(encryptors, Cipher.ENCRYPT_MODE, input);
+    }
+
+    /**
+     * Decrypt bytes with a pooled cipher.
+     *
+     * @param input the encrypted bytes
+     * @return the plain bytes
+     * @throws GeneralSecurityException if decryption fails (e.g. wrong key or padding)
+     */
+    public byte[] decrypt(byte[] input) throws GeneralSecurityException {
+        return doFinal(decryptors, Cipher.DECRYPT_MODE, input);
+    }
+
+    /**
+     * Decrypt several values with one borrowed cipher. A value that fails to decrypt
+     * yields null in its position instead of failing the whole batch.
+     *
+     * @param inputs the encrypted values
+     * @return the plain values, in input order
+     * @throws GeneralSecurityException if no cipher could be created
+     */
+    public byte[][] decryptAll(byte[][] inputs) throws GeneralSecurityException {
+        byte[][] outputs = new byte[inputs.length][];
+        Cipher cipher = borrow(decryptors, Cipher.DECRYPT_MODE);
+
+        for (int i = 0; i < inputs.length; i++) {
+            if (inputs[i] == null) {
+                continue;
+            }
+            try {
+                outputs[i] = cipher.doFinal(inputs[i]);
+            } catch (GeneralSecurityException e) {
+                // Continue with a fresh cipher rather than one left in an unknown state
+                cipher = newCipher(Cipher.DECRYPT_MODE);
+            }
+        }
+
+        decryptors.offer(cipher);
+        return outputs;
+    }
+
+    private byte[] doFinal(BlockingQueue<Cipher> pool, int mode, byte[] input) throws GeneralSecurityException {
+        Cipher cipher = borrow(pool, mode);
+        // A cipher whose doFinal failed is discarded rather than returned in an unknown state
+        byte[] output = cipher.doFinal(input);
+        pool.offer(cipher);
+        return output;
+    }
+
+    private Cipher borrow(BlockingQueue<Cipher> pool, int mode) throws GeneralSecurityException {
+        Cipher cipher = pool.poll();
+        return cipher != null ? cipher : newCipher(mode);
+    }
+
+    private Cipher newCipher(int mode) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(transformation);
+        cipher.init(mode, key);
+        return cipher;
+    }
+}
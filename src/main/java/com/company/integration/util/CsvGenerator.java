@@ -46,6 +46,24 @@ public class CsvGenerator {
      */
     public File generateAuditReport(String clientId, String clientName, List<AuditReportDTO> auditData,
                                     LocalDate reportDate) throws IOException {
+        try (AuditReportWriter writer = openAuditReport(clientId, reportDate)) {
+            for (AuditReportDTO record : auditData) {
+                writer.write(record);
+            }
+            return writer.getFile();
+        }
+    }
+
+    /**
+     * Open a CSV report file to be written one record at a time, so a report never has to
+     * be held in memory.
+     *
+     * @param clientId   the client identifier
+     * @param reportDate the date for the report
+     * @return writer positioned after the header row
+     * @throws IOException if the file cannot be created
+     */
+    public AuditReportWriter openAuditReport(String clientId, LocalDate reportDate) throws IOException {
         // Ensure output directory exists
         Path outputPath = Paths.get(outputDirectory);
         if (!Files.exists(outputPath)) {
@@ -58,25 +76,18 @@ public class CsvGenerator {
         String fileName = String.format("Client_Audit_Report_%s_%s.csv", clientId, dateStr);
         File outputFile = outputPath.resolve(fileName).toFile();
 
-        // Generate CSV
-        try (BufferedWriter writer = new BufferedWriter(
+        BufferedWriter writer = new BufferedWriter(
                 new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8));
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT
-                     .builder()
-                     .setDelimiter(delimiter)
-                     .setHeader(AuditReportDTO.getCsvHeaders())
-                     .build())) {
-
-            // Write data rows
-            for (AuditReportDTO record : auditData) {
-                csvPrinter.printRecord((Object[]) record.toCsvRow());
-            }
-
-            csvPrinter.flush();
-            logger.info("Generated audit report: {} with {} records", fileName, auditData.size());
+        try {
+            return new AuditReportWriter(outputFile, new CSVPrinter(writer, CSVFormat.DEFAULT
+                    .builder()
+                    .setDelimiter(delimiter)
+                    .setHeader(AuditReportDTO.getCsvHeaders())
+                    .build()));
+        } catch (IOException e) {
+            writer.close();
+            throw e;
         }
-
-        return outputFile;
     }
 
     /**
@@ -209,4 +220,44 @@ public class CsvGenerator {
         String fileName = String.format("Client_Audit_Report_%s_%s.csv", clientId, dateStr);
         return Paths.get(outputDirectory, fileName).toString();
     }
+
+    /**
+     * Audit report CSV file being written.
+     */
+    public static class AuditReportWriter implements Closeable {
+
+        private final File file;
+        private final CSVPrinter csvPrinter;
+        private long recordCount;
+
+        private AuditReportWriter(File file, CSVPrinter csvPrinter) {
+            this.file = file;
+            this.csvPrinter = csvPrinter;
+        }
+
+        /**
+         * Append one record to the report.
+         *
+         * @param record the audit report row
+         * @throws IOException if the row cannot be written
+         */
+        public void write(AuditReportDTO record) throws IOException {
+            csvPrinter.printRecord((Object[]) record.toCsvRow());
+            recordCount++;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvPrinter.close(true);
+            logger.info("Generated audit report: {} with {} records", file.getName(), recordCount);
+        }
+    }
 }
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -15,9 +16,8 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Utility class for transforming data according to field mapping transformation rules.
@@ -42,6 +42,44 @@ public class DataTransformer {
     private static final String FORMAT_NUMBER_PREFIX = "FORMAT_NUMBER:";
     private static final String MASK_RULE_PREFIX = "MASK:";
 
+    private static final String[] COMMON_DATE_FORMATS = {
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "yyyy-MM-dd",
+            "dd/MM/yyyy",
+            "MM/dd/yyyy",
+            "dd-MM-yyyy",
+            "yyyyMMdd"
+    };
+
+    // SimpleDateFormat is not thread-safe, so each thread keeps its own parsers
+    private static final ThreadLocal<SimpleDateFormat[]> DATE_PARSERS = ThreadLocal.withInitial(() -> {
+        SimpleDateFormat[] parsers = new SimpleDateFormat[COMMON_DATE_FORMATS.length];
+        for (int i = 0; i < COMMON_DATE_FORMATS.length; i++) {
+            parsers[i] = new SimpleDateFormat(COMMON_DATE_FORMATS[i]);
+            parsers[i].setLenient(false);
+        }
+        return parsers;
+    });
+
+    /**
+     * A transformation rule chain compiled into executable form.
+     * Rule arguments are parsed once and formatter objects are cached, so instances
+     * are cheap to apply repeatedly and safe to share between threads.
+     */
+    @FunctionalInterface
+    public interface CompiledTransformation {
+
+        /**
+         * Apply the transformation.
+         *
+         * @param value      the value to transform
+         * @param sourceData all source data (for CONCAT operations)
+         * @return the transformed value
+         */
+        Object apply(Object value, Map<String, Object> sourceData);
+    }
+
     /**
      * Transform a value according to the specified transformation rule.
      *
@@ -53,112 +91,141 @@ public class DataTransformer {
      */
     public Object transform(Object value, String transformationRule, FieldMappingDTO.DataType dataType,
                             Map<String, Object> sourceData) {
+        return compile(transformationRule, dataType, null).apply(value, sourceData);
+    }
+
+    /**
+     * Compile a transformation rule chain and target type conversion.
+     *
+     * Problems found while compiling (unknown rules, invalid arguments or patterns) are
+     * added to {@code problems}, or logged when it is null. Rules with invalid arguments
+     * still fail when applied, under the same conditions as before compilation existed.
+     *
+     * @param transformationRule the transformation rule string (multiple rules separated by ||)
+     * @param dataType           the target data type
+     * @param problems           collector for compile problems, or null to log them
+     * @return the compiled transformation
+     */
+    public CompiledTransformation compile(String transformationRule, FieldMappingDTO.DataType dataType,
+                                          List<String> problems) {
         if (transformationRule == null || transformationRule.isEmpty()) {
-            return convertToType(value, dataType);
+            return (value, sourceData) -> convertToType(value, dataType);
         }
 
-        Object transformedValue = value;
-
-        // Handle multiple transformations separated by |
+        // Handle multiple transformations separated by ||
         String[] rules = transformationRule.split("\\|\\|");
-        for (String rule : rules) {
-            transformedValue = applySingleTransformation(transformedValue, rule.trim(), sourceData);
+        CompiledTransformation[] steps = new CompiledTransformation[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            steps[i] = compileRule(rules[i].trim(), problems);
         }
 
-        return convertToType(transformedValue, dataType);
+        return (value, sourceData) -> {
+            Object transformedValue = value;
+            for (CompiledTransformation step : steps) {
+                transformedValue = step.apply(transformedValue, sourceData);
+            }
+            return convertToType(transformedValue, dataType);
+        };
     }
 
     /**
-     * Apply a single transformation rule.
+     * Compile a single transformation rule.
      */
-    private Object applySingleTransformation(Object value, String rule, Map<String, Object> sourceData) {
+    private CompiledTransformation compileRule(String rule, List<String> problems) {
         if (rule.startsWith(DATE_RULE_PREFIX)) {
-            return transformDate(value, rule.substring(DATE_RULE_PREFIX.length()));
+            return compileDate(rule.substring(DATE_RULE_PREFIX.length()), problems);
         } else if (rule.startsWith(CONCAT_RULE_PREFIX)) {
-            return transformConcat(rule.substring(CONCAT_RULE_PREFIX.length()), sourceData);
+            return compileConcat(rule.substring(CONCAT_RULE_PREFIX.length()));
         } else if (rule.equals(TRIM_RULE)) {
-            return transformTrim(value);
+            return (value, sourceData) -> value instanceof String ? ((String) value).trim() : value;
         } else if (rule.equals(UPPERCASE_RULE)) {
-            return transformUppercase(value);
+            return (value, sourceData) -> value instanceof String ? ((String) value).toUpperCase() : value;
         } else if (rule.equals(LOWERCASE_RULE)) {
-            return transformLowercase(value);
+            return (value, sourceData) -> value instanceof String ? ((String) value).toLowerCase() : value;
         } else if (rule.startsWith(REPLACE_RULE_PREFIX)) {
-            return transformReplace(value, rule.substring(REPLACE_RULE_PREFIX.length()));
+            return compileReplace(rule, rule.substring(REPLACE_RULE_PREFIX.length()), problems);
         } else if (rule.startsWith(SUBSTRING_RULE_PREFIX)) {
-            return transformSubstring(value, rule.substring(SUBSTRING_RULE_PREFIX.length()));
+            return compileSubstring(rule, rule.substring(SUBSTRING_RULE_PREFIX.length()), problems);
         } else if (rule.startsWith(PAD_LEFT_RULE_PREFIX)) {
-            return transformPadLeft(value, rule.substring(PAD_LEFT_RULE_PREFIX.length()));
+            return compilePad(rule, rule.substring(PAD_LEFT_RULE_PREFIX.length()), true, problems);
         } else if (rule.startsWith(PAD_RIGHT_RULE_PREFIX)) {
-            return transformPadRight(value, rule.substring(PAD_RIGHT_RULE_PREFIX.length()));
+            return compilePad(rule, rule.substring(PAD_RIGHT_RULE_PREFIX.length()), false, problems);
         } else if (rule.startsWith(ROUND_RULE_PREFIX)) {
-            return transformRound(value, rule.substring(ROUND_RULE_PREFIX.length()));
+            return compileRound(rule, rule.substring(ROUND_RULE_PREFIX.length()), problems);
         } else if (rule.startsWith(FORMAT_NUMBER_PREFIX)) {
-            return transformFormatNumber(value, rule.substring(FORMAT_NUMBER_PREFIX.length()));
+            return compileFormatNumber(rule, rule.substring(FORMAT_NUMBER_PREFIX.length()), problems);
         } else if (rule.startsWith(MASK_RULE_PREFIX)) {
-            return transformMask(value, rule.substring(MASK_RULE_PREFIX.length()));
+            return compileMask(rule, rule.substring(MASK_RULE_PREFIX.length()), problems);
         }
 
-        logger.warn("Unknown transformation rule: {}", rule);
-        return value;
+        report(problems, String.format("Unknown transformation rule: %s", rule));
+        return (value, sourceData) -> value;
     }
 
     /**
      * Transform date to specified format.
      * Rule format: "DATE:yyyy-MM-dd" or "DATE:yyyy-MM-dd'T'HH:mm:ss"
      */
-    private Object transformDate(Object value, String format) {
+    private CompiledTransformation compileDate(String format, List<String> problems) {
+        DateTimeFormatter outputFormatter;
+        try {
+            outputFormatter = DateTimeFormatter.ofPattern(format);
+        } catch (IllegalArgumentException e) {
+            report(problems, String.format("Invalid date format '%s': %s", format, e.getMessage()));
+            return (value, sourceData) -> value != null ? value.toString() : null;
+        }
+
+        // Date strings are reformatted with SimpleDateFormat; an invalid pattern leaves them unchanged
+        ThreadLocal<SimpleDateFormat> outputFormat = null;
+        try {
+            SimpleDateFormat prototype = new SimpleDateFormat(format);
+            outputFormat = ThreadLocal.withInitial(() -> (SimpleDateFormat) prototype.clone());
+        } catch (IllegalArgumentException e) {
+            report(problems, String.format("Date format '%s' cannot be applied to date strings: %s",
+                    format, e.getMessage()));
+        }
+
+        ThreadLocal<SimpleDateFormat> stringOutputFormat = outputFormat;
+        return (value, sourceData) -> formatDate(value, format, outputFormatter, stringOutputFormat);
+    }
+
+    private Object formatDate(Object value, String format, DateTimeFormatter outputFormatter,
+                              ThreadLocal<SimpleDateFormat> stringOutputFormat) {
         if (value == null) {
             return null;
         }
 
         try {
-            DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern(format);
-
             if (value instanceof LocalDateTime) {
                 return ((LocalDateTime) value).format(outputFormatter);
             } else if (value instanceof LocalDate) {
-                return ((LocalDate) value).format(DateTimeFormatter.ofPattern(format));
+                return ((LocalDate) value).format(outputFormatter);
             } else if (value instanceof Date) {
+                // Also covers java.sql.Timestamp
                 LocalDateTime ldt = ((Date) value).toInstant()
                         .atZone(ZoneId.systemDefault())
                         .toLocalDateTime();
                 return ldt.format(outputFormatter);
-            } else if (value instanceof java.sql.Timestamp) {
-                LocalDateTime ldt = ((java.sql.Timestamp) value).toLocalDateTime();
-                return ldt.format(outputFormatter);
             } else if (value instanceof String) {
                 // Try to parse and reformat
-                return reformatDateString((String) value, format);
+                return reformatDateString((String) value, stringOutputFormat);
             }
         } catch (DateTimeParseException | IllegalArgumentException e) {
             logger.warn("Failed to transform date value '{}' with format '{}': {}",
                     value, format, e.getMessage());
         }
 
-        return value != null ? value.toString() : null;
+        return value.toString();
     }
 
     /**
      * Reformat a date string from various formats to the target format.
      */
-    private String reformatDateString(String dateStr, String targetFormat) {
-        String[] commonFormats = {
-                "yyyy-MM-dd HH:mm:ss",
-                "yyyy-MM-dd'T'HH:mm:ss",
-                "yyyy-MM-dd",
-                "dd/MM/yyyy",
-                "MM/dd/yyyy",
-                "dd-MM-yyyy",
-                "yyyyMMdd"
-        };
-
-        for (String sourceFormat : commonFormats) {
+    private String reformatDateString(String dateStr, ThreadLocal<SimpleDateFormat> outputFormat) {
+        for (SimpleDateFormat parser : DATE_PARSERS.get()) {
             try {
-                SimpleDateFormat sdf = new SimpleDateFormat(sourceFormat);
-                sdf.setLenient(false);
-                Date date = sdf.parse(dateStr);
-                SimpleDateFormat outputSdf = new SimpleDateFormat(targetFormat);
-                return outputSdf.format(date);
+                Date date = parser.parse(dateStr);
+                return outputFormat != null ? outputFormat.get().format(date) : dateStr;
             } catch (ParseException ignored) {
                 // Try next format
             }
@@ -172,204 +239,261 @@ public class DataTransformer {
      * Concatenate multiple source fields.
      * Rule format: "CONCAT:firstName|lastName" with optional separator "CONCAT:firstName|lastName| "
      */
-    private Object transformConcat(String concatRule, Map<String, Object> sourceData) {
+    private CompiledTransformation compileConcat(String concatRule) {
         String[] parts = concatRule.split("\\|");
-        StringBuilder result = new StringBuilder();
-        String separator = "";
-
-        // Check if last part is the separator (indicated by special character or empty)
-        if (parts.length > 2 && !sourceData.containsKey(parts[parts.length - 1])) {
-            separator = parts[parts.length - 1];
-            String[] fieldParts = new String[parts.length - 1];
-            System.arraycopy(parts, 0, fieldParts, 0, parts.length - 1);
-            parts = fieldParts;
-        }
+        String lastPart = parts[parts.length - 1];
+        String[] allFields = trimAll(parts, parts.length);
+        String[] fieldsBeforeLast = trimAll(parts, parts.length - 1);
+
+        return (value, sourceData) -> {
+            String[] fields = allFields;
+            String separator = "";
+
+            // Check if last part is the separator (indicated by special character or empty)
+            if (parts.length > 2 && !sourceData.containsKey(lastPart)) {
+                separator = lastPart;
+                fields = fieldsBeforeLast;
+            }
 
-        for (int i = 0; i < parts.length; i++) {
-            String fieldName = parts[i].trim();
-            Object fieldValue = sourceData.get(fieldName);
+            StringBuilder result = new StringBuilder();
+            for (String fieldName : fields) {
+                Object fieldValue = sourceData.get(fieldName);
 
-            if (fieldValue != null) {
-                if (result.length() > 0 && !separator.isEmpty()) {
-                    result.append(separator);
-                } else if (result.length() > 0) {
-                    result.append(" ");
+                if (fieldValue != null) {
+                    if (result.length() > 0 && !separator.isEmpty()) {
+                        result.append(separator);
+                    } else if (result.length() > 0) {
+                        result.append(" ");
+                    }
+                    result.append(fieldValue.toString());
                 }
-                result.append(fieldValue.toString());
             }
-        }
 
-        return result.toString();
+            return result.toString();
+        };
     }
 
     /**
-     * Trim whitespace from string value.
+     * Replace characters in string.
+     * Rule format: "REPLACE:oldChar>newChar" (an empty newChar removes oldChar)
      */
-    private Object transformTrim(Object value) {
-        if (value instanceof String) {
-            return ((String) value).trim();
+    private CompiledTransformation compileReplace(String rule, String replaceRule, List<String> problems) {
+        String[] parts = replaceRule.split(">", -1);
+        if (parts.length != 2) {
+            report(problems, String.format("Invalid transformation rule '%s': expected REPLACE:old>new", rule));
+            return (value, sourceData) -> value;
         }
-        return value;
-    }
 
-    /**
-     * Convert string to uppercase.
-     */
-    private Object transformUppercase(Object value) {
-        if (value instanceof String) {
-            return ((String) value).toUpperCase();
-        }
-        return value;
+        String target = parts[0];
+        String replacement = parts[1];
+        return (value, sourceData) -> value instanceof String ? ((String) value).replace(target, replacement) : value;
     }
 
     /**
-     * Convert string to lowercase.
+     * Extract substring.
+     * Rule format: "SUBSTRING:start,end" (end is optional)
      */
-    private Object transformLowercase(Object value) {
-        if (value instanceof String) {
-            return ((String) value).toLowerCase();
-        }
-        return value;
+    private CompiledTransformation compileSubstring(String rule, String substringRule, List<String> problems) {
+        String[] parts = substringRule.split(",");
+        IntArgument start = parseInt(rule, parts[0], problems);
+        IntArgument end = parts.length == 2 ? parseInt(rule, parts[1], problems) : null;
+
+        return (value, sourceData) -> {
+            if (value instanceof String) {
+                String str = (String) value;
+                int startIndex = start.get();
+
+                if (startIndex >= str.length()) {
+                    return "";
+                }
+
+                if (end != null) {
+                    return str.substring(startIndex, Math.min(end.get(), str.length()));
+                }
+                return str.substring(startIndex);
+            }
+            return value;
+        };
     }
 
     /**
-     * Replace characters in string.
-     * Rule format: "REPLACE:oldChar>newChar"
+     * Pad string on the left or right.
+     * Rule format: "PAD_LEFT:length,padChar" or "PAD_RIGHT:length,padChar"
      */
-    private Object transformReplace(Object value, String replaceRule) {
-        if (value instanceof String) {
-            String[] parts = replaceRule.split(">");
-            if (parts.length == 2) {
-                return ((String) value).replace(parts[0], parts[1]);
+    private CompiledTransformation compilePad(String rule, String padRule, boolean left, List<String> problems) {
+        String[] parts = padRule.split(",");
+        IntArgument length = parseInt(rule, parts[0], problems);
+
+        char padChar = left ? '0' : ' ';
+        if (parts.length > 1) {
+            if (parts[1].isEmpty()) {
+                String error = invalidRule(rule, "pad character is empty");
+                report(problems, error);
+                return (value, sourceData) -> {
+                    throw new IllegalArgumentException(error);
+                };
             }
+            padChar = parts[1].charAt(0);
         }
-        return value;
+
+        char pad = padChar;
+        return (value, sourceData) -> {
+            int targetLength = length.get();
+            String str = value != null ? value.toString() : "";
+            if (str.length() >= targetLength) {
+                return str;
+            }
+
+            StringBuilder sb = new StringBuilder(targetLength);
+            if (!left) {
+                sb.append(str);
+            }
+            for (int i = str.length(); i < targetLength; i++) {
+                sb.append(pad);
+            }
+            if (left) {
+                sb.append(str);
+            }
+            return sb.toString();
+        };
     }
 
     /**
-     * Extract substring.
-     * Rule format: "SUBSTRING:start,end" (end is optional)
+     * Round numeric value to specified decimal places.
+     * Rule format: "ROUND:decimalPlaces"
      */
-    private Object transformSubstring(Object value, String substringRule) {
-        if (value instanceof String) {
-            String str = (String) value;
-            String[] parts = substringRule.split(",");
-            int start = Integer.parseInt(parts[0].trim());
-
-            if (start >= str.length()) {
-                return "";
+    private CompiledTransformation compileRound(String rule, String roundRule, List<String> problems) {
+        IntArgument decimals = parseInt(rule, roundRule, problems);
+
+        return (value, sourceData) -> {
+            int decimalPlaces = decimals.get();
+
+            if (value instanceof BigDecimal) {
+                return ((BigDecimal) value).setScale(decimalPlaces, RoundingMode.HALF_UP);
+            } else if (value instanceof Double) {
+                BigDecimal bd = BigDecimal.valueOf((Double) value);
+                return bd.setScale(decimalPlaces, RoundingMode.HALF_UP).doubleValue();
+            } else if (value instanceof Float) {
+                BigDecimal bd = BigDecimal.valueOf((Float) value);
+                return bd.setScale(decimalPlaces, RoundingMode.HALF_UP).floatValue();
             }
 
-            if (parts.length == 2) {
-                int end = Math.min(Integer.parseInt(parts[1].trim()), str.length());
-                return str.substring(start, end);
-            }
-            return str.substring(start);
-        }
-        return value;
+            return value;
+        };
     }
 
     /**
-     * Pad string on the left.
-     * Rule format: "PAD_LEFT:length,padChar"
+     * Format number with pattern.
+     * Rule format: "FORMAT_NUMBER:#,##0.00"
      */
-    private Object transformPadLeft(Object value, String padRule) {
-        String[] parts = padRule.split(",");
-        int length = Integer.parseInt(parts[0].trim());
-        char padChar = parts.length > 1 ? parts[1].charAt(0) : '0';
-
-        String str = value != null ? value.toString() : "";
-        if (str.length() >= length) {
-            return str;
+    private CompiledTransformation compileFormatNumber(String rule, String pattern, List<String> problems) {
+        DecimalFormat prototype;
+        try {
+            prototype = new DecimalFormat(pattern);
+        } catch (IllegalArgumentException e) {
+            String error = invalidRule(rule, e.getMessage());
+            report(problems, error);
+            return (value, sourceData) -> {
+                if (value instanceof Number) {
+                    throw new IllegalArgumentException(error);
+                }
+                return value;
+            };
         }
 
-        StringBuilder sb = new StringBuilder();
-        for (int i = str.length(); i < length; i++) {
-            sb.append(padChar);
-        }
-        sb.append(str);
-        return sb.toString();
+        // DecimalFormat is not thread-safe, so each thread formats with its own copy
+        ThreadLocal<DecimalFormat> format = ThreadLocal.withInitial(() -> (DecimalFormat) prototype.clone());
+        return (value, sourceData) -> value instanceof Number ? format.get().format(value) : value;
     }
 
     /**
-     * Pad string on the right.
-     * Rule format: "PAD_RIGHT:length,padChar"
+     * Mask sensitive data.
+     * Rule format: "MASK:start,end" - shows only characters between start and end positions
      */
-    private Object transformPadRight(Object value, String padRule) {
-        String[] parts = padRule.split(",");
-        int length = Integer.parseInt(parts[0].trim());
-        char padChar = parts.length > 1 ? parts[1].charAt(0) : ' ';
-
-        String str = value != null ? value.toString() : "";
-        if (str.length() >= length) {
-            return str;
-        }
+    private CompiledTransformation compileMask(String rule, String maskRule, List<String> problems) {
+        String[] parts = maskRule.split(",");
+        IntArgument start = parseInt(rule, parts[0], problems);
+        IntArgument end = parts.length > 1 ? parseInt(rule, parts[1], problems) : IntArgument.ZERO;
+
+        return (value, sourceData) -> {
+            if (value instanceof String) {
+                String str = (String) value;
+                int showStart = start.get();
+                int showEnd = end.get();
+
+                if (str.length() <= showStart + showEnd) {
+                    return str;
+                }
 
-        StringBuilder sb = new StringBuilder(str);
-        for (int i = str.length(); i < length; i++) {
-            sb.append(padChar);
-        }
-        return sb.toString();
+                StringBuilder masked = new StringBuilder(str.length());
+                masked.append(str, 0, showStart);
+                for (int i = showStart; i < str.length() - showEnd; i++) {
+                    masked.append('*');
+                }
+                if (showEnd > 0) {
+                    masked.append(str.substring(str.length() - showEnd));
+                }
+                return masked.toString();
+            }
+            return value;
+        };
     }
 
     /**
-     * Round numeric value to specified decimal places.
-     * Rule format: "ROUND:decimalPlaces"
+     * Parse an integer rule argument. An invalid argument is reported now and
+     * raised only when the rule actually needs it.
      */
-    private Object transformRound(Object value, String roundRule) {
-        int decimalPlaces = Integer.parseInt(roundRule.trim());
-
-        if (value instanceof BigDecimal) {
-            return ((BigDecimal) value).setScale(decimalPlaces, RoundingMode.HALF_UP);
-        } else if (value instanceof Double) {
-            BigDecimal bd = BigDecimal.valueOf((Double) value);
-            return bd.setScale(decimalPlaces, RoundingMode.HALF_UP).doubleValue();
-        } else if (value instanceof Float) {
-            BigDecimal bd = BigDecimal.valueOf((Float) value);
-            return bd.setScale(decimalPlaces, RoundingMode.HALF_UP).floatValue();
+    private IntArgument parseInt(String rule, String argument, List<String> problems) {
+        try {
+            return new IntArgument(Integer.parseInt(argument.trim()), null);
+        } catch (NumberFormatException e) {
+            String error = invalidRule(rule, e.getMessage());
+            report(problems, error);
+            return new IntArgument(0, error);
         }
+    }
 
-        return value;
+    private String invalidRule(String rule, String reason) {
+        return String.format("Invalid transformation rule '%s': %s", rule, reason);
     }
 
-    /**
-     * Format number with pattern.
-     * Rule format: "FORMAT_NUMBER:#,##0.00"
-     */
-    private Object transformFormatNumber(Object value, String pattern) {
-        if (value instanceof Number) {
-            java.text.DecimalFormat df = new java.text.DecimalFormat(pattern);
-            return df.format(value);
+    private void report(List<String> problems, String problem) {
+        if (problems != null) {
+            problems.add(problem);
+        } else {
+            logger.warn(problem);
         }
-        return value;
+    }
+
+    private static String[] trimAll(String[] parts, int count) {
+        String[] trimmed = new String[count];
+        for (int i = 0; i < count; i++) {
+            trimmed[i] = parts[i].trim();
+        }
+        return trimmed;
     }
 
     /**
-     * Mask sensitive data.
-     * Rule format: "MASK:start,end" - shows only characters between start and end positions
+     * Integer rule argument, or the error to raise when an invalid one is used.
      */
-    private Object transformMask(Object value, String maskRule) {
-        if (value instanceof String) {
-            String str = (String) value;
-            String[] parts = maskRule.split(",");
-            int showStart = Integer.parseInt(parts[0].trim());
-            int showEnd = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 0;
-
-            if (str.length() <= showStart + showEnd) {
-                return str;
-            }
+    private static final class IntArgument {
 
-            StringBuilder masked = new StringBuilder();
-            masked.append(str.substring(0, showStart));
-            for (int i = showStart; i < str.length() - showEnd; i++) {
-                masked.append('*');
-            }
-            if (showEnd > 0) {
-                masked.append(str.substring(str.length() - showEnd));
+        private static final IntArgument ZERO = new IntArgument(0, null);
+
+        private final int value;
+        private final String error;
+
+        private IntArgument(int value, String error) {
+            this.value = value;
+            this.error = error;
+        }
+
+        private int get() {
+            if (error != null) {
+                throw new NumberFormatException(error);
             }
-            return masked.toString();
+            return value;
         }
-        return value;
     }
 
     /**
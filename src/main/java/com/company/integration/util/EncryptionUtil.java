@@ -6,6 +6,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Utility class for encryption and decryption operations.
  * Wraps SecurityConfig methods with exception handling and logging.
@@ -105,6 +108,40 @@ public class EncryptionUtil {
         }
     }
 
+    /**
+     * Safely decrypt several texts with one cipher, returning the original text for
+     * any value that fails to decrypt.
+     *
+     * @param texts the texts to decrypt
+     * @return decrypted texts or originals, in input order
+     */
+    public List<String> safeDecryptAll(List<String> texts) {
+        List<String> decrypted;
+        try {
+            decrypted = securityConfig.decryptAll(texts);
+        } catch (Exception e) {
+            securityLogger.error("Bulk decryption failed: {}", e.getMessage());
+            return new ArrayList<>(texts);
+        }
+
+        List<String> result = new ArrayList<>(texts.size());
+        int failed = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (decrypted.get(i) != null || text == null || text.isEmpty()) {
+                result.add(decrypted.get(i) != null ? decrypted.get(i) : text);
+            } else {
+                result.add(text);
+                failed++;
+            }
+        }
+
+        if (failed > 0) {
+            logger.warn("Safe decrypt failed for {} of {} values, returning original text", failed, texts.size());
+        }
+        return result;
+    }
+
     /**
      * Mask sensitive data for logging purposes.
      *
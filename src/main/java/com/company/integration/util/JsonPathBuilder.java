@@ -1,5 +1,6 @@
 package com.company.integration.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -8,6 +9,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -18,7 +20,7 @@ import java.util.Map;
 public class JsonPathBuilder {
 
     private static final Logger logger = LogManager.getLogger(JsonPathBuilder.class);
-    private static final int MAX_NESTING_DEPTH = 5;
+    static final int MAX_NESTING_DEPTH = 5;
     private static final String PATH_SEPARATOR = "\\.";
 
     private final ObjectMapper objectMapper;
@@ -63,6 +65,16 @@ public class JsonPathBuilder {
      * @param value the value to set
      */
     public void setValueAtPath(ObjectNode root, String path, Object value) {
+        setValueAtPath(root, splitPath(path), value);
+    }
+
+    /**
+     * Split a JSON path into trimmed segments, truncated to the maximum nesting depth.
+     *
+     * @param path the JSON path (e.g., "customer.address.city")
+     * @return the path segments
+     */
+    public String[] splitPath(String path) {
         String[] parts = path.split(PATH_SEPARATOR);
 
         if (parts.length > MAX_NESTING_DEPTH) {
@@ -70,11 +82,26 @@ public class JsonPathBuilder {
             parts = truncatePath(parts, MAX_NESTING_DEPTH);
         }
 
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+
+        return parts;
+    }
+
+    /**
+     * Set a value at a JSON path that has already been split with {@link #splitPath(String)}.
+     *
+     * @param root         the root object node
+     * @param pathSegments the trimmed path segments
+     * @param value        the value to set
+     */
+    public void setValueAtPath(ObjectNode root, String[] pathSegments, Object value) {
         ObjectNode currentNode = root;
 
         // Navigate to the parent node, creating intermediate nodes as needed
-        for (int i = 0; i < parts.length - 1; i++) {
-            String part = parts[i].trim();
+        for (int i = 0; i < pathSegments.length - 1; i++) {
+            String part = pathSegments[i];
 
             if (isArrayPath(part)) {
                 currentNode = handleArrayPath(currentNode, part);
@@ -94,8 +121,7 @@ public class JsonPathBuilder {
         }
 
         // Set the value at the final node
-        String finalKey = parts[parts.length - 1].trim();
-        setNodeValue(currentNode, finalKey, value);
+        setNodeValue(currentNode, pathSegments[pathSegments.length - 1], value);
     }
 
     /**
@@ -104,7 +130,7 @@ public class JsonPathBuilder {
      * @param pathSegment the path segment to check
      * @return true if it's an array access
      */
-    private boolean isArrayPath(String pathSegment) {
+    static boolean isArrayPath(String pathSegment) {
         return pathSegment.contains("[") && pathSegment.contains("]");
     }
 
@@ -175,6 +201,41 @@ public class JsonPathBuilder {
         }
     }
 
+    /**
+     * Write a value to a generator exactly as {@link #setNodeValue} would store it.
+     *
+     * @param generator the JSON generator
+     * @param value     the value to write
+     * @throws IOException if writing fails
+     */
+    public void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Integer) {
+            generator.writeNumber((Integer) value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Float) {
+            generator.writeNumber((Float) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof java.math.BigDecimal) {
+            // Let the node factory apply its decimal normalization
+            objectMapper.writeTree(generator, objectMapper.getNodeFactory().numberNode((java.math.BigDecimal) value));
+        } else if (value instanceof java.math.BigInteger) {
+            generator.writeNumber(((java.math.BigInteger) value).longValue());
+        } else if (value instanceof JsonNode) {
+            objectMapper.writeTree(generator, (JsonNode) value);
+        } else {
+            // For complex objects, convert to string
+            generator.writeString(value.toString());
+        }
+    }
+
     /**
      * Truncate a path array to the maximum depth.
      *
@@ -0,0 +1,475 @@
+package com.company.integration.util;
+
+import com.company.integration.model.dto.FieldMappingDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, executable form of a client's field mappings.
+ *
+ * Compiling a mapping list pre-splits every target path, pre-resolves the source data
+ * keys for each column and turns transformation rules into {@link DataTransformer.CompiledTransformation}s.
+ * Invalid rules and path conflicts are collected once as problems instead of being
+ * rediscovered on every record. A plan is safe to share between threads.
+ *
+ * Plans without array paths also hold the target paths as a prefix tree and can write
+ * a record straight to a {@link JsonGenerator} without building an intermediate tree.
+ */
+public final class MappingPlan {
+
+    private static final Logger logger = LogManager.getLogger(MappingPlan.class);
+
+    private final String clientId;
+    private final List<FieldMappingDTO> mappings;
+    private final Step[] steps;
+    private final List<String> problems;
+    private final PathNode[] pathNodes;
+
+    private MappingPlan(String clientId, List<FieldMappingDTO> mappings, Step[] steps, List<String> problems,
+                        PathNode[] pathNodes) {
+        this.clientId = clientId;
+        this.mappings = mappings;
+        this.steps = steps;
+        this.problems = problems;
+        this.pathNodes = pathNodes;
+    }
+
+    /**
+     * Compile field mappings into a plan.
+     *
+     * @param clientId        the client identifier (for diagnostics)
+     * @param mappings        the field mappings in execution order
+     * @param dataTransformer transformer used to compile transformation rules
+     * @param jsonPathBuilder builder used to split and write target paths
+     * @return the compiled plan
+     */
+    public static MappingPlan compile(String clientId, List<FieldMappingDTO> mappings,
+                                      DataTransformer dataTransformer, JsonPathBuilder jsonPathBuilder) {
+        List<String> problems = new ArrayList<>();
+        List<Step> steps = new ArrayList<>(mappings.size());
+
+        for (FieldMappingDTO mapping : mappings) {
+            String targetPath = mapping.getTargetFieldPath();
+            if (targetPath == null || targetPath.isEmpty()) {
+                problems.add(String.format("Mapping for column '%s' has no target path and is skipped",
+                        mapping.getSourceColumn()));
+                continue;
+            }
+
+            if (targetPath.split("\\.").length > JsonPathBuilder.MAX_NESTING_DEPTH) {
+                problems.add(String.format("Path '%s' exceeds maximum nesting depth of %d and is truncated",
+                        targetPath, JsonPathBuilder.MAX_NESTING_DEPTH));
+            }
+
+            List<String> ruleProblems = new ArrayList<>();
+            DataTransformer.CompiledTransformation transformation =
+                    dataTransformer.compile(mapping.getTransformationRule(), mapping.getDataType(), ruleProblems);
+            for (String problem : ruleProblems) {
+                problems.add(String.format("%s (target '%s')", problem, targetPath));
+            }
+
+            steps.add(new Step(mapping, jsonPathBuilder.splitPath(targetPath), transformation));
+        }
+
+        Step[] compiled = steps.toArray(new Step[0]);
+        resolvePathConflicts(compiled, problems);
+
+        MappingPlan plan = new MappingPlan(clientId, mappings, compiled, Collections.unmodifiableList(problems),
+                buildPathTree(compiled));
+        if (!problems.isEmpty()) {
+            logger.warn("Mapping plan for client {} compiled with {} problem(s): {}",
+                    clientId, problems.size(), problems);
+        }
+        return plan;
+    }
+
+    /**
+     * Run the plan against one record's source data.
+     *
+     * @param sourceData      the source data
+     * @param root            the object to write into
+     * @param jsonPathBuilder builder used to write values at their target paths
+     * @return the populated root object
+     */
+    public ObjectNode execute(Map<String, Object> sourceData, ObjectNode root, JsonPathBuilder jsonPathBuilder) {
+        Object[] values = new Object[steps.length];
+        boolean[] included = evaluate(sourceData, values);
+
+        for (int i = 0; i < steps.length; i++) {
+            if (!included[i] || isShadowed(steps[i], included)) {
+                continue;
+            }
+
+            try {
+                jsonPathBuilder.setValueAtPath(root, steps[i].pathSegments, values[i]);
+            } catch (Exception e) {
+                logger.error("Failed to set value at path '{}': {}", steps[i].targetPath, e.getMessage());
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     * Write one record's payload to a JSON generator, merging an optional overlay the same
+     * way {@link JsonPathBuilder#mergeObjects(ObjectNode, ObjectNode)} would. Produces the
+     * same document as {@link #execute} followed by serialization.
+     *
+     * @param sourceData      the source data
+     * @param overlay         additional data to merge over the mapped values (may be null)
+     * @param generator       the generator to write to
+     * @param jsonPathBuilder builder used to write leaf values
+     * @throws IOException if writing fails
+     * @throws IllegalStateException if the plan is not streamable
+     */
+    public void write(Map<String, Object> sourceData, ObjectNode overlay, JsonGenerator generator,
+                      JsonPathBuilder jsonPathBuilder) throws IOException {
+        if (!isStreamable()) {
+            throw new IllegalStateException("Mapping plan for client " + clientId + " contains array paths");
+        }
+
+        Object[] values = new Object[steps.length];
+        boolean[] included = evaluate(sourceData, values);
+
+        // A key is placed where it is first written and holds the last value written to it
+        int[] firstStep = new int[pathNodes.length];
+        int[] valueStep = new int[pathNodes.length];
+        Arrays.fill(firstStep, -1);
+        Arrays.fill(valueStep, -1);
+
+        for (int i = 0; i < steps.length; i++) {
+            if (!included[i] || isShadowed(steps[i], included)) {
+                continue;
+            }
+            int[] chain = steps[i].nodeChain;
+            for (int node : chain) {
+                if (firstStep[node] < 0) {
+                    firstStep[node] = i;
+                }
+            }
+            valueStep[chain[chain.length - 1]] = i;
+        }
+
+        writeObject(pathNodes[0], overlay, new RecordState(values, firstStep, valueStep), generator, jsonPathBuilder);
+    }
+
+    /**
+     * Check if the plan can write records directly to a generator.
+     * Plans with array elements in their paths are built as trees instead.
+     *
+     * @return true if {@link #write} is supported
+     */
+    public boolean isStreamable() {
+        return pathNodes != null;
+    }
+
+    /**
+     * Compute the transformed value of every step. A step is included when a value
+     * was found or the mapping defines a default value.
+     *
+     * @param sourceData the source data
+     * @param values     receives the transformed values, indexed by step
+     * @return flags indicating which steps produced a value
+     */
+    boolean[] evaluate(Map<String, Object> sourceData, Object[] values) {
+        boolean[] included = new boolean[steps.length];
+
+        for (int i = 0; i < steps.length; i++) {
+            Step step = steps[i];
+            Object value = sourceData.get(step.columnKey);
+
+            if (value == null && step.qualifiedKey != null) {
+                value = sourceData.get(step.qualifiedKey);
+            }
+            if (value == null) {
+                value = step.fallbackValue;
+            }
+
+            if (value != null || step.includeWithoutValue) {
+                values[i] = step.transformation.apply(value, sourceData);
+                included[i] = true;
+            }
+        }
+
+        return included;
+    }
+
+    /**
+     * Check if this plan was compiled from exactly the given mapping list instance.
+     * Cached mapping lists are replaced, never modified, when their version changes.
+     *
+     * @param mappingList the mapping list to compare
+     * @return true if the plan is current for that list
+     */
+    public boolean isCompiledFrom(List<FieldMappingDTO> mappingList) {
+        return this.mappings == mappingList;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public int getStepCount() {
+        return steps.length;
+    }
+
+    /**
+     * Get problems found at compile time (unknown or invalid rules, path conflicts).
+     *
+     * @return unmodifiable list of problem descriptions
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    Step[] getSteps() {
+        return steps;
+    }
+
+    private void writeObject(PathNode node, ObjectNode overlay, RecordState state, JsonGenerator generator,
+                             JsonPathBuilder jsonPathBuilder) throws IOException {
+        generator.writeStartObject();
+
+        for (PathNode child : orderedChildren(node, state.firstStep)) {
+            JsonNode overlayValue = overlay != null ? overlay.get(child.name) : null;
+            generator.writeFieldName(child.name);
+
+            int valueIndex = state.valueStep[child.id];
+            if (valueIndex >= 0) {
+                Object value = state.values[valueIndex];
+                if (overlayValue == null) {
+                    jsonPathBuilder.writeValue(generator, value);
+                } else if (overlayValue.isObject() && value instanceof ObjectNode) {
+                    generator.writeTree(jsonPathBuilder.mergeObjects((ObjectNode) value, (ObjectNode) overlayValue));
+                } else {
+                    generator.writeTree(overlayValue);
+                }
+            } else if (overlayValue == null || overlayValue.isObject()) {
+                writeObject(child, (ObjectNode) overlayValue, state, generator, jsonPathBuilder);
+            } else {
+                generator.writeTree(overlayValue);
+            }
+        }
+
+        if (overlay != null) {
+            Iterator<Map.Entry<String, JsonNode>> fields = overlay.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                PathNode child = node.childrenByName.get(field.getKey());
+                if (child == null || state.firstStep[child.id] < 0) {
+                    generator.writeFieldName(field.getKey());
+                    generator.writeTree(field.getValue());
+                }
+            }
+        }
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Get the children written for this record, in the order they were first written.
+     */
+    private static List<PathNode> orderedChildren(PathNode node, int[] firstStep) {
+        List<PathNode> ordered = new ArrayList<>(node.children.size());
+
+        for (PathNode child : node.children) {
+            int first = firstStep[child.id];
+            if (first < 0) {
+                continue;
+            }
+            int position = ordered.size();
+            while (position > 0 && firstStep[ordered.get(position - 1).id] > first) {
+                position--;
+            }
+            ordered.add(position, child);
+        }
+
+        return ordered;
+    }
+
+    /**
+     * Build the prefix tree of target paths, or return null if any path
+     * navigates through an array element.
+     */
+    private static PathNode[] buildPathTree(Step[] steps) {
+        for (Step step : steps) {
+            for (int depth = 0; depth < step.pathSegments.length - 1; depth++) {
+                if (JsonPathBuilder.isArrayPath(step.pathSegments[depth])) {
+                    return null;
+                }
+            }
+        }
+
+        List<PathNode> nodes = new ArrayList<>();
+        PathNode root = new PathNode(null, 0);
+        nodes.add(root);
+
+        for (Step step : steps) {
+            int[] chain = new int[step.pathSegments.length];
+            PathNode current = root;
+
+            for (int depth = 0; depth < step.pathSegments.length; depth++) {
+                String segment = step.pathSegments[depth];
+                PathNode child = current.childrenByName.get(segment);
+                if (child == null) {
+                    child = new PathNode(segment, nodes.size());
+                    nodes.add(child);
+                    current.children.add(child);
+                    current.childrenByName.put(segment, child);
+                }
+                chain[depth] = child.id;
+                current = child;
+            }
+
+            step.nodeChain = chain;
+        }
+
+        return nodes.toArray(new PathNode[0]);
+    }
+
+    /**
+     * A value written at a shorter path replaces any object built below it, so a step
+     * is skipped whenever one of its ancestor paths is written as a value.
+     */
+    private static boolean isShadowed(Step step, boolean[] included) {
+        for (int index : step.shadowedBy) {
+            if (included[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Detect duplicate target paths, values written at a parent of another path and
+     * names used both as array and object. Duplicates keep the last mapping's value.
+     */
+    private static void resolvePathConflicts(Step[] steps, List<String> problems) {
+        Map<String, List<Integer>> leaves = new HashMap<>();
+        for (int i = 0; i < steps.length; i++) {
+            leaves.computeIfAbsent(steps[i].joinedPath, key -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : leaves.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                problems.add(String.format("Path '%s' is mapped %d times; the last mapping with a value wins",
+                        entry.getKey(), entry.getValue().size()));
+            }
+        }
+
+        Set<String> arrayContainers = new HashSet<>();
+        Set<String> objectContainers = new HashSet<>();
+
+        for (Step step : steps) {
+            List<Integer> shadowedBy = new ArrayList<>();
+            StringBuilder prefix = new StringBuilder();
+
+            for (int depth = 0; depth < step.pathSegments.length - 1; depth++) {
+                String segment = step.pathSegments[depth];
+                String parent = prefix.toString();
+                if (depth > 0) {
+                    prefix.append('.');
+                }
+                prefix.append(segment);
+
+                if (JsonPathBuilder.isArrayPath(segment)) {
+                    // An array element is addressed by name, a leaf "name[0]" is a plain key
+                    arrayContainers.add(parent + "/" + segment.substring(0, segment.indexOf('[')));
+                    continue;
+                }
+
+                objectContainers.add(parent + "/" + segment);
+                List<Integer> ancestors = leaves.get(prefix.toString());
+                if (ancestors != null) {
+                    shadowedBy.addAll(ancestors);
+                    problems.add(String.format("Path '%s' conflicts with value mapped at '%s'",
+                            step.targetPath, prefix));
+                }
+            }
+
+            step.shadowedBy = shadowedBy.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        for (String container : arrayContainers) {
+            if (objectContainers.contains(container)) {
+                problems.add(String.format("Path element '%s' is used both as array and object",
+                        container.replace('/', '.').replaceFirst("^\\.", "")));
+            }
+        }
+    }
+
+    /**
+     * One compiled mapping: where to read the value, how to transform it and where to write it.
+     */
+    static final class Step {
+        final String targetPath;
+        final String[] pathSegments;
+        final String joinedPath;
+        final String columnKey;
+        final String qualifiedKey;
+        final Object fallbackValue;
+        final boolean includeWithoutValue;
+        final DataTransformer.CompiledTransformation transformation;
+        int[] shadowedBy = new int[0];
+        int[] nodeChain;
+
+        private Step(FieldMappingDTO mapping, String[] pathSegments,
+                     DataTransformer.CompiledTransformation transformation) {
+            this.targetPath = mapping.getTargetFieldPath();
+            this.pathSegments = pathSegments;
+            this.joinedPath = String.join(".", pathSegments);
+            this.columnKey = mapping.getSourceColumn();
+            this.qualifiedKey = mapping.getSourceTable() != null
+                    ? mapping.getSourceTable() + "." + mapping.getSourceColumn()
+                    : null;
+            String defaultValue = mapping.getDefaultValue();
+            this.fallbackValue = defaultValue != null && !defaultValue.isEmpty() ? defaultValue : null;
+            this.includeWithoutValue = defaultValue != null;
+            this.transformation = transformation;
+        }
+    }
+
+    /**
+     * Node of the target path prefix tree. Children keep the order of first appearance.
+     */
+    private static final class PathNode {
+        private final String name;
+        private final int id;
+        private final List<PathNode> children = new ArrayList<>();
+        private final Map<String, PathNode> childrenByName = new HashMap<>();
+
+        private PathNode(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Per-record values and write positions, indexed by step and path node.
+     */
+    private static final class RecordState {
+        private final Object[] values;
+        private final int[] firstStep;
+        private final int[] valueStep;
+
+        private RecordState(Object[] values, int[] firstStep, int[] valueStep) {
+            this.values = values;
+            this.firstStep = firstStep;
+            this.valueStep = valueStep;
+        }
+    }
+}
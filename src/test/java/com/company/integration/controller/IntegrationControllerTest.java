@@ -3,7 +3,11 @@ package com.company.integration.controller;
 import com.company.integration.model.dto.ApiRequestDTO;
 import com.company.integration.model.dto.ApiResponseDTO;
 import com.company.integration.service.AuditService;
+import com.company.integration.service.CallPhaseMetrics;
+import com.company.integration.service.ClientCircuitBreaker;
 import com.company.integration.service.IntegrationService;
+import com.company.integration.service.MappingService;
+import com.company.integration.service.RestApiInvocationService;
 import com.company.integration.service.RetryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +17,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,6 +53,15 @@ class IntegrationControllerTest {
     @MockBean
     private RetryService retryService;
 
+    @MockBean
+    private MappingService mappingService;
+
+    @MockBean
+    private RestApiInvocationService restApiInvocationService;
+
+    @MockBean
+    private CallPhaseMetrics phaseMetrics;
+
     @Test
     @DisplayName("POST /invoke - Should invoke API successfully")
     void shouldInvokeApiSuccessfully() throws Exception {
@@ -103,6 +122,38 @@ class IntegrationControllerTest {
                 .andExpect(jsonPath("$.statusCode").value(500));
     }
 
+    @Test
+    @DisplayName("POST /reactive/invoke - Should return bad gateway on API failure")
+    void shouldReturnBadGatewayOnReactiveApiFailure() throws Exception {
+        // Arrange
+        ApiRequestDTO request = ApiRequestDTO.builder()
+                .clientId("TEST_CLIENT")
+                .sourceRecordId("RECORD_001")
+                .build();
+
+        ApiResponseDTO response = ApiResponseDTO.builder()
+                .responseId("AUDIT_001")
+                .clientId("TEST_CLIENT")
+                .success(false)
+                .statusCode(503)
+                .build();
+
+        when(integrationService.processRequestReactive(any(ApiRequestDTO.class))).thenReturn(Mono.just(response));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/v1/integration/reactive/invoke")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.statusCode").value(503));
+    }
+
     @Test
     @DisplayName("POST /invoke - Should validate request")
     void shouldValidateRequest() throws Exception {
@@ -144,6 +195,44 @@ class IntegrationControllerTest {
                 .andExpect(jsonPath("$.length()").value(3));
     }
 
+    @Test
+    @DisplayName("POST /batch/{clientId}/stream - Should stream one NDJSON line per response")
+    @SuppressWarnings("unchecked")
+    void shouldStreamBatchResponses() throws Exception {
+        // Arrange
+        String clientId = "TEST_CLIENT";
+        List<String> recordIds = List.of("REC001", "REC002");
+
+        doAnswer(invocation -> {
+            Consumer<ApiResponseDTO> listener = invocation.getArgument(3);
+            recordIds.forEach(id -> listener.accept(ApiResponseDTO.builder()
+                    .clientId(clientId)
+                    .sourceRecordId(id)
+                    .success(true)
+                    .statusCode(200)
+                    .build()));
+            return null;
+        }).when(integrationService).processBatch(eq(clientId), eq(recordIds), any(), any(Consumer.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/v1/integration/batch/{clientId}/stream", clientId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(recordIds)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("REC001", objectMapper.readTree(lines[0]).get("sourceRecordId").asText());
+        assertEquals("REC002", objectMapper.readTree(lines[1]).get("sourceRecordId").asText());
+    }
+
     @Test
     @DisplayName("POST /validate - Should validate request without executing")
     void shouldValidateRequestWithoutExecuting() throws Exception {
@@ -196,6 +285,40 @@ class IntegrationControllerTest {
                 .andExpect(jsonPath("$.successRate").value(95.0));
     }
 
+    @Test
+    @DisplayName("GET /metrics/{clientId} - Should return phase latency percentiles")
+    void shouldReturnPhaseMetrics() throws Exception {
+        // Arrange
+        String clientId = "TEST_CLIENT";
+        CallPhaseMetrics.PhaseStats httpCall = CallPhaseMetrics.PhaseStats.builder()
+                .client(clientId)
+                .count(250)
+                .p50Ms(120.0)
+                .p95Ms(480.0)
+                .p99Ms(900.0)
+                .build();
+
+        when(phaseMetrics.getStats(clientId)).thenReturn(Map.of("http_call", httpCall));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/integration/metrics/{clientId}", clientId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.http_call.count").value(250))
+                .andExpect(jsonPath("$.http_call.p95Ms").value(480.0))
+                .andExpect(jsonPath("$.http_call.p99Ms").value(900.0));
+    }
+
+    @Test
+    @DisplayName("GET /metrics/{clientId} - Should return 404 for a client without phase metrics of its own")
+    void shouldReturnNotFoundForUntaggedClient() throws Exception {
+        // Arrange
+        when(phaseMetrics.getStats("UNTAGGED_CLIENT")).thenReturn(Map.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/integration/metrics/{clientId}", "UNTAGGED_CLIENT"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /retry/stats - Should return retry queue stats")
     void shouldReturnRetryQueueStats() throws Exception {
@@ -242,6 +365,20 @@ class IntegrationControllerTest {
                 .andExpect(jsonPath("$.cancelled").value(true));
     }
 
+    @Test
+    @DisplayName("POST /admin/mappings/{clientId}/reload - Should reload client mappings")
+    void shouldReloadClientMappings() throws Exception {
+        // Arrange
+        String clientId = "TEST_CLIENT";
+        when(mappingService.reloadMappings(clientId)).thenReturn(12);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/integration/admin/mappings/{clientId}/reload", clientId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientId").value(clientId))
+                .andExpect(jsonPath("$.mappingCount").value(12));
+    }
+
     @Test
     @DisplayName("GET /health - Should return health status")
     void shouldReturnHealthStatus() throws Exception {
@@ -250,11 +387,14 @@ class IntegrationControllerTest {
                 .pendingCount(5)
                 .build();
         when(retryService.getRetryStats()).thenReturn(stats);
+        when(restApiInvocationService.getOpenCircuits())
+                .thenReturn(Map.of("TEST_CLIENT", ClientCircuitBreaker.State.OPEN));
 
         // Act & Assert
         mockMvc.perform(get("/v1/integration/health"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("UP"))
-                .andExpect(jsonPath("$.retryQueueSize").value(5));
+                .andExpect(jsonPath("$.retryQueueSize").value(5))
+                .andExpect(jsonPath("$.openCircuits.TEST_CLIENT").value("OPEN"));
     }
 }
@@ -0,0 +1,100 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.ClientMapper;
+import com.company.integration.model.entity.AuditLog;
+import com.company.integration.model.entity.ClientConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditReconciliationService Tests")
+class AuditReconciliationServiceTest {
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private RetryService retryService;
+
+    @Mock
+    private ClientMapper clientMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new AuditReconciliationService(
+                auditService, retryService, clientMapper, transactionManager);
+        ReflectionTestUtils.setField(reconciliationService, "graceSeconds", 900L);
+        ReflectionTestUtils.setField(reconciliationService, "batchSize", 10);
+        ReflectionTestUtils.setField(reconciliationService, "retryEnabled", true);
+    }
+
+    @Test
+    @DisplayName("Should abandon stale in-flight entries and queue them for retry")
+    void shouldAbandonAndQueueRetry() {
+        // Arrange
+        AuditLog entry = inFlightEntry("AUDIT_001");
+        when(auditService.findInFlightBefore(any(LocalDateTime.class), eq(10))).thenReturn(List.of(entry));
+        when(auditService.markAbandoned(eq("AUDIT_001"), anyString())).thenReturn(true);
+        when(clientMapper.findByClientId("TEST_CLIENT"))
+                .thenReturn(ClientConfiguration.builder().clientId("TEST_CLIENT").retryEnabled(true).build());
+
+        // Act
+        int abandoned = reconciliationService.reconcileInFlightCalls();
+
+        // Assert
+        assertEquals(1, abandoned);
+        verify(retryService).queueForRetry(eq("TEST_CLIENT"), eq("{\"id\":1}"), eq("{}"),
+                eq("https://api.test.com"), eq("POST"), anyString(), isNull(),
+                eq("RECORD_001"), eq("CORR_001"), eq("SYSTEM"));
+    }
+
+    @Test
+    @DisplayName("Should leave entries completed in the meantime untouched")
+    void shouldSkipEntriesNoLongerInFlight() {
+        // Arrange
+        AuditLog entry = inFlightEntry("AUDIT_002");
+        when(auditService.findInFlightBefore(any(LocalDateTime.class), eq(10))).thenReturn(List.of(entry));
+        when(auditService.markAbandoned(eq("AUDIT_002"), anyString())).thenReturn(false);
+
+        // Act
+        int abandoned = reconciliationService.reconcileInFlightCalls();
+
+        // Assert
+        assertEquals(0, abandoned);
+        verifyNoInteractions(retryService, clientMapper);
+    }
+
+    private AuditLog inFlightEntry(String auditId) {
+        return AuditLog.builder()
+                .auditId(auditId)
+                .clientId("TEST_CLIENT")
+                .requestTimestamp(LocalDateTime.now().minusHours(1))
+                .requestPayload("{\"id\":1}")
+                .requestHeaders("{}")
+                .apiEndpointUrl("https://api.test.com")
+                .httpMethod("POST")
+                .sourceRecordId("RECORD_001")
+                .correlationId("CORR_001")
+                .createdBy("SYSTEM")
+                .callStatus(AuditLog.CALL_STATUS_IN_FLIGHT)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.AuditRollupMapper;
+import com.company.integration.model.entity.AuditRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditRollupService Tests")
+class AuditRollupServiceTest {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2024, 6, 15, 0, 0);
+
+    @Mock
+    private AuditRollupMapper rollupMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new AuditRollupService(rollupMapper, transactionManager);
+        ReflectionTestUtils.setField(rollupService, "enabled", true);
+        ReflectionTestUtils.setField(rollupService, "settleMinutes", 30L);
+        ReflectionTestUtils.setField(rollupService, "lookbackHours", 1L);
+        ReflectionTestUtils.setField(rollupService, "maxHoursPerRun", 24L);
+    }
+
+    @Test
+    @DisplayName("Should read rolled up hours and scan the audit log only after the watermark")
+    void shouldCombineRollupWithAuditLogTail() {
+        // Arrange
+        ReflectionTestUtils.setField(rollupService, "watermark", DAY_START.plusHours(13));
+        AuditRollup rolledUp = AuditRollup.builder().build();
+        for (int i = 0; i < 98; i++) {
+            rolledUp.record(true, 80L);
+        }
+        AuditRollup tail = AuditRollup.builder().build();
+        tail.record(false, 3000L);
+        tail.record(false, null);
+        when(rollupMapper.sumHours("TEST_CLIENT", DAY_START, DAY_START.plusHours(13))).thenReturn(rolledUp);
+        when(rollupMapper.aggregateAuditLog("TEST_CLIENT", DAY_START.plusHours(13), DAY_START.plusDays(1)))
+                .thenReturn(tail);
+
+        // Act
+        AuditRollup totals = rollupService.aggregate("TEST_CLIENT", DAY_START, DAY_START.plusDays(1));
+
+        // Assert
+        assertEquals("TEST_CLIENT", totals.getClientId());
+        assertEquals(100, totals.getTotalCalls());
+        assertEquals(98, totals.getSuccessfulCalls());
+        assertEquals(99, totals.getTimedCalls());
+        assertEquals((98 * 80 + 3000) / 99, totals.averageExecutionTimeMs());
+        assertEquals(100, totals.latencyPercentileMs(50));
+        assertEquals(5000, totals.latencyPercentileMs(99.5));
+    }
+
+    @Test
+    @DisplayName("Should report a percentile among calls slower than the last bucket as overflow")
+    void shouldReportOverflowPercentile() {
+        // Arrange
+        AuditRollup totals = AuditRollup.builder().build();
+        for (int i = 0; i < 90; i++) {
+            totals.record(true, 200L);
+        }
+        for (int i = 0; i < 10; i++) {
+            totals.record(true, 30000L);
+        }
+
+        // Act & Assert
+        assertEquals(250, totals.latencyPercentileMs(90));
+        assertEquals(AuditRollup.LATENCY_OVERFLOW_MS, totals.latencyPercentileMs(95));
+        assertEquals(AuditRollup.LATENCY_OVERFLOW_MS, totals.latencyPercentileMs(99));
+    }
+
+    @Test
+    @DisplayName("Should scan the audit log alone for a range not starting on an hour")
+    void shouldScanAuditLogForUnalignedRange() {
+        // Arrange
+        ReflectionTestUtils.setField(rollupService, "watermark", DAY_START.plusHours(13));
+        LocalDateTime startTime = DAY_START.plusMinutes(30);
+        when(rollupMapper.aggregateAuditLog("TEST_CLIENT", startTime, DAY_START.plusDays(1)))
+                .thenReturn(AuditRollup.builder().totalCalls(5).build());
+
+        // Act
+        AuditRollup totals = rollupService.aggregate("TEST_CLIENT", startTime, DAY_START.plusDays(1));
+
+        // Assert
+        assertEquals(5, totals.getTotalCalls());
+        verify(rollupMapper, never()).sumHours(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should roll up at most the configured hours per run, recomputing the lookback")
+    void shouldAdvanceWatermarkInBoundedSteps() {
+        // Arrange
+        when(rollupMapper.lockWatermark()).thenReturn(DAY_START);
+        when(rollupMapper.rollUpHours(any(), any())).thenReturn(42);
+
+        // Act
+        int written = rollupService.rollUp();
+
+        // Assert
+        assertEquals(42, written);
+        verify(rollupMapper).rollUpHours(DAY_START.minusHours(1), DAY_START.plusHours(24));
+        verify(rollupMapper).updateWatermark(DAY_START.plusHours(24));
+        assertEquals(DAY_START.plusHours(24), ReflectionTestUtils.getField(rollupService, "watermark"));
+    }
+}
@@ -0,0 +1,265 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.AuditMapper;
+import com.company.integration.mapper.FailedCallMapper;
+import com.company.integration.model.entity.AuditLog;
+import com.company.integration.model.entity.FailedApiCall;
+import com.company.integration.util.AuditPayloadCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditWriteBehind Tests")
+class AuditWriteBehindTest {
+
+    @Mock
+    private AuditMapper auditMapper;
+
+    @Mock
+    private AuditMapper batchMapper;
+
+    @Mock
+    private FailedCallMapper failedCallMapper;
+
+    @Mock
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Mock
+    private SqlSession sqlSession;
+
+    @TempDir
+    Path journalDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MeterRegistry meterRegistry;
+    private AuditWriteBehind auditWriteBehind;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditWriteBehind = newWriteBehind(newJournal());
+        ReflectionTestUtils.setField(auditWriteBehind, "queue", new ArrayBlockingQueue<>(10));
+        ReflectionTestUtils.setField(auditWriteBehind, "running", true);
+    }
+
+    @Test
+    @DisplayName("Should write a completed entry with one merge, without an update")
+    void shouldInsertCompletedEntryInBatch() {
+        // Arrange
+        when(sqlSessionFactory.openSession(ExecutorType.BATCH)).thenReturn(sqlSession);
+        when(sqlSession.getMapper(AuditMapper.class)).thenReturn(batchMapper);
+        auditWriteBehind.begin(inFlightEntry("AUDIT_001"));
+
+        // Act
+        boolean completed = auditWriteBehind.complete("AUDIT_001", response());
+        int written = auditWriteBehind.flush();
+
+        // Assert
+        assertTrue(completed);
+        assertEquals(1, written);
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(batchMapper).merge(captor.capture());
+        assertEquals(AuditLog.CALL_STATUS_COMPLETED, captor.getValue().getCallStatus());
+        assertEquals(200, captor.getValue().getResponseStatusCode());
+        verify(sqlSession).commit();
+        verify(batchMapper, never()).updateResponse(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(auditMapper);
+        assertEquals(1.0, meterRegistry.get("integration.audit.write.behind.written").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write the entry itself when the queue is full")
+    void shouldInsertDirectlyWhenQueueIsFull() {
+        // Arrange
+        ReflectionTestUtils.setField(auditWriteBehind, "queue", new ArrayBlockingQueue<>(1));
+        ReflectionTestUtils.setField(auditWriteBehind, "offerTimeoutMs", 0L);
+        auditWriteBehind.begin(inFlightEntry("AUDIT_001"));
+        auditWriteBehind.begin(inFlightEntry("AUDIT_002"));
+        auditWriteBehind.complete("AUDIT_001", response());
+
+        // Act
+        auditWriteBehind.complete("AUDIT_002", response());
+
+        // Assert
+        verify(auditMapper).merge(argThat(entry -> "AUDIT_002".equals(entry.getAuditId())
+                && AuditLog.CALL_STATUS_COMPLETED.equals(entry.getCallStatus())));
+        assertEquals(1.0, meterRegistry.get("integration.audit.write.behind.direct").counter().count());
+        assertEquals(1.0, meterRegistry.get("integration.audit.write.behind.queued").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should merge records journaled by a previous run on start")
+    void shouldReplayJournaledRecords() throws IOException {
+        // Arrange
+        WriteAheadJournal previousRun = newJournal();
+        previousRun.append(WriteAheadJournal.RecordType.AUDIT, inFlightEntry("AUDIT_001"));
+        previousRun.append(WriteAheadJournal.RecordType.RETRY, FailedApiCall.builder()
+                .callId("CALL_001")
+                .clientId("TEST_CLIENT")
+                .finalStatus(FailedApiCall.STATUS_PENDING)
+                .build());
+        previousRun.close();
+        AuditWriteBehind restarted = newWriteBehind(newJournal());
+
+        // Act
+        restarted.start();
+        restarted.stop();
+
+        // Assert
+        verify(auditMapper).merge(argThat(entry -> "AUDIT_001".equals(entry.getAuditId())
+                && AuditLog.CALL_STATUS_IN_FLIGHT.equals(entry.getCallStatus())));
+        verify(failedCallMapper).merge(argThat(call -> "CALL_001".equals(call.getCallId())));
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the rest of a failed batch and quarantine the record the database keeps rejecting")
+    void shouldQuarantineRejectedRecord() throws IOException {
+        // Arrange
+        List<Object> batch = queuedBatch("AUDIT_001", "AUDIT_002");
+        when(auditMapper.merge(any())).thenAnswer(invocation -> {
+            if ("AUDIT_002".equals(((AuditLog) invocation.getArgument(0)).getAuditId())) {
+                throw new DataIntegrityViolationException("ORA-12899: value too large for column");
+            }
+            return 1;
+        });
+
+        // Act
+        for (int attempt = 0; attempt < AuditWriteBehind.MAX_RECORD_ATTEMPTS; attempt++) {
+            ReflectionTestUtils.invokeMethod(auditWriteBehind, "writeEach", batch);
+        }
+
+        // Assert
+        assertTrue(batch.isEmpty());
+        verify(auditMapper, times(1)).merge(argThat(entry -> "AUDIT_001".equals(entry.getAuditId())));
+        assertEquals(1.0, meterRegistry.get("integration.audit.write.behind.written").counter().count());
+        assertEquals(1.0, meterRegistry.get("integration.audit.write.behind.quarantined").counter().count());
+        List<String> quarantined = Files.readAllLines(journalDirectory.resolve("quarantine.jsonl"));
+        assertEquals(1, quarantined.size());
+        assertTrue(quarantined.get(0).contains("\"AUDIT_002\""));
+    }
+
+    @Test
+    @DisplayName("Should keep a failed batch without quarantining while the database is unavailable")
+    void shouldKeepBatchWhileDatabaseUnavailable() {
+        // Arrange
+        List<Object> batch = queuedBatch("AUDIT_001");
+        when(auditMapper.merge(any())).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // Act & Assert
+        for (int attempt = 0; attempt <= AuditWriteBehind.MAX_RECORD_ATTEMPTS; attempt++) {
+            assertThrows(DataAccessResourceFailureException.class,
+                    () -> ReflectionTestUtils.invokeMethod(auditWriteBehind, "writeEach", batch));
+        }
+        assertEquals(1, batch.size());
+        assertEquals(0.0, meterRegistry.get("integration.audit.write.behind.quarantined").counter().count());
+        assertFalse(Files.exists(journalDirectory.resolve("quarantine.jsonl")));
+    }
+
+    @Test
+    @DisplayName("Should quarantine a journaled record the database rejects on replay instead of failing to start")
+    void shouldQuarantineRejectedRecordOnReplay() throws IOException {
+        // Arrange
+        WriteAheadJournal previousRun = newJournal();
+        previousRun.append(WriteAheadJournal.RecordType.AUDIT, inFlightEntry("AUDIT_001"));
+        previousRun.close();
+        when(auditMapper.merge(any())).thenThrow(new DataIntegrityViolationException("ORA-00001: unique constraint"));
+        AuditWriteBehind restarted = newWriteBehind(newJournal());
+
+        // Act
+        restarted.start();
+        restarted.stop();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("integration.audit.write.behind.quarantined").counter().count());
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            assertEquals(List.of(journalDirectory.resolve("quarantine.jsonl")), files.toList());
+        }
+    }
+
+    /**
+     * Complete entries and take them off the queue as the writer would.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> queuedBatch(String... auditIds) {
+        for (String auditId : auditIds) {
+            auditWriteBehind.begin(inFlightEntry(auditId));
+            auditWriteBehind.complete(auditId, response());
+        }
+        List<Object> batch = new ArrayList<>();
+        ((BlockingQueue<Object>) ReflectionTestUtils.getField(auditWriteBehind, "queue")).drainTo(batch);
+        return batch;
+    }
+
+    private WriteAheadJournal newJournal() {
+        WriteAheadJournal journal = new WriteAheadJournal(objectMapper);
+        ReflectionTestUtils.setField(journal, "directory", journalDirectory.toString());
+        ReflectionTestUtils.setField(journal, "segmentBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(journal, "fsyncPolicy", WriteAheadJournal.FsyncPolicy.ALWAYS);
+        return journal;
+    }
+
+    private AuditWriteBehind newWriteBehind(WriteAheadJournal journal) {
+        AuditWriteBehind writeBehind = new AuditWriteBehind(journal, auditMapper, failedCallMapper,
+                sqlSessionFactory, new AuditPayloadCodec(), meterRegistry);
+        ReflectionTestUtils.setField(writeBehind, "queueCapacity", 10);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 200);
+        ReflectionTestUtils.setField(writeBehind, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(writeBehind, "offerTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(writeBehind, "inFlightSeconds", 600L);
+        return writeBehind;
+    }
+
+    private AuditLog inFlightEntry(String auditId) {
+        return AuditLog.builder()
+                .auditId(auditId)
+                .clientId("TEST_CLIENT")
+                .requestTimestamp(LocalDateTime.now())
+                .requestPayload("{\"id\":1}")
+                .apiEndpointUrl("https://api.example.com/orders")
+                .httpMethod("POST")
+                .callStatus(AuditLog.CALL_STATUS_IN_FLIGHT)
+                .build();
+    }
+
+    private AuditLog response() {
+        return AuditLog.builder()
+                .responseTimestamp(LocalDateTime.now())
+                .responsePayload("{\"status\":\"ok\"}")
+                .responseStatusCode(200)
+                .executionTimeMs(42L)
+                .successFlag(true)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.integration.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CallPhaseMetrics Tests")
+class CallPhaseMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private CallPhaseMetrics phaseMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        phaseMetrics = new CallPhaseMetrics(meterRegistry);
+        ReflectionTestUtils.setField(phaseMetrics, "maxClients", 2);
+        ReflectionTestUtils.setField(phaseMetrics, "windowSeconds", 120L);
+        ReflectionTestUtils.setField(phaseMetrics, "histogramEnabled", true);
+    }
+
+    @Test
+    @DisplayName("Should report percentiles of a client's phase from memory")
+    void shouldReportPhasePercentiles() {
+        // Arrange
+        phaseMetrics.resolve("CLIENT_A");
+        for (int i = 1; i <= 100; i++) {
+            phaseMetrics.record(CallPhaseMetrics.Phase.HTTP_CALL, "CLIENT_A", i * 10L, TimeUnit.MILLISECONDS);
+        }
+
+        // Act
+        Map<String, CallPhaseMetrics.PhaseStats> stats = phaseMetrics.getStats("CLIENT_A");
+
+        // Assert
+        assertEquals(1, stats.size());
+        CallPhaseMetrics.PhaseStats httpCall = stats.get("http_call");
+        assertEquals("CLIENT_A", httpCall.getClient());
+        assertEquals(100, httpCall.getCount());
+        assertEquals(1000.0, httpCall.getMaxMs(), 0.001);
+        assertTrue(httpCall.getP50Ms() > 400 && httpCall.getP50Ms() < 600, "p50 " + httpCall.getP50Ms());
+        assertTrue(httpCall.getP99Ms() > 900 && httpCall.getP99Ms() <= 1100, "p99 " + httpCall.getP99Ms());
+        assertTrue(httpCall.getP50Ms() <= httpCall.getP95Ms() && httpCall.getP95Ms() <= httpCall.getP99Ms());
+    }
+
+    @Test
+    @DisplayName("Should tag clients beyond the limit as other")
+    void shouldBoundClientTags() {
+        // Act
+        for (String clientId : new String[] {"CLIENT_A", "CLIENT_B", "CLIENT_C", "CLIENT_D"}) {
+            phaseMetrics.resolve(clientId);
+        }
+        phaseMetrics.record(CallPhaseMetrics.Phase.AUDIT_WRITE, "CLIENT_A", 5, TimeUnit.MILLISECONDS);
+        phaseMetrics.record(CallPhaseMetrics.Phase.AUDIT_WRITE, "CLIENT_B", 5, TimeUnit.MILLISECONDS);
+        phaseMetrics.record(CallPhaseMetrics.Phase.AUDIT_WRITE, "CLIENT_C", 5, TimeUnit.MILLISECONDS);
+        phaseMetrics.record(CallPhaseMetrics.Phase.AUDIT_WRITE, "CLIENT_D", 5, TimeUnit.MILLISECONDS);
+        phaseMetrics.record(CallPhaseMetrics.Phase.AUDIT_WRITE, "CLIENT_A", 5, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(3, meterRegistry.find(CallPhaseMetrics.METRIC_NAME).timers().size());
+        assertEquals(2, meterRegistry.get(CallPhaseMetrics.METRIC_NAME).tag("client", "CLIENT_A").timer().count());
+        assertEquals(2, meterRegistry.get(CallPhaseMetrics.METRIC_NAME)
+                .tag("client", CallPhaseMetrics.OTHER_CLIENT).timer().count());
+        assertEquals("CLIENT_A", phaseMetrics.getStats("CLIENT_A").get("audit_write").getClient());
+        assertTrue(phaseMetrics.getStats("CLIENT_D").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should record the duration of a phase that fails")
+    void shouldTimeFailingPhase() {
+        // Arrange
+        phaseMetrics.resolve("CLIENT_A");
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> phaseMetrics.time(
+                CallPhaseMetrics.Phase.RETRY_ENQUEUE, "CLIENT_A", () -> {
+                    throw new IllegalStateException("queue unavailable");
+                }));
+
+        // Assert
+        assertEquals(1, meterRegistry.get(CallPhaseMetrics.METRIC_NAME)
+                .tags("phase", "retry_enqueue", "client", "CLIENT_A").timer().count());
+        assertTrue(phaseMetrics.getStats("CLIENT_B").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not give a tag to a client that was never resolved")
+    void shouldTagUnresolvedClientAsUnknown() {
+        // Act
+        phaseMetrics.record(CallPhaseMetrics.Phase.MAPPING_LOAD, "TYPO_1", 5, TimeUnit.MILLISECONDS);
+        phaseMetrics.record(CallPhaseMetrics.Phase.MAPPING_LOAD, "TYPO_2", 5, TimeUnit.MILLISECONDS);
+        phaseMetrics.record(CallPhaseMetrics.Phase.MAPPING_LOAD, "TYPO_3", 5, TimeUnit.MILLISECONDS);
+        phaseMetrics.resolve("CLIENT_A");
+        phaseMetrics.record(CallPhaseMetrics.Phase.MAPPING_LOAD, "CLIENT_A", 5, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(3, meterRegistry.get(CallPhaseMetrics.METRIC_NAME)
+                .tag("client", CallPhaseMetrics.UNKNOWN_CLIENT).timer().count());
+        assertEquals(1, meterRegistry.get(CallPhaseMetrics.METRIC_NAME).tag("client", "CLIENT_A").timer().count());
+        assertTrue(phaseMetrics.getStats("TYPO_1").isEmpty());
+    }
+}
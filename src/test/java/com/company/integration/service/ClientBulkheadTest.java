@@ -0,0 +1,77 @@
+package com.company.integration.service;
+
+import com.company.integration.model.dto.ClientConfigDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientBulkhead Tests")
+class ClientBulkheadTest {
+
+    private MeterRegistry meterRegistry;
+    private ClientBulkhead clientBulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientBulkhead = new ClientBulkhead(meterRegistry);
+        ReflectionTestUtils.setField(clientBulkhead, "defaultMaxConcurrentCalls", 5);
+        ReflectionTestUtils.setField(clientBulkhead, "maxWaitMs", 0L);
+    }
+
+    @Test
+    @DisplayName("Should reject calls above the client's limit and count them per client")
+    void shouldRejectCallsAboveLimit() {
+        // Arrange
+        ClientConfigDTO slowClient = client("SLOW_CLIENT", 2);
+        ClientConfigDTO otherClient = client("OTHER_CLIENT", null);
+
+        // Act
+        ClientBulkhead.Permit first = clientBulkhead.tryAcquire(slowClient);
+        ClientBulkhead.Permit second = clientBulkhead.acquire(slowClient);
+        ClientBulkhead.Permit rejected = clientBulkhead.tryAcquire(slowClient);
+        ClientBulkhead.Permit other = clientBulkhead.tryAcquire(otherClient);
+
+        // Assert
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(rejected);
+        assertNotNull(other, "another client should not be affected");
+        assertEquals(1.0, meterRegistry.counter("integration.client.calls.rejected", "client", "SLOW_CLIENT").count());
+        assertEquals(2.0, meterRegistry.get("integration.client.calls.active").tag("client", "SLOW_CLIENT").gauge().value());
+
+        // Releasing twice frees only one permit
+        first.release();
+        first.release();
+        assertNotNull(clientBulkhead.tryAcquire(slowClient));
+        assertNull(clientBulkhead.tryAcquire(slowClient));
+    }
+
+    @Test
+    @DisplayName("Should apply a changed limit without counting calls made under the old one")
+    void shouldApplyChangedLimit() {
+        // Arrange
+        ClientBulkhead.Permit old = clientBulkhead.tryAcquire(client("TEST_CLIENT", 1));
+
+        // Act
+        ClientBulkhead.Permit afterChange = clientBulkhead.tryAcquire(client("TEST_CLIENT", 3));
+        old.release();
+
+        // Assert
+        assertNotNull(afterChange);
+        assertEquals(3.0, meterRegistry.get("integration.client.calls.limit").tag("client", "TEST_CLIENT").gauge().value());
+        assertEquals(1.0, meterRegistry.get("integration.client.calls.active").tag("client", "TEST_CLIENT").gauge().value());
+    }
+
+    private ClientConfigDTO client(String clientId, Integer maxConcurrentCalls) {
+        return ClientConfigDTO.builder()
+                .clientId(clientId)
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.integration.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientCircuitBreaker Tests")
+class ClientCircuitBreakerTest {
+
+    private MeterRegistry meterRegistry;
+    private ClientCircuitBreaker clientCircuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientCircuitBreaker = new ClientCircuitBreaker(meterRegistry);
+        ReflectionTestUtils.setField(clientCircuitBreaker, "enabled", true);
+        ReflectionTestUtils.setField(clientCircuitBreaker, "failureThreshold", 3);
+        ReflectionTestUtils.setField(clientCircuitBreaker, "openSeconds", 60L);
+        ReflectionTestUtils.setField(clientCircuitBreaker, "halfOpenCalls", 1);
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive transient failures and stop sending calls")
+    void shouldOpenAfterConsecutiveFailures() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertTrue(clientCircuitBreaker.tryAcquire("SLOW_CLIENT"));
+            clientCircuitBreaker.record("SLOW_CLIENT", result(false, 503, true));
+        }
+
+        // Assert
+        assertEquals(ClientCircuitBreaker.State.OPEN, clientCircuitBreaker.getState("SLOW_CLIENT"));
+        assertFalse(clientCircuitBreaker.tryAcquire("SLOW_CLIENT"));
+        assertNotNull(clientCircuitBreaker.blockedUntil("SLOW_CLIENT"));
+        assertTrue(clientCircuitBreaker.tryAcquire("OTHER_CLIENT"), "another client should not be affected");
+        assertEquals(1.0, meterRegistry.counter("integration.client.circuit.short.circuited",
+                "client", "SLOW_CLIENT").count());
+        assertEquals(1.0, meterRegistry.get("integration.client.circuit.state")
+                .tags("client", "SLOW_CLIENT", "state", "OPEN").gauge().value());
+        assertEquals(ClientCircuitBreaker.State.OPEN, clientCircuitBreaker.getOpenCircuits().get("SLOW_CLIENT"));
+    }
+
+    @Test
+    @DisplayName("Should let one trial call through when half-open and close on success")
+    void shouldCloseAfterSuccessfulTrial() {
+        // Arrange
+        ReflectionTestUtils.setField(clientCircuitBreaker, "openSeconds", 0L);
+        for (int i = 0; i < 3; i++) {
+            clientCircuitBreaker.tryAcquire("TEST_CLIENT");
+            clientCircuitBreaker.recordFailure("TEST_CLIENT");
+        }
+
+        // Act
+        boolean trial = clientCircuitBreaker.tryAcquire("TEST_CLIENT");
+        boolean secondTrial = clientCircuitBreaker.tryAcquire("TEST_CLIENT");
+        clientCircuitBreaker.record("TEST_CLIENT", result(true, 200, false));
+
+        // Assert
+        assertTrue(trial);
+        assertFalse(secondTrial, "only one trial call while half-open");
+        assertEquals(ClientCircuitBreaker.State.CLOSED, clientCircuitBreaker.getState("TEST_CLIENT"));
+        assertNull(clientCircuitBreaker.blockedUntil("TEST_CLIENT"));
+        assertTrue(clientCircuitBreaker.getOpenCircuits().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not count non-retryable client errors as failures")
+    void shouldNotOpenOnClientErrors() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            clientCircuitBreaker.tryAcquire("TEST_CLIENT");
+            clientCircuitBreaker.record("TEST_CLIENT", result(false, 400, false));
+        }
+
+        // Assert
+        assertEquals(ClientCircuitBreaker.State.CLOSED, clientCircuitBreaker.getState("TEST_CLIENT"));
+        assertTrue(clientCircuitBreaker.tryAcquire("TEST_CLIENT"));
+    }
+
+    private RestApiInvocationService.ApiCallResult result(boolean success, int statusCode, boolean retryable) {
+        return RestApiInvocationService.ApiCallResult.builder()
+                .success(success)
+                .statusCode(statusCode)
+                .retryable(retryable)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.company.integration.service;
+
+import com.company.integration.config.MapperChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClientProfileCache Tests")
+class ClientProfileCacheTest {
+
+    private static final String CLIENT_ID = "TEST_CLIENT";
+
+    private ClientProfileCache profileCache;
+    private AtomicInteger loadCount;
+    private Function<String, RestApiInvocationService.ClientProfile> loader;
+
+    @BeforeEach
+    void setUp() {
+        profileCache = new ClientProfileCache();
+        ReflectionTestUtils.setField(profileCache, "enabled", true);
+        ReflectionTestUtils.setField(profileCache, "ttlSeconds", 300L);
+
+        loadCount = new AtomicInteger();
+        loader = clientId -> {
+            loadCount.incrementAndGet();
+            return mock(RestApiInvocationService.ClientProfile.class);
+        };
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached profile until the client configuration changes")
+    void shouldReuseProfileUntilClientChanges() {
+        // Act
+        RestApiInvocationService.ClientProfile first = profileCache.get(CLIENT_ID, loader);
+        RestApiInvocationService.ClientProfile second = profileCache.get(CLIENT_ID, loader);
+        profileCache.onMapperChange(new MapperChangeEvent(MapperChangeEvent.Table.FIELD_MAPPING, CLIENT_ID));
+        RestApiInvocationService.ClientProfile third = profileCache.get(CLIENT_ID, loader);
+        profileCache.onMapperChange(new MapperChangeEvent(MapperChangeEvent.Table.CLIENT_CONFIGURATION, CLIENT_ID));
+        RestApiInvocationService.ClientProfile fourth = profileCache.get(CLIENT_ID, loader);
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first, third, "field mapping changes should not affect client profiles");
+        assertNotSame(first, fourth);
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a profile loaded while the client was invalidated")
+    void shouldDiscardProfileLoadedDuringInvalidation() {
+        // Arrange
+        Function<String, RestApiInvocationService.ClientProfile> racingLoader = clientId -> {
+            RestApiInvocationService.ClientProfile profile = loader.apply(clientId);
+            profileCache.invalidate(clientId);
+            return profile;
+        };
+
+        // Act
+        profileCache.get(CLIENT_ID, racingLoader);
+
+        // Assert
+        assertNull(profileCache.peek(CLIENT_ID));
+    }
+}
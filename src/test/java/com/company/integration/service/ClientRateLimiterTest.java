@@ -0,0 +1,84 @@
+package com.company.integration.service;
+
+import com.company.integration.model.dto.ClientConfigDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientRateLimiter Tests")
+class ClientRateLimiterTest {
+
+    private MeterRegistry meterRegistry;
+    private ClientRateLimiter clientRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientRateLimiter = new ClientRateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(clientRateLimiter, "maxWaitMs", 1000L);
+        ReflectionTestUtils.setField(clientRateLimiter, "decreaseFactor", 0.5);
+        ReflectionTestUtils.setField(clientRateLimiter, "increasePerSecond", 1.0);
+        ReflectionTestUtils.setField(clientRateLimiter, "minRatePerSecond", 0.1);
+    }
+
+    @Test
+    @DisplayName("Should send the burst at once, queue the next call and refuse calls beyond the max wait")
+    void shouldQueueAndRefuseBeyondBurst() {
+        // Arrange
+        ClientConfigDTO config = client("TEST_CLIENT", 2.0, 2);
+
+        // Act
+        long first = clientRateLimiter.reserve(config);
+        long second = clientRateLimiter.reserve(config);
+        long third = clientRateLimiter.reserve(config);
+        long fourth = clientRateLimiter.reserve(config);
+        long refused = clientRateLimiter.reserve(config);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertTrue(third > 0 && third <= TimeUnit.MILLISECONDS.toNanos(500), "third call waits for half a second");
+        assertTrue(fourth > third, "fourth call queues behind the third");
+        assertTrue(refused < -TimeUnit.MILLISECONDS.toNanos(1000), "wait beyond the max wait is refused");
+        assertEquals(0, clientRateLimiter.reserve(client("OTHER_CLIENT", null, null)),
+                "clients without a rate limit are not delayed");
+    }
+
+    @Test
+    @DisplayName("Should halve the rate on 429 and pause the client for its Retry-After")
+    void shouldBackOffOnThrottling() {
+        // Arrange
+        ClientConfigDTO config = client("TEST_CLIENT", 10.0, null);
+        clientRateLimiter.reserve(config);
+
+        // Act
+        clientRateLimiter.record("TEST_CLIENT", RestApiInvocationService.ApiCallResult.builder()
+                .success(false)
+                .statusCode(429)
+                .retryable(true)
+                .retryAfterSeconds(30L)
+                .build());
+
+        // Assert
+        assertEquals(5.0, clientRateLimiter.currentRate("TEST_CLIENT"));
+        assertEquals(5.0, meterRegistry.get("integration.client.rate.limit").tag("client", "TEST_CLIENT").gauge().value());
+        assertEquals(1.0, meterRegistry.counter("integration.client.rate.throttled", "client", "TEST_CLIENT").count());
+        assertTrue(clientRateLimiter.reserve(config) < -TimeUnit.SECONDS.toNanos(29),
+                "calls are not sent during the Retry-After pause");
+    }
+
+    private ClientConfigDTO client(String clientId, Double rateLimitPerSecond, Integer rateLimitBurst) {
+        return ClientConfigDTO.builder()
+                .clientId(clientId)
+                .rateLimitPerSecond(rateLimitPerSecond)
+                .rateLimitBurst(rateLimitBurst)
+                .build();
+    }
+}
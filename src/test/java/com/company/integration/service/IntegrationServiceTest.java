@@ -0,0 +1,211 @@
+package com.company.integration.service;
+
+import com.company.integration.exception.PayloadBuildException;
+import com.company.integration.model.dto.ApiResponseDTO;
+import com.company.integration.model.dto.ClientConfigDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IntegrationService Tests")
+class IntegrationServiceTest {
+
+    private static final String CLIENT_ID = "TEST_CLIENT";
+
+    @Mock
+    private PayloadBuilderService payloadBuilderService;
+
+    @Mock
+    private RestApiInvocationService restApiInvocationService;
+
+    @Mock
+    private MappingService mappingService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private RetryService retryService;
+
+    @Mock
+    private AuditWriteBehind auditWriteBehind;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService batchExecutor;
+
+    @BeforeEach
+    void setUp() {
+        batchExecutor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return batch responses in input order when records complete out of order")
+    void shouldReturnBatchResponsesInInputOrder() {
+        // Arrange
+        IntegrationService integrationService = newIntegrationService(batchExecutor);
+        List<String> recordIds = List.of("REC_1", "REC_2", "REC_3", "REC_4", "REC_5", "REC_6");
+        stubBatch(4);
+        // Earlier records take longer, so they finish after later ones
+        when(restApiInvocationService.invokeApi(any(ClientConfigDTO.class), any(byte[].class)))
+                .thenAnswer(invocation -> {
+                    String recordId = new String((byte[]) invocation.getArgument(1), StandardCharsets.UTF_8);
+                    Thread.sleep(10L * (recordIds.size() - recordIds.indexOf(recordId)));
+                    return successResult();
+                });
+
+        // Act
+        List<ApiResponseDTO> responses = integrationService.processBatch(CLIENT_ID, recordIds, "TEST_USER");
+
+        // Assert
+        assertEquals(recordIds, responses.stream().map(ApiResponseDTO::getSourceRecordId).toList());
+        assertTrue(responses.stream().allMatch(response -> Boolean.TRUE.equals(response.getSuccess())));
+    }
+
+    @Test
+    @DisplayName("Should never have more records in flight than the client's batch concurrency")
+    void shouldHonourBatchConcurrency() {
+        // Arrange
+        IntegrationService integrationService = newIntegrationService(batchExecutor);
+        stubBatch(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(restApiInvocationService.invokeApi(any(ClientConfigDTO.class), any(byte[].class)))
+                .thenAnswer(invocation -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    return successResult();
+                });
+
+        // Act
+        List<ApiResponseDTO> responses = integrationService.processBatch(CLIENT_ID,
+                List.of("REC_1", "REC_2", "REC_3", "REC_4", "REC_5", "REC_6", "REC_7", "REC_8"), "TEST_USER");
+
+        // Assert
+        assertEquals(8, responses.size());
+        assertTrue(maxInFlight.get() <= 2, "max in flight " + maxInFlight.get());
+        verify(restApiInvocationService, times(8)).invokeApi(any(ClientConfigDTO.class), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should report a failing record and still process the rest of the batch")
+    void shouldContinueBatchAfterFailingRecord() {
+        // Arrange
+        IntegrationService integrationService = newIntegrationService(batchExecutor);
+        stubBatch(3);
+        when(payloadBuilderService.buildPayloadBytes(eq(CLIENT_ID), eq("REC_2"), any(), any(), isNull()))
+                .thenThrow(new PayloadBuildException("Missing mandatory fields", CLIENT_ID, "REC_2"));
+        when(restApiInvocationService.invokeApi(any(ClientConfigDTO.class), any(byte[].class)))
+                .thenReturn(successResult());
+
+        // Act
+        List<ApiResponseDTO> responses = integrationService.processBatch(CLIENT_ID,
+                List.of("REC_1", "REC_2", "REC_3", "REC_4"), "TEST_USER");
+
+        // Assert
+        assertEquals(4, responses.size());
+        assertEquals(Boolean.FALSE, responses.get(1).getSuccess());
+        assertEquals("REC_2", responses.get(1).getSourceRecordId());
+        assertEquals(3, responses.stream().filter(response -> Boolean.TRUE.equals(response.getSuccess())).count());
+        verify(restApiInvocationService, times(3)).invokeApi(any(ClientConfigDTO.class), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should run the whole batch on the calling thread when the executor rejects helpers")
+    void shouldRunBatchOnCallerWhenExecutorRejects() {
+        // Arrange
+        Executor rejecting = command -> {
+            throw new RejectedExecutionException("Batch executor saturated");
+        };
+        IntegrationService integrationService = newIntegrationService(rejecting);
+        stubBatch(4);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        when(restApiInvocationService.invokeApi(any(ClientConfigDTO.class), any(byte[].class)))
+                .thenAnswer(invocation -> {
+                    threads.add(Thread.currentThread());
+                    return successResult();
+                });
+
+        // Act
+        List<ApiResponseDTO> responses = integrationService.processBatch(CLIENT_ID,
+                List.of("REC_1", "REC_2", "REC_3"), "TEST_USER");
+
+        // Assert
+        assertEquals(List.of("REC_1", "REC_2", "REC_3"),
+                responses.stream().map(ApiResponseDTO::getSourceRecordId).toList());
+        assertTrue(responses.stream().allMatch(response -> Boolean.TRUE.equals(response.getSuccess())));
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    private IntegrationService newIntegrationService(Executor executor) {
+        IntegrationService integrationService = new IntegrationService(payloadBuilderService,
+                restApiInvocationService, mappingService, auditService, retryService, auditWriteBehind,
+                new CallPhaseMetrics(new SimpleMeterRegistry()), new ObjectMapper(), transactionManager, executor);
+        ReflectionTestUtils.setField(integrationService, "defaultBatchConcurrency", 4);
+        ReflectionTestUtils.setField(integrationService, "maxBatchConcurrency", 20);
+        return integrationService;
+    }
+
+    /**
+     * Stub the shared batch data and per-record payload and audit entry. The payload is the
+     * record ID, so the API call can tell records apart.
+     */
+    private void stubBatch(int batchConcurrency) {
+        when(restApiInvocationService.getClientConfig(CLIENT_ID)).thenReturn(ClientConfigDTO.builder()
+                .clientId(CLIENT_ID)
+                .apiEndpointUrl("https://api.test.com/customers")
+                .httpMethod("POST")
+                .retryEnabled(false)
+                .batchConcurrency(batchConcurrency)
+                .build());
+        when(mappingService.getMappingsForClient(CLIENT_ID)).thenReturn(List.of());
+        when(mappingService.getSourceDataForRecords(eq(CLIENT_ID), any())).thenReturn(Map.of());
+        lenient().when(payloadBuilderService.buildPayloadBytes(eq(CLIENT_ID), anyString(), any(), any(), isNull()))
+                .thenAnswer(invocation -> ((String) invocation.getArgument(1)).getBytes(StandardCharsets.UTF_8));
+        lenient().when(auditService.createAuditEntry(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> "AUDIT_" + invocation.getArgument(5));
+    }
+
+    private static RestApiInvocationService.ApiCallResult successResult() {
+        return RestApiInvocationService.ApiCallResult.builder()
+                .success(true)
+                .statusCode(200)
+                .responseBody("{\"status\":\"ok\"}")
+                .executionTimeMs(5L)
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.company.integration.service;
+
+import com.company.integration.config.MapperChangeEvent;
+import com.company.integration.mapper.FieldMappingMapper;
+import com.company.integration.model.dto.FieldMappingDTO;
+import com.company.integration.model.dto.MappingVersionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MappingCache Tests")
+class MappingCacheTest {
+
+    private static final String CLIENT_ID = "TEST_CLIENT";
+
+    @Mock
+    private FieldMappingMapper fieldMappingMapper;
+
+    private MappingCache mappingCache;
+    private AtomicInteger loadCount;
+    private Function<String, List<FieldMappingDTO>> loader;
+
+    @BeforeEach
+    void setUp() {
+        mappingCache = new MappingCache(fieldMappingMapper);
+        ReflectionTestUtils.setField(mappingCache, "enabled", true);
+        ReflectionTestUtils.setField(mappingCache, "maxClients", 2);
+        ReflectionTestUtils.setField(mappingCache, "revalidateSeconds", 0L);
+
+        loadCount = new AtomicInteger();
+        loader = clientId -> {
+            loadCount.incrementAndGet();
+            return List.of(FieldMappingDTO.builder()
+                    .clientId(clientId)
+                    .sourceTable("CUSTOMER")
+                    .sourceColumn("FIRST_NAME")
+                    .targetFieldPath("customer.firstName")
+                    .build());
+        };
+    }
+
+    @Test
+    @DisplayName("Should reuse cached mappings while the version is unchanged")
+    void shouldReuseMappingsWhileVersionUnchanged() {
+        // Arrange
+        when(fieldMappingMapper.findMappingVersion(CLIENT_ID)).thenReturn(version(3, true));
+
+        // Act
+        List<FieldMappingDTO> first = mappingCache.get(CLIENT_ID, loader);
+        List<FieldMappingDTO> second = mappingCache.get(CLIENT_ID, loader);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loadCount.get());
+        assertEquals(1, mappingCache.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("Should reload when the version watermark moves")
+    void shouldReloadWhenVersionChanges() {
+        // Arrange
+        when(fieldMappingMapper.findMappingVersion(CLIENT_ID))
+                .thenReturn(version(3, true))
+                .thenReturn(version(4, true));
+
+        // Act
+        mappingCache.get(CLIENT_ID, loader);
+        mappingCache.get(CLIENT_ID, loader);
+
+        // Assert
+        assertEquals(2, loadCount.get());
+        assertEquals(2, mappingCache.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should skip the watermark query inside the revalidation interval")
+    void shouldSkipVersionCheckInsideInterval() {
+        // Arrange
+        ReflectionTestUtils.setField(mappingCache, "revalidateSeconds", 3600L);
+        when(fieldMappingMapper.findMappingVersion(CLIENT_ID)).thenReturn(version(3, true));
+
+        // Act
+        mappingCache.get(CLIENT_ID, loader);
+        mappingCache.get(CLIENT_ID, loader);
+        mappingCache.get(CLIENT_ID, loader);
+
+        // Assert
+        verify(fieldMappingMapper, times(1)).findMappingVersion(CLIENT_ID);
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("Should reload after a mapper change event for the client")
+    void shouldReloadAfterChangeEvent() {
+        // Arrange
+        ReflectionTestUtils.setField(mappingCache, "revalidateSeconds", 3600L);
+        when(fieldMappingMapper.findMappingVersion(CLIENT_ID)).thenReturn(version(3, true));
+        mappingCache.get(CLIENT_ID, loader);
+
+        // Act
+        mappingCache.onMapperChange(new MapperChangeEvent(MapperChangeEvent.Table.FIELD_MAPPING, CLIENT_ID));
+        mappingCache.get(CLIENT_ID, loader);
+
+        // Assert
+        assertEquals(2, loadCount.get());
+        assertEquals(1, mappingCache.getStats().getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Should read fresh mappings every time for opted-out clients")
+    void shouldBypassCacheForOptedOutClient() {
+        // Arrange
+        when(fieldMappingMapper.findMappingVersion(CLIENT_ID)).thenReturn(version(3, false));
+
+        // Act
+        mappingCache.get(CLIENT_ID, loader);
+        mappingCache.get(CLIENT_ID, loader);
+
+        // Assert
+        assertEquals(2, loadCount.get());
+        assertEquals(2, mappingCache.getStats().getBypassed());
+        assertEquals(0, mappingCache.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("Should keep derived values with the cached mappings only")
+    void shouldKeepDerivedValuesWithCachedMappings() {
+        // Arrange
+        when(fieldMappingMapper.findMappingVersion(anyString())).thenReturn(version(3, true));
+        List<FieldMappingDTO> mappings = mappingCache.get("CLIENT_A", loader);
+        AtomicInteger deriveCount = new AtomicInteger();
+        Function<List<FieldMappingDTO>, String> deriver = list -> "plan-" + deriveCount.incrementAndGet();
+
+        // Act
+        String first = mappingCache.derived("CLIENT_A", mappings, String.class, deriver);
+        String second = mappingCache.derived("CLIENT_A", mappings, String.class, deriver);
+        mappingCache.get("CLIENT_B", loader);
+        mappingCache.get("CLIENT_C", loader);
+        String afterEviction = mappingCache.derived("CLIENT_A", mappings, String.class, deriver);
+        String uncached = mappingCache.derived("CLIENT_B", new ArrayList<>(mappings), String.class, deriver);
+
+        // Assert
+        assertEquals("plan-1", first);
+        assertEquals("plan-1", second);
+        assertEquals("plan-2", afterEviction, "CLIENT_A was evicted, so its plan must not be kept");
+        assertEquals("plan-3", uncached);
+        assertEquals("plan-4", mappingCache.derived("CLIENT_B", new ArrayList<>(mappings), String.class, deriver));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used client when full")
+    void shouldEvictLeastRecentlyUsedClient() {
+        // Arrange
+        when(fieldMappingMapper.findMappingVersion(anyString())).thenReturn(version(3, true));
+
+        // Act
+        mappingCache.get("CLIENT_A", loader);
+        mappingCache.get("CLIENT_B", loader);
+        mappingCache.get("CLIENT_A", loader);
+        mappingCache.get("CLIENT_C", loader);
+
+        // Assert
+        MappingCache.CacheStats stats = mappingCache.getStats();
+        assertEquals(2, stats.getCachedClients());
+        assertEquals(1, stats.getEvictions());
+
+        mappingCache.get("CLIENT_A", loader);
+        assertEquals(3, loadCount.get(), "CLIENT_A should still be cached");
+    }
+
+    private MappingVersionDTO version(int mappingCount, boolean cacheEnabled) {
+        return MappingVersionDTO.builder()
+                .clientId(CLIENT_ID)
+                .mappingCount(mappingCount)
+                .maxMappingId((long) mappingCount)
+                .lastModified(LocalDateTime.of(2024, 6, 15, 10, 0))
+                .mappingCacheEnabled(cacheEnabled)
+                .build();
+    }
+}
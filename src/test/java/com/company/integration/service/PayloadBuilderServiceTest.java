@@ -1,17 +1,22 @@
 package com.company.integration.service;
 
 import com.company.integration.exception.PayloadBuildException;
+import com.company.integration.mapper.FieldMappingMapper;
 import com.company.integration.model.dto.FieldMappingDTO;
+import com.company.integration.model.dto.MappingVersionDTO;
 import com.company.integration.util.DataTransformer;
 import com.company.integration.util.JsonPathBuilder;
+import com.company.integration.util.MappingPlan;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
 
@@ -26,6 +31,10 @@ class PayloadBuilderServiceTest {
     @Mock
     private MappingService mappingService;
 
+    @Mock
+    private FieldMappingMapper fieldMappingMapper;
+
+    private MappingCache mappingCache;
     private DataTransformer dataTransformer;
     private JsonPathBuilder jsonPathBuilder;
     private ObjectMapper objectMapper;
@@ -36,8 +45,10 @@ class PayloadBuilderServiceTest {
         objectMapper = new ObjectMapper();
         dataTransformer = new DataTransformer();
         jsonPathBuilder = new JsonPathBuilder(objectMapper);
+        mappingCache = new MappingCache(fieldMappingMapper);
         payloadBuilderService = new PayloadBuilderService(
-                mappingService, dataTransformer, jsonPathBuilder, objectMapper);
+                mappingService, mappingCache, dataTransformer, jsonPathBuilder, objectMapper,
+                new CallPhaseMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -177,6 +188,36 @@ class PayloadBuilderServiceTest {
         assertTrue(payload.contains("extraValue"));
     }
 
+    @Test
+    @DisplayName("Should stream the same payload as the tree builder")
+    void shouldStreamSamePayloadAsTreeBuilder() {
+        // Arrange
+        String clientId = "TEST_CLIENT";
+        String sourceRecordId = "RECORD_001";
+
+        List<FieldMappingDTO> mappings = createSampleMappings();
+        Map<String, Object> sourceData = createSampleSourceData();
+        Map<String, Object> additionalData = Map.of(
+                "customer", Map.of("name", Map.of("lastName", "Jones"), "segment", "RETAIL"),
+                "source", "BATCH");
+
+        when(mappingService.getMappingsForClient(clientId)).thenReturn(mappings);
+        when(mappingService.getSourceData(clientId, sourceRecordId)).thenReturn(sourceData);
+        when(mappingService.validateMandatoryFields(mappings, sourceData)).thenReturn(List.of());
+
+        // Act
+        ReflectionTestUtils.setField(payloadBuilderService, "streamingEnabled", false);
+        String treePayload = payloadBuilderService.buildPayload(clientId, sourceRecordId, additionalData);
+
+        ReflectionTestUtils.setField(payloadBuilderService, "streamingEnabled", true);
+        String streamedPayload = payloadBuilderService.buildPayload(clientId, sourceRecordId, additionalData);
+
+        // Assert
+        assertEquals(treePayload, streamedPayload);
+        assertTrue(streamedPayload.contains("\"lastName\":\"Jones\""));
+        assertTrue(streamedPayload.contains("\"firstName\":\"John\""));
+    }
+
     @Test
     @DisplayName("Should validate payload structure")
     void shouldValidatePayloadStructure() {
@@ -211,6 +252,33 @@ class PayloadBuilderServiceTest {
         assertEquals(payload.getBytes().length, size);
     }
 
+    @Test
+    @DisplayName("Should keep compiled plans only with cached mappings")
+    void shouldKeepPlansOnlyWithCachedMappings() {
+        // Arrange
+        ReflectionTestUtils.setField(mappingCache, "enabled", true);
+        ReflectionTestUtils.setField(mappingCache, "maxClients", 10);
+        ReflectionTestUtils.setField(mappingCache, "revalidateSeconds", 30L);
+        when(fieldMappingMapper.findMappingVersion("CACHED_CLIENT"))
+                .thenReturn(MappingVersionDTO.builder().mappingCount(3).mappingCacheEnabled(true).build());
+        when(fieldMappingMapper.findMappingVersion("OPTED_OUT_CLIENT"))
+                .thenReturn(MappingVersionDTO.builder().mappingCount(3).mappingCacheEnabled(false).build());
+        List<FieldMappingDTO> cached = mappingCache.get("CACHED_CLIENT", clientId -> createSampleMappings());
+        List<FieldMappingDTO> optedOut = mappingCache.get("OPTED_OUT_CLIENT", clientId -> createSampleMappings());
+
+        // Act
+        MappingPlan cachedPlan = payloadBuilderService.getMappingPlan("CACHED_CLIENT", cached);
+        MappingPlan optedOutPlan = payloadBuilderService.getMappingPlan("OPTED_OUT_CLIENT", optedOut);
+
+        // Assert
+        assertSame(cachedPlan, payloadBuilderService.getMappingPlan("CACHED_CLIENT", cached));
+        assertNotSame(optedOutPlan, payloadBuilderService.getMappingPlan("OPTED_OUT_CLIENT", optedOut));
+
+        mappingCache.invalidate("CACHED_CLIENT");
+        assertNotSame(cachedPlan, payloadBuilderService.getMappingPlan("CACHED_CLIENT", cached),
+                "plan should be dropped with the invalidated mappings");
+    }
+
     // Helper methods
 
     private List<FieldMappingDTO> createSampleMappings() {
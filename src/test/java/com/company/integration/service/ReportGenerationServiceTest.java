@@ -0,0 +1,185 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.ClientMapper;
+import com.company.integration.model.dto.AuditReportDTO;
+import com.company.integration.model.entity.ClientEmailRecipient;
+import com.company.integration.util.CsvGenerator;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportGenerationService Tests")
+class ReportGenerationServiceTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2024, 6, 15);
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ClientMapper clientMapper;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @TempDir
+    Path reportDirectory;
+
+    private Path checkpointFile;
+    private ReportGenerationService reportGenerationService;
+
+    @BeforeEach
+    void setUp() {
+        CsvGenerator csvGenerator = new CsvGenerator();
+        ReflectionTestUtils.setField(csvGenerator, "outputDirectory", reportDirectory.toString());
+        ReflectionTestUtils.setField(csvGenerator, "delimiter", ',');
+        ReflectionTestUtils.setField(csvGenerator, "dateFormat", "yyyyMMdd");
+
+        reportGenerationService = new ReportGenerationService(auditService, clientMapper, csvGenerator, mailSender);
+        ReflectionTestUtils.setField(reportGenerationService, "dateFormat", "yyyyMMdd");
+        ReflectionTestUtils.setField(reportGenerationService, "outputDirectory", reportDirectory.toString());
+        ReflectionTestUtils.setField(reportGenerationService, "parallelism", 4);
+        ReflectionTestUtils.setField(reportGenerationService, "resume", true);
+        ReflectionTestUtils.setField(reportGenerationService, "connectionPoolSize", 10);
+        ReflectionTestUtils.setField(reportGenerationService, "fromAddress", "reports@company.com");
+        ReflectionTestUtils.setField(reportGenerationService, "fromName", "Integration Service");
+        checkpointFile = reportDirectory.resolve("Client_Audit_Report_20240615.checkpoint");
+    }
+
+    @Test
+    @DisplayName("Should skip clients finished by a previous run and drop the checkpoint")
+    void shouldResumeFromCheckpoint() throws IOException {
+        // Arrange
+        Files.writeString(checkpointFile, "CLIENT_A" + System.lineSeparator());
+        when(auditService.findClientsWithRecords(any(), any())).thenReturn(List.of("CLIENT_A", "CLIENT_B"));
+        streamOneRow("CLIENT_B");
+        when(clientMapper.findEmailRecipients("CLIENT_B")).thenReturn(List.of());
+
+        // Act
+        ReportGenerationService.ReportRunSummary summary =
+                reportGenerationService.generateAndSendDailyReports(REPORT_DATE);
+
+        // Assert
+        assertEquals(ReportGenerationService.ClientReportStatus.RESUMED, summary.getClients().get(0).getStatus());
+        assertEquals(ReportGenerationService.ClientReportStatus.NO_RECIPIENTS, summary.getClients().get(1).getStatus());
+        assertEquals(1, summary.getTotalRows());
+        verify(auditService, never()).streamReportData(eq("CLIENT_A"), any(), any(), any());
+        assertTrue(Files.exists(reportDirectory.resolve("Client_Audit_Report_CLIENT_B_20240615.csv")));
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    @DisplayName("Should keep finished clients in the checkpoint when another client fails")
+    void shouldKeepCheckpointWhenClientFails() throws IOException {
+        // Arrange
+        when(auditService.findClientsWithRecords(any(), any())).thenReturn(List.of("CLIENT_A", "CLIENT_B"));
+        streamOneRow("CLIENT_A");
+        when(clientMapper.findEmailRecipients("CLIENT_A")).thenReturn(List.of());
+        when(auditService.streamReportData(eq("CLIENT_B"), any(), any(), any()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        // Act
+        ReportGenerationService.ReportRunSummary summary =
+                reportGenerationService.generateAndSendDailyReports(REPORT_DATE, 2);
+
+        // Assert
+        assertEquals(2, summary.getParallelism());
+        assertEquals(1, summary.count(ReportGenerationService.ClientReportStatus.FAILED));
+        assertEquals("Database unavailable", summary.getClients().get(1).getError());
+        assertEquals(List.of("CLIENT_A"), Files.readAllLines(checkpointFile));
+    }
+
+    @Test
+    @DisplayName("Should fail a client whose report email cannot be sent and leave it out of the checkpoint")
+    void shouldFailClientWhenEmailNotSent() throws IOException {
+        // Arrange
+        when(auditService.findClientsWithRecords(any(), any())).thenReturn(List.of("CLIENT_A", "CLIENT_B"));
+        streamOneRow("CLIENT_A");
+        streamOneRow("CLIENT_B");
+        when(clientMapper.findEmailRecipients("CLIENT_A")).thenReturn(List.of(recipient("CLIENT_A", "TO")));
+        when(clientMapper.findEmailRecipients("CLIENT_B")).thenReturn(List.of(recipient("CLIENT_B", "TO")));
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doNothing().doThrow(new MailSendException("SMTP server unavailable"))
+                .when(mailSender).send(any(MimeMessage.class));
+
+        // Act
+        ReportGenerationService.ReportRunSummary summary =
+                reportGenerationService.generateAndSendDailyReports(REPORT_DATE, 1);
+
+        // Assert
+        assertEquals(ReportGenerationService.ClientReportStatus.SENT, summary.getClients().get(0).getStatus());
+        assertEquals(ReportGenerationService.ClientReportStatus.FAILED, summary.getClients().get(1).getStatus());
+        assertEquals("SMTP server unavailable", summary.getClients().get(1).getError());
+        assertEquals(List.of("CLIENT_A"), Files.readAllLines(checkpointFile));
+    }
+
+    @Test
+    @DisplayName("Should not send a report to a client with only CC recipients")
+    void shouldNotSendWithoutToRecipients() {
+        // Arrange
+        when(auditService.findClientsWithRecords(any(), any())).thenReturn(List.of("CLIENT_A"));
+        streamOneRow("CLIENT_A");
+        when(clientMapper.findEmailRecipients("CLIENT_A")).thenReturn(List.of(recipient("CLIENT_A", "CC")));
+
+        // Act
+        ReportGenerationService.ReportRunSummary summary =
+                reportGenerationService.generateAndSendDailyReports(REPORT_DATE);
+
+        // Assert
+        assertEquals(ReportGenerationService.ClientReportStatus.NO_RECIPIENTS, summary.getClients().get(0).getStatus());
+        verify(mailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    @DisplayName("Should show percentiles in the overflow bucket as above the last bound")
+    void shouldFormatOverflowPercentile() {
+        // Act & Assert
+        assertEquals("&le; 250 ms", ReportGenerationService.formatPercentile(250L));
+        assertEquals("&gt; 10000 ms", ReportGenerationService.formatPercentile(null));
+    }
+
+    private static ClientEmailRecipient recipient(String clientId, String recipientType) {
+        return ClientEmailRecipient.builder()
+                .clientId(clientId)
+                .emailAddress(clientId.toLowerCase() + "@client.com")
+                .recipientType(recipientType)
+                .build();
+    }
+
+    private void streamOneRow(String clientId) {
+        when(auditService.streamReportData(eq(clientId), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<AuditReportDTO> consumer = invocation.getArgument(3);
+            consumer.accept(AuditReportDTO.builder()
+                    .clientId(clientId)
+                    .status("SUCCESS")
+                    .executionTimeMs(100L)
+                    .build());
+            return AuditService.AuditStats.builder()
+                    .clientId(clientId)
+                    .totalCalls(1)
+                    .successfulCalls(1)
+                    .build();
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.ClientMapper;
+import com.company.integration.model.dto.ClientConfigDTO;
+import com.company.integration.util.EncryptionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures how many partner calls can be in flight at once against a slow local endpoint,
+ * on virtual threads (blocking invocation) and on the reactive path. Excluded from the
+ * normal build; run with {@code mvn -P load-test test}, which fixes the heap at 256 MB.
+ */
+@Tag("load")
+@DisplayName("RestApiInvocationService Load Tests")
+class RestApiInvocationLoadTest {
+
+    private static final Logger logger = LogManager.getLogger(RestApiInvocationLoadTest.class);
+
+    private static final int CALLS = Integer.getInteger("load.test.calls", 500);
+    private static final int RESPONSE_DELAY_MS = Integer.getInteger("load.test.delay.ms", 2000);
+    private static final byte[] PAYLOAD = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private HttpServer server;
+    private ConnectionProvider connectionProvider;
+    private RestApiInvocationService restApiInvocationService;
+    private ClientConfigDTO config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CALLS);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/partner", exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(RESPONSE_DELAY_MS);
+                byte[] body = "{\"status\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+
+        connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(CALLS)
+                .pendingAcquireMaxCount(CALLS)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+
+        // Without Spring the client pools fall back to this WebClient and calls are neither limited,
+        // rate-limited nor short-circuited
+        restApiInvocationService = new RestApiInvocationService(new ClientConnectionPools(null, webClient),
+                mock(ClientMapper.class), mock(EncryptionUtil.class), new ObjectMapper(), new ClientProfileCache(),
+                new ClientBulkhead(new SimpleMeterRegistry()), new ClientCircuitBreaker(new SimpleMeterRegistry()),
+                new ClientRateLimiter(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(restApiInvocationService, "defaultTimeoutSeconds", 60);
+
+        config = ClientConfigDTO.builder()
+                .clientId("LOAD_CLIENT")
+                .apiEndpointUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/partner")
+                .httpMethod("POST")
+                .timeoutSeconds(60)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        connectionProvider.dispose();
+    }
+
+    @Test
+    @DisplayName("Should keep all blocking calls in flight at once on virtual threads")
+    void shouldKeepAllCallsInFlightOnVirtualThreads() throws Exception {
+        // Act
+        long start = System.nanoTime();
+        List<RestApiInvocationService.ApiCallResult> results;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<RestApiInvocationService.ApiCallResult>> futures = IntStream.range(0, CALLS)
+                    .mapToObj(i -> executor.submit(() -> restApiInvocationService.invokeApi(config, PAYLOAD)))
+                    .collect(Collectors.toList());
+            results = new ArrayList<>();
+            for (Future<RestApiInvocationService.ApiCallResult> future : futures) {
+                results.add(future.get());
+            }
+        }
+
+        // Assert
+        assertCapacity("virtual threads", results, start);
+    }
+
+    @Test
+    @DisplayName("Should keep all reactive calls in flight at once without a thread per call")
+    void shouldKeepAllCallsInFlightReactively() {
+        // Act
+        long start = System.nanoTime();
+        List<RestApiInvocationService.ApiCallResult> results = Flux.range(0, CALLS)
+                .flatMap(i -> restApiInvocationService.invokeApiReactive(config, PAYLOAD), CALLS)
+                .collectList()
+                .block(Duration.ofMinutes(5));
+
+        // Assert
+        assertCapacity("reactive", results, start);
+    }
+
+    private void assertCapacity(String mode, List<RestApiInvocationService.ApiCallResult> results, long start) {
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long heapUsedMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+        long maxHeapMb = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+
+        logger.info("Load test [{}]: {} calls, peak in flight {}, {} ms, heap used {} of {} MB, live threads {}",
+                mode, CALLS, peakInFlight.get(), elapsedMs, heapUsedMb, maxHeapMb,
+                ManagementFactory.getThreadMXBean().getThreadCount());
+
+        assertNotNull(results);
+        assertEquals(CALLS, results.size());
+        assertTrue(results.stream().allMatch(RestApiInvocationService.ApiCallResult::isSuccess));
+        assertEquals(CALLS, peakInFlight.get(), "all calls should be waiting on the partner at the same time");
+        assertTrue(elapsedMs < RESPONSE_DELAY_MS * 3L,
+                "calls should overlap instead of running in waves, took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.integration.service;
+
+import com.company.integration.model.dto.ClientConfigDTO;
+import com.company.integration.model.dto.RetryBackoffScheduleDTO;
+import com.company.integration.model.entity.FailedApiCall;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RetryBackoff Tests")
+class RetryBackoffTest {
+
+    private RetryBackoff retryBackoff;
+
+    @BeforeEach
+    void setUp() {
+        retryBackoff = new RetryBackoff(new DecorrelatedJitterBackoffPolicy());
+        ReflectionTestUtils.setField(retryBackoff, "timeoutMinSeconds", 30L);
+        ReflectionTestUtils.setField(retryBackoff, "timeoutMaxHours", 1);
+        ReflectionTestUtils.setField(retryBackoff, "serverErrorMinSeconds", 10L);
+        ReflectionTestUtils.setField(retryBackoff, "serverErrorMaxHours", 2);
+        ReflectionTestUtils.setField(retryBackoff, "throttledMinSeconds", 60L);
+        ReflectionTestUtils.setField(retryBackoff, "throttledMaxHours", 1);
+        ReflectionTestUtils.setField(retryBackoff, "networkMinSeconds", 30L);
+        ReflectionTestUtils.setField(retryBackoff, "networkMaxHours", 2);
+    }
+
+    @Test
+    @DisplayName("Should grow server error delays from seconds up to the maximum")
+    void shouldGrowDelaysWithinBounds() {
+        // Arrange
+        FailedApiCall failedCall = FailedApiCall.builder().build();
+
+        // Act & Assert
+        RetryBackoff.Decision first = retryBackoff.first(null, 503, null);
+        assertEquals(RetryBackoff.ErrorClass.SERVER_ERROR, first.getErrorClass());
+        assertTrue(first.getDelaySeconds() >= 10 && first.getDelaySeconds() <= 30,
+                "first delay is between min and three times min, was " + first.getDelaySeconds());
+
+        long delay = first.getDelaySeconds();
+        for (int attempt = 0; attempt < 50; attempt++) {
+            failedCall.setErrorClass(RetryBackoff.ErrorClass.SERVER_ERROR.name());
+            failedCall.setBackoffSeconds(delay);
+            RetryBackoff.Decision next = retryBackoff.next(null, 500, null, failedCall);
+            assertTrue(next.getDelaySeconds() >= 10 && next.getDelaySeconds() <= 7200);
+            assertTrue(next.getDelaySeconds() <= Math.max(10, delay * 3));
+            delay = next.getDelaySeconds();
+        }
+    }
+
+    @Test
+    @DisplayName("Should start over when the error class changes and use Retry-After as-is")
+    void shouldRestartOnClassChangeAndHonourRetryAfter() {
+        // Arrange
+        FailedApiCall failedCall = FailedApiCall.builder()
+                .errorClass(RetryBackoff.ErrorClass.SERVER_ERROR.name())
+                .backoffSeconds(7200L)
+                .build();
+
+        // Act
+        RetryBackoff.Decision timeout = retryBackoff.next(null, 408, null, failedCall);
+        RetryBackoff.Decision throttled = retryBackoff.next(null, 429, 17L, failedCall);
+
+        // Assert
+        assertEquals(RetryBackoff.ErrorClass.TIMEOUT, timeout.getErrorClass());
+        assertTrue(timeout.getDelaySeconds() >= 30 && timeout.getDelaySeconds() <= 90);
+        assertEquals(RetryBackoff.ErrorClass.THROTTLED, throttled.getErrorClass());
+        assertEquals(17L, throttled.getDelaySeconds());
+    }
+
+    @Test
+    @DisplayName("Should apply the client's own bounds for an error class")
+    void shouldApplyClientSchedule() {
+        // Arrange
+        ClientConfigDTO config = ClientConfigDTO.builder()
+                .clientId("TEST_CLIENT")
+                .retryBackoff(Map.of("NETWORK", RetryBackoffScheduleDTO.builder().minSeconds(3600L).build()))
+                .build();
+
+        // Act
+        RetryBackoff.Decision decision = retryBackoff.first(config, null, null);
+
+        // Assert
+        assertEquals(RetryBackoff.ErrorClass.NETWORK, decision.getErrorClass());
+        assertTrue(decision.getDelaySeconds() >= 3600 && decision.getDelaySeconds() <= 7200,
+                "client minimum with the default maximum, was " + decision.getDelaySeconds());
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.integration.service;
+
+import com.company.integration.model.entity.FailedApiCall;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetryDispatcher Tests")
+class RetryDispatcherTest {
+
+    @Mock
+    private RetryService retryService;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private MeterRegistry meterRegistry;
+    private RetryDispatcher retryDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryDispatcher = new RetryDispatcher(retryService, submitted::add, meterRegistry);
+        ReflectionTestUtils.setField(retryDispatcher, "workers", 3);
+        ReflectionTestUtils.setField(retryDispatcher, "maxPerClient", 2);
+        ReflectionTestUtils.setField(retryDispatcher, "batchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should release claims of a client at its limit and dispatch other clients")
+    void shouldRespectPerClientLimit() {
+        // Arrange
+        FailedApiCall heldBack = dueCall("CALL_3", "CLIENT_A");
+        when(retryService.claimDueRetries(2, 3)).thenReturn(List.of(
+                dueCall("CALL_1", "CLIENT_A"), dueCall("CALL_2", "CLIENT_A"),
+                heldBack, dueCall("CALL_4", "CLIENT_B")));
+
+        // Act
+        int dispatched = retryDispatcher.poll();
+
+        // Assert
+        assertEquals(3, dispatched);
+        assertEquals(3, submitted.size());
+        assertEquals(3, retryDispatcher.getInFlightCount());
+        assertEquals(3.0, meterRegistry.get("integration.retry.in.flight").gauge().value());
+        verify(retryService).releaseClaim(heldBack);
+        verify(retryService, never()).processRetry(any());
+    }
+
+    @Test
+    @DisplayName("Should claim only for free workers and free the worker when the retry is done")
+    void shouldClaimOnlyForFreeWorkers() {
+        // Arrange
+        FailedApiCall call = dueCall("CALL_1", "CLIENT_A");
+        when(retryService.claimDueRetries(2, 3)).thenReturn(List.of(call));
+        when(retryService.claimDueRetries(2, 2)).thenReturn(List.of());
+        when(retryService.processRetry(call)).thenReturn(RetryService.RetryOutcome.RESCHEDULED);
+        retryDispatcher.poll();
+
+        // Act
+        int dispatchedAgain = retryDispatcher.poll();
+        submitted.get(0).run();
+
+        // Assert
+        assertEquals(0, dispatchedAgain);
+        assertEquals(1, submitted.size());
+        assertEquals(0, retryDispatcher.getInFlightCount());
+        verify(retryService, never()).releaseClaim(any());
+        assertEquals(1.0, meterRegistry.counter("integration.retry.completed", "outcome", "RESCHEDULED").count());
+        verify(retryService, times(1)).processRetry(call);
+    }
+
+    private FailedApiCall dueCall(String callId, String clientId) {
+        return FailedApiCall.builder()
+                .callId(callId)
+                .clientId(clientId)
+                .nextRetryTime(LocalDateTime.now().minusSeconds(5))
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.company.integration.service;
+
+import com.company.integration.mapper.FailedCallMapper;
+import com.company.integration.model.dto.ClientConfigDTO;
+import com.company.integration.model.entity.FailedApiCall;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetryService Tests")
+class RetryServiceTest {
+
+    @Mock
+    private FailedCallMapper failedCallMapper;
+
+    @Mock
+    private RestApiInvocationService restApiInvocationService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ClientCircuitBreaker clientCircuitBreaker;
+
+    @Mock
+    private RetryBackoff retryBackoff;
+
+    @Mock
+    private AuditWriteBehind auditWriteBehind;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private RetryService retryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryService = new RetryService(failedCallMapper, restApiInvocationService, auditService,
+                clientCircuitBreaker, retryBackoff, auditWriteBehind, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(retryService, "maxRetryAttempts", 360);
+        ReflectionTestUtils.setField(retryService, "coalesceByDefault", false);
+    }
+
+    @Test
+    @DisplayName("Should replace the payload of the pending call of the same source record")
+    void shouldCoalesceIntoPendingCall() {
+        // Arrange
+        when(restApiInvocationService.getClientConfig("TEST_CLIENT"))
+                .thenReturn(ClientConfigDTO.builder().clientId("TEST_CLIENT").retryCoalesce(true).build());
+        when(failedCallMapper.findCoalescableCallId(eq("TEST_CLIENT"), eq("REC_001"), any(LocalDateTime.class)))
+                .thenReturn("CALL_001");
+        when(failedCallMapper.coalesce(any(FailedApiCall.class), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        String callId = queue("{\"version\":2}");
+
+        // Assert
+        assertEquals("CALL_001", callId);
+        ArgumentCaptor<FailedApiCall> captor = ArgumentCaptor.forClass(FailedApiCall.class);
+        verify(failedCallMapper).coalesce(captor.capture(), any(LocalDateTime.class));
+        assertEquals("CALL_001", captor.getValue().getCallId());
+        assertEquals("{\"version\":2}", captor.getValue().getRequestPayload());
+        verify(failedCallMapper, never()).insert(any());
+        assertEquals(1.0, meterRegistry.counter("integration.retry.coalesced", "client", "TEST_CLIENT").count());
+    }
+
+    @Test
+    @DisplayName("Should queue a new call when the client does not coalesce")
+    void shouldInsertWithoutCoalescing() {
+        // Arrange
+        when(restApiInvocationService.getClientConfig("TEST_CLIENT"))
+                .thenReturn(ClientConfigDTO.builder().clientId("TEST_CLIENT").build());
+        when(failedCallMapper.insert(any(FailedApiCall.class))).thenReturn(1);
+
+        // Act
+        String callId = queue("{\"version\":2}");
+
+        // Assert
+        assertNotNull(callId);
+        verify(failedCallMapper).insert(argThat(call -> "REC_001".equals(call.getSourceRecordId())));
+        verify(failedCallMapper, never()).findCoalescableCallId(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop the outcome of an attempt whose lease was taken over")
+    void shouldDropOutcomeWhenLeaseLost() {
+        // Arrange
+        ReflectionTestUtils.setField(retryService, "maxRetryDays", 15);
+        ClientConfigDTO config = ClientConfigDTO.builder().clientId("TEST_CLIENT").build();
+        FailedApiCall failedCall = FailedApiCall.builder()
+                .callId("CALL_001")
+                .clientId("TEST_CLIENT")
+                .requestPayload("{\"id\":1}")
+                .retryCount(0)
+                .failureTimestamp(LocalDateTime.now())
+                .build();
+        when(restApiInvocationService.getClientConfig("TEST_CLIENT")).thenReturn(config);
+        when(restApiInvocationService.invokeApi(config, "{\"id\":1}"))
+                .thenReturn(RestApiInvocationService.ApiCallResult.builder()
+                        .success(false)
+                        .statusCode(503)
+                        .retryable(true)
+                        .build());
+        when(retryBackoff.next(config, 503, null, failedCall)).thenReturn(RetryBackoff.Decision.builder()
+                .errorClass(RetryBackoff.ErrorClass.SERVER_ERROR)
+                .delaySeconds(10)
+                .nextRetryTime(LocalDateTime.now().plusSeconds(10))
+                .build());
+        String leaseOwner = (String) ReflectionTestUtils.getField(retryService, "leaseOwner");
+        when(failedCallMapper.updateRetryAttempt(eq("CALL_001"), eq(leaseOwner), eq(1), any(), eq(503), any(),
+                eq(FailedApiCall.STATUS_PENDING), any(), any(), any(), any())).thenReturn(0);
+
+        // Act
+        RetryService.RetryOutcome outcome = retryService.processRetry(failedCall);
+
+        // Assert
+        assertEquals(RetryService.RetryOutcome.LEASE_LOST, outcome);
+        assertEquals(1.0, meterRegistry.counter("integration.retry.lease.lost", "client", "TEST_CLIENT").count());
+    }
+
+    @Test
+    @DisplayName("Should reject a lease an attempt running into the API timeout could outlive")
+    void shouldRejectLeaseNotLongerThanLongestAttempt() {
+        // Arrange
+        ReflectionTestUtils.setField(retryService, "apiTimeoutSeconds", 300L);
+        ReflectionTestUtils.setField(retryService, "rateLimitMaxWaitMs", 5000L);
+
+        // Act & Assert
+        ReflectionTestUtils.setField(retryService, "leaseSeconds", 300L);
+        assertThrows(IllegalStateException.class, () -> retryService.validateLease());
+        ReflectionTestUtils.setField(retryService, "leaseSeconds", 305L);
+        assertThrows(IllegalStateException.class, () -> retryService.validateLease());
+        ReflectionTestUtils.setField(retryService, "leaseSeconds", 600L);
+        assertDoesNotThrow(() -> retryService.validateLease());
+    }
+
+    private String queue(String payload) {
+        RetryBackoff.Decision backoff = RetryBackoff.Decision.builder()
+                .errorClass(RetryBackoff.ErrorClass.SERVER_ERROR)
+                .delaySeconds(10)
+                .nextRetryTime(LocalDateTime.now().plusSeconds(10))
+                .build();
+        return retryService.queueForRetry("TEST_CLIENT", payload, null, "https://api.example.com/orders",
+                "POST", "Service Unavailable", 503, "REC_001", "CORR_001", "TEST", backoff);
+    }
+}
@@ -0,0 +1,153 @@
+package com.company.integration.service;
+
+import com.company.integration.config.SecurityConfig;
+import com.company.integration.mapper.FieldMappingMapper;
+import com.company.integration.mapper.SourceDataMapper;
+import com.company.integration.model.dto.FieldMappingDTO;
+import com.company.integration.model.dto.MappingVersionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SourceDataLoader Tests")
+class SourceDataLoaderTest {
+
+    @Mock
+    private SourceDataMapper sourceDataMapper;
+
+    @Mock
+    private SecurityConfig securityConfig;
+
+    @Mock
+    private FieldMappingMapper fieldMappingMapper;
+
+    private MappingCache mappingCache;
+    private SourceDataLoader sourceDataLoader;
+
+    @BeforeEach
+    void setUp() {
+        mappingCache = new MappingCache(fieldMappingMapper);
+        sourceDataLoader = new SourceDataLoader(sourceDataMapper, securityConfig, mappingCache);
+        when(securityConfig.isTableAllowed(anyString())).thenReturn(true);
+        when(securityConfig.isColumnNameValid(anyString())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should load records in chunks of at most 1000 IDs and key them by ID")
+    void shouldLoadRecordsInChunks() {
+        // Arrange
+        List<String> recordIds = IntStream.rangeClosed(1, 2500)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList());
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        when(sourceDataMapper.getJoinedSourceRecords(anyString(), anyString(), anyList()))
+                .thenAnswer(invocation -> {
+                    List<String> ids = invocation.getArgument(2);
+                    chunkSizes.add(ids.size());
+                    return ids.stream()
+                            .map(id -> row(id, "P1", new BigDecimal(id), "C1", "Name " + id))
+                            .collect(Collectors.toList());
+                });
+
+        // Act
+        Map<String, SourceDataLoader.SourceRecord> records = sourceDataLoader.load(
+                List.of(mapping("CUSTOMER", "FIRST_NAME")), recordIds);
+
+        // Assert
+        assertEquals(List.of(1000, 1000, 500), chunkSizes);
+        assertEquals(2500, records.size());
+        assertEquals("Name 42", records.get("42").get("FIRST_NAME"));
+        assertEquals("Name 42", records.get("42").get("CUSTOMER.FIRST_NAME"));
+        assertFalse(records.get("42").containsKey("ID"), "unmapped ID column should not be exposed");
+    }
+
+    @Test
+    @DisplayName("Should read all tables in one joined query, leaving tables without a row absent")
+    void shouldJoinTablesIntoOneQuery() {
+        // Arrange
+        List<FieldMappingDTO> mappings = List.of(
+                mapping("CUSTOMER", "FIRST_NAME"), mapping("CUSTOMER_ADDRESS", "CITY"));
+
+        when(sourceDataMapper.getJoinedSourceRecords(
+                "T1.ID AS P1, T1.FIRST_NAME AS C1, T2.ID AS P2, T2.CITY AS C2",
+                " LEFT JOIN CUSTOMER T1 ON T1.ID = k.RID LEFT JOIN CUSTOMER_ADDRESS T2 ON T2.ID = k.RID",
+                List.of("1", "2", "3")))
+                .thenReturn(List.of(
+                        row("1", "P1", new BigDecimal("1"), "C1", "John", "P2", new BigDecimal("1"), "C2", "Pune"),
+                        row("2", "P1", new BigDecimal("2"), "C1", "Jane"),
+                        row("3")));
+
+        // Act
+        Map<String, SourceDataLoader.SourceRecord> records = sourceDataLoader.load(
+                mappings, List.of("1", "2", "3"));
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals(Map.of("CUSTOMER.FIRST_NAME", "John", "FIRST_NAME", "John",
+                "CUSTOMER_ADDRESS.CITY", "Pune", "CITY", "Pune"), records.get("1"));
+        assertEquals(Map.of("CUSTOMER.FIRST_NAME", "Jane", "FIRST_NAME", "Jane"), records.get("2"));
+        assertNull(records.get("2").get("CITY"));
+        assertFalse(records.containsKey("3"));
+        verify(sourceDataMapper, times(1)).getJoinedSourceRecords(anyString(), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should keep the read plan with the cached mappings only")
+    void shouldKeepReadPlanWithCachedMappings() {
+        // Arrange
+        ReflectionTestUtils.setField(mappingCache, "enabled", true);
+        ReflectionTestUtils.setField(mappingCache, "maxClients", 10);
+        ReflectionTestUtils.setField(mappingCache, "revalidateSeconds", 30L);
+        when(fieldMappingMapper.findMappingVersion("TEST_CLIENT"))
+                .thenReturn(MappingVersionDTO.builder().mappingCount(1).build());
+        List<FieldMappingDTO> mappings = mappingCache.get("TEST_CLIENT",
+                clientId -> List.of(mapping("CUSTOMER", "FIRST_NAME")));
+
+        // Act
+        sourceDataLoader.load(mappings, List.of("1"));
+        sourceDataLoader.load(mappings, List.of("2"));
+        sourceDataLoader.load(new ArrayList<>(mappings), List.of("3"));
+        mappingCache.invalidate("TEST_CLIENT");
+        sourceDataLoader.load(mappings, List.of("4"));
+
+        // Assert
+        verify(securityConfig, times(3)).isTableAllowed("CUSTOMER");
+        verify(sourceDataMapper, times(4)).getJoinedSourceRecords(anyString(), anyString(), anyList());
+    }
+
+    private FieldMappingDTO mapping(String sourceTable, String sourceColumn) {
+        return FieldMappingDTO.builder()
+                .clientId("TEST_CLIENT")
+                .sourceTable(sourceTable)
+                .sourceColumn(sourceColumn)
+                .targetFieldPath(sourceColumn.toLowerCase())
+                .build();
+    }
+
+    private Map<String, Object> row(String recordId, Object... aliasValues) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("RID", recordId);
+        for (int i = 0; i < aliasValues.length; i += 2) {
+            row.put((String) aliasValues[i], aliasValues[i + 1]);
+        }
+        return row;
+    }
+}
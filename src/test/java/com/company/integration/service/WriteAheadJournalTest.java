@@ -0,0 +1,106 @@
+package com.company.integration.service;
+
+import com.company.integration.model.entity.AuditLog;
+import com.company.integration.model.entity.FailedApiCall;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WriteAheadJournal Tests")
+class WriteAheadJournalTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    private WriteAheadJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = newJournal(4096);
+    }
+
+    @Test
+    @DisplayName("Should recover records in order and stop at a corrupt record")
+    void shouldStopRecoveryAtCorruptRecord() throws IOException {
+        // Arrange
+        journal.append(WriteAheadJournal.RecordType.AUDIT, AuditLog.builder().auditId("AUDIT_001").build());
+        journal.append(WriteAheadJournal.RecordType.RETRY, FailedApiCall.builder().callId("CALL_001").build());
+        journal.append(WriteAheadJournal.RecordType.AUDIT, AuditLog.builder().auditId("AUDIT_002").build());
+        journal.close();
+        Path segment = segments().get(0);
+        corruptByteOfThirdRecord(segment);
+
+        // Act
+        List<Object> records = newJournal(4096).recover();
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals("AUDIT_001", ((AuditLog) records.get(0)).getAuditId());
+        assertEquals("CALL_001", ((FailedApiCall) records.get(1)).getCallId());
+    }
+
+    @Test
+    @DisplayName("Should delete a full segment once its records are released")
+    void shouldDeleteReleasedSegmentOnRoll() throws IOException {
+        // Arrange
+        WriteAheadJournal small = newJournal(200);
+        WriteAheadJournal.Segment first = small.append(WriteAheadJournal.RecordType.AUDIT,
+                AuditLog.builder().auditId("AUDIT_001").clientId("TEST_CLIENT").build());
+        WriteAheadJournal.Segment second = small.append(WriteAheadJournal.RecordType.AUDIT,
+                AuditLog.builder().auditId("AUDIT_002").clientId("TEST_CLIENT").build());
+
+        // Act
+        small.release(first);
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals(1, segments().size());
+        small.release(second);
+        small.close();
+        assertTrue(segments().isEmpty());
+    }
+
+    private WriteAheadJournal newJournal(long segmentBytes) {
+        WriteAheadJournal newJournal = new WriteAheadJournal(new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(newJournal, "directory", journalDirectory.toString());
+        ReflectionTestUtils.setField(newJournal, "segmentBytes", segmentBytes);
+        ReflectionTestUtils.setField(newJournal, "fsyncPolicy", WriteAheadJournal.FsyncPolicy.NONE);
+        return newJournal;
+    }
+
+    private void corruptByteOfThirdRecord(Path segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long position = 0;
+            for (int record = 0; record < 2; record++) {
+                file.seek(position);
+                position += 9 + file.readInt();
+            }
+            // Last byte of the third record's payload
+            file.seek(position);
+            long payloadEnd = position + 9 + file.readInt() - 1;
+            file.seek(payloadEnd);
+            byte last = file.readByte();
+            file.seek(payloadEnd);
+            file.writeByte(last ^ 0x01);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
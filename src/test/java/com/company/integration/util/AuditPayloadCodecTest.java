@@ -0,0 +1,72 @@
+package com.company.integration.util;
+
+import com.company.integration.model.entity.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditPayloadCodec Tests")
+class AuditPayloadCodecTest {
+
+    private AuditPayloadCodec payloadCodec;
+
+    @BeforeEach
+    void setUp() {
+        payloadCodec = new AuditPayloadCodec();
+        ReflectionTestUtils.setField(payloadCodec, "compressionEnabled", true);
+        ReflectionTestUtils.setField(payloadCodec, "compressionMinBytes", 1024);
+        ReflectionTestUtils.setField(payloadCodec, "oversizePolicy", AuditPayloadCodec.OversizePolicy.TRUNCATE);
+    }
+
+    @Test
+    @DisplayName("Should gzip large payloads, keep small ones inline and restore both")
+    void shouldCompressLargePayloads() {
+        // Arrange
+        String largePayload = "{\"items\":[" + "{\"sku\":\"ABC-123\",\"qty\":1},".repeat(200) + "{}]}";
+        AuditLog entry = AuditLog.builder()
+                .requestPayload(largePayload)
+                .responsePayload("{\"status\":\"ok\"}")
+                .build();
+
+        // Act
+        payloadCodec.pack(entry);
+        byte[] packed = entry.getRequestPayloadData();
+        payloadCodec.unpack(entry);
+
+        // Assert
+        assertEquals(AuditPayloadCodec.CODEC_GZIP, packed[0]);
+        assertTrue(packed.length < largePayload.length() / 4);
+        assertEquals(largePayload, entry.getRequestPayload());
+        assertNull(entry.getRequestPayloadData());
+        assertEquals("{\"status\":\"ok\"}", entry.getResponsePayload());
+        assertNull(entry.getResponsePayloadData());
+    }
+
+    @Test
+    @DisplayName("Should limit oversized responses once, by truncating or hashing")
+    void shouldLimitOversizedResponses() {
+        // Arrange
+        ReflectionTestUtils.setField(payloadCodec, "compressionEnabled", false);
+        ReflectionTestUtils.setField(payloadCodec, "responseMaxChars", 100);
+        String response = "x".repeat(500);
+        AuditLog truncated = AuditLog.builder().requestPayload(response).responsePayload(response).build();
+
+        // Act
+        payloadCodec.pack(truncated);
+        String once = truncated.getResponsePayload();
+        payloadCodec.pack(truncated);
+        ReflectionTestUtils.setField(payloadCodec, "oversizePolicy", AuditPayloadCodec.OversizePolicy.HASH);
+        AuditLog hashed = payloadCodec.pack(AuditLog.builder().responsePayload(response).build());
+
+        // Assert
+        assertEquals(100, once.length());
+        assertTrue(once.endsWith("...[truncated, 500 chars]"));
+        assertEquals(once, truncated.getResponsePayload());
+        assertEquals(response, truncated.getRequestPayload());
+        assertTrue(hashed.getResponsePayload().startsWith("sha256:"));
+        assertTrue(hashed.getResponsePayload().endsWith("(500 chars)"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.integration.util;
+
+import com.company.integration.config.SecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CipherPool Tests")
+class CipherPoolTest {
+
+    private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
+
+    private SecretKeySpec key;
+    private CipherPool cipherPool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        key = SecurityConfig.deriveKey("test-secret");
+        cipherPool = new CipherPool(TRANSFORMATION, key, 2);
+    }
+
+    @Test
+    @DisplayName("Should decrypt values encrypted with a freshly created cipher")
+    void shouldDecryptExistingCiphertexts() throws Exception {
+        // Arrange
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, key);
+        byte[] encrypted = cipher.doFinal("secret-api-key".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        byte[] first = cipherPool.decrypt(encrypted);
+        byte[] second = cipherPool.decrypt(encrypted);
+
+        // Assert
+        assertEquals("secret-api-key", new String(first, StandardCharsets.UTF_8));
+        assertEquals("secret-api-key", new String(second, StandardCharsets.UTF_8));
+        assertArrayEquals(encrypted, cipherPool.encrypt("secret-api-key".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Should decrypt all values, yielding null for values that fail")
+    void shouldDecryptAllSkippingFailures() throws Exception {
+        // Arrange
+        byte[][] inputs = {
+                cipherPool.encrypt("key-1".getBytes(StandardCharsets.UTF_8)),
+                "not-encrypted".getBytes(StandardCharsets.UTF_8),
+                null,
+                cipherPool.encrypt("key-2".getBytes(StandardCharsets.UTF_8))
+        };
+
+        // Act
+        byte[][] outputs = cipherPool.decryptAll(inputs);
+
+        // Assert
+        assertEquals("key-1", new String(outputs[0], StandardCharsets.UTF_8));
+        assertNull(outputs[1]);
+        assertNull(outputs[2]);
+        assertEquals("key-2", new String(outputs[3], StandardCharsets.UTF_8));
+    }
+}
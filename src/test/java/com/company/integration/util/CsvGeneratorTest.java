@@ -91,6 +91,33 @@ class CsvGeneratorTest {
         assertTrue(content.contains("Client ID"));
     }
 
+    @Test
+    @DisplayName("Should write report rows one at a time to the report file")
+    void shouldStreamRowsToReportFile() throws IOException {
+        // Arrange
+        LocalDate reportDate = LocalDate.of(2024, 6, 15);
+        List<AuditReportDTO> auditData = createSampleAuditData();
+
+        // Act
+        File result;
+        long recordCount;
+        try (CsvGenerator.AuditReportWriter writer = csvGenerator.openAuditReport("TEST_CLIENT", reportDate)) {
+            for (AuditReportDTO record : auditData) {
+                writer.write(record);
+            }
+            result = writer.getFile();
+            recordCount = writer.getRecordCount();
+        }
+
+        // Assert
+        assertEquals(auditData.size(), recordCount);
+        assertEquals("Client_Audit_Report_TEST_CLIENT_20240615.csv", result.getName());
+        List<String> lines = Files.readAllLines(result.toPath());
+        assertEquals(auditData.size() + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("Client ID"));
+        assertEquals(csvGenerator.generateCsvContent(auditData), Files.readString(result.toPath()));
+    }
+
     @Test
     @DisplayName("Should generate summary report")
     void shouldGenerateSummaryReport() throws IOException {
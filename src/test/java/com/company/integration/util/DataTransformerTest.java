@@ -9,8 +9,10 @@ import org.junit.jupiter.api.Nested;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -117,6 +119,21 @@ class DataTransformerTest {
             assertEquals("5551234567", result);
         }
 
+        @Test
+        @DisplayName("Should leave value unchanged and report a REPLACE rule without exactly one '>'")
+        void shouldPassThroughMalformedReplaceRule() {
+            // Arrange
+            List<String> problems = new ArrayList<>();
+
+            // Act
+            Object result = dataTransformer.compile("REPLACE:-", FieldMappingDTO.DataType.STRING, problems)
+                    .apply("555-123-4567", new HashMap<>());
+
+            // Assert
+            assertEquals("555-123-4567", result);
+            assertEquals(1, problems.size());
+        }
+
         @Test
         @DisplayName("Should extract substring")
         void shouldExtractSubstring() {
@@ -0,0 +1,100 @@
+package com.company.integration.util;
+
+import com.company.integration.model.dto.FieldMappingDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappingPlan Tests")
+class MappingPlanTest {
+
+    private ObjectMapper objectMapper;
+    private DataTransformer dataTransformer;
+    private JsonPathBuilder jsonPathBuilder;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        dataTransformer = new DataTransformer();
+        jsonPathBuilder = new JsonPathBuilder(objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should build nested payload with transformations and defaults")
+    void shouldBuildNestedPayload() {
+        // Arrange
+        List<FieldMappingDTO> mappings = List.of(
+                mapping("FIRST_NAME", "customer.firstName", "UPPERCASE", null),
+                mapping("CITY", "customer.address.city", null, null),
+                mapping("COUNTRY", "customer.address.country", null, "US"));
+
+        Map<String, Object> sourceData = new HashMap<>();
+        sourceData.put("FIRST_NAME", "john");
+        sourceData.put("CUSTOMER.CITY", "Boston");
+
+        // Act
+        MappingPlan plan = MappingPlan.compile("TEST_CLIENT", mappings, dataTransformer, jsonPathBuilder);
+        ObjectNode result = plan.execute(sourceData, objectMapper.createObjectNode(), jsonPathBuilder);
+
+        // Assert
+        assertTrue(plan.getProblems().isEmpty());
+        assertEquals("JOHN", result.get("customer").get("firstName").asText());
+        assertEquals("Boston", result.get("customer").get("address").get("city").asText());
+        assertEquals("US", result.get("customer").get("address").get("country").asText());
+    }
+
+    @Test
+    @DisplayName("Should report invalid rules and path conflicts at compile time")
+    void shouldReportProblemsAtCompileTime() {
+        // Arrange
+        List<FieldMappingDTO> mappings = List.of(
+                mapping("FIRST_NAME", "customer", null, null),
+                mapping("CITY", "customer.city", "SUBSTRING:x", null));
+
+        Map<String, Object> sourceData = new HashMap<>();
+        sourceData.put("FIRST_NAME", "John");
+
+        // Act
+        MappingPlan plan = MappingPlan.compile("TEST_CLIENT", mappings, dataTransformer, jsonPathBuilder);
+        ObjectNode result = plan.execute(sourceData, objectMapper.createObjectNode(), jsonPathBuilder);
+
+        // Assert
+        assertEquals(2, plan.getProblems().size());
+        assertEquals("John", result.get("customer").asText());
+    }
+
+    @Test
+    @DisplayName("Should be bound to the mapping list it was compiled from")
+    void shouldBeBoundToMappingList() {
+        // Arrange
+        List<FieldMappingDTO> mappings = List.of(mapping("FIRST_NAME", "firstName", null, null));
+
+        // Act
+        MappingPlan plan = MappingPlan.compile("TEST_CLIENT", mappings, dataTransformer, jsonPathBuilder);
+
+        // Assert
+        assertTrue(plan.isCompiledFrom(mappings));
+        assertFalse(plan.isCompiledFrom(new ArrayList<>(mappings)));
+    }
+
+    private FieldMappingDTO mapping(String column, String targetPath, String rule, String defaultValue) {
+        return FieldMappingDTO.builder()
+                .clientId("TEST_CLIENT")
+                .sourceTable("CUSTOMER")
+                .sourceColumn(column)
+                .targetFieldPath(targetPath)
+                .transformationRule(rule)
+                .defaultValue(defaultValue)
+                .dataType(FieldMappingDTO.DataType.STRING)
+                .build();
+    }
+}